@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.ResultReceiver;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import dk.ilios.spanner.BeforeExperiment;
+import dk.ilios.spanner.Benchmark;
+import dk.ilios.spanner.BenchmarkConfiguration;
+import dk.ilios.spanner.SpannerConfig;
+import dk.ilios.spanner.junit.SpannerRunner;
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.benchmarks.config.BenchmarkConfig;
+import io.realm.benchmarks.entities.AllTypes;
+
+/**
+ * Measures the time from starting a fresh process until the first query on an existing Realm has completed. This
+ * includes loading the native library and binding its native methods, but also starting and stopping the process.
+ * The time spent inside the process is logged by {@link ColdStartService}.
+ */
+@RunWith(SpannerRunner.class)
+public class ColdStartBenchmarks {
+
+    private static final String REALM_NAME = "coldstart.realm";
+    private static final String PROCESS_SUFFIX = ":coldstart";
+    private static final int OBJECT_COUNT = 1000;
+
+    @BenchmarkConfiguration
+    public SpannerConfig configuration = BenchmarkConfig.getConfiguration(this.getClass().getCanonicalName());
+
+    private Context context;
+
+    @BeforeExperiment
+    public void before() {
+        context = InstrumentationRegistry.getTargetContext();
+        Realm.init(context);
+        RealmConfiguration config = new RealmConfiguration.Builder().name(REALM_NAME).build();
+        Realm.deleteRealm(config);
+        Realm realm = Realm.getInstance(config);
+        realm.executeTransaction(new Realm.Transaction() {
+            @Override
+            public void execute(Realm realm) {
+                for (int i = 0; i < OBJECT_COUNT; i++) {
+                    AllTypes obj = realm.createObject(AllTypes.class);
+                    obj.setColumnString("Foo " + i);
+                    obj.setColumnLong(i);
+                }
+            }
+        });
+        // Don't keep the file open while the other process uses it.
+        realm.close();
+        waitForColdStartProcessToDie();
+    }
+
+    @Benchmark
+    public void timeToFirstQuery(long reps) throws InterruptedException {
+        for (long i = 0; i < reps; i++) {
+            final CountDownLatch done = new CountDownLatch(1);
+            Intent intent = new Intent(context, ColdStartService.class)
+                    .putExtra(ColdStartService.EXTRA_REALM_NAME, REALM_NAME)
+                    .putExtra(ColdStartService.EXTRA_RECEIVER, new ResultReceiver(null) {
+                        @Override
+                        protected void onReceiveResult(int resultCode, Bundle resultData) {
+                            done.countDown();
+                        }
+                    });
+            context.startService(intent);
+            if (!done.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("The cold start process did not report back in time.");
+            }
+            waitForColdStartProcessToDie();
+        }
+    }
+
+    // Starting the service again before the old process is gone would reuse the warm process.
+    private void waitForColdStartProcessToDie() {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        String processName = context.getPackageName() + PROCESS_SUFFIX;
+        while (isProcessRunning(activityManager, processName)) {
+            SystemClock.sleep(5);
+        }
+    }
+
+    private static boolean isProcessRunning(ActivityManager activityManager, String processName) {
+        List<ActivityManager.RunningAppProcessInfo> processes = activityManager.getRunningAppProcesses();
+        if (processes == null) {
+            return false;
+        }
+        for (ActivityManager.RunningAppProcessInfo process : processes) {
+            if (processName.equals(process.processName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import android.app.IntentService;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Process;
+import android.os.ResultReceiver;
+import android.util.Log;
+
+import java.util.Locale;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.benchmarks.entities.AllTypes;
+
+/**
+ * Opens a Realm and runs a single query in a process that has not loaded Realm before, then kills the process so the
+ * next start is cold again. Used by {@link ColdStartBenchmarks}.
+ */
+public class ColdStartService extends IntentService {
+
+    static final String EXTRA_RECEIVER = "receiver";
+    static final String EXTRA_REALM_NAME = "realmName";
+    static final String RESULT_INIT_NANOS = "initNanos";
+    static final String RESULT_FIRST_QUERY_NANOS = "firstQueryNanos";
+
+    private static final String TAG = "ColdStartService";
+
+    public ColdStartService() {
+        super(TAG);
+    }
+
+    @Override
+    protected void onHandleIntent(Intent intent) {
+        ResultReceiver receiver = intent.getParcelableExtra(EXTRA_RECEIVER);
+
+        long start = System.nanoTime();
+        // Loads the native library, which binds all native methods in JNI_OnLoad.
+        Realm.init(this);
+        long initialized = System.nanoTime();
+
+        RealmConfiguration config = new RealmConfiguration.Builder()
+                .name(intent.getStringExtra(EXTRA_REALM_NAME))
+                .build();
+        Realm realm = Realm.getInstance(config);
+        try {
+            realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 42).findFirst();
+        } finally {
+            realm.close();
+        }
+        long queried = System.nanoTime();
+
+        Bundle result = new Bundle();
+        result.putLong(RESULT_INIT_NANOS, initialized - start);
+        result.putLong(RESULT_FIRST_QUERY_NANOS, queried - start);
+        Log.i(TAG, String.format(Locale.US, "Realm.init(): %d us, first query: %d us",
+                (initialized - start) / 1000, (queried - start) / 1000));
+        receiver.send(0, result);
+
+        Process.killProcess(Process.myPid());
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be used on String fields that only contain a small number of distinct values, e.g. a status,
+ * a country code or a category. Reading such a field will return a shared {@link String} instance for values that
+ * have been read before instead of allocating a new String on every read, which reduces garbage when iterating over
+ * large results.
+ * <p>
+ * The shared values are kept in a bounded cache per field and per Realm instance, so the annotation has no effect on
+ * how the data is stored. Values longer than 128 bytes are never cached. Fields with many distinct values will not
+ * benefit from the annotation and will only make reads slightly slower.
+ * <p>
+ * NOTICE: Only String fields can be annotated with {@code @Interned}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Interned {
+
+    /**
+     * The maximum number of distinct values kept by the cache of the field.
+     */
+    int maxSize() default 64;
+}
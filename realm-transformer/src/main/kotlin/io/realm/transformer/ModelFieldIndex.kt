@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.transformer
+
+import javassist.CtClass
+import javassist.bytecode.ClassFile
+import javassist.bytecode.ConstPool
+import java.io.BufferedInputStream
+import java.io.DataInputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Index of the fields managed by Realm in each model class and of which classes access these fields directly.
+ *
+ * The index is persisted between builds, so incremental builds can determine which classes need to be
+ * instrumented without loading every referenced class into a class pool, and can re-instrument callers of
+ * model classes that changed.
+ *
+ * All methods are safe to call from multiple threads.
+ */
+class ModelFieldIndex {
+
+    // Model class name -> names of the fields managed by Realm.
+    private val modelFields: MutableMap<String, Set<String>> = ConcurrentHashMap()
+    // Class name -> model classes with managed fields accessed directly by that class.
+    private val callers: MutableMap<String, Set<String>> = ConcurrentHashMap()
+
+    companion object {
+        private const val HEADER = "# Realm transformer model field index v1"
+        private const val MODEL_PREFIX = "M"
+        private const val CALLER_PREFIX = "C"
+
+        /**
+         * Loads an index previously saved with {@link #save(File)}.
+         *
+         * @return the index or `null` if it does not exist or could not be read.
+         */
+        fun load(file: File): ModelFieldIndex? {
+            if (!file.isFile) {
+                return null
+            }
+            try {
+                val lines: List<String> = file.readLines()
+                if (lines.isEmpty() || lines[0] != HEADER) {
+                    return null
+                }
+                val index = ModelFieldIndex()
+                lines.drop(1).forEach {
+                    val parts: List<String> = it.split(' ')
+                    val names: Set<String> = if (parts.size < 3 || parts[2].isEmpty()) setOf() else parts[2].split(',').toSet()
+                    when (parts[0]) {
+                        MODEL_PREFIX -> index.modelFields[parts[1]] = names
+                        CALLER_PREFIX -> index.callers[parts[1]] = names
+                        else -> return null
+                    }
+                }
+                return index
+            } catch (e: IOException) {
+                logger.debug("Could not read model field index $file: $e")
+                return null
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces the managed fields of a model class.
+     */
+    fun addModelClass(clazz: CtClass) {
+        modelFields[clazz.name] = clazz.declaredFields
+                .filter { BytecodeModifier.isModelField(it) }
+                .map { it.name }
+                .toSet()
+    }
+
+    /**
+     * Returns the model classes whose managed fields are accessed directly from the given class file.
+     * Only the constant pool is read, which is a lot cheaper than loading the class into a class pool.
+     */
+    fun findReferencedModelClasses(classFile: File): Set<String> {
+        DataInputStream(BufferedInputStream(FileInputStream(classFile))).use {
+            return findReferencedModelClasses(ClassFile(it))
+        }
+    }
+
+    /**
+     * Returns the model classes whose managed fields are accessed directly from the given class file.
+     */
+    fun findReferencedModelClasses(classFile: ClassFile): Set<String> {
+        val constPool: ConstPool = classFile.constPool
+        val result: MutableSet<String> = hashSetOf()
+        for (i in 1 until constPool.size) {
+            if (constPool.getTag(i) != ConstPool.CONST_Fieldref) {
+                continue
+            }
+            val className: String = constPool.getFieldrefClassName(i)
+            if (modelFields[className]?.contains(constPool.getFieldrefName(i)) == true) {
+                result.add(className)
+            }
+        }
+        return result
+    }
+
+    /**
+     * Records which model classes are referenced by the given class.
+     */
+    fun setReferencedModelClasses(className: String, modelClassNames: Set<String>) {
+        if (modelClassNames.isEmpty()) {
+            callers.remove(className)
+        } else {
+            callers[className] = modelClassNames
+        }
+    }
+
+    /**
+     * Returns all classes known to access managed fields of the given model class directly.
+     */
+    fun findCallers(modelClassName: String): Set<String> {
+        return callers.filter { it.value.contains(modelClassName) }.keys
+    }
+
+    /**
+     * Removes all information about a class, e.g. because it was deleted.
+     */
+    fun removeClass(className: String) {
+        modelFields.remove(className)
+        callers.remove(className)
+    }
+
+    /**
+     * Writes the index to disk.
+     */
+    fun save(file: File) {
+        try {
+            file.parentFile?.mkdirs()
+            file.bufferedWriter().use { writer ->
+                writer.write(HEADER)
+                writer.newLine()
+                modelFields.forEach {
+                    writer.write("$MODEL_PREFIX ${it.key} ${it.value.joinToString(",")}")
+                    writer.newLine()
+                }
+                callers.forEach {
+                    writer.write("$CALLER_PREFIX ${it.key} ${it.value.joinToString(",")}")
+                    writer.newLine()
+                }
+            }
+        } catch (e: IOException) {
+            // Next incremental build will just have to fall back to the slower path.
+            logger.debug("Could not write model field index $file: $e")
+            file.delete()
+        }
+    }
+}
@@ -90,8 +90,10 @@ class RealmTransformer(val project: Project) : Transform() {
         val timer = Stopwatch()
         timer.start("Realm Transform time")
 
-        val build: BuildTemplate = if (isIncremental) IncrementalBuild(project, outputProvider!!, this)
-        else FullBuild(project, outputProvider!!, this)
+        // Index of model fields and their callers, persisted between builds of the same variant.
+        val indexFile = File(context!!.temporaryDir, "model-field-index.txt")
+        val build: BuildTemplate = if (isIncremental) IncrementalBuild(project, outputProvider!!, this, indexFile)
+        else FullBuild(project, outputProvider!!, this, indexFile)
 
         build.prepareOutputClasses(inputs!!)
         timer.splitTime("Prepare output classes")
@@ -23,23 +23,36 @@ import com.android.build.api.transform.TransformOutputProvider
 import com.google.common.io.Files
 import io.realm.transformer.BytecodeModifier
 import io.realm.transformer.ManagedClassPool
+import io.realm.transformer.ModelFieldIndex
 import io.realm.transformer.logger
 import io.realm.transformer.Utils
 import io.realm.transformer.ext.getBootClasspath
+import io.realm.transformer.ext.getTransformerThreadCount
 import javassist.ClassPool
 import javassist.CtClass
+import javassist.CtField
 import org.gradle.api.Project
 import java.io.File
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.regex.Pattern
 
 /**
  * Abstract class defining the structure of doing different types of builds.
  *
  */
-abstract class BuildTemplate(val project: Project, val outputProvider: TransformOutputProvider, val transform: Transform) {
+abstract class BuildTemplate(val project: Project,
+                             val outputProvider: TransformOutputProvider,
+                             val transform: Transform,
+                             val indexFile: File) {
 
     protected lateinit var inputs: MutableCollection<TransformInput>
+    protected lateinit var referencedInputs: Collection<TransformInput>
     protected lateinit var classPool: ManagedClassPool
+    // Classes modified in `classPool` before field access is transformed. These must be written from that pool.
+    protected val mainPoolClassNames: MutableSet<String> = hashSetOf()
     protected val outputClassNames: MutableSet<String> = hashSetOf()
     protected val outputReferencedClassNames: MutableSet<String> = hashSetOf()
     protected val outputModelClasses: ArrayList<CtClass> = arrayListOf()
@@ -72,6 +85,7 @@ abstract class BuildTemplate(val project: Project, val outputProvider: Transform
 
 
     fun prepareReferencedClasses(referencedInputs: Collection<TransformInput>) {
+        this.referencedInputs = referencedInputs
         categorizeClassNames(referencedInputs, outputReferencedClassNames, outputReferencedClassNames) // referenced files
 
         // Create and populate the Javassist class pool
@@ -98,6 +112,7 @@ abstract class BuildTemplate(val project: Project, val outputProvider: Transform
         logger.debug("Proxy Mediator Classes: ${proxyMediatorClasses.joinToString(",") { it.name }}")
         proxyMediatorClasses.forEach {
             BytecodeModifier.overrideTransformedMarker(it)
+            mainPoolClassNames.add(it.name)
         }
     }
 
@@ -108,11 +123,132 @@ abstract class BuildTemplate(val project: Project, val outputProvider: Transform
             BytecodeModifier.addRealmAccessors(it)
             BytecodeModifier.addRealmProxyInterface(it, classPool)
             BytecodeModifier.callInjectObjectContextFromConstructors(it)
+            mainPoolClassNames.add(it.name)
         }
     }
 
     abstract fun transformDirectAccessToModelFields()
 
+    /**
+     * Replaces direct access to model fields with Realm accessors in the given classes.
+     *
+     * The `index` is used to find the model classes referenced by each class by only reading its constant pool.
+     * Classes not referencing any model fields are copied as-is. The remaining classes are split into shards
+     * that are instrumented in parallel, each using its own class pool as Javassist class pools are not thread
+     * safe. Classes already modified in the main class pool are always instrumented and written from there.
+     *
+     * The `index` is updated with the model classes referenced by each class.
+     */
+    protected fun transformDirectAccessToModelFields(classNames: Set<String>, index: ModelFieldIndex) {
+        val outputDir: String = getOutputFile(outputProvider).canonicalPath
+        val (mainPoolClasses, otherClasses) = classNames.partition { mainPoolClassNames.contains(it) }
+
+        val preparedMainPoolModels: MutableSet<String> = hashSetOf()
+        mainPoolClasses.forEach {
+            val ctClass: CtClass = classPool.getCtClass(it)
+            val referencedModels: Set<String> = index.findReferencedModelClasses(ctClass.classFile)
+            index.setReferencedModelClasses(it, referencedModels)
+            useRealmAccessors(classPool, ctClass, referencedModels, preparedMainPoolModels)
+            ctClass.writeFile(outputDir)
+        }
+
+        if (otherClasses.isEmpty()) {
+            return
+        }
+        val threadCount: Int = Math.min(project.getTransformerThreadCount(), otherClasses.size)
+        if (threadCount <= 1) {
+            transformShard(classPool, otherClasses, index, outputDir, preparedMainPoolModels)
+            return
+        }
+
+        val shardSize: Int = (otherClasses.size + threadCount - 1) / threadCount
+        val shards: List<List<String>> = otherClasses.chunked(shardSize)
+        logger.debug("Transforming ${otherClasses.size} classes using ${shards.size} threads.")
+        val executor = Executors.newFixedThreadPool(shards.size)
+        try {
+            val futures: List<Future<Unit>> = shards.map { shard ->
+                executor.submit(Callable<Unit> {
+                    ManagedClassPool(inputs, referencedInputs).use { pool ->
+                        addBootClassesToClassPool(pool)
+                        transformShard(pool, shard, index, outputDir, hashSetOf())
+                    }
+                })
+            }
+            futures.forEach {
+                try {
+                    it.get()
+                } catch (e: ExecutionException) {
+                    throw e.cause ?: e
+                }
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    private fun transformShard(pool: ClassPool,
+                               classNames: List<String>,
+                               index: ModelFieldIndex,
+                               outputDir: String,
+                               preparedModels: MutableSet<String>) {
+        classNames.forEach {
+            val inputFile: File? = findInputClassFile(it)
+            if (inputFile == null) {
+                // Should not happen, but fall back to resolving all field accesses through the class pool.
+                logger.debug("Modify accessors in class: $it")
+                val ctClass: CtClass = pool.getCtClass(it)
+                BytecodeModifier.useRealmAccessors(pool, ctClass, null)
+                ctClass.writeFile(outputDir)
+                return@forEach
+            }
+
+            val referencedModels: Set<String> = index.findReferencedModelClasses(inputFile)
+            index.setReferencedModelClasses(it, referencedModels)
+            if (referencedModels.isEmpty()) {
+                val dest = File(outputDir, it.replace('.', File.separatorChar) + SdkConstants.DOT_CLASS)
+                dest.parentFile.mkdirs()
+                Files.copy(inputFile, dest)
+            } else {
+                val ctClass: CtClass = pool.getCtClass(it)
+                useRealmAccessors(pool, ctClass, referencedModels, preparedModels)
+                ctClass.writeFile(outputDir)
+            }
+        }
+    }
+
+    private fun useRealmAccessors(pool: ClassPool,
+                                  ctClass: CtClass,
+                                  referencedModels: Set<String>,
+                                  preparedModels: MutableSet<String>) {
+        logger.debug("Modify accessors in class: ${ctClass.name}")
+        val managedFields: List<CtField> = referencedModels.flatMap {
+            val modelClass: CtClass = pool.get(it)
+            // Model classes loaded from the input directories have not been transformed in this pool yet.
+            // Make sure the accessors exist, otherwise Javassist cannot compile the replaced field access.
+            if (preparedModels.add(it)) {
+                BytecodeModifier.addRealmAccessors(modelClass)
+            }
+            modelClass.declaredFields.filter { BytecodeModifier.isModelField(it) }
+        }
+        BytecodeModifier.useRealmAccessors(pool, ctClass, managedFields)
+    }
+
+    /**
+     * Returns the class file for the given class name in the directory inputs or `null` if it could not be found.
+     */
+    protected fun findInputClassFile(className: String): File? {
+        val relativePath: String = className.replace('.', File.separatorChar) + SdkConstants.DOT_CLASS
+        inputs.forEach { input ->
+            input.directoryInputs.forEach {
+                val file = File(it.file, relativePath)
+                if (file.isFile) {
+                    return file
+                }
+            }
+        }
+        return null
+    }
+
     fun copyResourceFiles() {
         copyResourceFiles(inputs)
         classPool.close();
@@ -146,7 +282,7 @@ abstract class BuildTemplate(val project: Project, val outputProvider: Transform
      * There is no official way to get the path to android.jar for transform.
      * See https://code.google.com/p/android/issues/detail?id=209426
      */
-    private fun addBootClassesToClassPool(classPool: ClassPool) {
+    protected fun addBootClassesToClassPool(classPool: ClassPool) {
         try {
             project.getBootClasspath().forEach {
                 val path: String = it.absolutePath
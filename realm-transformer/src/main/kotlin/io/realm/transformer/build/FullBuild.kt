@@ -19,18 +19,17 @@ package io.realm.transformer.build
 import com.android.SdkConstants
 import com.android.build.api.transform.TransformInput
 import com.android.build.api.transform.TransformOutputProvider
-import io.realm.transformer.BytecodeModifier
+import io.realm.transformer.ModelFieldIndex
 import io.realm.transformer.RealmTransformer
 import io.realm.transformer.ext.safeSubtypeOf
 import io.realm.transformer.logger
 import javassist.CtClass
-import javassist.CtField
 import org.gradle.api.Project
 import java.io.File
 import java.util.jar.JarFile
 
-class FullBuild(project: Project, outputProvider: TransformOutputProvider, transformer: RealmTransformer)
-    : BuildTemplate(project, outputProvider, transformer) {
+class FullBuild(project: Project, outputProvider: TransformOutputProvider, transformer: RealmTransformer, indexFile: File)
+    : BuildTemplate(project, outputProvider, transformer, indexFile) {
 
     private val allModelClasses: ArrayList<CtClass> = arrayListOf()
 
@@ -119,22 +118,18 @@ class FullBuild(project: Project, outputProvider: TransformOutputProvider, trans
     }
 
     override fun transformDirectAccessToModelFields() {
-        // Populate a list of the fields that need to be managed with bytecode manipulation
-        val allManagedFields: ArrayList<CtField> = arrayListOf()
+        // Index the fields that need to be managed with bytecode manipulation
+        val index = ModelFieldIndex()
         allModelClasses.forEach {
-            allManagedFields.addAll(it.declaredFields.filter {
-                BytecodeModifier.isModelField(it)
-            })
+            index.addModelClass(it)
         }
-        logger.debug("Managed Fields: ${allManagedFields.joinToString(",") { it.name }}")
+        logger.debug("Model classes: ${allModelClasses.joinToString(",") { it.name }}")
 
         // Use accessors instead of direct field access
-        outputClassNames.forEach {
-            logger.debug("Modify accessors in class: $it")
-            val ctClass: CtClass = classPool.getCtClass(it)
-            BytecodeModifier.useRealmAccessors(classPool, ctClass, allManagedFields)
-            ctClass.writeFile(getOutputFile(outputProvider).canonicalPath)
-        }
+        transformDirectAccessToModelFields(outputClassNames, index)
+
+        // Persist the index so incremental builds can avoid resolving every field access through the class pool.
+        index.save(indexFile)
     }
 
     private fun merge(set1: Set<String>, set2: Set<String>): Set<String>  {
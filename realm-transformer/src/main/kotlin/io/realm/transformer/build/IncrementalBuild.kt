@@ -22,6 +22,7 @@ import com.android.build.api.transform.TransformInput
 import com.android.build.api.transform.TransformOutputProvider
 import io.realm.annotations.RealmClass
 import io.realm.transformer.BytecodeModifier
+import io.realm.transformer.ModelFieldIndex
 import io.realm.transformer.RealmTransformer
 import io.realm.transformer.ext.safeSubtypeOf
 import io.realm.transformer.logger
@@ -31,8 +32,10 @@ import org.gradle.api.Project
 import java.io.File
 import java.util.jar.JarFile
 
-class IncrementalBuild(project: Project, outputProvider: TransformOutputProvider, transform: RealmTransformer)
-    : BuildTemplate(project, outputProvider, transform) {
+class IncrementalBuild(project: Project, outputProvider: TransformOutputProvider, transform: RealmTransformer, indexFile: File)
+    : BuildTemplate(project, outputProvider, transform, indexFile) {
+
+    private val removedClassNames: MutableSet<String> = hashSetOf()
 
     override fun prepareOutputClasses(inputs: MutableCollection<TransformInput>) {
         this.inputs = inputs;
@@ -46,14 +49,36 @@ class IncrementalBuild(project: Project, outputProvider: TransformOutputProvider
     }
 
     override fun transformDirectAccessToModelFields() {
-        // Use accessors instead of direct field access
-        outputClassNames.forEach {
-            logger.debug("Modify accessors in class: $it")
-            val ctClass: CtClass = classPool.getCtClass(it)
-            BytecodeModifier.useRealmAccessors(classPool, ctClass, null)
-            ctClass.writeFile(getOutputFile(outputProvider).canonicalPath)
+        val index: ModelFieldIndex? = ModelFieldIndex.load(indexFile)
+        if (index == null) {
+            // No index from a previous build. Resolve all field accesses through the class pool.
+            outputClassNames.forEach {
+                logger.debug("Modify accessors in class: $it")
+                val ctClass: CtClass = classPool.getCtClass(it)
+                BytecodeModifier.useRealmAccessors(classPool, ctClass, null)
+                ctClass.writeFile(getOutputFile(outputProvider).canonicalPath)
+            }
+            return
         }
 
+        removedClassNames.forEach {
+            index.removeClass(it)
+        }
+
+        // Callers of changed model classes are not necessarily recompiled, e.g. if a field was marked
+        // @Ignore, so instrument them again from their original input.
+        val classNames: MutableSet<String> = hashSetOf()
+        classNames.addAll(outputClassNames)
+        outputModelClasses.forEach { model ->
+            index.addModelClass(model)
+            index.findCallers(model.name)
+                    .filter { findInputClassFile(it) != null }
+                    .forEach { classNames.add(it) }
+        }
+        logger.debug("Incremental files including callers of changed model classes: ${classNames.size}")
+
+        transformDirectAccessToModelFields(classNames, index)
+        index.save(indexFile)
     }
 
 
@@ -74,10 +99,18 @@ class IncrementalBuild(project: Project, outputProvider: TransformOutputProvider
                 val dirPath: String = it.file.absolutePath
 
                  it.changedFiles.entries.forEach {
-                    if (it.value == Status.NOTCHANGED || it.value == Status.REMOVED) {
+                    if (it.value == Status.NOTCHANGED) {
                         return@forEach
                     }
                     val filePath: String = it.key.absolutePath
+                    if (it.value == Status.REMOVED) {
+                        if (filePath.endsWith(SdkConstants.DOT_CLASS)) {
+                            removedClassNames.add(filePath
+                                    .substring(dirPath.length + 1, filePath.length - SdkConstants.DOT_CLASS.length)
+                                    .replace(File.separatorChar, '.'))
+                        }
+                        return@forEach
+                    }
                     if (filePath.endsWith(SdkConstants.DOT_CLASS)) {
                         val className = filePath
                                 .substring(dirPath.length + 1, filePath.length - SdkConstants.DOT_CLASS.length)
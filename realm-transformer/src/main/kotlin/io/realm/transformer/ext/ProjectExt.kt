@@ -41,6 +41,15 @@ fun Project.getBootClasspath(): List<File> {
     return getAndroidExtension(this).bootClasspath ?: listOf()
 }
 
+/**
+ * Returns the number of threads used to instrument classes. It can be configured using the
+ * `realm.transformer.threads` project property and defaults to the number of available processors.
+ */
+fun Project.getTransformerThreadCount(): Int {
+    val threads: Int? = findProperty("realm.transformer.threads")?.toString()?.toIntOrNull()
+    return if (threads != null && threads > 0) threads else Runtime.getRuntime().availableProcessors()
+}
+
 private fun getAndroidExtension(project: Project): BaseExtension {
     // This will always be present, otherwise the android build would not be able to
     // trigger the transformer code in the first place.
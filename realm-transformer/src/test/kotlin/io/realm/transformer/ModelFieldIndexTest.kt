@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.transformer
+
+import javassist.ClassPool
+import javassist.CtClass
+import javassist.CtField
+import javassist.CtNewMethod
+import javassist.Modifier
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+class ModelFieldIndexTest {
+
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
+    private fun createModelClass(classPool: ClassPool, name: String): CtClass {
+        val model = classPool.makeClass(name)
+        model.addField(CtField(CtClass.intType, "age", model))
+        val transientField = CtField(CtClass.intType, "cache", model)
+        transientField.modifiers = Modifier.TRANSIENT
+        model.addField(transientField)
+        return model
+    }
+
+    @Test
+    fun findReferencedModelClasses() {
+        val classPool = ClassPool(true)
+        val model = createModelClass(classPool, "test.Model")
+        val caller = classPool.makeClass("test.Caller")
+        caller.addMethod(CtNewMethod.make("public int getAge(test.Model m) { return m.age; }", caller))
+        val cacheUser = classPool.makeClass("test.CacheUser")
+        cacheUser.addMethod(CtNewMethod.make("public int getCache(test.Model m) { return m.cache; }", cacheUser))
+
+        val index = ModelFieldIndex()
+        index.addModelClass(model)
+
+        assertEquals(setOf("test.Model"), index.findReferencedModelClasses(caller.classFile))
+        // Transient fields are not managed by Realm
+        assertTrue(index.findReferencedModelClasses(cacheUser.classFile).isEmpty())
+    }
+
+    @Test
+    fun findReferencedModelClasses_fromFile() {
+        val classPool = ClassPool(true)
+        val model = createModelClass(classPool, "test.FileModel")
+        val caller = classPool.makeClass("test.FileCaller")
+        caller.addMethod(CtNewMethod.make("public void setAge(test.FileModel m) { m.age = 42; }", caller))
+        val dir: File = tempFolder.newFolder()
+        caller.writeFile(dir.absolutePath)
+
+        val index = ModelFieldIndex()
+        index.addModelClass(model)
+
+        assertEquals(setOf("test.FileModel"),
+                index.findReferencedModelClasses(File(dir, "test${File.separator}FileCaller.class")))
+    }
+
+    @Test
+    fun saveAndLoad() {
+        val classPool = ClassPool(true)
+        val model = createModelClass(classPool, "test.SavedModel")
+        val index = ModelFieldIndex()
+        index.addModelClass(model)
+        index.setReferencedModelClasses("test.Caller1", setOf("test.SavedModel"))
+        index.setReferencedModelClasses("test.Caller2", setOf("test.SavedModel"))
+        index.setReferencedModelClasses("test.Caller3", setOf())
+
+        val file = File(tempFolder.root, "index.txt")
+        index.save(file)
+        val loadedIndex: ModelFieldIndex = ModelFieldIndex.load(file)!!
+
+        assertEquals(setOf("test.Caller1", "test.Caller2"), loadedIndex.findCallers("test.SavedModel"))
+        loadedIndex.removeClass("test.Caller1")
+        assertEquals(setOf("test.Caller2"), loadedIndex.findCallers("test.SavedModel"))
+    }
+
+    @Test
+    fun load_missingOrCorruptFile() {
+        assertNull(ModelFieldIndex.load(File(tempFolder.root, "missing.txt")))
+        val file = tempFolder.newFile()
+        file.writeText("garbage")
+        assertNull(ModelFieldIndex.load(file))
+    }
+}
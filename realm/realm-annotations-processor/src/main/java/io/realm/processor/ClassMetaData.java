@@ -43,6 +43,7 @@ import javax.lang.model.util.Types;
 
 import io.realm.annotations.Ignore;
 import io.realm.annotations.Index;
+import io.realm.annotations.Interned;
 import io.realm.annotations.LinkingObjects;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.RealmClass;
@@ -63,6 +64,7 @@ public class ClassMetaData {
     private final String javaClassName; // Model class simple name as defined in Java.
     private final List<RealmFieldElement> fields = new ArrayList<>(); // List of all fields in the class except those @Ignored.
     private final List<RealmFieldElement> indexedFields = new ArrayList<>(); // list of all fields marked @Index.
+    private final Set<RealmFieldElement> internedFields = new LinkedHashSet<>(); // Set of fields marked @Interned.
     private final Set<Backlink> backlinks = new LinkedHashSet<>();
     private final Set<RealmFieldElement> nullableFields = new LinkedHashSet<>(); // Set of fields which can be nullable
     private final Set<RealmFieldElement> nullableValueListFields = new LinkedHashSet<>(); // Set of fields whose elements can be nullable
@@ -236,6 +238,16 @@ public class ClassMetaData {
         return indexedFields.contains(variableElement);
     }
 
+    /**
+     * Checks if a VariableElement is marked {@code @Interned}.
+     *
+     * @param variableElement the element/field
+     * @return {@code true} if reads of the field should be cached, {@code false} otherwise.
+     */
+    public boolean isInterned(VariableElement variableElement) {
+        return internedFields.contains(variableElement);
+    }
+
     /**
      * Checks if a VariableElement is a primary key.
      *
@@ -526,6 +538,10 @@ public class ClassMetaData {
             if (!categorizeIndexField(element, field)) { return false; }
         }
 
+        if (field.getAnnotation(Interned.class) != null) {
+            if (!categorizeInternedField(element, field)) { return false; }
+        }
+
         // @Required annotation of RealmList field only affects its value type, not field itself.
         if (Utils.isRealmList(field)) {
             boolean hasRequiredAnnotation = hasRequiredAnnotation(field);
@@ -665,6 +681,24 @@ public class ClassMetaData {
         return false;
     }
 
+    // The field has the @Interned annotation. It's only valid for String fields.
+    private boolean categorizeInternedField(Element element, RealmFieldElement fieldElement) {
+        if (!Utils.isString(fieldElement)) {
+            Utils.error(String.format(Locale.US,
+                    "Field \"%s\" of type \"%s\" cannot be @Interned. Only String fields are supported.",
+                    element, element.asType()));
+            return false;
+        }
+        int maxSize = fieldElement.getAnnotation(Interned.class).maxSize();
+        if (maxSize <= 0) {
+            Utils.error(String.format(Locale.US,
+                    "The maxSize of @Interned on field \"%s\" must be positive, but was %d.", element, maxSize));
+            return false;
+        }
+        internedFields.add(fieldElement);
+        return true;
+    }
+
     // The field has the @Required annotation
     // Returns `true` if the field could be correctly validated, `false` if an error was reported.
     private boolean checkBasicRequiredAnnotationUsage(Element element, VariableElement variableElement) {
@@ -27,6 +27,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
 import javax.tools.JavaFileObject;
 
@@ -40,14 +41,21 @@ import io.realm.annotations.RealmModule;
 public class DefaultModuleGenerator {
 
     private final ProcessingEnvironment env;
+    private final Element[] originatingElements;
 
-    public DefaultModuleGenerator(ProcessingEnvironment env) {
+    /**
+     * @param env the processing environment.
+     * @param originatingElements the model classes included in the module. They are reported to the {@code Filer},
+     * so incremental builds know when the module must be regenerated.
+     */
+    public DefaultModuleGenerator(ProcessingEnvironment env, Element[] originatingElements) {
         this.env = env;
+        this.originatingElements = originatingElements;
     }
 
     public void generate() throws IOException {
         String qualifiedGeneratedClassName = String.format(Locale.US, "%s.%s", Constants.REALM_PACKAGE_NAME, Constants.DEFAULT_MODULE_CLASS_NAME);
-        JavaFileObject sourceFile = env.getFiler().createSourceFile(qualifiedGeneratedClassName);
+        JavaFileObject sourceFile = env.getFiler().createSourceFile(qualifiedGeneratedClassName, originatingElements);
         JavaWriter writer = new JavaWriter(new BufferedWriter(sourceFile.openWriter()));
         writer.setIndent("    ");
 
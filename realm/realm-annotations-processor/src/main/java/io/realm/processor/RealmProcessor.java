@@ -17,8 +17,10 @@
 package io.realm.processor;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -113,12 +115,23 @@ import io.realm.annotations.RealmModule;
  * constructor happens before the assignment of the context information to the 'proxyState'.
  * This will cause the {@link NullPointerException} if getters/setter is accessed in the model's
  * constructor (see https://github.com/realm/realm-java/issues/2536 ).
+ * <p>
+ * <h1>INCREMENTAL PROCESSING</h1>
+ * <p>
+ * The processor is registered as an aggregating processor for Gradle's incremental annotation processing in
+ * {@code META-INF/gradle/incremental.annotation.processors}. Proxy classes cannot be generated in isolation since
+ * their content depends on the naming policies of the modules a class belongs to and on the metadata of the linked
+ * classes, so all files are regenerated on each run. Every generated file reports the elements it was derived from
+ * to the {@link javax.annotation.processing.Filer}, which allows Gradle to only recompile the generated files and the
+ * sources that changed instead of the entire module. To keep this guarantee the processor must only read annotations
+ * with {@code CLASS} or {@code RUNTIME} retention and must not read or write resources through the {@code Filer}.
  */
 @SupportedAnnotationTypes({
         "io.realm.annotations.RealmClass",
         "io.realm.annotations.RealmField",
         "io.realm.annotations.Ignore",
         "io.realm.annotations.Index",
+        "io.realm.annotations.Interned",
         "io.realm.annotations.PrimaryKey",
         "io.realm.annotations.RealmModule",
         "io.realm.annotations.Required"
@@ -224,7 +237,8 @@ public class RealmProcessor extends AbstractProcessor {
 
         // Create RealmProxyMediators for all Realm modules
         for (Map.Entry<String, Set<ClassMetaData>> module : moduleMetaData.getAllModules().entrySet()) {
-            if (!createMediator(Utils.stripPackage(module.getKey()), module.getValue())) {
+            Element moduleElement = processingEnv.getElementUtils().getTypeElement(module.getKey());
+            if (!createMediator(Utils.stripPackage(module.getKey()), moduleElement, module.getValue())) {
                 return false;
             }
         }
@@ -255,7 +269,12 @@ public class RealmProcessor extends AbstractProcessor {
 
     private boolean createDefaultModule() {
         Utils.note("Creating DefaultRealmModule");
-        DefaultModuleGenerator defaultModuleGenerator = new DefaultModuleGenerator(processingEnv);
+        List<Element> classElements = new ArrayList<>();
+        for (ClassMetaData metadata : classCollection.getClasses()) {
+            classElements.add(metadata.getClassElement());
+        }
+        DefaultModuleGenerator defaultModuleGenerator = new DefaultModuleGenerator(processingEnv,
+                classElements.toArray(new Element[0]));
         try {
             defaultModuleGenerator.generate();
         } catch (IOException e) {
@@ -266,9 +285,9 @@ public class RealmProcessor extends AbstractProcessor {
         return true;
     }
 
-    private boolean createMediator(String simpleModuleName, Set<ClassMetaData> moduleClasses) {
+    private boolean createMediator(String simpleModuleName, Element moduleElement, Set<ClassMetaData> moduleClasses) {
         RealmProxyMediatorGenerator mediatorImplGenerator = new RealmProxyMediatorGenerator(processingEnv,
-                simpleModuleName, moduleClasses);
+                simpleModuleName, moduleElement, moduleClasses);
         try {
             mediatorImplGenerator.generate();
         } catch (IOException e) {
@@ -36,6 +36,8 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
 import javax.tools.JavaFileObject;
 
+import io.realm.annotations.Interned;
+
 
 public class RealmProxyClassGenerator {
     private static final String OPTION_SUPPRESS_WARNINGS = "realm.suppressWarnings";
@@ -104,7 +106,8 @@ public class RealmProxyClassGenerator {
     }
 
     public void generate() throws IOException, UnsupportedOperationException {
-        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedClassName);
+        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedClassName,
+                metadata.getClassElement());
         JavaWriter writer = new JavaWriter(new BufferedWriter(sourceFile.openWriter()));
 
         // Set source code indent
@@ -179,6 +182,15 @@ public class RealmProxyClassGenerator {
         for (VariableElement variableElement : metadata.getFields()) {
             writer.emitField("long", columnIndexVarName(variableElement));
         }
+        // Caches of @Interned fields are not copied with the column indices, each instance keeps its own.
+        for (VariableElement variableElement : metadata.getFields()) {
+            if (metadata.isInterned(variableElement)) {
+                writer.emitField("io.realm.internal.StringCache", stringCacheVarName(variableElement),
+                        EnumSet.of(Modifier.FINAL),
+                        String.format(Locale.US, "new io.realm.internal.StringCache(%d)",
+                                variableElement.getAnnotation(Interned.class).maxSize()));
+            }
+        }
         writer.emitEmptyLine();
 
         // constructor #1
@@ -356,9 +368,15 @@ public class RealmProxyClassGenerator {
         } else {
             castingBackType = fieldTypeCanonicalName;
         }
-        writer.emitStatement(
-                "return (%s) proxyState.getRow$realm().get%s(%s)",
-                castingBackType, fieldJavaType, fieldIndexVariableReference(field));
+        if (metadata.isInterned(field)) {
+            writer.emitStatement(
+                    "return (%s) columnInfo.%s.get(proxyState.getRow$realm(), %s)",
+                    castingBackType, stringCacheVarName(field), fieldIndexVariableReference(field));
+        } else {
+            writer.emitStatement(
+                    "return (%s) proxyState.getRow$realm().get%s(%s)",
+                    castingBackType, fieldJavaType, fieldIndexVariableReference(field));
+        }
         writer.endMethod()
                 .emitEmptyLine();
 
@@ -724,14 +742,27 @@ public class RealmProxyClassGenerator {
                 "createExpectedObjectSchemaInfo", // Method name
                 EnumSet.of(Modifier.PRIVATE, Modifier.STATIC)); // Modifiers
 
+        for (String statement : getExpectedObjectSchemaInfoStatements()) {
+            writer.emitStatement("%s", statement);
+        }
+        writer.emitStatement("return builder.build()");
+        writer.endMethod()
+                .emitEmptyLine();
+    }
+
+    // Returns the statements building the expected OsObjectSchemaInfo. They are also the input for the schema
+    // fingerprint, so any change to the expected schema also changes the fingerprint.
+    private List<String> getExpectedObjectSchemaInfoStatements() {
+        List<String> statements = new ArrayList<>();
+
         // Guess capacity for Arrays used by OsObjectSchemaInfo.
         // Used to prevent array resizing at runtime
         int persistedFields = metadata.getFields().size();
         int computedFields = metadata.getBacklinkFields().size();
 
-        writer.emitStatement(
+        statements.add(String.format(Locale.US,
                 "OsObjectSchemaInfo.Builder builder = new OsObjectSchemaInfo.Builder(\"%s\", %s, %s)",
-                internalClassName, persistedFields, computedFields);
+                internalClassName, persistedFields, computedFields));
 
         // For each field generate corresponding table index constant
         for (RealmFieldElement field : metadata.getFields()) {
@@ -746,15 +777,17 @@ public class RealmProxyClassGenerator {
                 case OBJECT: {
                     String fieldTypeQualifiedName = Utils.getFieldTypeQualifiedName(field);
                     String internalClassName = Utils.getReferencedTypeInternalClassNameStatement(fieldTypeQualifiedName, classCollection);
-                    writer.emitStatement("builder.addPersistedLinkProperty(\"%s\", RealmFieldType.OBJECT, %s)",
-                            fieldName, internalClassName);
+                    statements.add(String.format(Locale.US,
+                            "builder.addPersistedLinkProperty(\"%s\", RealmFieldType.OBJECT, %s)",
+                            fieldName, internalClassName));
                     break;
                 }
                 case LIST: {
                     String genericTypeQualifiedName = Utils.getGenericTypeQualifiedName(field);
                     String internalClassName = Utils.getReferencedTypeInternalClassNameStatement(genericTypeQualifiedName, classCollection);
-                    writer.emitStatement("builder.addPersistedLinkProperty(\"%s\", RealmFieldType.LIST, %s)",
-                            fieldName, internalClassName);
+                    statements.add(String.format(Locale.US,
+                            "builder.addPersistedLinkProperty(\"%s\", RealmFieldType.LIST, %s)",
+                            fieldName, internalClassName));
                     break;
                 }
                 case INTEGER_LIST:
@@ -764,8 +797,9 @@ public class RealmProxyClassGenerator {
                 case DATE_LIST:
                 case FLOAT_LIST:
                 case DOUBLE_LIST:
-                    writer.emitStatement("builder.addPersistedValueListProperty(\"%s\", %s, %s)",
-                            fieldName, fieldType.getRealmType(), metadata.isElementNullable(field) ? "!Property.REQUIRED" : "Property.REQUIRED");
+                    statements.add(String.format(Locale.US,
+                            "builder.addPersistedValueListProperty(\"%s\", %s, %s)",
+                            fieldName, fieldType.getRealmType(), metadata.isElementNullable(field) ? "!Property.REQUIRED" : "Property.REQUIRED"));
                     break;
 
                 case BACKLINK:
@@ -782,12 +816,13 @@ public class RealmProxyClassGenerator {
                     String nullableFlag = (metadata.isNullable(field) ? "!" : "") + "Property.REQUIRED";
                     String indexedFlag = (metadata.isIndexed(field) ? "" : "!") + "Property.INDEXED";
                     String primaryKeyFlag = (metadata.isPrimaryKey(field) ? "" : "!") + "Property.PRIMARY_KEY";
-                    writer.emitStatement("builder.addPersistedProperty(\"%s\", %s, %s, %s, %s)",
+                    statements.add(String.format(Locale.US,
+                            "builder.addPersistedProperty(\"%s\", %s, %s, %s, %s)",
                             fieldName,
                             fieldType.getRealmType(),
                             primaryKeyFlag,
                             indexedFlag,
-                            nullableFlag);
+                            nullableFlag));
                     break;
 
                 default:
@@ -800,12 +835,11 @@ public class RealmProxyClassGenerator {
             ClassMetaData sourceClass = classCollection.getClassFromQualifiedName(backlink.getSourceClass());
             String targetField = backlink.getTargetField(); // Only in the model, so no internal name exists
             String internalSourceField = sourceClass.getInternalFieldName(backlink.getSourceField());
-            writer.emitStatement("builder.addComputedLinkProperty(\"%s\", \"%s\", \"%s\")",
-                    targetField, sourceClass.getInternalClassName(), internalSourceField);
+            statements.add(String.format(Locale.US,
+                    "builder.addComputedLinkProperty(\"%s\", \"%s\", \"%s\")",
+                    targetField, sourceClass.getInternalClassName(), internalSourceField));
         }
-        writer.emitStatement("return builder.build()");
-        writer.endMethod()
-                .emitEmptyLine();
+        return statements;
     }
 
     private void emitGetExpectedObjectSchemaInfo(JavaWriter writer) throws IOException {
@@ -849,6 +883,8 @@ public class RealmProxyClassGenerator {
                 "class",                                                  // the type of the item
                 EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)); // modifiers to apply
         writer.emitField("String", "INTERNAL_CLASS_NAME", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL), "\""+ internalClassName+"\"");
+        writer.emitField("long", "SCHEMA_FINGERPRINT", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL),
+                String.format(Locale.US, "0x%016xL", Utils.fingerprint(getExpectedObjectSchemaInfoStatements())));
         writer.endType();
         writer.emitEmptyLine();
     }
@@ -2145,6 +2181,10 @@ public class RealmProxyClassGenerator {
         return variableElement.getSimpleName().toString() + "Index";
     }
 
+    private String stringCacheVarName(VariableElement variableElement) {
+        return variableElement.getSimpleName().toString() + "StringCache";
+    }
+
     private String mutableRealmIntegerFieldName(VariableElement variableElement) {
         return variableElement.getSimpleName().toString() + "MutableRealmInteger";
     }
@@ -44,7 +44,8 @@ public class RealmProxyInterfaceGenerator {
     public void generate() throws IOException {
         String qualifiedGeneratedInterfaceName =
                 String.format(Locale.US, "%s.%s", Constants.REALM_PACKAGE_NAME, Utils.getProxyInterfaceName(className));
-        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedInterfaceName);
+        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedInterfaceName,
+                metaData.getClassElement());
         JavaWriter writer = new JavaWriter(new BufferedWriter(sourceFile.openWriter()));
 
         writer.setIndent(Constants.INDENT);
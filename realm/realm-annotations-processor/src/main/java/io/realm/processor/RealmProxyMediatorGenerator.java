@@ -29,6 +29,7 @@ import java.util.Locale;
 import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
 import javax.tools.JavaFileObject;
 
@@ -43,23 +44,29 @@ public class RealmProxyMediatorGenerator {
     private final List<String> qualifiedModelClasses = new ArrayList<>();
     private final List<String> qualifiedProxyClasses = new ArrayList<>();
     private final List<String> internalClassNames = new ArrayList<>();
+    private final List<Element> originatingElements = new ArrayList<>();
 
 
     public RealmProxyMediatorGenerator(ProcessingEnvironment processingEnvironment,
-            String className, Set<ClassMetaData> classesToValidate) {
+            String className, Element moduleElement, Set<ClassMetaData> classesToValidate) {
         this.processingEnvironment = processingEnvironment;
         this.className = className;
+        if (moduleElement != null) {
+            originatingElements.add(moduleElement);
+        }
 
         for (ClassMetaData metadata : classesToValidate) {
             qualifiedModelClasses.add(metadata.getFullyQualifiedClassName());
             qualifiedProxyClasses.add(REALM_PACKAGE_NAME + "." + Utils.getProxyClassName(metadata.getFullyQualifiedClassName()));
             internalClassNames.add(metadata.getInternalClassName());
+            originatingElements.add(metadata.getClassElement());
         }
     }
 
     public void generate() throws IOException {
         String qualifiedGeneratedClassName = String.format(Locale.US, "%s.%sMediator", REALM_PACKAGE_NAME, className);
-        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedClassName);
+        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedClassName,
+                originatingElements.toArray(new Element[0]));
         JavaWriter writer = new JavaWriter(new BufferedWriter(sourceFile.openWriter()));
         writer.setIndent("    ");
 
@@ -99,6 +106,7 @@ public class RealmProxyMediatorGenerator {
 
         emitFields(writer);
         emitGetExpectedObjectSchemaInfoMap(writer);
+        emitGetSchemaFingerprintMethod(writer);
         emitCreateColumnInfoMethod(writer);
         emitGetSimpleClassNameMethod(writer);
         emitNewInstanceMethod(writer);
@@ -147,6 +155,25 @@ public class RealmProxyMediatorGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitGetSchemaFingerprintMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "long",
+                "getSchemaFingerprint",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<? extends RealmModel>", "clazz"
+        );
+        // The fingerprint is a compile time constant, so the proxy class (and its schema) is not loaded.
+        emitMediatorShortCircuitSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("return %s.ClassNameHelper.SCHEMA_FINGERPRINT", qualifiedProxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreateColumnInfoMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
@@ -3,6 +3,7 @@ package io.realm.processor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import javax.annotation.processing.Messager;
@@ -305,6 +306,21 @@ public class Utils {
         }
     }
 
+    /**
+     * Returns a 64-bit FNV-1a hash of the given lines. The value is stable across compilers and JVMs, so it can be
+     * persisted and compared at runtime. It is never {@code 0}, which is reserved for "no fingerprint".
+     */
+    public static long fingerprint(List<String> lines) {
+        long hash = 0xcbf29ce484222325L;
+        for (String line : lines) {
+            for (byte b : (line + "\n").getBytes(StandardCharsets.UTF_8)) {
+                hash ^= (b & 0xff);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return (hash == 0) ? 1 : hash;
+    }
+
     public static void error(String message, Element element) {
         if (element instanceof RealmFieldElement) {
             // Element is being cast to Symbol internally which breaks any implementors of the
@@ -305,6 +305,43 @@ public class RealmProcessorTest {
         }
     }
 
+    // Supported "Interned" annotation types
+    @Test
+    public void compileInternedTypes() throws IOException {
+        final String[] validInternedAnnotations = {"Interned", "Interned(maxSize = 1)"};
+
+        for (String annotation : validInternedAnnotations) {
+            RealmSyntheticTestClass javaFileObject =
+                    new RealmSyntheticTestClass.Builder().name("ValidInternedType").field("testField", "String", annotation).build();
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .compilesWithoutError();
+        }
+    }
+
+    // Unsupported "Interned" annotation types
+    @Test
+    public void compileInvalidInternedTypes() throws IOException {
+        final String[] invalidInternedFieldTypes = {"int", "Long", "byte[]", "java.util.Date", "Simple", "RealmList<String>"};
+
+        for (String fieldType : invalidInternedFieldTypes) {
+            RealmSyntheticTestClass javaFileObject =
+                    new RealmSyntheticTestClass.Builder().name("InvalidInternedType").field("testField", fieldType, "Interned").build();
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+
+        RealmSyntheticTestClass javaFileObject =
+                new RealmSyntheticTestClass.Builder().name("InvalidInternedSize").field("testField", "String", "Interned(maxSize = 0)").build();
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
+
     // Supported "PrimaryKey" annotation types
     @Test
     public void compilePrimaryKeyTypes() throws IOException {
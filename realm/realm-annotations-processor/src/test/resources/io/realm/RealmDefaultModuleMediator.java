@@ -37,6 +37,16 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         return infoMap;
     }
 
+    @Override
+    public long getSchemaFingerprint(Class<? extends RealmModel> clazz) {
+        checkClass(clazz);
+
+        if (clazz.equals(some.test.AllTypes.class)) {
+            return io.realm.some_test_AllTypesRealmProxy.ClassNameHelper.SCHEMA_FINGERPRINT;
+        }
+        throw getMissingProxyClassException(clazz);
+    }
+
     @Override
     public ColumnInfo createColumnInfo(Class<? extends RealmModel> clazz, OsSchemaInfo schemaInfo) {
         checkClass(clazz);
@@ -870,6 +870,7 @@ public class some_test_AllTypesRealmProxy extends some.test.AllTypes
 
     public static final class ClassNameHelper {
         public static final String INTERNAL_CLASS_NAME = "AllTypes";
+        public static final long SCHEMA_FINGERPRINT = 0x41136f3a3627c8ffL;
     }
 
     @SuppressWarnings("cast")
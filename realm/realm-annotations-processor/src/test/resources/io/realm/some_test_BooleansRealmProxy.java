@@ -204,6 +204,7 @@ public class some_test_BooleansRealmProxy extends some.test.Booleans
 
     public static final class ClassNameHelper {
         public static final String INTERNAL_CLASS_NAME = "Booleans";
+        public static final long SCHEMA_FINGERPRINT = 0x061bb8e3846b3377L;
     }
 
     @SuppressWarnings("cast")
@@ -168,6 +168,7 @@ public class some_test_NamePolicyMixedClassSettingsRealmProxy extends some.test.
 
     public static final class ClassNameHelper {
         public static final String INTERNAL_CLASS_NAME = "customName";
+        public static final long SCHEMA_FINGERPRINT = 0x99ba32a387809d77L;
     }
 
     @SuppressWarnings("cast")
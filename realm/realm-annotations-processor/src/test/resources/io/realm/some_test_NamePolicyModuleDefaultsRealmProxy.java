@@ -168,6 +168,7 @@ public class some_test_NamePolicyModuleDefaultsRealmProxy extends some.test.Name
 
     public static final class ClassNameHelper {
         public static final String INTERNAL_CLASS_NAME = "NamePolicyModuleDefaults";
+        public static final long SCHEMA_FINGERPRINT = 0xf67497f329957aa9L;
     }
 
     @SuppressWarnings("cast")
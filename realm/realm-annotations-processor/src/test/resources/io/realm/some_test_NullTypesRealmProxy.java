@@ -1709,6 +1709,7 @@ public class some_test_NullTypesRealmProxy extends some.test.NullTypes
 
     public static final class ClassNameHelper {
         public static final String INTERNAL_CLASS_NAME = "NullTypes";
+        public static final long SCHEMA_FINGERPRINT = 0xa542846a3cb41b24L;
     }
 
     @SuppressWarnings("cast")
@@ -160,6 +160,7 @@ public class some_test_SimpleRealmProxy extends some.test.Simple
 
     public static final class ClassNameHelper {
         public static final String INTERNAL_CLASS_NAME = "Simple";
+        public static final long SCHEMA_FINGERPRINT = 0x9f9dde5d777ea9deL;
     }
 
     @SuppressWarnings("cast")
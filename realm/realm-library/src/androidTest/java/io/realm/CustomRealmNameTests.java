@@ -127,6 +127,26 @@ public class CustomRealmNameTests {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    public void typedListAggregateWithJavaNames() {
+        realm.beginTransaction();
+        ClassWithPolicy parent = realm.createObject(ClassWithPolicy.class);
+        for (long value : new long[] {5, 7}) {
+            ClassWithPolicy child = realm.createObject(ClassWithPolicy.class);
+            child.FIRSTCaps = value;
+            parent.$_internalVar.add(child);
+        }
+        realm.commitTransaction();
+
+        // Both the list and the aggregated field of its objects are resolved by their Java names.
+        assertEquals(1, realm.where(ClassWithPolicy.class)
+                .aggregateEqualTo("$_internalVar.FIRSTCaps", ListAggregate.SUM, 12)
+                .count());
+        assertEquals(2, realm.where(ClassWithPolicy.class)
+                .aggregateEqualTo("$_internalVar", ListAggregate.COUNT, 0)
+                .count());
+    }
+
     @Test
     public void typedQueryWithInternalNamesThrows() {
 
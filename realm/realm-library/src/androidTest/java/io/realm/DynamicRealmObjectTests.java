@@ -27,8 +27,11 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -295,6 +298,25 @@ public class DynamicRealmObjectTests {
         }
     }
 
+    @Test
+    public void typedGetter_missingFieldNameThrows() {
+        List<String> arguments = Collections.singletonList("foo");
+        for (SupportedType type : SupportedType.values()) {
+            try {
+                callGetter(dObjTyped, type, arguments);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("Illegal Argument: Field not found: foo", e.getMessage());
+            }
+            try {
+                callGetter(dObjDynamic, type, arguments);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("Illegal Argument: Field not found: foo", e.getMessage());
+            }
+        }
+    }
+
     @Test
     public void typedGetter_wrongUnderlyingTypeThrows() {
         for (SupportedType type : SupportedType.values()) {
@@ -377,6 +399,38 @@ public class DynamicRealmObjectTests {
         }
     }
 
+    @Test
+    public void typedSetter_missingFieldNameThrows() {
+        List<String> arguments = Collections.singletonList("foo");
+        realm.beginTransaction();
+        try {
+            for (SupportedType type : SupportedType.values()) {
+                try {
+                    callSetter(dObjTyped, type, arguments);
+                    fail();
+                } catch (IllegalArgumentException e) {
+                    assertEquals("Illegal Argument: Field not found: foo", e.getMessage());
+                }
+            }
+        } finally {
+            realm.cancelTransaction();
+        }
+
+        dynamicRealm.beginTransaction();
+        try {
+            for (SupportedType type : SupportedType.values()) {
+                try {
+                    callSetter(dObjDynamic, type, arguments);
+                    fail();
+                } catch (IllegalArgumentException e) {
+                    assertEquals("Illegal Argument: Field not found: foo", e.getMessage());
+                }
+            }
+        } finally {
+            dynamicRealm.cancelTransaction();
+        }
+    }
+
     @Test
     public void typedSetter_wrongUnderlyingTypeThrows() {
         for (SupportedType type : SupportedType.values()) {
@@ -1629,4 +1683,153 @@ public class DynamicRealmObjectTests {
         thread.start();
         TestHelper.awaitOrFail(threadFinished);
     }
+
+    @Test
+    public void fieldHandle_getAndSet() {
+        RealmObjectSchema objectSchema = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME);
+        RealmFieldHandle stringField = objectSchema.getFieldHandle(AllJavaTypes.FIELD_STRING);
+        RealmFieldHandle longField = objectSchema.getFieldHandle(AllJavaTypes.FIELD_LONG);
+        RealmFieldHandle dateField = objectSchema.getFieldHandle(AllJavaTypes.FIELD_DATE);
+        assertEquals(AllJavaTypes.CLASS_NAME, stringField.getClassName());
+        assertEquals(AllJavaTypes.FIELD_STRING, stringField.getFieldName());
+        assertEquals(RealmFieldType.STRING, stringField.getFieldType());
+
+        assertEquals("str", dObjDynamic.getString(stringField));
+        assertEquals(1, dObjDynamic.getLong(longField));
+        assertEquals(1, dObjDynamic.getInt(longField));
+        assertEquals(new Date(1000), dObjDynamic.getDate(dateField));
+        assertFalse(dObjDynamic.isNull(stringField));
+
+        dynamicRealm.beginTransaction();
+        dObjDynamic.setString(stringField, "foo");
+        dObjDynamic.setInt(longField, 42);
+        dObjDynamic.setNull(dateField);
+        dynamicRealm.commitTransaction();
+
+        assertEquals("foo", dObjDynamic.getString(AllJavaTypes.FIELD_STRING));
+        assertEquals(42, dObjDynamic.getLong(AllJavaTypes.FIELD_LONG));
+        assertTrue(dObjDynamic.isNull(dateField));
+    }
+
+    @Test
+    public void fieldHandle_primaryKeyCannotBeChanged() {
+        RealmFieldHandle idField = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME)
+                .getFieldHandle(AllJavaTypes.FIELD_ID);
+
+        dynamicRealm.beginTransaction();
+        try {
+            dObjDynamic.setLong(idField, 42);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            dynamicRealm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void fieldHandle_stillWorksAfterSchemaChange() {
+        RealmFieldHandle longField = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME)
+                .getFieldHandle(AllJavaTypes.FIELD_LONG);
+        assertEquals(1, dObjDynamic.getLong(longField));
+
+        dynamicRealm.beginTransaction();
+        // Removing a column in front of the field shifts its column index.
+        dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME).removeField(AllJavaTypes.FIELD_STRING);
+        assertEquals(1, dObjDynamic.getLong(longField));
+        assertEquals(1, dObjDynamic.getLong(AllJavaTypes.FIELD_LONG));
+        assertFalse(dObjDynamic.hasField(AllJavaTypes.FIELD_STRING));
+        dynamicRealm.cancelTransaction();
+
+        assertEquals(1, dObjDynamic.getLong(longField));
+        assertEquals("str", dObjDynamic.getString(AllJavaTypes.FIELD_STRING));
+    }
+
+    @Test
+    public void fieldHandle_removedFieldThrows() {
+        RealmFieldHandle stringField = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME)
+                .getFieldHandle(AllJavaTypes.FIELD_STRING);
+
+        dynamicRealm.beginTransaction();
+        dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME).removeField(AllJavaTypes.FIELD_STRING);
+        try {
+            dObjDynamic.getString(stringField);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Illegal Argument: Field not found: " + AllJavaTypes.FIELD_STRING, e.getMessage());
+        } finally {
+            dynamicRealm.cancelTransaction();
+        }
+    }
+
+    @Test
+    public void fieldHandle_wrongClassThrows() {
+        dynamicRealm.beginTransaction();
+        RealmFieldHandle field = dynamicRealm.getSchema().create("Other")
+                .addField(AllJavaTypes.FIELD_STRING, String.class)
+                .getFieldHandle(AllJavaTypes.FIELD_STRING);
+        dynamicRealm.cancelTransaction();
+
+        thrown.expect(IllegalArgumentException.class);
+        dObjDynamic.getString(field);
+    }
+
+    @Test
+    public void fieldHandle_query() {
+        RealmObjectSchema objectSchema = dynamicRealm.getSchema().get(AllJavaTypes.CLASS_NAME);
+        RealmFieldHandle stringField = objectSchema.getFieldHandle(AllJavaTypes.FIELD_STRING);
+        RealmFieldHandle longField = objectSchema.getFieldHandle(AllJavaTypes.FIELD_LONG);
+        RealmFieldHandle booleanField = objectSchema.getFieldHandle(AllJavaTypes.FIELD_BOOLEAN);
+
+        assertEquals(1, dynamicRealm.where(AllJavaTypes.CLASS_NAME).equalTo(stringField, "str").count());
+        assertEquals(0, dynamicRealm.where(AllJavaTypes.CLASS_NAME).equalTo(stringField, "foo").count());
+        assertEquals(1, dynamicRealm.where(AllJavaTypes.CLASS_NAME).equalTo(longField, 1L).count());
+        assertEquals(1, dynamicRealm.where(AllJavaTypes.CLASS_NAME).equalTo(booleanField, true).count());
+        assertEquals(0, dynamicRealm.where(AllJavaTypes.CLASS_NAME).isNull(stringField).count());
+        assertEquals(1, dynamicRealm.where(AllJavaTypes.CLASS_NAME).isNotNull(stringField).count());
+
+        try {
+            dynamicRealm.where(AllJavaTypes.CLASS_NAME).equalTo(stringField, 1L);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void getStringUtf8() {
+        byte[] expected = "str".getBytes(Charset.forName("UTF-8"));
+        byte[] array = new byte[8];
+        assertEquals(expected.length, dObjDynamic.getStringUtf8(AllJavaTypes.FIELD_STRING, array, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(array, 2, 2 + expected.length));
+
+        // Too small, nothing is copied.
+        byte[] small = new byte[2];
+        assertEquals(expected.length, dObjDynamic.getStringUtf8(AllJavaTypes.FIELD_STRING, small, 0));
+        assertArrayEquals(new byte[2], small);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        assertEquals(expected.length, dObjDynamic.getStringUtf8(AllJavaTypes.FIELD_STRING, buffer));
+        assertEquals(expected.length, buffer.position());
+        buffer.flip();
+        byte[] copied = new byte[buffer.remaining()];
+        buffer.get(copied);
+        assertArrayEquals(expected, copied);
+
+        try {
+            dObjDynamic.getStringUtf8(AllJavaTypes.FIELD_LONG, array, 0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void getStringUtf8_null() {
+        dynamicRealm.beginTransaction();
+        DynamicRealmObject obj = dynamicRealm.createObject(NullTypes.CLASS_NAME, 0);
+        dynamicRealm.commitTransaction();
+
+        assertEquals(-1, obj.getStringUtf8(NullTypes.FIELD_STRING_NULL, new byte[4], 0));
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        assertEquals(-1, obj.getStringUtf8(NullTypes.FIELD_STRING_NULL, buffer));
+        assertEquals(0, buffer.position());
+    }
 }
@@ -29,13 +29,16 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
 
+import io.realm.entities.CounterPrimaryKey;
 import io.realm.entities.MutableRealmIntegerTypes;
 import io.realm.rule.RunInLooperThread;
 import io.realm.rule.TestRealmConfigurationFactory;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.Assert.fail;
 
@@ -434,6 +437,139 @@ public class MutableRealmIntegerTests {
         realm.commitTransaction();
     }
 
+    @Test
+    public void counterBuffer_flush() throws InterruptedException {
+        realm.beginTransaction();
+        realm.createObject(CounterPrimaryKey.class, 1L).count.set(10L);
+        realm.commitTransaction();
+
+        final RealmCounterBuffer buffer = new RealmCounterBuffer(realm.getConfiguration(), CounterPrimaryKey.class,
+                CounterPrimaryKey.FIELD_COUNT);
+        final int threads = 4;
+        final int increments = 1000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new java.lang.Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < increments; j++) {
+                        buffer.increment(1, 1);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        TestHelper.awaitOrFail(done);
+
+        CounterPrimaryKey obj = realm.where(CounterPrimaryKey.class).findFirst();
+        assertEquals(Long.valueOf(10L), obj.count.get());
+        assertEquals(threads * increments, buffer.getPending(1L));
+        assertEquals(Long.valueOf(10L + threads * increments), buffer.get(realm, 1L));
+
+        buffer.flush();
+        realm.refresh();
+        assertEquals(Long.valueOf(10L + threads * increments), obj.count.get());
+        assertEquals(0, buffer.getPending(1L));
+        assertEquals(Long.valueOf(10L + threads * increments), buffer.get(realm, 1L));
+    }
+
+    @Test
+    public void counterBuffer_flushInTransaction() {
+        realm.beginTransaction();
+        CounterPrimaryKey obj = realm.createObject(CounterPrimaryKey.class, 1L);
+        realm.commitTransaction();
+
+        RealmCounterBuffer buffer = new RealmCounterBuffer(realm.getConfiguration(), CounterPrimaryKey.class,
+                CounterPrimaryKey.FIELD_COUNT);
+        buffer.increment(1L, 5);
+        buffer.decrement(1L, 2);
+        try {
+            buffer.flush(realm);
+            fail();
+        } catch (IllegalStateException ignore) {
+            checkException(ignore, "inside a write transaction");
+        }
+
+        realm.beginTransaction();
+        buffer.flush(realm);
+        realm.commitTransaction();
+        assertEquals(Long.valueOf(3L), obj.count.get());
+        assertEquals(0, buffer.getPending(1L));
+    }
+
+    @Test
+    public void counterBuffer_discardsIncrementsOfMissingObjects() {
+        RealmCounterBuffer buffer = new RealmCounterBuffer(realm.getConfiguration(), CounterPrimaryKey.class,
+                CounterPrimaryKey.FIELD_COUNT);
+        buffer.increment(42L, 1);
+        assertNull(buffer.get(realm, 42L));
+
+        buffer.flush();
+        assertEquals(0, buffer.getPending(42L));
+        assertEquals(0, realm.where(CounterPrimaryKey.class).count());
+    }
+
+    @Test
+    public void counterBuffer_failedFlushKeepsIncrements() {
+        realm.beginTransaction();
+        CounterPrimaryKey obj = realm.createObject(CounterPrimaryKey.class, 1L);
+        obj.count.set(10L);
+        realm.commitTransaction();
+
+        RealmCounterBuffer buffer = new RealmCounterBuffer(realm.getConfiguration(), CounterPrimaryKey.class,
+                CounterPrimaryKey.FIELD_COUNT);
+        buffer.increment(1L, 5);
+        // The primary key of CounterPrimaryKey is not a String, so writing this increment fails.
+        buffer.increment("1", 1);
+        try {
+            buffer.flush();
+            fail();
+        } catch (IllegalArgumentException ignore) {
+            checkException(ignore, "is not a String");
+        }
+        realm.refresh();
+        assertEquals(Long.valueOf(10L), obj.count.get());
+        assertEquals(5, buffer.getPending(1L));
+
+        realm.beginTransaction();
+        try {
+            buffer.flush(realm);
+            fail();
+        } catch (IllegalArgumentException ignore) {
+            checkException(ignore, "is not a String");
+        }
+        realm.commitTransaction();
+        assertEquals(Long.valueOf(10L), obj.count.get());
+        assertEquals(5, buffer.getPending(1L));
+    }
+
+    @Test
+    public void counterBuffer_invalidArgumentsThrow() {
+        RealmCounterBuffer buffer = new RealmCounterBuffer(realm.getConfiguration(), CounterPrimaryKey.class,
+                CounterPrimaryKey.FIELD_COUNT);
+        try {
+            buffer.increment(null, 1);
+            fail();
+        } catch (IllegalArgumentException ignore) {
+            checkException(ignore, "Primary key must be");
+        }
+        try {
+            buffer.get(realm, "1");
+            fail();
+        } catch (IllegalArgumentException ignore) {
+            checkException(ignore, "is not a String");
+        }
+
+        RealmCounterBuffer noPrimaryKey = new RealmCounterBuffer(realm.getConfiguration(),
+                MutableRealmIntegerTypes.class, MutableRealmIntegerTypes.FIELD_NONNULLABLE_MUTABLEREALMINTEGER);
+        try {
+            noPrimaryKey.get(realm, 1L);
+            fail();
+        } catch (IllegalArgumentException ignore) {
+            checkException(ignore, "does not have a primary key");
+        }
+    }
+
     private void checkTransactionException(Exception e) {
         checkException(e, "only be done from inside a transaction");
     }
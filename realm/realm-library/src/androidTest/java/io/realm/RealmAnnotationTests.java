@@ -25,6 +25,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import io.realm.entities.AnnotationIndexTypes;
+import io.realm.entities.AnnotationInternedTypes;
 import io.realm.entities.AnnotationNameConventions;
 import io.realm.entities.AnnotationTypes;
 import io.realm.entities.PrimaryKeyAsLong;
@@ -37,6 +38,9 @@ import io.realm.rule.TestRealmConfigurationFactory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -101,6 +105,48 @@ public class RealmAnnotationTests {
         assertFalse(table.hasSearchIndex(table.getColumnIndex("notIndexDate")));
     }
 
+    @Test
+    public void interned_returnsSharedInstances() {
+        realm.beginTransaction();
+        for (int i = 0; i < 4; i++) {
+            AnnotationInternedTypes object = realm.createObject(AnnotationInternedTypes.class);
+            object.setId(i);
+            object.setStatus((i % 2 == 0) ? "active" : null);
+            object.setNotInternedString("active");
+        }
+        realm.commitTransaction();
+
+        RealmResults<AnnotationInternedTypes> results = realm.where(AnnotationInternedTypes.class)
+                .sort("id").findAll();
+        assertEquals("active", results.get(0).getStatus());
+        assertNull(results.get(1).getStatus());
+        assertSame(results.get(0).getStatus(), results.get(2).getStatus());
+        assertNotSame(results.get(0).getNotInternedString(), results.get(2).getNotInternedString());
+    }
+
+    @Test
+    public void interned_evictsAndSkipsLongValues() {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longValue.append("\u00e6");
+        }
+        String[] categories = {"a", "b", "\ud83d\ude00", "", longValue.toString(), "a"};
+
+        realm.beginTransaction();
+        for (int i = 0; i < categories.length; i++) {
+            AnnotationInternedTypes object = realm.createObject(AnnotationInternedTypes.class);
+            object.setId(i);
+            object.setCategory(categories[i]);
+        }
+        realm.commitTransaction();
+
+        RealmResults<AnnotationInternedTypes> results = realm.where(AnnotationInternedTypes.class)
+                .sort("id").findAll();
+        for (int i = 0; i < categories.length; i++) {
+            assertEquals(categories[i], results.get(i).getCategory());
+        }
+    }
+
     @Test
     public void primaryKey_checkPrimaryKeyOnCreate() {
         realm.beginTransaction();
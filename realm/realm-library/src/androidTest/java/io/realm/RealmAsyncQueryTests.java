@@ -37,6 +37,8 @@ import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.PrimaryKeyAsLong;
+import io.realm.entities.PrimaryKeyAsString;
 import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.log.LogLevel;
 import io.realm.log.RealmLog;
@@ -698,6 +700,116 @@ public class RealmAsyncQueryTests {
         }
     }
 
+    @Test
+    @RunTestInLooperThread
+    public void findByPrimaryKeyAsync() {
+        Realm realm = looperThread.getRealm();
+        realm.beginTransaction();
+        realm.copyToRealm(new PrimaryKeyAsString("foo", 1));
+        realm.copyToRealm(new PrimaryKeyAsString("bar", 2));
+        realm.commitTransaction();
+
+        final PrimaryKeyAsString asyncObj = realm.findByPrimaryKeyAsync(PrimaryKeyAsString.class, "bar");
+        assertFalse(asyncObj.isLoaded());
+        assertFalse(asyncObj.isValid());
+        looperThread.keepStrongReference(asyncObj);
+        asyncObj.addChangeListener(new RealmChangeListener<PrimaryKeyAsString>() {
+            @Override
+            public void onChange(PrimaryKeyAsString object) {
+                assertTrue(asyncObj.isLoaded());
+                assertTrue(asyncObj.isValid());
+                assertEquals(2, asyncObj.getId());
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findByPrimaryKeyAsync_noMatch() {
+        Realm realm = looperThread.getRealm();
+        final PrimaryKeyAsLong asyncObj = realm.findByPrimaryKeyAsync(PrimaryKeyAsLong.class, 42);
+        looperThread.keepStrongReference(asyncObj);
+        asyncObj.addChangeListener(new RealmChangeListener<PrimaryKeyAsLong>() {
+            @Override
+            public void onChange(PrimaryKeyAsLong object) {
+                assertTrue(asyncObj.isLoaded());
+                assertFalse(asyncObj.isValid());
+                looperThread.testComplete();
+            }
+        });
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findByPrimaryKeyAsync_loadedByBeginTransaction() {
+        Realm realm = looperThread.getRealm();
+        realm.beginTransaction();
+        realm.createObject(PrimaryKeyAsLong.class, 7L).setName("seven");
+        realm.commitTransaction();
+
+        PrimaryKeyAsLong asyncObj = realm.findByPrimaryKeyAsync(PrimaryKeyAsLong.class, 7L);
+        assertFalse(asyncObj.isLoaded());
+        realm.beginTransaction();
+        assertTrue(asyncObj.isLoaded());
+        assertEquals("seven", asyncObj.getName());
+        realm.cancelTransaction();
+
+        realm.beginTransaction();
+        asyncObj = realm.findByPrimaryKeyAsync(PrimaryKeyAsLong.class, 7L);
+        assertTrue(asyncObj.isLoaded());
+        assertEquals("seven", asyncObj.getName());
+        realm.cancelTransaction();
+        looperThread.testComplete();
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findByPrimaryKeyAsync_noPrimaryKeyThrows() {
+        try {
+            looperThread.getRealm().findByPrimaryKeyAsync(AllTypes.class, 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        looperThread.testComplete();
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findByPrimaryKeyAsync_wrongTypeThrows() {
+        Realm realm = looperThread.getRealm();
+        try {
+            realm.findByPrimaryKeyAsync(PrimaryKeyAsLong.class, "42");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            realm.findByPrimaryKeyAsync(PrimaryKeyAsString.class, 42);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        looperThread.testComplete();
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void findByPrimaryKeyAsync_nullForRequiredPrimaryKeyThrows() {
+        Realm realm = looperThread.getRealm();
+        try {
+            realm.findByPrimaryKeyAsync(PrimaryKeyAsLong.class, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        realm.beginTransaction();
+        try {
+            realm.findByPrimaryKeyAsync(PrimaryKeyAsLong.class, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        realm.cancelTransaction();
+        looperThread.testComplete();
+    }
+
     // load should trigger the listener with empty change set.
     @Test
     @RunTestInLooperThread
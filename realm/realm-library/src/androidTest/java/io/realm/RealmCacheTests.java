@@ -29,10 +29,13 @@ import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.realm.entities.AllJavaTypes;
 import io.realm.entities.AllTypes;
+import io.realm.entities.AssetFileModule;
+import io.realm.entities.Owner;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmFileException;
 import io.realm.rule.RunInLooperThread;
@@ -353,6 +356,35 @@ public class RealmCacheTests {
         assertFalse(realmCreated.get());
     }
 
+    @Test
+    @RunTestInLooperThread
+    public void getInstanceAsync_reportsAssetFileProgress() {
+        final RealmConfiguration configuration = looperThread.createConfigurationBuilder()
+                .modules(new AssetFileModule())
+                .assetFile("asset_file.realm")
+                .build();
+        final long assetFileSize = 8192;
+        final AtomicLong lastBytesCopied = new AtomicLong(0);
+        Realm.getInstanceAsync(configuration, new Realm.Callback() {
+            @Override
+            public void onAssetFileProgress(long bytesCopied, long totalBytes) {
+                assertTrue(bytesCopied > lastBytesCopied.get());
+                lastBytesCopied.set(bytesCopied);
+                if (bytesCopied == assetFileSize) {
+                    assertEquals(assetFileSize, totalBytes);
+                }
+            }
+
+            @Override
+            public void onSuccess(Realm realm) {
+                assertEquals(assetFileSize, lastBytesCopied.get());
+                assertEquals(10, realm.where(Owner.class).count());
+                realm.close();
+                looperThread.testComplete();
+            }
+        });
+    }
+
     @Test
     @RunTestInLooperThread
     public void getInstanceAsync_dynamicRealm() {
@@ -32,6 +32,7 @@ import org.mockito.Mockito;
 import java.io.File;
 import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
@@ -50,6 +51,8 @@ import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmFileException;
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.OsObjectStore;
+import io.realm.internal.OsSharedRealm;
 import io.realm.internal.modules.CompositeMediator;
 import io.realm.internal.modules.FilterableMediator;
 import io.realm.rule.TestRealmConfigurationFactory;
@@ -1001,6 +1004,24 @@ public class RealmConfigurationTests {
         assertFalse(realmFile.exists());
     }
 
+    @Test
+    public void assetFileCompressedFile() {
+        RealmConfiguration configuration = new RealmConfiguration
+                .Builder(context)
+                .modules(new AssetFileModule())
+                .assetFile("asset_file.realm.gz")
+                .build();
+        Realm.deleteRealm(configuration);
+
+        realm = Realm.getInstance(configuration);
+        // Asset file has 10 Owners and 10 Cats, checks if data is present.
+        assertEquals(10, realm.where(Owner.class).count());
+        assertEquals(10, realm.where(Cat.class).count());
+        realm.close();
+
+        Realm.deleteRealm(configuration);
+    }
+
     @Test
     public void assetFile_failsWhenDeleteRealmIfMigrationNeededConfigured() {
         Context context = InstrumentationRegistry.getInstrumentation().getContext();
@@ -1094,4 +1115,97 @@ public class RealmConfigurationTests {
         } catch (IllegalStateException ignored) {
         }
     }
+
+    @Test
+    public void readOnly_compactOnIdle_throws() {
+        try {
+            new RealmConfiguration.Builder()
+                    .assetFile("foo")
+                    .readOnly()
+                    .compactOnIdle()
+                    .build();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void compactOnIdle_nullCallbackThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        //noinspection ConstantConditions
+        new RealmConfiguration.Builder().compactOnIdle(null, null);
+    }
+
+    @Test
+    public void maxNumberOfActiveVersions_invalidValueThrows() {
+        thrown.expect(IllegalArgumentException.class);
+        new RealmConfiguration.Builder().maxNumberOfActiveVersions(0);
+    }
+
+    @Test
+    public void skipSchemaValidationIfUnchanged_storesFingerprint() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .schema(AllTypes.class, Dog.class, Owner.class, Cat.class)
+                .skipSchemaValidationIfUnchanged()
+                .build();
+        long expectedFingerprint = config.getSchemaMediator().getExpectedSchemaFingerprint();
+        realm = Realm.getInstance(config);
+        realm.close();
+
+        OsSharedRealm sharedRealm = OsSharedRealm.getInstance(config);
+        try {
+            assertEquals(expectedFingerprint, OsObjectStore.getSchemaFingerprint(sharedRealm));
+        } finally {
+            sharedRealm.close();
+        }
+
+        // Opening again skips the validation but the schema is still fully usable.
+        realm = Realm.getInstance(config);
+        realm.beginTransaction();
+        realm.createObject(Dog.class).setName("Fido");
+        realm.commitTransaction();
+        assertEquals(1, realm.where(Dog.class).equalTo("name", "Fido").count());
+        assertTrue(realm.getSchema().contains("AllTypes"));
+    }
+
+    @Test
+    public void skipSchemaValidationIfUnchanged_schemaVersionChangeRunsMigration() {
+        RealmConfiguration.Builder builder = configFactory.createConfigurationBuilder()
+                .schema(StringOnly.class)
+                .skipSchemaValidationIfUnchanged();
+        realm = Realm.getInstance(builder.build());
+        realm.close();
+
+        final AtomicBoolean migrated = new AtomicBoolean(false);
+        realm = Realm.getInstance(builder.schemaVersion(42).migration(new RealmMigration() {
+            @Override
+            public void migrate(DynamicRealm realm, long oldVersion, long newVersion) {
+                migrated.set(true);
+            }
+        }).build());
+        assertTrue(migrated.get());
+        assertEquals(42, realm.getVersion());
+    }
+
+    @Test
+    public void skipSchemaValidationIfUnchanged_differentSchemaIsValidated() {
+        RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .schema(StringOnly.class)
+                .skipSchemaValidationIfUnchanged()
+                .build();
+        realm = Realm.getInstance(config);
+        realm.close();
+
+        RealmConfiguration newConfig = configFactory.createConfigurationBuilder()
+                .schema(StringOnly.class, StringAndInt.class)
+                .skipSchemaValidationIfUnchanged()
+                .build();
+        assertNotEquals(config.getSchemaMediator().getExpectedSchemaFingerprint(),
+                newConfig.getSchemaMediator().getExpectedSchemaFingerprint());
+        try {
+            Realm.getInstance(newConfig);
+            fail();
+        } catch (RealmMigrationNeededException ignored) {
+        }
+    }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.realm.entities.AllTypes;
+import io.realm.rule.TestRealmConfigurationFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+@RunWith(AndroidJUnit4.class)
+public class RealmFullTextIndexTests {
+
+    @Rule
+    public final TestRealmConfigurationFactory configFactory = new TestRealmConfigurationFactory();
+
+    private Realm realm;
+
+    @Before
+    public void setUp() {
+        realm = Realm.getInstance(configFactory.createConfiguration());
+    }
+
+    @After
+    public void tearDown() {
+        if (realm != null) {
+            realm.close();
+        }
+    }
+
+    private AllTypes createIndexedObject(long id, String text) {
+        AllTypes obj = realm.createObject(AllTypes.class);
+        obj.setColumnLong(id);
+        obj.setColumnString(text);
+        RealmFullTextIndex.update(obj, AllTypes.FIELD_STRING);
+        return obj;
+    }
+
+    private void populateIndexedObjects() {
+        realm.beginTransaction();
+        createIndexedObject(0, "The quick brown fox");
+        createIndexedObject(1, "jumps over the lazy dog.");
+        createIndexedObject(2, "A Brown dog, and a brown cat");
+        createIndexedObject(3, "Foxes and dogs");
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void fullTextSearch() {
+        populateIndexedObjects();
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .fullTextSearch(AllTypes.FIELD_STRING, "brown")
+                .sort(AllTypes.FIELD_LONG)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getColumnLong());
+        assertEquals(2, results.get(1).getColumnLong());
+
+        // All words have to match, in any order and case.
+        results = realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "DOG, Brown").findAll();
+        assertEquals(1, results.size());
+        assertEquals(2, results.first().getColumnLong());
+
+        // Only whole words match.
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "fo").count());
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "fox dogs").count());
+    }
+
+    @Test
+    public void fullTextSearch_withOtherConditions() {
+        populateIndexedObjects();
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .greaterThan(AllTypes.FIELD_LONG, 0)
+                .fullTextSearch(AllTypes.FIELD_STRING, "dog")
+                .lessThan(AllTypes.FIELD_LONG, 3)
+                .sort(AllTypes.FIELD_LONG)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getColumnLong());
+        assertEquals(2, results.get(1).getColumnLong());
+
+        // The search applies to the whole query.
+        results = realm.where(AllTypes.class)
+                .equalTo(AllTypes.FIELD_LONG, 0)
+                .or()
+                .equalTo(AllTypes.FIELD_LONG, 3)
+                .fullTextSearch(AllTypes.FIELD_STRING, "fox")
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals(0, results.first().getColumnLong());
+    }
+
+    @Test
+    public void fullTextSearch_missingWordWithOr() {
+        populateIndexedObjects();
+
+        assertEquals(0, realm.where(AllTypes.class)
+                .equalTo(AllTypes.FIELD_LONG, 0)
+                .or()
+                .equalTo(AllTypes.FIELD_LONG, 3)
+                .fullTextSearch(AllTypes.FIELD_STRING, "missing")
+                .count());
+    }
+
+    @Test
+    public void fullTextSearch_notIndexedWithOr() {
+        realm.beginTransaction();
+        for (int i = 0; i < 2; i++) {
+            AllTypes obj = realm.createObject(AllTypes.class);
+            obj.setColumnLong(i);
+            obj.setColumnString("The quick brown fox");
+        }
+        realm.commitTransaction();
+
+        assertEquals(0, realm.where(AllTypes.class)
+                .equalTo(AllTypes.FIELD_LONG, 0)
+                .or()
+                .equalTo(AllTypes.FIELD_LONG, 1)
+                .fullTextSearch(AllTypes.FIELD_STRING, "fox")
+                .count());
+    }
+
+    @Test
+    public void commit_indexesChangedObjects() {
+        populateIndexedObjects();
+
+        realm.beginTransaction();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 0).findFirst().setColumnString("A slow red fox");
+        AllTypes obj = realm.createObject(AllTypes.class);
+        obj.setColumnLong(4);
+        obj.setColumnString("A brown bear");
+        realm.commitTransaction();
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .fullTextSearch(AllTypes.FIELD_STRING, "brown")
+                .sort(AllTypes.FIELD_LONG)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(0).getColumnLong());
+        assertEquals(4, results.get(1).getColumnLong());
+        assertEquals(1, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "slow fox").count());
+    }
+
+    @Test
+    public void commit_indexesChangedObjectsMovedByDelete() {
+        populateIndexedObjects();
+
+        realm.beginTransaction();
+        // Deleting the first object moves the last object, which was changed before, into its place.
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 3).findFirst().setColumnString("A grey wolf");
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 0).findFirst().deleteFromRealm();
+        realm.commitTransaction();
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .fullTextSearch(AllTypes.FIELD_STRING, "wolf")
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals(3, results.first().getColumnLong());
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "foxes").count());
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "quick").count());
+    }
+
+    @Test
+    public void fullTextSearch_inTransactionFindsChanges() {
+        populateIndexedObjects();
+
+        realm.beginTransaction();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 1).findFirst().setColumnString("A red cat");
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "lazy").count());
+        assertEquals(1, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "red").count());
+        realm.cancelTransaction();
+
+        assertEquals(1, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "lazy").count());
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "red").count());
+    }
+
+    @Test
+    public void update_replacesWords() {
+        populateIndexedObjects();
+
+        realm.beginTransaction();
+        AllTypes obj = realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 0).findFirst();
+        obj.setColumnString("A slow red fox");
+        RealmFullTextIndex.update(obj, AllTypes.FIELD_STRING);
+        realm.commitTransaction();
+
+        assertEquals(1, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "brown").count());
+        assertEquals(1, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "slow fox").count());
+    }
+
+    @Test
+    public void deletedObjectsAreRemoved() {
+        populateIndexedObjects();
+
+        realm.beginTransaction();
+        realm.where(AllTypes.class).equalTo(AllTypes.FIELD_LONG, 2).findFirst().deleteFromRealm();
+        realm.commitTransaction();
+
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .fullTextSearch(AllTypes.FIELD_STRING, "brown")
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals(0, results.first().getColumnLong());
+    }
+
+    @Test
+    public void rebuild() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            AllTypes obj = realm.createObject(AllTypes.class);
+            obj.setColumnLong(i);
+            obj.setColumnString((i % 2 == 0) ? "even number " + i : "odd number " + i);
+        }
+        realm.commitTransaction();
+        assertEquals(0, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "even").count());
+
+        realm.beginTransaction();
+        RealmFullTextIndex.rebuild(realm, AllTypes.class, AllTypes.FIELD_STRING);
+        realm.commitTransaction();
+
+        assertEquals(5, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "even").count());
+        assertEquals(1, realm.where(AllTypes.class).fullTextSearch(AllTypes.FIELD_STRING, "odd number 7").count());
+    }
+
+    @Test
+    public void renameAndRemoveIndexedClass() {
+        RealmConfiguration config = realm.getConfiguration();
+        realm.close();
+        realm = null;
+
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(config);
+        try {
+            dynamicRealm.beginTransaction();
+            dynamicRealm.getSchema().create("Message").addField("body", String.class);
+            DynamicRealmObject message = dynamicRealm.createObject("Message");
+            message.setString("body", "Hello world");
+            RealmFullTextIndex.update(message, "body");
+            dynamicRealm.commitTransaction();
+            assertEquals(1, dynamicRealm.where("Message").fullTextSearch("body", "hello").count());
+
+            dynamicRealm.beginTransaction();
+            dynamicRealm.getSchema().rename("Message", "Note");
+            dynamicRealm.commitTransaction();
+            assertEquals(1, dynamicRealm.where("Note").fullTextSearch("body", "world").count());
+
+            dynamicRealm.beginTransaction();
+            dynamicRealm.getSchema().remove("Note");
+            dynamicRealm.commitTransaction();
+            assertFalse(dynamicRealm.getSchema().contains("Note"));
+        } finally {
+            dynamicRealm.close();
+        }
+    }
+
+    @Test
+    public void update_outsideTransactionThrows() {
+        realm.beginTransaction();
+        AllTypes obj = realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+
+        try {
+            RealmFullTextIndex.update(obj, AllTypes.FIELD_STRING);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void invalidArgumentsThrow() {
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class);
+        try {
+            query.fullTextSearch(AllTypes.FIELD_LONG, "text");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.fullTextSearch(AllTypes.FIELD_STRING, " ,. ");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        realm.beginTransaction();
+        try {
+            RealmFullTextIndex.update(new AllTypes(), AllTypes.FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        realm.cancelTransaction();
+    }
+
+    @Test
+    public void fullTextSearch_onResultsThrows() {
+        populateIndexedObjects();
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class).findAll().where();
+        try {
+            query.fullTextSearch(AllTypes.FIELD_STRING, "brown");
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+}
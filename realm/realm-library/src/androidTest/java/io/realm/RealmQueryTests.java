@@ -22,9 +22,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.entities.AllJavaTypes;
@@ -48,6 +51,7 @@ import io.realm.rule.RunTestInLooperThread;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -1015,6 +1019,31 @@ public class RealmQueryTests extends QueryTests {
         assertEquals(130, resultList.size());
     }
 
+    @Test
+    public void in_manyValues() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(realm, TEST_OBJECTS_COUNT);
+
+        // Every even value appears twice, odd values and values out of range never match.
+        Long[] longValues = new Long[5000];
+        String[] stringValues = new String[5000];
+        for (int i = 0; i < longValues.length; i++) {
+            long value = (i / 2) * 2;
+            longValues[i] = value;
+            stringValues[i] = "test data " + value;
+        }
+        assertEquals(TEST_OBJECTS_COUNT / 2,
+                realm.where(AllTypes.class).in(AllTypes.FIELD_LONG, longValues).count());
+        assertEquals(TEST_OBJECTS_COUNT / 2,
+                realm.where(AllTypes.class).in(AllTypes.FIELD_STRING, stringValues).count());
+        assertEquals(TEST_OBJECTS_COUNT / 2,
+                realm.where(AllTypes.class).not().in(AllTypes.FIELD_LONG, longValues).count());
+        assertEquals(1, realm.where(AllTypes.class)
+                .in(AllTypes.FIELD_LONG, longValues)
+                .in(AllTypes.FIELD_STRING, new String[] {"TEST DATA 4", "test data 5"}, Case.INSENSITIVE)
+                .count());
+    }
+
     @Test
     public void notEqualTo() {
         final int TEST_OBJECTS_COUNT = 200;
@@ -3611,5 +3640,792 @@ public class RealmQueryTests extends QueryTests {
         }
     }
 
+    @Test
+    public void offset() {
+        populateTestRealm(realm, TEST_DATA_SIZE);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .offset(5)
+                .limit(3)
+                .findAll();
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(TEST_DATA_SIZE - 6 - i, results.get(i).getColumnLong());
+        }
+
+        AllTypes first = realm.where(AllTypes.class).sort(AllTypes.FIELD_LONG).offset(7).findFirst();
+        assertNotNull(first);
+        assertEquals(7, first.getColumnLong());
+
+        assertEquals(0, realm.where(AllTypes.class).offset(TEST_DATA_SIZE).findAll().size());
+    }
+
+    @Test
+    public void offset_afterLimit() {
+        populateTestRealm(realm, TEST_DATA_SIZE);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .sort(AllTypes.FIELD_LONG)
+                .limit(5) // [0, 1, 2, 3, 4]
+                .offset(3) // [3, 4]
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(3, results.first().getColumnLong());
+        assertEquals(4, results.last().getColumnLong());
+    }
+
+    @Test
+    public void offset_sortAfterOffsetThrows() {
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class).offset(1);
+        try {
+            query.sort(AllTypes.FIELD_LONG);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void offset_invalidValuesThrows() {
+        RealmQuery<AllTypes> query = realm.where(AllTypes.class);
+        try {
+            query.offset(-1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    @RunTestInLooperThread
+    public void offset_findAllAsyncThrows() {
+        Realm realm = looperThread.getRealm();
+        try {
+            realm.where(AllTypes.class).offset(1).findAllAsync();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        looperThread.testComplete();
+    }
+
+    @Test
+    public void seekAfter() {
+        populateTestRealm(realm, TEST_DATA_SIZE);
+        List<Long> seen = new ArrayList<>();
+        long last = -1;
+        while (true) {
+            RealmResults<AllTypes> page = realm.where(AllTypes.class)
+                    .seekAfter(AllTypes.FIELD_LONG, Sort.ASCENDING, last)
+                    .limit(3)
+                    .findAll();
+            if (page.isEmpty()) {
+                break;
+            }
+            for (AllTypes obj : page) {
+                seen.add(obj.getColumnLong());
+            }
+            last = page.last().getColumnLong();
+        }
+        assertEquals(TEST_DATA_SIZE, seen.size());
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            assertEquals(i, seen.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void seekAfter_descending() {
+        populateTestRealm(realm, TEST_DATA_SIZE);
+        Date after = new Date(DECADE_MILLIS * 2);
+        RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                .seekAfter(AllTypes.FIELD_DATE, Sort.DESCENDING, after)
+                .limit(2)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(DECADE_MILLIS, results.first().getColumnDate().getTime());
+        assertEquals(0, results.last().getColumnDate().getTime());
+    }
+
+    // Creates objects with all combinations of indexString "a" to "d" and indexLong 0 to 9.
+    private void populateIndexedTypes() {
+        realm.beginTransaction();
+        String[] strings = {"a", "b", "c", "d"};
+        for (String string : strings) {
+            for (int i = 0; i < 10; i++) {
+                AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+                obj.setIndexString(string);
+                obj.setIndexLong(i);
+                obj.setNotIndexLong(i % 2);
+            }
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void equalTo_multipleIndexedFields() {
+        populateIndexedTypes();
+
+        RealmResults<AnnotationIndexTypes> results = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "b")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3)
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals("b", results.first().getIndexString());
+        assertEquals(3, results.first().getIndexLong());
+
+        // Conditions on other fields are still applied.
+        assertEquals(0, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "b")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3)
+                .equalTo(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 0)
+                .count());
+        assertEquals(0, realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "e")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3)
+                .findAll().size());
+    }
+
+    @Test
+    public void equalTo_multipleIndexedFields_withOrAndNot() {
+        populateIndexedTypes();
+
+        RealmResults<AnnotationIndexTypes> results = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "b")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3)
+                .or()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 4)
+                .findAll();
+        assertEquals(5, results.size());
+
+        results = realm.where(AnnotationIndexTypes.class)
+                .not()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "b")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3)
+                .findAll();
+        assertEquals(3, results.size());
+
+        results = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 3)
+                .beginGroup()
+                    .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                    .or()
+                    .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "b")
+                .endGroup()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "b", Case.INSENSITIVE)
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals("b", results.first().getIndexString());
+    }
+
+    @Test
+    public void equalTo_multipleIndexedFields_updatesResults() {
+        populateIndexedTypes();
+        RealmResults<AnnotationIndexTypes> results = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "c")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 5)
+                .sort(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG)
+                .findAll();
+        assertEquals(1, results.size());
+
+        realm.beginTransaction();
+        AnnotationIndexTypes obj = realm.createObject(AnnotationIndexTypes.class);
+        obj.setIndexString("c");
+        obj.setIndexLong(5);
+        obj.setNotIndexLong(0);
+        realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 5)
+                .findFirst()
+                .setIndexString("c");
+        realm.commitTransaction();
+
+        assertEquals(3, results.size());
+        assertEquals(0, results.first().getNotIndexLong());
+    }
+
+    @Test
+    public void in_indexedField() {
+        populateIndexedTypes();
+
+        RealmResults<AnnotationIndexTypes> results = realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, new String[] {"a", "c", "x"})
+                .findAll();
+        assertEquals(20, results.size());
+
+        // Index lookups for 1 and 2, then the other condition is applied.
+        results = realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_LONG, new Long[] {1L, 2L, 2L})
+                .equalTo(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 0)
+                .findAll();
+        assertEquals(4, results.size());
+        for (AnnotationIndexTypes obj : results) {
+            assertEquals(2, obj.getIndexLong());
+        }
+
+        RealmQueryPlan plan = realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, new String[] {"a", "c"})
+                .equalTo(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 1)
+                .explain();
+        assertEquals(AnnotationIndexTypes.FIELD_INDEX_STRING, plan.getIndexedFieldName());
+        assertEquals(20, plan.getExaminedCount());
+        assertEquals(10, plan.getMatchedCount());
+
+        // The most selective condition is used.
+        plan = realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, new String[] {"a", "c"})
+                .in(AnnotationIndexTypes.FIELD_INDEX_LONG, new Long[] {3L})
+                .explain();
+        assertEquals(AnnotationIndexTypes.FIELD_INDEX_LONG, plan.getIndexedFieldName());
+        assertEquals(4, plan.getExaminedCount());
+        assertEquals(2, plan.getMatchedCount());
+    }
+
+    @Test
+    public void in_indexedField_withOrAndNot() {
+        populateIndexedTypes();
+
+        assertEquals(16, realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_LONG, new Long[] {1L, 2L})
+                .or()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                .findAll().size());
+        assertEquals(20, realm.where(AnnotationIndexTypes.class)
+                .not()
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, new String[] {"a", "b"})
+                .findAll().size());
+        assertEquals(20, realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, new String[] {"A", "b"}, Case.INSENSITIVE)
+                .findAll().size());
+    }
+
+    @Test
+    public void in_indexedField_updatesResults() {
+        populateIndexedTypes();
+        RealmResults<AnnotationIndexTypes> results = realm.where(AnnotationIndexTypes.class)
+                .in(AnnotationIndexTypes.FIELD_INDEX_STRING, new String[] {"c", "d"})
+                .findAll();
+        assertEquals(20, results.size());
+
+        realm.beginTransaction();
+        realm.createObject(AnnotationIndexTypes.class).setIndexString("d");
+        realm.where(AnnotationIndexTypes.class).equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a").findFirst()
+                .setIndexString("c");
+        realm.commitTransaction();
+
+        assertEquals(22, results.size());
+    }
+
+    @Test
+    public void explain() {
+        populateIndexedTypes();
+
+        RealmQueryPlan plan = realm.where(AnnotationIndexTypes.class)
+                .greaterThan(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG, 0)
+                .sort(AnnotationIndexTypes.FIELD_INDEX_LONG)
+                .limit(3)
+                .explain();
+        assertFalse(plan.usesIndex());
+        assertNull(plan.getIndexedFieldName());
+        assertEquals(40, plan.getExaminedCount());
+        assertEquals(20, plan.getMatchedCount());
+        assertEquals(3, plan.getResultCount());
+        assertTrue(plan.getQueryNanos() >= 0);
+        assertTrue(plan.getOrderingNanos() >= 0);
+        assertTrue(plan.getDescription().contains(AnnotationIndexTypes.FIELD_NOT_INDEX_LONG));
+    }
+
+    @Test
+    public void explain_usesIndex() {
+        populateIndexedTypes();
+
+        RealmQueryPlan plan = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                .explain();
+        assertTrue(plan.usesIndex());
+        assertEquals(AnnotationIndexTypes.FIELD_INDEX_STRING, plan.getIndexedFieldName());
+        assertEquals(10, plan.getExaminedCount());
+        assertEquals(10, plan.getResultCount());
+
+        // The most selective condition is used.
+        plan = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 1)
+                .explain();
+        assertEquals(AnnotationIndexTypes.FIELD_INDEX_LONG, plan.getIndexedFieldName());
+        assertEquals(4, plan.getExaminedCount());
+        assertEquals(1, plan.getMatchedCount());
+
+        plan = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                .or()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 1)
+                .explain();
+        assertFalse(plan.usesIndex());
+        assertEquals(13, plan.getMatchedCount());
+    }
+
+    @Test
+    public void explain_onResults() {
+        populateIndexedTypes();
+
+        RealmQueryPlan plan = realm.where(AnnotationIndexTypes.class)
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_STRING, "a")
+                .findAll()
+                .where()
+                .equalTo(AnnotationIndexTypes.FIELD_INDEX_LONG, 1)
+                .explain();
+        assertFalse(plan.usesIndex());
+        assertEquals(-1, plan.getExaminedCount());
+        assertEquals(1, plan.getResultCount());
+    }
+
+    @Test
+    public void slowQueryLog() {
+        populateIndexedTypes();
+        final List<String> reported = new ArrayList<>();
+        RealmSlowQueryLog.enable(0, TimeUnit.MILLISECONDS, new RealmSlowQueryLog.Listener() {
+            @Override
+            public void onSlowQuery(String className, String description, long durationNanos) {
+                reported.add(className);
+                assertTrue(durationNanos >= 0);
+            }
+        });
+        try {
+            realm.where(AnnotationIndexTypes.class).findAll();
+            realm.where(AnnotationIndexTypes.class).sort(AnnotationIndexTypes.FIELD_INDEX_LONG).findFirst();
+            realm.where(AnnotationIndexTypes.class).count();
+            assertEquals(3, reported.size());
+            assertEquals(AnnotationIndexTypes.CLASS_NAME, reported.get(0));
+
+            RealmSlowQueryLog.enable(1, TimeUnit.HOURS, null);
+            realm.where(AnnotationIndexTypes.class).findAll();
+            assertEquals(3, reported.size());
+        } finally {
+            RealmSlowQueryLog.disable();
+        }
+        realm.where(AnnotationIndexTypes.class).findAll();
+        assertEquals(3, reported.size());
+    }
+
+    // Creates objects 0 to 3 whose lists contain the values 0 to id - 1, and whose object list contains the objects
+    // before them.
+    private void populatePrimitiveLists() {
+        realm.beginTransaction();
+        for (int i = 0; i < 4; i++) {
+            AllJavaTypes obj = realm.createObject(AllJavaTypes.class, i);
+            obj.setFieldLong(i * 10);
+            obj.setFieldDouble(i * 1.5);
+            for (int j = 0; j < i; j++) {
+                obj.getFieldStringList().add("str" + j);
+                obj.getFieldLongList().add((long) j);
+                obj.getFieldIntegerList().add(j);
+                obj.getFieldDoubleList().add(j * 1.5);
+                obj.getFieldFloatList().add(j * 1.5F);
+                obj.getFieldBooleanList().add(j % 2 == 0);
+                obj.getFieldDateList().add(new Date(j));
+                obj.getFieldList().add(realm.where(AllJavaTypes.class).equalTo(AllJavaTypes.FIELD_ID, j).findFirst());
+            }
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void containsValue() {
+        populatePrimitiveLists();
+
+        assertEquals(2, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_STRING_LIST, "str1").count());
+        assertEquals(0, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_STRING_LIST, "str3").count());
+        assertEquals(3, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_LONG_LIST, 0).count());
+        assertEquals(1, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_INTEGER_LIST, 2).count());
+        assertEquals(2, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_DOUBLE_LIST, 1.5).count());
+        assertEquals(2, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_FLOAT_LIST, 1.5).count());
+        assertEquals(2, realm.where(AllJavaTypes.class).containsValue(AllJavaTypes.FIELD_BOOLEAN_LIST, false).count());
+        assertEquals(1, realm.where(AllJavaTypes.class)
+                .containsValue(AllJavaTypes.FIELD_DATE_LIST, new Date(2)).count());
+
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class)
+                .not()
+                .containsValue(AllJavaTypes.FIELD_STRING_LIST, "str0")
+                .findAll();
+        assertEquals(1, results.size());
+        assertEquals(0, results.first().getFieldId());
+    }
+
+    @Test
+    public void allValuesEqualTo() {
+        populatePrimitiveLists();
+
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class)
+                .allValuesEqualTo(AllJavaTypes.FIELD_LONG_LIST, 0)
+                .sort(AllJavaTypes.FIELD_ID)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getFieldId());
+        assertEquals(1, results.get(1).getFieldId());
+
+        assertEquals(3, realm.where(AllJavaTypes.class)
+                .allValuesEqualTo(AllJavaTypes.FIELD_BOOLEAN_LIST, true)
+                .or()
+                .containsValue(AllJavaTypes.FIELD_STRING_LIST, "str2")
+                .count());
+    }
+
+    @Test
+    public void allValuesEqualTo_not() {
+        populatePrimitiveLists();
+
+        // Objects 0 and 1 hold no value or only 0, so negating the condition matches the objects holding other values.
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class)
+                .not()
+                .allValuesEqualTo(AllJavaTypes.FIELD_LONG_LIST, 0)
+                .sort(AllJavaTypes.FIELD_ID)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(0).getFieldId());
+        assertEquals(3, results.get(1).getFieldId());
+
+        assertEquals(2, realm.where(AllJavaTypes.class)
+                .not()
+                .beginGroup()
+                .allValuesEqualTo(AllJavaTypes.FIELD_LONG_LIST, 0)
+                .endGroup()
+                .count());
+        // Objects 0 and 1 match the second condition.
+        assertEquals(4, realm.where(AllJavaTypes.class)
+                .not()
+                .allValuesEqualTo(AllJavaTypes.FIELD_LONG_LIST, 0)
+                .or()
+                .allValuesEqualTo(AllJavaTypes.FIELD_STRING_LIST, "str0")
+                .count());
+    }
+
+    @Test
+    public void containsValue_invalidFieldsThrow() {
+        RealmQuery<AllJavaTypes> query = realm.where(AllJavaTypes.class);
+        try {
+            query.containsValue(AllJavaTypes.FIELD_STRING, "str");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.containsValue(AllJavaTypes.FIELD_LONG_LIST, "str");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.containsValue(AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LONG_LIST, 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void aggregate_count() {
+        populatePrimitiveLists();
+
+        assertEquals(2, realm.where(AllJavaTypes.class)
+                .aggregateGreaterThan(AllJavaTypes.FIELD_STRING_LIST, ListAggregate.COUNT, 1)
+                .count());
+        assertEquals(1, realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(AllJavaTypes.FIELD_LIST, ListAggregate.COUNT, 0)
+                .count());
+        assertEquals(3, realm.where(AllJavaTypes.class)
+                .aggregateLessThanOrEqualTo(AllJavaTypes.FIELD_DOUBLE_LIST, ListAggregate.COUNT, 2)
+                .count());
+    }
+
+    @Test
+    public void aggregate_linkList() {
+        populatePrimitiveLists();
+        String longField = AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_LONG;
+        String doubleField = AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_DOUBLE;
+
+        // Sums are 0, 0, 10 and 30.
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class)
+                .aggregateGreaterThan(longField, ListAggregate.SUM, 5)
+                .sort(AllJavaTypes.FIELD_ID)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(0).getFieldId());
+        assertEquals(3, results.get(1).getFieldId());
+
+        assertEquals(1, realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(doubleField, ListAggregate.AVERAGE, 1.5).count());
+        assertEquals(1, realm.where(AllJavaTypes.class)
+                .aggregateGreaterThanOrEqualTo(longField, ListAggregate.MAXIMUM, 20).count());
+        assertEquals(3, realm.where(AllJavaTypes.class)
+                .aggregateLessThan(longField, ListAggregate.MINIMUM, 1).count());
+        assertEquals(3, realm.where(AllJavaTypes.class)
+                .aggregateNotEqualTo(longField, ListAggregate.SUM, 10).count());
+    }
+
+    @Test
+    public void aggregate_linkingObjects() {
+        populatePrimitiveLists();
+        // Object i has the objects 0 to i - 1 in its list, so object 0 is linked from 3 lists and object 3 from none.
+        realm.beginTransaction();
+        RealmResults<AllJavaTypes> all = realm.where(AllJavaTypes.class).sort(AllJavaTypes.FIELD_ID).findAll();
+        all.get(2).setFieldObject(all.get(0));
+        all.get(3).setFieldObject(all.get(0));
+        all.get(1).setFieldObject(all.get(3));
+        realm.commitTransaction();
+
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class)
+                .aggregateGreaterThanOrEqualTo(AllJavaTypes.FIELD_LO_LIST, ListAggregate.COUNT, 2)
+                .sort(AllJavaTypes.FIELD_ID)
+                .findAll();
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getFieldId());
+        assertEquals(1, results.get(1).getFieldId());
+
+        // Sums of the linking objects are 60, 50, 30 and 0.
+        String longField = AllJavaTypes.FIELD_LO_LIST + "." + AllJavaTypes.FIELD_LONG;
+        assertEquals(2, realm.where(AllJavaTypes.class)
+                .aggregateGreaterThan(longField, ListAggregate.SUM, 40).count());
+        assertEquals(2, realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(longField, ListAggregate.MINIMUM, 30).findFirst().getFieldId());
+        assertEquals(2, realm.where(AllJavaTypes.class)
+                .greaterThan(AllJavaTypes.FIELD_ID, 0)
+                .aggregateGreaterThan(AllJavaTypes.FIELD_LO_LIST, ListAggregate.COUNT, 0)
+                .count());
+
+        assertEquals(0, realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(AllJavaTypes.FIELD_LO_OBJECT, ListAggregate.COUNT, 2).findFirst().getFieldId());
+        assertEquals(2, realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(AllJavaTypes.FIELD_LO_OBJECT, ListAggregate.COUNT, 0).count());
+        assertEquals(1, realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(AllJavaTypes.FIELD_LO_OBJECT + "." + AllJavaTypes.FIELD_DOUBLE,
+                        ListAggregate.AVERAGE, 3.75)
+                .count());
+    }
+
+    @Test
+    public void equalTo_linkingObjectsPath() {
+        populatePrimitiveLists();
+        // Only object 3 is flagged, and it has the objects 0, 1 and 2 in its list.
+        realm.beginTransaction();
+        realm.where(AllJavaTypes.class).equalTo(AllJavaTypes.FIELD_ID, 3).findFirst().setFieldBoolean(true);
+        realm.commitTransaction();
+
+        RealmResults<AllJavaTypes> results = realm.where(AllJavaTypes.class)
+                .equalTo(AllJavaTypes.FIELD_LO_LIST + "." + AllJavaTypes.FIELD_BOOLEAN, true)
+                .sort(AllJavaTypes.FIELD_ID)
+                .findAll();
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getFieldId());
+        }
+
+        // Object 3 is also the only one with 30 in fieldLong, so the aggregate finds the same objects.
+        assertEquals(results.size(), realm.where(AllJavaTypes.class)
+                .aggregateEqualTo(AllJavaTypes.FIELD_LO_LIST + "." + AllJavaTypes.FIELD_LONG, ListAggregate.MAXIMUM, 30)
+                .count());
+        assertEquals(0, realm.where(AllJavaTypes.class)
+                .equalTo(AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_BOOLEAN, true)
+                .count());
+    }
+
+    @Test
+    public void aggregate_invalidFieldsThrow() {
+        RealmQuery<AllJavaTypes> query = realm.where(AllJavaTypes.class);
+        String[] invalidFields = {
+                AllJavaTypes.FIELD_LIST,
+                AllJavaTypes.FIELD_LONG_LIST,
+                AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_STRING,
+                AllJavaTypes.FIELD_LIST + ".doesNotExist",
+                AllJavaTypes.FIELD_LO_LIST + "." + AllJavaTypes.FIELD_STRING,
+                AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LONG,
+                AllJavaTypes.FIELD_LIST + "." + AllJavaTypes.FIELD_OBJECT + "." + AllJavaTypes.FIELD_LONG};
+        for (String field : invalidFields) {
+            try {
+                query.aggregateGreaterThan(field, ListAggregate.SUM, 0);
+                fail(field);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        try {
+            query.aggregateGreaterThan(AllJavaTypes.FIELD_LONG, ListAggregate.COUNT, 0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    // Checks that findTop() finds the same objects in the same order as sorting and limiting all objects.
+    private <E extends RealmModel> void assertFindTopEqualsSortAndLimit(RealmQuery<E> query, RealmQuery<E> sameQuery,
+            long count) {
+        List<E> expected = new ArrayList<>(sameQuery.limit(count).findAll());
+        OrderedRealmCollectionSnapshot<E> top = query.findTop(count);
+        assertEquals(expected.size(), top.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), top.get(i));
+        }
+    }
+
+    @Test
+    public void findTop() {
+        populateTestRealm();
+
+        OrderedRealmCollectionSnapshot<AllTypes> top = realm.where(AllTypes.class)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .findTop(3);
+        assertEquals(3, top.size());
+        assertEquals(TEST_DATA_SIZE - 1, top.get(0).getColumnLong());
+        assertEquals(TEST_DATA_SIZE - 3, top.get(2).getColumnLong());
+
+        top = realm.where(AllTypes.class)
+                .lessThan(AllTypes.FIELD_LONG, 10)
+                .sort(AllTypes.FIELD_DATE)
+                .findTop(20);
+        assertEquals(10, top.size());
+        assertEquals(0, top.first().getColumnLong());
+        assertEquals(9, top.last().getColumnLong());
+    }
+
+    @Test
+    public void findTop_sameAsSortAndLimit() {
+        populateTestRealm();
+        populateNoPrimaryKeyNullTypesRows();
+
+        // All objects have the same double value.
+        assertFindTopEqualsSortAndLimit(
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_DOUBLE),
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_DOUBLE),
+                5);
+        assertFindTopEqualsSortAndLimit(
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_FLOAT, Sort.DESCENDING, AllTypes.FIELD_LONG, Sort.ASCENDING),
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_FLOAT, Sort.DESCENDING, AllTypes.FIELD_LONG, Sort.ASCENDING),
+                5);
+        // Not supported by the bounded scan.
+        assertFindTopEqualsSortAndLimit(
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_BOOLEAN, Sort.DESCENDING, AllTypes.FIELD_LONG, Sort.DESCENDING),
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_BOOLEAN, Sort.DESCENDING, AllTypes.FIELD_LONG, Sort.DESCENDING),
+                5);
+        assertFindTopEqualsSortAndLimit(
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_STRING),
+                realm.where(AllTypes.class).sort(AllTypes.FIELD_STRING),
+                5);
+        assertFindTopEqualsSortAndLimit(
+                realm.where(AllTypes.class).distinct(AllTypes.FIELD_BOOLEAN).sort(AllTypes.FIELD_LONG),
+                realm.where(AllTypes.class).distinct(AllTypes.FIELD_BOOLEAN).sort(AllTypes.FIELD_LONG),
+                5);
+
+        // Null is ranked first in ascending order.
+        for (long count : new long[] {1, 20, 40, TEST_NO_PRIMARY_KEY_NULL_TYPES_SIZE + 1}) {
+            assertFindTopEqualsSortAndLimit(
+                    realm.where(NoPrimaryKeyNullTypes.class).sort(NullTypes.FIELD_INTEGER_NULL),
+                    realm.where(NoPrimaryKeyNullTypes.class).sort(NullTypes.FIELD_INTEGER_NULL),
+                    count);
+            assertFindTopEqualsSortAndLimit(
+                    realm.where(NoPrimaryKeyNullTypes.class).sort(NullTypes.FIELD_DATE_NULL, Sort.DESCENDING),
+                    realm.where(NoPrimaryKeyNullTypes.class).sort(NullTypes.FIELD_DATE_NULL, Sort.DESCENDING),
+                    count);
+        }
+    }
+
+    @Test
+    public void findTop_limitBeforeSort() {
+        populateTestRealm();
 
+        // The limit selects the objects to sort, so only the first 3 objects are ranked.
+        RealmResults<AllTypes> expected = realm.where(AllTypes.class)
+                .limit(3)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .findAll();
+        assertEquals(3, expected.size());
+        assertEquals(2, expected.first().getColumnLong());
+
+        AllTypes first = realm.where(AllTypes.class)
+                .limit(3)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .findFirst();
+        assertEquals(expected.first(), first);
+
+        OrderedRealmCollectionSnapshot<AllTypes> top = realm.where(AllTypes.class)
+                .limit(3)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .findTop(2);
+        assertEquals(2, top.size());
+        assertEquals(expected.get(0), top.get(0));
+        assertEquals(expected.get(1), top.get(1));
+    }
+
+    @Test
+    public void findTop_listAndResultsQueries() {
+        realm.beginTransaction();
+        Owner owner = realm.createObject(Owner.class);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setAge(i);
+            // The list holds the dogs with an odd age in reverse order, so positions in the list don't match rows.
+            if (i % 2 == 1) {
+                owner.getDogs().add(0, dog);
+            }
+        }
+        realm.commitTransaction();
+
+        RealmList<Dog> dogs = owner.getDogs();
+        assertEquals(1, dogs.where().sort(Dog.FIELD_AGE).findFirst().getAge());
+        assertEquals(9, dogs.where().sort(Dog.FIELD_AGE, Sort.DESCENDING).findFirst().getAge());
+        OrderedRealmCollectionSnapshot<Dog> top = dogs.where().sort(Dog.FIELD_AGE).findTop(2);
+        assertEquals(2, top.size());
+        assertEquals(1, top.get(0).getAge());
+        assertEquals(3, top.get(1).getAge());
+        for (long count = 1; count <= dogs.size() + 1; count++) {
+            assertFindTopEqualsSortAndLimit(
+                    dogs.where().sort(Dog.FIELD_AGE, Sort.DESCENDING),
+                    dogs.where().sort(Dog.FIELD_AGE, Sort.DESCENDING),
+                    count);
+        }
+
+        RealmResults<Dog> olderDogs = realm.where(Dog.class)
+                .greaterThan(Dog.FIELD_AGE, 2)
+                .sort(Dog.FIELD_AGE, Sort.DESCENDING)
+                .findAll();
+        assertEquals(3, olderDogs.where().sort(Dog.FIELD_AGE).findFirst().getAge());
+        assertEquals(9, olderDogs.where().sort(Dog.FIELD_AGE, Sort.DESCENDING).findFirst().getAge());
+        top = olderDogs.where().sort(Dog.FIELD_AGE).findTop(3);
+        assertEquals(3, top.size());
+        assertEquals(3, top.get(0).getAge());
+        assertEquals(5, top.get(2).getAge());
+        for (long count = 1; count <= olderDogs.size() + 1; count++) {
+            assertFindTopEqualsSortAndLimit(
+                    olderDogs.where().sort(Dog.FIELD_AGE),
+                    olderDogs.where().sort(Dog.FIELD_AGE),
+                    count);
+        }
+    }
+
+    @Test
+    public void findTop_isSnapshot() {
+        populateTestRealm();
+        OrderedRealmCollectionSnapshot<AllTypes> top = realm.where(AllTypes.class)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .findTop(2);
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class).setColumnLong(TEST_DATA_SIZE);
+        realm.commitTransaction();
+
+        assertEquals(2, top.size());
+        assertEquals(TEST_DATA_SIZE - 1, top.first().getColumnLong());
+        assertEquals(TEST_DATA_SIZE, realm.where(AllTypes.class)
+                .sort(AllTypes.FIELD_LONG, Sort.DESCENDING)
+                .findTop(2)
+                .first().getColumnLong());
+    }
+
+    @Test
+    public void findTop_invalidArgumentsThrow() {
+        try {
+            realm.where(AllTypes.class).findTop(1);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            realm.where(AllTypes.class).sort(AllTypes.FIELD_LONG).findTop(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            realm.where(AllTypes.class).sort(AllTypes.FIELD_LONG).offset(2).findTop(1);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
 }
@@ -27,6 +27,8 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -46,6 +48,7 @@ import io.realm.rule.RunInLooperThread;
 import io.realm.rule.RunTestInLooperThread;
 import io.realm.rule.TestRealmConfigurationFactory;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -113,6 +116,75 @@ public class RealmResultsTests extends CollectionTests {
         assertEquals(Integer.MAX_VALUE, targetResult.size());
     }
 
+    @Test
+    public void getStringsUtf8() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).sort(AllTypes.FIELD_LONG).findAll();
+        byte[] buffer = new byte[1024];
+        int[] lengths = new int[3];
+
+        int count = results.getStringsUtf8(AllTypes.FIELD_STRING, 1, buffer, 0, lengths);
+        assertEquals(3, count);
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            assertEquals("test data " + (i + 1), new String(buffer, offset, lengths[i], Charset.forName("UTF-8")));
+            offset += lengths[i];
+        }
+
+        // The second value doesn't fit, its length is reported instead.
+        byte[] small = new byte[lengths[0] + 1];
+        assertEquals(1, results.getStringsUtf8(AllTypes.FIELD_STRING, 1, small, 0, lengths));
+        assertEquals("test data 2".length(), lengths[1]);
+
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(1024);
+        assertEquals(3, results.getStringsUtf8(AllTypes.FIELD_STRING, 0, byteBuffer, lengths));
+        assertEquals(lengths[0] + lengths[1] + lengths[2], byteBuffer.position());
+
+        // Reading past the end stops at the end of the results.
+        assertEquals(0, results.getStringsUtf8(AllTypes.FIELD_STRING, results.size(), buffer, 0, lengths));
+    }
+
+    @Test
+    public void getStringsUtf8_nullValues() {
+        realm.beginTransaction();
+        realm.delete(StringOnly.class);
+        realm.createObject(StringOnly.class).setChars("a");
+        realm.createObject(StringOnly.class);
+        realm.commitTransaction();
+
+        int[] lengths = new int[2];
+        RealmResults<StringOnly> results = realm.where(StringOnly.class).findAll();
+        assertEquals(2, results.getStringsUtf8(StringOnly.FIELD_CHARS, 0, new byte[4], 0, lengths));
+        assertEquals(1, lengths[0]);
+        assertEquals(-1, lengths[1]);
+    }
+
+    @Test
+    public void getStringsUtf8_invalidArguments() {
+        RealmResults<AllTypes> results = realm.where(AllTypes.class).findAll();
+        byte[] buffer = new byte[16];
+        int[] lengths = new int[1];
+        try {
+            results.getStringsUtf8(AllTypes.FIELD_LONG, 0, buffer, 0, lengths);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            results.getStringsUtf8("unknown", 0, buffer, 0, lengths);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            results.getStringsUtf8(AllTypes.FIELD_STRING, -1, buffer, 0, lengths);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        try {
+            results.getStringsUtf8(AllTypes.FIELD_STRING, 0, buffer, 17, lengths);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
     @Test
     public void subList() {
         RealmResults<AllTypes> list = realm.where(AllTypes.class).findAll();
@@ -709,4 +781,111 @@ public class RealmResultsTests extends CollectionTests {
         } catch (IllegalStateException ignore) {
         }
     }
+
+    private void populateDogsForGroupBy() {
+        realm.beginTransaction();
+        realm.delete(Dog.class);
+        Owner alice = realm.createObject(Owner.class);
+        alice.setName("Alice");
+        Owner bob = realm.createObject(Owner.class);
+        bob.setName("Bob");
+        Object[][] dogs = {
+                {"Fido", 1L, 1.5D, alice},
+                {"Rex", 4L, 3.0D, bob},
+                {"Fido", 9L, 2.5D, bob},
+                {"Lassie", 3L, 4.5D, alice},
+                {"Rex", 7L, 1.0D, null}};
+        for (Object[] values : dogs) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName((String) values[0]);
+            dog.setAge((Long) values[1]);
+            dog.setWeight((Double) values[2]);
+            dog.setBirthday(new Date((Long) values[1] * 1000));
+            dog.setOwner((Owner) values[3]);
+        }
+        realm.commitTransaction();
+    }
+
+    @Test
+    public void groupBy_count() {
+        populateDogsForGroupBy();
+        RealmGroupedAggregate counts = realm.where(Dog.class).findAll().groupBy(Dog.FIELD_NAME).count();
+
+        assertEquals(3, counts.size());
+        assertArrayEquals(new String[] {"Fido", "Rex", "Lassie"}, counts.getStringKeys());
+        assertArrayEquals(new long[] {2, 2, 1}, counts.getCounts());
+        assertEquals(-1, counts.getNullKeyIndex());
+        assertTrue(counts.hasValue(0));
+    }
+
+    @Test
+    public void groupBy_linkedField() {
+        populateDogsForGroupBy();
+        RealmResults<Dog> dogs = realm.where(Dog.class).findAll();
+
+        RealmGroupedAggregate sums = dogs.groupBy("owner.name").sum(Dog.FIELD_AGE);
+        assertArrayEquals(new String[] {"Alice", "Bob", null}, sums.getStringKeys());
+        assertEquals(2, sums.getNullKeyIndex());
+        assertArrayEquals(new long[] {4, 13, 7}, sums.getLongValues());
+
+        RealmGroupedAggregate averages = dogs.groupBy("owner.name").average(Dog.FIELD_WEIGHT);
+        assertArrayEquals(new double[] {3.0D, 2.75D, 1.0D}, averages.getDoubleValues(), 0.0D);
+
+        RealmGroupedAggregate minimums = dogs.groupBy("owner.name").min(Dog.FIELD_WEIGHT);
+        assertArrayEquals(new double[] {1.5D, 2.5D, 1.0D}, minimums.getDoubleValues(), 0.0D);
+
+        RealmGroupedAggregate maximums = dogs.groupBy("owner.name").max(Dog.FIELD_BIRTHDAY);
+        assertArrayEquals(new long[] {3000, 9000, 7000}, maximums.getLongValues());
+    }
+
+    @Test
+    public void groupBy_query() {
+        populateDogsForGroupBy();
+        RealmGroupedAggregate maximums = realm.where(Dog.class)
+                .greaterThan(Dog.FIELD_AGE, 2)
+                .groupBy(Dog.FIELD_AGE)
+                .max(Dog.FIELD_WEIGHT);
+
+        assertArrayEquals(new long[] {4, 9, 3, 7}, maximums.getLongKeys());
+        assertArrayEquals(new double[] {3.0D, 2.5D, 4.5D, 1.0D}, maximums.getDoubleValues(), 0.0D);
+        try {
+            maximums.getStringKeys();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        try {
+            maximums.getLongValues();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        assertEquals(0, realm.where(Dog.class).equalTo(Dog.FIELD_NAME, "Pluto").groupBy(Dog.FIELD_NAME).count()
+                .size());
+    }
+
+    @Test
+    public void groupBy_invalidFieldsThrow() {
+        populateDogsForGroupBy();
+        RealmResults<Dog> dogs = realm.where(Dog.class).findAll();
+        try {
+            dogs.groupBy(Dog.FIELD_WEIGHT);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            dogs.groupBy("foo");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            dogs.groupBy(Dog.FIELD_NAME).sum(Dog.FIELD_BIRTHDAY);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            dogs.groupBy(Dog.FIELD_NAME).max("owner.name");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
 }
@@ -43,8 +43,10 @@ import org.mockito.stubbing.Answer;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -991,6 +993,86 @@ public class RealmTests {
         }
     }
 
+    @Test
+    public void writeCopyTo_outputStream() throws IOException {
+        populateTestRealm();
+        RealmConfiguration copyConfig = configFactory.createConfiguration("copy.realm");
+        File destination = new File(copyConfig.getPath());
+
+        final List<Long> progress = new ArrayList<Long>();
+        FileOutputStream out = new FileOutputStream(destination);
+        try {
+            realm.writeCopyTo(out, new WriteCopyProgressListener() {
+                @Override
+                public void onProgress(long bytesWritten) {
+                    progress.add(bytesWritten);
+                }
+            });
+        } finally {
+            out.close();
+        }
+
+        assertFalse(progress.isEmpty());
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) > progress.get(i - 1));
+        }
+        assertEquals(destination.length(), (long) progress.get(progress.size() - 1));
+
+        Realm copy = Realm.getInstance(copyConfig);
+        try {
+            assertEquals(TEST_DATA_SIZE, copy.where(AllTypes.class).count());
+        } finally {
+            copy.close();
+        }
+    }
+
+    @Test
+    public void writeCopyTo_channel() throws IOException {
+        populateTestRealm();
+        RealmConfiguration copyConfig = configFactory.createConfiguration("copy.realm");
+
+        FileOutputStream out = new FileOutputStream(copyConfig.getPath());
+        try {
+            realm.writeCopyTo(out.getChannel(), null);
+        } finally {
+            out.close();
+        }
+
+        Realm copy = Realm.getInstance(copyConfig);
+        try {
+            assertEquals(TEST_DATA_SIZE, copy.where(AllTypes.class).count());
+        } finally {
+            copy.close();
+        }
+    }
+
+    @Test
+    public void writeCopyTo_outputStreamThrows() throws IOException {
+        populateTestRealm();
+        final IOException exception = new IOException("Boom");
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw exception;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw exception;
+            }
+        };
+
+        try {
+            realm.writeCopyTo(out, null);
+            fail();
+        } catch (IOException e) {
+            assertSame(exception, e);
+        }
+
+        // The Realm is still usable.
+        assertEquals(TEST_DATA_SIZE, realm.where(AllTypes.class).count());
+    }
+
     @Test
     public void compactRealm() {
         final RealmConfiguration configuration = realm.getConfiguration();
@@ -1199,6 +1281,88 @@ public class RealmTests {
         assertEquals(results.first, results.second);
     }
 
+    @Test
+    public void compactOnIdle_compactsWhenLastInstanceIsClosed() {
+        final CountDownLatch compacted = new CountDownLatch(1);
+        final AtomicLong totalBytesSeen = new AtomicLong(-1);
+        final AtomicLong usedBytesSeen = new AtomicLong(-1);
+        final AtomicLong bytesBeforeCompaction = new AtomicLong(-1);
+        final AtomicLong bytesAfterCompaction = new AtomicLong(-1);
+        final AtomicLong compactionPause = new AtomicLong(-1);
+        RealmConfiguration realmConfig = configFactory.createConfigurationBuilder()
+                .name("compactOnIdle.realm")
+                .compactOnIdle(new CompactOnLaunchCallback() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        totalBytesSeen.set(totalBytes);
+                        usedBytesSeen.set(usedBytes);
+                        return true;
+                    }
+                }, new CompactOnIdleListener() {
+                    @Override
+                    public void onCompacted(RealmConfiguration configuration, long bytesBefore, long bytesAfter,
+                            long pauseMillis) {
+                        bytesBeforeCompaction.set(bytesBefore);
+                        bytesAfterCompaction.set(bytesAfter);
+                        compactionPause.set(pauseMillis);
+                        compacted.countDown();
+                    }
+                })
+                .build();
+
+        Realm realm = Realm.getInstance(realmConfig);
+        populateTestRealmForCompact(realm, 1);
+        realm.beginTransaction();
+        realm.deleteAll();
+        realm.commitTransaction();
+        // Compaction can start as soon as the instance is closed, so the size has to be read before.
+        long before = new File(realmConfig.getPath()).length();
+        realm.close();
+
+        // The callbacks run on the async executor, so only assert on what they saw once compaction is done.
+        TestHelper.awaitOrFail(compacted);
+        assertTrue(totalBytesSeen.get() > usedBytesSeen.get());
+        assertTrue(compactionPause.get() >= 0);
+        assertEquals(before, bytesBeforeCompaction.get());
+        assertTrue(bytesAfterCompaction.get() < bytesBeforeCompaction.get());
+        assertEquals(bytesAfterCompaction.get(), new File(realmConfig.getPath()).length());
+    }
+
+    @Test
+    public void compactOnIdle_shouldNotCompact() {
+        final CountDownLatch shouldCompactCalled = new CountDownLatch(1);
+        final AtomicBoolean compacted = new AtomicBoolean(false);
+        RealmConfiguration realmConfig = configFactory.createConfigurationBuilder()
+                .name("compactOnIdle.realm")
+                .compactOnIdle(new CompactOnLaunchCallback() {
+                    @Override
+                    public boolean shouldCompact(long totalBytes, long usedBytes) {
+                        shouldCompactCalled.countDown();
+                        return false;
+                    }
+                }, new CompactOnIdleListener() {
+                    @Override
+                    public void onCompacted(RealmConfiguration configuration, long bytesBefore, long bytesAfter,
+                            long pauseMillis) {
+                        compacted.set(true);
+                    }
+                })
+                .build();
+
+        Realm realm = Realm.getInstance(realmConfig);
+        populateTestRealmForCompact(realm, 1);
+        realm.beginTransaction();
+        realm.deleteAll();
+        realm.commitTransaction();
+        realm.close();
+
+        TestHelper.awaitOrFail(shouldCompactCalled);
+        // Opening the Realm waits for the compaction task to finish.
+        realm = Realm.getInstance(realmConfig);
+        realm.close();
+        assertFalse(compacted.get());
+    }
+
     @Test
     public void compactOnLaunch_throwsInTheCallback() {
         final RuntimeException exception = new RuntimeException();
@@ -4258,6 +4422,98 @@ public class RealmTests {
         assertEquals(0, Realm.getLocalInstanceCount(config));
     }
 
+    @Test
+    public void getPinnedVersions() throws InterruptedException {
+        final RealmConfiguration config = configFactory.createConfiguration("pinnedVersions");
+        assertTrue(Realm.getPinnedVersions(config).isEmpty());
+
+        Realm realm = Realm.getInstance(config);
+        final CountDownLatch bgOpened = new CountDownLatch(1);
+        final CountDownLatch closeBg = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Realm bgRealm = Realm.getInstance(config);
+                bgOpened.countDown();
+                TestHelper.awaitOrFail(closeBg);
+                bgRealm.close();
+            }
+        }, "pinning-thread");
+        thread.start();
+        TestHelper.awaitOrFail(bgOpened);
+
+        for (int i = 0; i < 3; i++) {
+            realm.beginTransaction();
+            realm.createObject(AllTypes.class);
+            realm.commitTransaction();
+        }
+
+        List<PinnedVersionInfo> pinnedVersions = Realm.getPinnedVersions(config);
+        assertEquals(2, pinnedVersions.size());
+        PinnedVersionInfo oldest = pinnedVersions.get(0);
+        PinnedVersionInfo latest = pinnedVersions.get(1);
+        assertEquals("pinning-thread", oldest.getThreadName());
+        assertEquals(thread.getId(), oldest.getThreadId());
+        assertEquals(Thread.currentThread().getId(), latest.getThreadId());
+        assertEquals(3, latest.getVersion() - oldest.getVersion());
+        assertEquals(config.getPath(), oldest.getPath());
+        assertTrue(oldest.getPinnedMillis() >= 0);
+
+        closeBg.countDown();
+        thread.join();
+        assertEquals(1, Realm.getPinnedVersions(config).size());
+        realm.close();
+        assertTrue(Realm.getPinnedVersions(config).isEmpty());
+    }
+
+    @Test
+    public void maxNumberOfActiveVersions() throws InterruptedException {
+        final RealmConfiguration config = configFactory.createConfigurationBuilder()
+                .name("maxNumberOfActiveVersions")
+                .maxNumberOfActiveVersions(3)
+                .build();
+        Realm realm = Realm.getInstance(config);
+        final CountDownLatch bgOpened = new CountDownLatch(1);
+        final CountDownLatch closeBg = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Realm bgRealm = Realm.getInstance(config);
+                bgOpened.countDown();
+                TestHelper.awaitOrFail(closeBg);
+                bgRealm.close();
+            }
+        });
+        thread.start();
+        TestHelper.awaitOrFail(bgOpened);
+
+        try {
+            // The background Realm pins the first version, so only three versions can be active.
+            for (int i = 0; i < 3; i++) {
+                realm.beginTransaction();
+                realm.createObject(AllTypes.class);
+                realm.commitTransaction();
+            }
+            try {
+                realm.beginTransaction();
+                fail();
+            } catch (IllegalStateException expected) {
+                assertTrue(expected.getMessage().contains("Number of active versions (4)"));
+            }
+            assertFalse(realm.isInTransaction());
+        } finally {
+            closeBg.countDown();
+            thread.join();
+        }
+
+        // Once the background Realm is closed, writing is possible again.
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+        assertEquals(4, realm.where(AllTypes.class).count());
+        realm.close();
+    }
+
     @Test
     public void namedPipeDirForExternalStorage() {
 
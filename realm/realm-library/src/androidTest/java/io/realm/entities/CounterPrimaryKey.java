@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm.entities;
+
+import io.realm.MutableRealmInteger;
+import io.realm.RealmObject;
+import io.realm.annotations.PrimaryKey;
+import io.realm.annotations.Required;
+
+public class CounterPrimaryKey extends RealmObject {
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_COUNT = "count";
+
+    @PrimaryKey
+    private long id;
+
+    @Required
+    public final MutableRealmInteger count = MutableRealmInteger.valueOf(0L);
+
+    public CounterPrimaryKey() {
+    }
+
+    public CounterPrimaryKey(long id) {
+        this.id = id;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public MutableRealmInteger getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,105 @@
+###########################################################################
+#
+# Copyright 2018 Realm Inc.
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+# http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+###########################################################################
+# Generates the RegisterNatives tables used by jni_util/native_registration.cpp from the headers created by javah.
+# Run in script mode:
+#
+#   cmake -DJNI_CLASSES=<comma separated class names> -DJNI_HEADERS_DIR=<javah output dir> -DOUTPUT=<cpp file>
+#         -P GenerateJniRegistration.cmake
+#
+# Class names must not contain '_' or '$', since the header names are derived from them without JNI name mangling.
+
+if (NOT JNI_CLASSES OR NOT JNI_HEADERS_DIR OR NOT OUTPUT)
+    message(FATAL_ERROR "JNI_CLASSES, JNI_HEADERS_DIR and OUTPUT must be defined.")
+endif()
+
+# ';' and '[' would be interpreted by CMake's list handling, so they are replaced while parsing.
+set(semicolon_PLACEHOLDER "@SEMICOLON@")
+set(bracket_PLACEHOLDER "@BRACKET@")
+set(method_REGEX "Method: +([^\n]+)\n \\* Signature: +([^\n]+)\n \\*/\nJNIEXPORT [^\n]+ JNICALL ([A-Za-z0-9_]+)")
+
+string(REPLACE "," ";" jni_classes "${JNI_CLASSES}")
+set(includes "")
+set(method_tables "")
+set(class_entries "")
+
+foreach(class ${jni_classes})
+    string(REPLACE "." "_" mangled_class "${class}")
+    string(REPLACE "." "/" internal_class "${class}")
+    set(header "${JNI_HEADERS_DIR}/${mangled_class}.h")
+    if (NOT EXISTS "${header}")
+        message(FATAL_ERROR "Cannot find the JNI header of ${class}: ${header}")
+    endif()
+
+    file(READ "${header}" content)
+    string(REPLACE "\r" "" content "${content}")
+    string(REPLACE ";" "${semicolon_PLACEHOLDER}" content "${content}")
+    string(REPLACE "[" "${bracket_PLACEHOLDER}" content "${content}")
+    string(REGEX MATCHALL "${method_REGEX}" declarations "${content}")
+
+    # Classes without natives, e.g. io.realm.log.LogLevel, get an empty header.
+    if (declarations)
+        set(methods "")
+        foreach(declaration ${declarations})
+            string(REGEX MATCH "${method_REGEX}" ignored "${declaration}")
+            set(method_name "${CMAKE_MATCH_1}")
+            set(signature "${CMAKE_MATCH_2}")
+            set(function "${CMAKE_MATCH_3}")
+            string(REPLACE "${semicolon_PLACEHOLDER}" ";" signature "${signature}")
+            string(REPLACE "${bracket_PLACEHOLDER}" "[" signature "${signature}")
+            string(APPEND methods
+                "    {const_cast<char*>(\"${method_name}\"), const_cast<char*>(\"${signature}\"),\n"
+                "     reinterpret_cast<void*>(&${function})},\n")
+        endforeach()
+
+        string(APPEND includes "#include \"${mangled_class}.h\"\n")
+        string(APPEND method_tables "const JNINativeMethod ${mangled_class}_methods[] = {\n${methods}};\n\n")
+        string(APPEND class_entries
+            "    {\"${internal_class}\", ${mangled_class}_methods,\n"
+            "     static_cast<jint>(sizeof(${mangled_class}_methods) / sizeof(JNINativeMethod))},\n")
+    endif()
+endforeach()
+
+set(generated
+"// Generated by CMake/GenerateJniRegistration.cmake from the JNI headers. Do not edit.
+
+#include \"jni_util/native_registration.hpp\"
+
+${includes}
+namespace {
+
+${method_tables}} // anonymous namespace
+
+namespace realm {
+namespace jni_util {
+
+const NativeMethodTable g_native_method_tables[] = {
+${class_entries}};
+
+const size_t g_native_method_table_count = sizeof(g_native_method_tables) / sizeof(NativeMethodTable);
+
+} // namespace jni_util
+} // namespace realm
+")
+
+# Only touch the output if it changed to avoid recompiling it on every build.
+if (EXISTS "${OUTPUT}")
+    file(READ "${OUTPUT}" existing)
+endif()
+if (NOT "${existing}" STREQUAL "${generated}")
+    file(WRITE "${OUTPUT}" "${generated}")
+endif()
@@ -128,6 +128,19 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_CheckedRow_nativeGetString(JNIE
     return Java_io_realm_internal_UncheckedRow_nativeGetString(env, obj, nativeRowPtr, columnIndex);
 }
 
+JNIEXPORT jint JNICALL Java_io_realm_internal_CheckedRow_nativeGetStringUtf8(JNIEnv* env, jobject obj,
+                                                                             jlong nativeRowPtr, jlong columnIndex,
+                                                                             jobject directBuffer, jbyteArray array,
+                                                                             jint offset, jint limit)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_String)) {
+        return -1;
+    }
+
+    return Java_io_realm_internal_UncheckedRow_nativeGetStringUtf8(env, obj, nativeRowPtr, columnIndex, directBuffer,
+                                                                   array, offset, limit);
+}
+
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_CheckedRow_nativeGetByteArray(JNIEnv* env, jobject obj,
                                                                                   jlong nativeRowPtr,
                                                                                   jlong columnIndex)
@@ -0,0 +1,530 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "io_realm_internal_OsFullTextIndex.h"
+
+#include <object_store.hpp>
+#include <shared_realm.hpp>
+
+#include <realm/impl/input_stream.hpp>
+#include <realm/impl/transact_log.hpp>
+#include <realm/replication.hpp>
+
+#include <algorithm>
+#include <cstring>
+#include <set>
+#include <vector>
+
+#include "java_class_global_def.hpp"
+#include "util.hpp"
+
+using namespace realm;
+using namespace realm::util;
+using namespace realm::_impl;
+
+// The table name has no "class_" prefix, so Object Store never treats it as part of the schema.
+static const char* c_index_table_prefix = "fts_";
+static const size_t c_key_col_ndx = 0;
+static const size_t c_objects_col_ndx = 1;
+// The fields table has a row per indexed field of the class, holding the field name.
+static const char* c_fields_table_prefix = "ftf_";
+static const size_t c_field_name_col_ndx = 0;
+
+static TableRef get_index_table(SharedRealm& shared_realm, Table& table, bool create)
+{
+    std::string class_name(ObjectStore::object_type_for_table_name(table.get_name()));
+    std::string index_table_name = c_index_table_prefix + class_name;
+    Group& group = shared_realm->read_group();
+    TableRef index_table = group.get_table(index_table_name);
+    if (!index_table && create) {
+        index_table = group.add_table(index_table_name);
+        index_table->add_column(type_String, "key");
+        index_table->add_search_index(c_key_col_ndx);
+        index_table->add_column_link(type_LinkList, "objects", table);
+    }
+    return index_table;
+}
+
+static void add_indexed_field(SharedRealm& shared_realm, Table& table, StringData field_name)
+{
+    std::string class_name(ObjectStore::object_type_for_table_name(table.get_name()));
+    std::string fields_table_name = c_fields_table_prefix + class_name;
+    Group& group = shared_realm->read_group();
+    TableRef fields_table = group.get_table(fields_table_name);
+    if (!fields_table) {
+        fields_table = group.add_table(fields_table_name);
+        fields_table->add_column(type_String, "field");
+    }
+    if (fields_table->find_first_string(c_field_name_col_ndx, field_name) == realm::not_found) {
+        size_t row_ndx = fields_table->add_empty_row();
+        fields_table->set_string(c_field_name_col_ndx, row_ndx, field_name);
+    }
+}
+
+// Follows the rows of a table through the instructions of a transaction log and collects the rows whose value was set
+// in one of the given columns. Instructions that move tables, move rows other than with move_last_over() or change
+// the columns of the table are not followed and make all rows count as changed, which only happens in migrations.
+class ChangedRowsCollector : public NullInstructionObserver {
+public:
+    ChangedRowsCollector(size_t table_ndx, std::vector<size_t> col_ndxs)
+        : m_table_ndx(table_ndx)
+        , m_col_ndxs(std::move(col_ndxs))
+    {
+    }
+
+    bool all_rows() const
+    {
+        return m_all_rows;
+    }
+
+    const std::set<size_t>& rows() const
+    {
+        return m_rows;
+    }
+
+    bool select_table(size_t group_level_ndx, int levels, const size_t*)
+    {
+        m_table_selected = group_level_ndx == m_table_ndx;
+        // Lists of primitive values are stored in subtables.
+        m_rows_selected = m_table_selected && levels == 0;
+        return true;
+    }
+
+    bool insert_group_level_table(size_t table_ndx, size_t num_tables, StringData)
+    {
+        // Adding a table at the end doesn't move the existing ones.
+        if (table_ndx != num_tables) {
+            m_all_rows = true;
+        }
+        return true;
+    }
+
+    bool erase_group_level_table(size_t, size_t)
+    {
+        m_all_rows = true;
+        return true;
+    }
+
+    bool move_group_level_table(size_t, size_t)
+    {
+        m_all_rows = true;
+        return true;
+    }
+
+    bool insert_empty_rows(size_t row_ndx, size_t, size_t prior_num_rows, bool)
+    {
+        if (m_rows_selected && row_ndx != prior_num_rows) {
+            m_all_rows = true;
+        }
+        return true;
+    }
+
+    bool erase_rows(size_t row_ndx, size_t num_rows_to_erase, size_t prior_num_rows, bool unordered)
+    {
+        if (!m_rows_selected) {
+            return true;
+        }
+        if (unordered) {
+            // move_last_over() moves the last row into the place of the erased one.
+            if (num_rows_to_erase != 1) {
+                m_all_rows = true;
+                return true;
+            }
+            m_rows.erase(row_ndx);
+            size_t last_row_ndx = prior_num_rows - 1;
+            if (last_row_ndx != row_ndx && m_rows.erase(last_row_ndx) > 0) {
+                m_rows.insert(row_ndx);
+            }
+            return true;
+        }
+        std::set<size_t> rows;
+        for (size_t row : m_rows) {
+            if (row < row_ndx) {
+                rows.insert(row);
+            }
+            else if (row >= row_ndx + num_rows_to_erase) {
+                rows.insert(row - num_rows_to_erase);
+            }
+        }
+        m_rows.swap(rows);
+        return true;
+    }
+
+    bool swap_rows(size_t row_ndx_1, size_t row_ndx_2)
+    {
+        if (m_rows_selected) {
+            bool changed_1 = m_rows.erase(row_ndx_1) > 0;
+            bool changed_2 = m_rows.erase(row_ndx_2) > 0;
+            if (changed_1) {
+                m_rows.insert(row_ndx_2);
+            }
+            if (changed_2) {
+                m_rows.insert(row_ndx_1);
+            }
+        }
+        return true;
+    }
+
+    bool move_row(size_t, size_t)
+    {
+        if (m_rows_selected) {
+            m_all_rows = true;
+        }
+        return true;
+    }
+
+    bool merge_rows(size_t, size_t to_ndx)
+    {
+        if (m_rows_selected) {
+            m_rows.insert(to_ndx);
+        }
+        return true;
+    }
+
+    bool clear_table(size_t)
+    {
+        if (m_rows_selected) {
+            m_rows.clear();
+        }
+        return true;
+    }
+
+    bool set_string(size_t col_ndx, size_t row_ndx, StringData, Instruction, size_t)
+    {
+        return set_value(col_ndx, row_ndx);
+    }
+
+    bool set_null(size_t col_ndx, size_t row_ndx, Instruction, size_t)
+    {
+        return set_value(col_ndx, row_ndx);
+    }
+
+    bool insert_substring(size_t col_ndx, size_t row_ndx, size_t, StringData)
+    {
+        return set_value(col_ndx, row_ndx);
+    }
+
+    bool erase_substring(size_t col_ndx, size_t row_ndx, size_t, size_t)
+    {
+        return set_value(col_ndx, row_ndx);
+    }
+
+    bool insert_column(size_t, DataType, StringData, bool)
+    {
+        return change_columns();
+    }
+
+    bool insert_link_column(size_t, DataType, StringData, size_t, size_t)
+    {
+        return change_columns();
+    }
+
+    bool erase_column(size_t)
+    {
+        return change_columns();
+    }
+
+    bool erase_link_column(size_t, size_t, size_t)
+    {
+        return change_columns();
+    }
+
+    bool move_column(size_t, size_t)
+    {
+        return change_columns();
+    }
+
+private:
+    bool set_value(size_t col_ndx, size_t row_ndx)
+    {
+        if (m_rows_selected && std::find(m_col_ndxs.begin(), m_col_ndxs.end(), col_ndx) != m_col_ndxs.end()) {
+            m_rows.insert(row_ndx);
+        }
+        return true;
+    }
+
+    bool change_columns()
+    {
+        if (m_table_selected) {
+            m_all_rows = true;
+        }
+        return true;
+    }
+
+    const size_t m_table_ndx;
+    const std::vector<size_t> m_col_ndxs;
+    bool m_table_selected = false;
+    bool m_rows_selected = false;
+    bool m_all_rows = false;
+    std::set<size_t> m_rows;
+};
+
+// The conditions added with and_query() only apply to the last branch of an or(), so a query matching nothing is
+// built as a new query containing all conditions of the original one.
+static void restrict_to_nothing(Table& table, Query* query)
+{
+    Query restricted = table.where();
+    restricted.and_query(std::unique_ptr<Expression>(new FalseExpression));
+    restricted.and_query(*query);
+    *query = restricted;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_OsFullTextIndex_nativeUpdate(JNIEnv* env, jclass,
+                                                                            jlong shared_realm_ptr, jlong table_ptr,
+                                                                            jlong row_index, jstring j_field_name,
+                                                                            jstring j_key_prefix, jobjectArray j_keys)
+{
+    TR_ENTER_PTR(table_ptr)
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        shared_realm->verify_in_write();
+        Table* table = TBL(table_ptr);
+        TableRef index_table = get_index_table(shared_realm, *table, true);
+        size_t row_ndx = S(row_index);
+        JStringAccessor key_prefix(env, j_key_prefix);
+        JStringAccessor field_name(env, j_field_name);
+        add_indexed_field(shared_realm, *table, field_name);
+
+        // Removes the row from the lists of the keys of the field it was indexed with before. The origin rows are
+        // collected first since removing a link also removes its backlink.
+        std::vector<size_t> key_rows;
+        size_t backlink_count = table->get_backlink_count(row_ndx, *index_table, c_objects_col_ndx);
+        for (size_t i = 0; i < backlink_count; ++i) {
+            key_rows.push_back(table->get_backlink(row_ndx, *index_table, c_objects_col_ndx, i));
+        }
+        for (size_t key_row : key_rows) {
+            if (!index_table->get_string(c_key_col_ndx, key_row).begins_with(key_prefix)) {
+                continue;
+            }
+            LinkViewRef objects = index_table->get_linklist(c_objects_col_ndx, key_row);
+            size_t link_ndx = objects->find(row_ndx);
+            if (link_ndx != realm::not_found) {
+                objects->remove(link_ndx);
+            }
+        }
+
+        jsize size = env->GetArrayLength(j_keys);
+        for (jsize i = 0; i < size; ++i) {
+            // Local references are released for every key since a long text can have more tokens than the local
+            // reference table can hold.
+            jstring j_key = static_cast<jstring>(env->GetObjectArrayElement(j_keys, i));
+            {
+                JStringAccessor key(env, j_key);
+                size_t key_row = index_table->find_first_string(c_key_col_ndx, key);
+                if (key_row == realm::not_found) {
+                    key_row = index_table->add_empty_row();
+                    index_table->set_string(c_key_col_ndx, key_row, key);
+                }
+                index_table->get_linklist(c_objects_col_ndx, key_row)->add(row_ndx);
+            }
+            env->DeleteLocalRef(j_key);
+        }
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_OsFullTextIndex_nativeGetIndexedFields(JNIEnv* env, jclass,
+                                                                                              jlong shared_realm_ptr)
+{
+    TR_ENTER()
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        Group& group = shared_realm->read_group();
+        std::vector<std::string> names;
+        size_t prefix_size = strlen(c_fields_table_prefix);
+        for (size_t i = 0; i < group.size(); ++i) {
+            StringData table_name = group.get_table_name(i);
+            if (!table_name.begins_with(c_fields_table_prefix)) {
+                continue;
+            }
+            std::string class_name(table_name.data() + prefix_size, table_name.size() - prefix_size);
+            // The class could have been removed by a migration.
+            if (!group.has_table(ObjectStore::table_name_for_object_type(class_name))) {
+                continue;
+            }
+            ConstTableRef fields_table = group.get_table(i);
+            for (size_t row = 0; row < fields_table->size(); ++row) {
+                names.push_back(class_name);
+                names.push_back(std::string(fields_table->get_string(c_field_name_col_ndx, row)));
+            }
+        }
+
+        jobjectArray j_names = env->NewObjectArray(static_cast<jsize>(names.size()),
+                                                   JavaClassGlobalDef::java_lang_string(), 0);
+        if (j_names == nullptr) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the indexed fields.");
+            return nullptr;
+        }
+        for (size_t i = 0; i < names.size(); ++i) {
+            jstring j_name = to_jstring(env, names[i]);
+            env->SetObjectArrayElement(j_names, static_cast<jsize>(i), j_name);
+            env->DeleteLocalRef(j_name);
+        }
+        return j_names;
+    }
+    CATCH_STD()
+    return nullptr;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_OsFullTextIndex_nativeFindChangedRows(JNIEnv* env, jclass,
+                                                                                          jlong shared_realm_ptr,
+                                                                                          jlong table_ptr,
+                                                                                          jlongArray j_column_indices)
+{
+    TR_ENTER_PTR(table_ptr)
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        shared_realm->verify_in_write();
+        Table* table = TBL(table_ptr);
+        JLongArrayAccessor column_indices(env, j_column_indices);
+        std::vector<size_t> col_ndxs;
+        for (jsize i = 0; i < column_indices.size(); ++i) {
+            col_ndxs.push_back(S(column_indices[i]));
+        }
+
+        // Only the changes of the current transaction are read, so this takes time proportional to the size of the
+        // transaction instead of the size of the table.
+        ChangedRowsCollector collector(table->get_index_in_group(), std::move(col_ndxs));
+        Replication* replication = GroupFriend::get_replication(shared_realm->read_group());
+        if (replication) {
+            BinaryData changes = replication->get_uncommitted_changes();
+            SimpleInputStream in(changes.data(), changes.size());
+            TransactLogParser parser;
+            parser.parse(in, collector);
+        }
+
+        std::vector<jlong> rows;
+        if (collector.all_rows()) {
+            for (size_t row_ndx = 0; row_ndx < table->size(); ++row_ndx) {
+                rows.push_back(static_cast<jlong>(row_ndx));
+            }
+        }
+        else {
+            for (size_t row_ndx : collector.rows()) {
+                rows.push_back(static_cast<jlong>(row_ndx));
+            }
+        }
+
+        jlongArray j_rows = env->NewLongArray(static_cast<jsize>(rows.size()));
+        if (j_rows == nullptr) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the changed rows.");
+            return nullptr;
+        }
+        if (!rows.empty()) {
+            env->SetLongArrayRegion(j_rows, 0, static_cast<jsize>(rows.size()), rows.data());
+        }
+        return j_rows;
+    }
+    CATCH_STD()
+    return nullptr;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_OsFullTextIndex_nativeRestrictQuery(JNIEnv* env, jclass,
+                                                                                   jlong shared_realm_ptr,
+                                                                                   jlong query_ptr,
+                                                                                   jobjectArray j_keys)
+{
+    TR_ENTER_PTR(query_ptr)
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        Query* query = reinterpret_cast<Query*>(query_ptr);
+        TableRef table = query->get_table();
+        TableRef index_table = get_index_table(shared_realm, *table, false);
+        if (!index_table) {
+            restrict_to_nothing(*table, query);
+            return;
+        }
+
+        // Every key is looked up with the string index. Only the objects linked from the key with the fewest
+        // objects have to be checked for the other keys.
+        std::vector<std::string> keys;
+        LinkViewRef candidates;
+        jsize size = env->GetArrayLength(j_keys);
+        for (jsize i = 0; i < size; ++i) {
+            jstring j_key = static_cast<jstring>(env->GetObjectArrayElement(j_keys, i));
+            {
+                JStringAccessor key(env, j_key);
+                keys.push_back(std::string(StringData(key)));
+            }
+            env->DeleteLocalRef(j_key);
+
+            size_t key_row = index_table->find_first_string(c_key_col_ndx, keys.back());
+            if (key_row == realm::not_found) {
+                restrict_to_nothing(*table, query);
+                return;
+            }
+            LinkViewRef objects = index_table->get_linklist(c_objects_col_ndx, key_row);
+            if (!candidates || objects->size() < candidates->size()) {
+                candidates = objects;
+            }
+        }
+
+        // The conditions on the keys also make sure the restricted query has a root node, so the original
+        // conditions are added as one node instead of replacing the restricted query.
+        Query restricted = table->where(candidates);
+        for (auto& key : keys) {
+            restricted.and_query(table->backlink(*index_table, c_objects_col_ndx)
+                                     .column<String>(c_key_col_ndx)
+                                     .equal(StringData(key), true));
+        }
+        restricted.and_query(*query);
+        *query = restricted;
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_OsFullTextIndex_nativeRemoveIndex(JNIEnv* env, jclass,
+                                                                                 jlong shared_realm_ptr,
+                                                                                 jstring j_class_name)
+{
+    TR_ENTER()
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        shared_realm->verify_in_write();
+        JStringAccessor class_name(env, j_class_name);
+        Group& group = shared_realm->read_group();
+        // The index table links to the objects, which has to be removed before the class can be removed.
+        for (const char* prefix : {c_index_table_prefix, c_fields_table_prefix}) {
+            std::string table_name = prefix + std::string(class_name);
+            if (group.has_table(table_name)) {
+                group.remove_table(table_name);
+            }
+        }
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_OsFullTextIndex_nativeRenameIndex(JNIEnv* env, jclass,
+                                                                                 jlong shared_realm_ptr,
+                                                                                 jstring j_old_class_name,
+                                                                                 jstring j_new_class_name)
+{
+    TR_ENTER()
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        shared_realm->verify_in_write();
+        JStringAccessor old_class_name(env, j_old_class_name);
+        JStringAccessor new_class_name(env, j_new_class_name);
+        Group& group = shared_realm->read_group();
+        for (const char* prefix : {c_index_table_prefix, c_fields_table_prefix}) {
+            std::string old_table_name = prefix + std::string(old_class_name);
+            if (group.has_table(old_table_name)) {
+                group.rename_table(old_table_name, prefix + std::string(new_class_name));
+            }
+        }
+    }
+    CATCH_STD()
+}
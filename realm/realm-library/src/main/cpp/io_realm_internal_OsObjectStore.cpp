@@ -32,6 +32,11 @@ using namespace realm::_impl;
 static_assert(io_realm_internal_OsObjectStore_SCHEMA_NOT_VERSIONED == static_cast<jlong>(ObjectStore::NotVersioned),
               "");
 
+// The table name has no "class_" prefix, so Object Store never treats it as part of the schema.
+static const char* c_schema_fingerprint_table_name = "realm_java_schema_fingerprint";
+static const size_t c_fingerprint_col_ndx = 0;
+static const size_t c_fingerprint_version_col_ndx = 1;
+
 JNIEXPORT void JNICALL Java_io_realm_internal_OsObjectStore_nativeSetPrimaryKeyForObject(JNIEnv* env, jclass,
                                                                                           jlong shared_realm_ptr,
                                                                                           jstring j_class_name,
@@ -122,6 +127,50 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_OsObjectStore_nativeGetSchemaVers
     return ObjectStore::NotVersioned;
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_OsObjectStore_nativeSetSchemaFingerprint(JNIEnv* env, jclass,
+                                                                                      jlong shared_realm_ptr,
+                                                                                      jlong fingerprint)
+{
+    TR_ENTER_PTR(shared_realm_ptr)
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        shared_realm->verify_in_write();
+        auto& group = shared_realm->read_group();
+        TableRef table = group.get_or_add_table(c_schema_fingerprint_table_name);
+        if (table->get_column_count() == 0) {
+            table->add_column(type_Int, "fingerprint");
+            table->add_column(type_Int, "version");
+        }
+        if (table->size() == 0) {
+            table->add_empty_row();
+        }
+        table->set_int(c_fingerprint_col_ndx, 0, fingerprint);
+        table->set_int(c_fingerprint_version_col_ndx, 0, static_cast<int64_t>(ObjectStore::get_schema_version(group)));
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_OsObjectStore_nativeGetSchemaFingerprint(JNIEnv* env, jclass,
+                                                                                       jlong shared_realm_ptr)
+{
+    TR_ENTER_PTR(shared_realm_ptr)
+    try {
+        auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        auto& group = shared_realm->read_group();
+        ConstTableRef table = group.get_table(c_schema_fingerprint_table_name);
+        if (!table || table->get_column_count() != 2 || table->size() == 0) {
+            return io_realm_internal_OsObjectStore_SCHEMA_FINGERPRINT_NOT_SET;
+        }
+        if (table->get_int(c_fingerprint_version_col_ndx, 0) !=
+            static_cast<int64_t>(ObjectStore::get_schema_version(group))) {
+            return io_realm_internal_OsObjectStore_SCHEMA_FINGERPRINT_NOT_SET;
+        }
+        return table->get_int(c_fingerprint_col_ndx, 0);
+    }
+    CATCH_STD()
+    return io_realm_internal_OsObjectStore_SCHEMA_FINGERPRINT_NOT_SET;
+}
+
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_OsObjectStore_nativeDeleteTableForObject(JNIEnv* env, jclass,
                                                                                         jlong shared_realm_ptr,
                                                                                         jstring j_class_name)
@@ -21,6 +21,13 @@
 #include <list.hpp>
 #include <realm/util/optional.hpp>
 
+#include <algorithm>
+#include <chrono>
+#include <queue>
+#include <string>
+#include <unordered_map>
+#include <vector>
+
 #include "java_class_global_def.hpp"
 #include "java_query_descriptor.hpp"
 #include "observable_collection_wrapper.hpp"
@@ -63,6 +70,351 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_OsResults_nativeCreateResults(JNI
     return reinterpret_cast<jlong>(nullptr);
 }
 
+// Builds the condition matching any of the values of an indexed column, and counts the rows it matches with one index
+// lookup per value. An in() condition is evaluated by core as an OR of equal conditions for every row, so the rows
+// found with the index are used to restrict the query instead, see restrict_to_condition().
+static std::unique_ptr<Query> long_values_condition(Table& table, size_t column, const JLongArrayAccessor& values,
+                                                    size_t& count)
+{
+    std::unique_ptr<Query> condition(new Query(table.where()));
+    condition->group();
+    count = 0;
+    for (jsize i = 0; i < values.size(); ++i) {
+        int64_t value = static_cast<int64_t>(values[i]);
+        count += table.where().equal(column, value).count();
+        if (i > 0) {
+            condition->Or();
+        }
+        condition->equal(column, value);
+    }
+    condition->end_group();
+    return condition;
+}
+
+static std::unique_ptr<Query> string_values_condition(JNIEnv* env, Table& table, size_t column, jobjectArray j_values,
+                                                      size_t& count)
+{
+    std::unique_ptr<Query> condition(new Query(table.where()));
+    condition->group();
+    count = 0;
+    jsize size = env->GetArrayLength(j_values);
+    for (jsize i = 0; i < size; ++i) {
+        jstring j_value = static_cast<jstring>(env->GetObjectArrayElement(j_values, i));
+        {
+            JStringAccessor value(env, j_value);
+            // The query nodes keep their own copy of the value.
+            count += table.where().equal(column, StringData(value)).count();
+            if (i > 0) {
+                condition->Or();
+            }
+            condition->equal(column, StringData(value));
+        }
+        env->DeleteLocalRef(j_value);
+    }
+    condition->end_group();
+    return condition;
+}
+
+// Core only uses one search index per query and picks it without knowing how many rows match. Counting the matches of
+// every indexed equality or in() condition only reads the indexes, so the condition matching the fewest rows can be
+// found cheaply. Each condition has an array of values, with a single value for an equality condition. See
+// TableQuery#canUseIndexedCondition().
+static std::unique_ptr<Query> find_most_selective_condition(JNIEnv* env, Table& table, jlongArray j_long_columns,
+                                                            jobjectArray j_long_values, jlongArray j_string_columns,
+                                                            jobjectArray j_string_values, size_t& best_column,
+                                                            size_t& best_count)
+{
+    JLongArrayAccessor long_columns(env, j_long_columns);
+    JLongArrayAccessor string_columns(env, j_string_columns);
+    std::unique_ptr<Query> best_condition;
+    best_column = realm::npos;
+    best_count = realm::npos;
+    for (jsize i = 0; i < long_columns.size(); ++i) {
+        jlongArray j_values = static_cast<jlongArray>(env->GetObjectArrayElement(j_long_values, i));
+        {
+            JLongArrayAccessor values(env, j_values);
+            size_t count;
+            std::unique_ptr<Query> condition = long_values_condition(table, S(long_columns[i]), values, count);
+            if (count < best_count) {
+                best_condition = std::move(condition);
+                best_column = S(long_columns[i]);
+                best_count = count;
+            }
+        }
+        env->DeleteLocalRef(j_values);
+    }
+    for (jsize i = 0; i < string_columns.size(); ++i) {
+        jobjectArray j_values = static_cast<jobjectArray>(env->GetObjectArrayElement(j_string_values, i));
+        size_t count;
+        std::unique_ptr<Query> condition = string_values_condition(env, table, S(string_columns[i]), j_values, count);
+        if (count < best_count) {
+            best_condition = std::move(condition);
+            best_column = S(string_columns[i]);
+            best_count = count;
+        }
+        env->DeleteLocalRef(j_values);
+    }
+    return best_condition;
+}
+
+// Restricts a copy of the query to the rows matching one of its conditions. All conditions of the query are kept, so
+// it matches the same rows. The view keeps the condition it was created from, so it is updated like any other query
+// based view.
+static Query restrict_to_condition(Table& table, Query& condition, Query& query)
+{
+    Query restricted(table, std::unique_ptr<TableViewBase>(new TableView(condition.find_all())));
+    restricted.and_query(condition);
+    restricted.and_query(query);
+    return restricted;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_OsResults_nativeCreateResultsUsingIndex(
+    JNIEnv* env, jclass, jlong shared_realm_ptr, jlong query_ptr, jlong descriptor_ordering_ptr,
+    jlongArray j_long_columns, jobjectArray j_long_values, jlongArray j_string_columns, jobjectArray j_string_values)
+{
+    TR_ENTER()
+    try {
+        auto query = reinterpret_cast<Query*>(query_ptr);
+        if (!QUERY_VALID(env, query)) {
+            return reinterpret_cast<jlong>(nullptr);
+        }
+
+        TableRef table = query->get_table();
+        size_t best_column;
+        size_t best_count;
+        std::unique_ptr<Query> best_condition = find_most_selective_condition(
+            env, *table, j_long_columns, j_long_values, j_string_columns, j_string_values, best_column, best_count);
+
+        auto shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        auto descriptor_ordering = *(reinterpret_cast<DescriptorOrdering*>(descriptor_ordering_ptr));
+        if (!best_condition) {
+            Results results(shared_realm, *query, descriptor_ordering);
+            return reinterpret_cast<jlong>(new ResultsWrapper(results));
+        }
+        Results results(shared_realm, restrict_to_condition(*table, *best_condition, *query), descriptor_ordering);
+        auto wrapper = new ResultsWrapper(results);
+
+        return reinterpret_cast<jlong>(wrapper);
+    }
+    CATCH_STD()
+    return reinterpret_cast<jlong>(nullptr);
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_OsResults_nativeExplain(
+    JNIEnv* env, jclass, jlong query_ptr, jlong descriptor_ordering_ptr, jboolean restrict_to_index,
+    jlongArray j_long_columns, jobjectArray j_long_values, jlongArray j_string_columns, jobjectArray j_string_values)
+{
+    TR_ENTER()
+    try {
+        auto query = reinterpret_cast<Query*>(query_ptr);
+        if (!QUERY_VALID(env, query)) {
+            return nullptr;
+        }
+
+        // Runs the query the same way Results would, but measures finding the rows and ordering them separately.
+        TableRef table = query->get_table();
+        auto start = std::chrono::steady_clock::now();
+        size_t best_column;
+        size_t best_count;
+        std::unique_ptr<Query> best_condition = find_most_selective_condition(
+            env, *table, j_long_columns, j_long_values, j_string_columns, j_string_values, best_column, best_count);
+        TableView view;
+        if (best_condition && restrict_to_index) {
+            view = restrict_to_condition(*table, *best_condition, *query).find_all();
+        }
+        else {
+            view = query->find_all();
+        }
+        auto found = std::chrono::steady_clock::now();
+        size_t matched_count = view.size();
+        auto& descriptor_ordering = *(reinterpret_cast<DescriptorOrdering*>(descriptor_ordering_ptr));
+        view.apply_descriptor_ordering(descriptor_ordering);
+        auto ordered = std::chrono::steady_clock::now();
+
+        jlong stats[] = {
+            best_condition ? static_cast<jlong>(best_column) : jlong(-1),
+            static_cast<jlong>(best_condition ? best_count : table->size()),
+            static_cast<jlong>(matched_count),
+            static_cast<jlong>(view.size()),
+            static_cast<jlong>(std::chrono::duration_cast<std::chrono::nanoseconds>(found - start).count()),
+            static_cast<jlong>(std::chrono::duration_cast<std::chrono::nanoseconds>(ordered - found).count()),
+        };
+        jsize size = sizeof(stats) / sizeof(stats[0]);
+        jlongArray j_stats = env->NewLongArray(size);
+        if (!j_stats) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the query statistics.");
+            return nullptr;
+        }
+        env->SetLongArrayRegion(j_stats, 0, size, stats);
+        return j_stats;
+    }
+    CATCH_STD()
+    return nullptr;
+}
+
+// Finds the value of a column that the first k matching rows in sort order are ranked before or at, going through
+// the matching rows once and keeping the k best values in a heap. Null is ranked before all values when sorting in
+// ascending order. Returns a condition only matching rows ranked up to that value, or nullptr if all rows can rank
+// among the first k.
+// The matching rows are collected with find_all() since find(begin) counts rows of the view for queries restricted
+// to a view or a list, not rows of the table.
+template <class T, class Getter>
+static std::unique_ptr<Query> find_top_condition(Query& query, size_t column, bool ascending, size_t k,
+                                                 Getter get_value)
+{
+    Table& table = *query.get_table();
+    // The top of the heap is the worst of the values kept.
+    auto worse = [ascending](const T& a, const T& b) { return ascending ? a < b : b < a; };
+    std::priority_queue<T, std::vector<T>, decltype(worse)> best_values(worse);
+    size_t null_count = 0;
+    TableView matches = query.find_all();
+    for (size_t i = 0; i < matches.size(); ++i) {
+        size_t row = matches.get_source_ndx(i);
+        if (table.is_null(column, row)) {
+            ++null_count;
+            continue;
+        }
+        T value = get_value(table, row);
+        if (value != value) {
+            // NaN cannot be compared with a condition.
+            return nullptr;
+        }
+        if (best_values.size() < k) {
+            best_values.push(value);
+        }
+        else if (worse(value, best_values.top())) {
+            best_values.pop();
+            best_values.push(value);
+        }
+    }
+
+    std::unique_ptr<Query> condition(new Query(table.where()));
+    if (ascending) {
+        if (null_count >= k) {
+            condition->equal(column, realm::null());
+            return condition;
+        }
+        if (best_values.size() < k - null_count) {
+            return nullptr;
+        }
+        while (best_values.size() > k - null_count) {
+            best_values.pop();
+        }
+        if (null_count == 0) {
+            condition->less_equal(column, best_values.top());
+            return condition;
+        }
+        condition->group();
+        condition->less_equal(column, best_values.top());
+        condition->Or();
+        condition->equal(column, realm::null());
+        condition->end_group();
+        return condition;
+    }
+    if (best_values.size() < k) {
+        return nullptr;
+    }
+    condition->greater_equal(column, best_values.top());
+    return condition;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_OsResults_nativeCreateResultsTop(
+    JNIEnv* env, jclass, jlong shared_realm_ptr, jlong query_ptr, jlong descriptor_ordering_ptr, jlong column_index,
+    jboolean ascending, jlong count)
+{
+    TR_ENTER()
+    try {
+        auto query = reinterpret_cast<Query*>(query_ptr);
+        if (!QUERY_VALID(env, query)) {
+            return reinterpret_cast<jlong>(nullptr);
+        }
+
+        auto shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        auto descriptor_ordering = *(reinterpret_cast<DescriptorOrdering*>(descriptor_ordering_ptr));
+        descriptor_ordering.append_limit(S(count));
+
+        std::unique_ptr<Query> top_condition;
+        if (column_index >= 0 && count > 0) {
+            size_t column = S(column_index);
+            size_t k = S(count);
+            switch (query->get_table()->get_column_type(column)) {
+                case type_Int:
+                    top_condition = find_top_condition<int64_t>(*query, column, ascending, k,
+                                                                [column](Table& t, size_t row) {
+                                                                    return t.get_int(column, row);
+                                                                });
+                    break;
+                case type_Timestamp:
+                    top_condition = find_top_condition<Timestamp>(*query, column, ascending, k,
+                                                                  [column](Table& t, size_t row) {
+                                                                      return t.get_timestamp(column, row);
+                                                                  });
+                    break;
+                case type_Float:
+                    top_condition = find_top_condition<float>(*query, column, ascending, k,
+                                                              [column](Table& t, size_t row) {
+                                                                  return t.get_float(column, row);
+                                                              });
+                    break;
+                case type_Double:
+                    top_condition = find_top_condition<double>(*query, column, ascending, k,
+                                                               [column](Table& t, size_t row) {
+                                                                   return t.get_double(column, row);
+                                                               });
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (!top_condition) {
+            Results results(shared_realm, *query, descriptor_ordering);
+            return reinterpret_cast<jlong>(new ResultsWrapper(results));
+        }
+        // The query could be restricted to a view and have no conditions. It gets a root node first, so adding the
+        // condition doesn't replace it.
+        Query top_query(*query);
+        top_query.and_query(std::unique_ptr<Expression>(new TrueExpression));
+        top_query.and_query(*top_condition);
+        Results results(shared_realm, std::move(top_query), descriptor_ordering);
+        auto wrapper = new ResultsWrapper(results);
+
+        return reinterpret_cast<jlong>(wrapper);
+    }
+    CATCH_STD()
+    return reinterpret_cast<jlong>(nullptr);
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_OsResults_nativeCreateResultsWithOffset(
+    JNIEnv* env, jclass, jlong shared_realm_ptr, jlong query_ptr, jlong descriptor_ordering_ptr, jlong offset,
+    jlong limit)
+{
+    TR_ENTER()
+    try {
+        auto query = reinterpret_cast<Query*>(query_ptr);
+        if (!QUERY_VALID(env, query)) {
+            return reinterpret_cast<jlong>(nullptr);
+        }
+
+        auto shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+        auto descriptor_ordering = *(reinterpret_cast<DescriptorOrdering*>(descriptor_ordering_ptr));
+        // Core has no offset descriptor. The ordered rows are used as the view of a second query which only
+        // collects the rows starting at the offset, since a query restricted by a view iterates it in view order.
+        Results ordered_results(shared_realm, *query, descriptor_ordering);
+        TableView ordered_view = ordered_results.get_tableview();
+        Query window_query(ordered_view.get_parent(),
+                           std::unique_ptr<TableViewBase>(new TableView(std::move(ordered_view))));
+        size_t window_limit = limit < 0 ? size_t(-1) : S(limit);
+        TableView window_view = window_query.find_all(S(offset), size_t(-1), window_limit);
+        Results results(shared_realm, std::move(window_view));
+        auto wrapper = new ResultsWrapper(results);
+
+        return reinterpret_cast<jlong>(wrapper);
+    }
+    CATCH_STD()
+    return reinterpret_cast<jlong>(nullptr);
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_OsResults_nativeCreateSnapshot(JNIEnv* env, jclass, jlong native_ptr)
 {
     TR_ENTER_PTR(native_ptr);
@@ -207,6 +559,296 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_OsResults_nativeAggregate(JNIEn
     return static_cast<jobject>(nullptr);
 }
 
+JNIEXPORT jint JNICALL Java_io_realm_internal_OsResults_nativeGetStringsUtf8(JNIEnv* env, jclass, jlong native_ptr,
+                                                                            jlong column_index, jint start,
+                                                                            jobject direct_buffer, jbyteArray array,
+                                                                            jint offset, jint limit,
+                                                                            jintArray j_lengths)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        auto wrapper = reinterpret_cast<ResultsWrapper*>(native_ptr);
+        auto& results = wrapper->collection();
+        if (start < 0) {
+            throw std::invalid_argument("Start index must not be negative.");
+        }
+        size_t size = results.size();
+        size_t max_count = static_cast<size_t>(env->GetArrayLength(j_lengths));
+        size_t col = S(column_index);
+
+        std::vector<jint> lengths;
+        lengths.reserve(std::min(max_count, size > static_cast<size_t>(start) ? size - start : 0));
+        jint position = offset;
+        for (size_t i = static_cast<size_t>(start); i < size && lengths.size() < max_count; ++i) {
+            auto row = results.get(i);
+            if (!row.is_attached()) {
+                // Deleted objects in a snapshot are reported as null.
+                lengths.push_back(-1);
+                continue;
+            }
+            jint length = copy_utf8(env, row.get_string(col), direct_buffer, array, position, limit);
+            if (length > limit - position) {
+                // Report how much space the value needs and let the caller continue with a larger buffer.
+                env->SetIntArrayRegion(j_lengths, static_cast<jsize>(lengths.size()), 1, &length);
+                break;
+            }
+            lengths.push_back(length);
+            if (length > 0) {
+                position += length;
+            }
+        }
+        if (!lengths.empty()) {
+            env->SetIntArrayRegion(j_lengths, 0, static_cast<jsize>(lengths.size()), lengths.data());
+        }
+        return static_cast<jint>(lengths.size());
+    }
+    CATCH_STD()
+    return 0;
+}
+
+static jlongArray to_jlong_array(JNIEnv* env, const std::vector<jlong>& values)
+{
+    jlongArray array = env->NewLongArray(static_cast<jsize>(values.size()));
+    if (array && !values.empty()) {
+        env->SetLongArrayRegion(array, 0, static_cast<jsize>(values.size()), values.data());
+    }
+    return array;
+}
+
+JNIEXPORT jobject JNICALL Java_io_realm_internal_OsResults_nativeGroupBy(JNIEnv* env, jclass, jlong native_ptr,
+                                                                          jlong native_table_ptr,
+                                                                          jlongArray j_key_column_indices,
+                                                                          jlong value_column_index, jbyte agg_func)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        auto wrapper = reinterpret_cast<ResultsWrapper*>(native_ptr);
+        auto& results = wrapper->collection();
+        Table* table = TBL(native_table_ptr);
+
+        // Resolves the tables along the path of the grouping field once instead of for every row.
+        JLongArrayAccessor key_columns(env, j_key_column_indices);
+        std::vector<size_t> link_columns;
+        std::vector<Table*> link_targets;
+        Table* key_table = table;
+        for (jsize i = 0; i < key_columns.size() - 1; ++i) {
+            size_t col = S(key_columns[i]);
+            if (key_table->get_column_type(col) != type_Link) {
+                throw std::invalid_argument("Only links to single objects are supported in the grouping field.");
+            }
+            link_columns.push_back(col);
+            key_table = key_table->get_link_target(col).get();
+            link_targets.push_back(key_table);
+        }
+        size_t key_col = S(key_columns[key_columns.size() - 1]);
+        DataType key_type = key_table->get_column_type(key_col);
+        if (key_type != type_Int && key_type != type_Bool && key_type != type_String && key_type != type_Timestamp) {
+            throw std::invalid_argument("Objects can only be grouped by integer, boolean, String or Date fields.");
+        }
+        bool string_keys = key_type == type_String;
+
+        bool has_value = value_column_index >= 0;
+        size_t value_col = has_value ? S(value_column_index) : 0;
+        DataType value_type = has_value ? table->get_column_type(value_col) : type_Int;
+        bool long_values = has_value && agg_func != io_realm_internal_OsResults_AGGREGATE_FUNCTION_AVERAGE &&
+                           (value_type == type_Int || value_type == type_Timestamp);
+        if (has_value && value_type == type_Timestamp &&
+            agg_func != io_realm_internal_OsResults_AGGREGATE_FUNCTION_MINIMUM &&
+            agg_func != io_realm_internal_OsResults_AGGREGATE_FUNCTION_MAXIMUM) {
+            throw std::invalid_argument("Only the minimum and maximum of Date fields can be computed.");
+        }
+
+        std::unordered_map<int64_t, size_t> long_groups;
+        std::unordered_map<std::string, size_t> string_groups;
+        std::vector<jlong> long_keys;
+        std::vector<std::string> string_keys_list;
+        size_t null_group = realm::not_found;
+        std::vector<jlong> counts;
+        std::vector<jlong> value_counts;
+        std::vector<jlong> long_results;
+        std::vector<double> double_results;
+        auto add_group = [&]() {
+            counts.push_back(0);
+            value_counts.push_back(0);
+            long_results.push_back(0);
+            double_results.push_back(0);
+            return counts.size() - 1;
+        };
+
+        size_t size = results.size();
+        for (size_t i = 0; i < size; ++i) {
+            RowExpr row = results.get(i);
+            if (!row.is_attached()) {
+                continue;
+            }
+
+            // Follows the links with the table accessors, the key is read from row key_row of key_table.
+            size_t key_row = row.get_index();
+            Table* current_table = table;
+            bool null_key = false;
+            for (size_t j = 0; j < link_columns.size(); ++j) {
+                if (current_table->is_null_link(link_columns[j], key_row)) {
+                    null_key = true;
+                    break;
+                }
+                key_row = current_table->get_link(link_columns[j], key_row);
+                current_table = link_targets[j];
+            }
+
+            int64_t long_key = 0;
+            StringData string_key;
+            if (!null_key) {
+                switch (key_type) {
+                    case type_Int:
+                        null_key = key_table->is_null(key_col, key_row);
+                        long_key = null_key ? 0 : key_table->get_int(key_col, key_row);
+                        break;
+                    case type_Bool:
+                        null_key = key_table->is_null(key_col, key_row);
+                        long_key = (!null_key && key_table->get_bool(key_col, key_row)) ? 1 : 0;
+                        break;
+                    case type_Timestamp: {
+                        Timestamp ts = key_table->get_timestamp(key_col, key_row);
+                        null_key = ts.is_null();
+                        long_key = null_key ? 0 : to_milliseconds(ts);
+                        break;
+                    }
+                    default:
+                        string_key = key_table->get_string(key_col, key_row);
+                        null_key = string_key.is_null();
+                        break;
+                }
+            }
+
+            size_t group;
+            if (null_key) {
+                if (null_group == realm::not_found) {
+                    null_group = add_group();
+                    long_keys.push_back(0);
+                    string_keys_list.push_back(std::string());
+                }
+                group = null_group;
+            }
+            else if (string_keys) {
+                std::string key(string_key);
+                auto it = string_groups.find(key);
+                if (it == string_groups.end()) {
+                    group = add_group();
+                    string_keys_list.push_back(key);
+                    string_groups.emplace(std::move(key), group);
+                }
+                else {
+                    group = it->second;
+                }
+            }
+            else {
+                auto it = long_groups.find(long_key);
+                if (it == long_groups.end()) {
+                    group = add_group();
+                    long_keys.push_back(long_key);
+                    long_groups.emplace(long_key, group);
+                }
+                else {
+                    group = it->second;
+                }
+            }
+            counts[group]++;
+
+            if (!has_value || row.is_null(value_col)) {
+                continue;
+            }
+            bool first = value_counts[group] == 0;
+            value_counts[group]++;
+            if (long_values) {
+                int64_t value = value_type == type_Int ? row.get_int(value_col)
+                                                       : to_milliseconds(row.get_timestamp(value_col));
+                jlong& result = long_results[group];
+                switch (agg_func) {
+                    case io_realm_internal_OsResults_AGGREGATE_FUNCTION_MINIMUM:
+                        result = (first || value < result) ? value : result;
+                        break;
+                    case io_realm_internal_OsResults_AGGREGATE_FUNCTION_MAXIMUM:
+                        result = (first || value > result) ? value : result;
+                        break;
+                    default:
+                        result += value;
+                        break;
+                }
+            }
+            else {
+                double value;
+                switch (value_type) {
+                    case type_Int:
+                        value = static_cast<double>(row.get_int(value_col));
+                        break;
+                    case type_Float:
+                        value = row.get_float(value_col);
+                        break;
+                    case type_Double:
+                        value = row.get_double(value_col);
+                        break;
+                    default:
+                        throw std::invalid_argument("Only integer, float and double fields can be aggregated.");
+                }
+                double& result = double_results[group];
+                switch (agg_func) {
+                    case io_realm_internal_OsResults_AGGREGATE_FUNCTION_MINIMUM:
+                        result = (first || value < result) ? value : result;
+                        break;
+                    case io_realm_internal_OsResults_AGGREGATE_FUNCTION_MAXIMUM:
+                        result = (first || value > result) ? value : result;
+                        break;
+                    default:
+                        result += value;
+                        break;
+                }
+            }
+        }
+        if (has_value && !long_values && agg_func == io_realm_internal_OsResults_AGGREGATE_FUNCTION_AVERAGE) {
+            for (size_t group = 0; group < double_results.size(); ++group) {
+                if (value_counts[group] > 0) {
+                    double_results[group] /= value_counts[group];
+                }
+            }
+        }
+
+        jobject keys;
+        if (string_keys) {
+            jobjectArray array = env->NewObjectArray(static_cast<jsize>(string_keys_list.size()),
+                                                     JavaClassGlobalDef::java_lang_string(), nullptr);
+            for (size_t group = 0; array && group < string_keys_list.size(); ++group) {
+                if (group == null_group) {
+                    continue;
+                }
+                jstring key = to_jstring(env, string_keys_list[group]);
+                env->SetObjectArrayElement(array, static_cast<jsize>(group), key);
+                env->DeleteLocalRef(key);
+            }
+            keys = array;
+        }
+        else {
+            keys = to_jlong_array(env, long_keys);
+        }
+        jdoubleArray doubles = nullptr;
+        if (has_value && !long_values) {
+            doubles = env->NewDoubleArray(static_cast<jsize>(double_results.size()));
+            if (doubles && !double_results.empty()) {
+                env->SetDoubleArrayRegion(doubles, 0, static_cast<jsize>(double_results.size()),
+                                          double_results.data());
+            }
+        }
+
+        static JavaClass grouped_aggregate_class(env, "io/realm/RealmGroupedAggregate");
+        static JavaMethod constructor(env, grouped_aggregate_class, "<init>", "(Ljava/lang/Object;I[J[J[J[D)V");
+        jint null_index = null_group == realm::not_found ? -1 : static_cast<jint>(null_group);
+        jlongArray longs = long_values ? to_jlong_array(env, long_results) : nullptr;
+        return env->NewObject(grouped_aggregate_class, constructor, keys, null_index, to_jlong_array(env, counts),
+                              to_jlong_array(env, value_counts), longs, doubles);
+    }
+    CATCH_STD()
+    return nullptr;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_OsResults_nativeSort(JNIEnv* env, jclass, jlong native_ptr,
                                                                      jobject j_sort_desc)
 {
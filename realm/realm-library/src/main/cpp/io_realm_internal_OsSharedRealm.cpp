@@ -27,6 +27,10 @@
 
 #include <realm/util/assert.hpp>
 
+#include <ostream>
+#include <streambuf>
+#include <vector>
+
 #include <shared_realm.hpp>
 
 #include "java_accessor.hpp"
@@ -407,6 +411,89 @@ JNIEXPORT void JNICALL Java_io_realm_internal_OsSharedRealm_nativeWriteCopy(JNIE
     CATCH_STD()
 }
 
+namespace {
+// Stream buffer handing the output of Group::write() to an OsSharedRealm.CopyWriter once the buffer is full.
+class CopyWriterStreamBuffer : public std::streambuf {
+public:
+    CopyWriterStreamBuffer(JNIEnv* env, jobject writer, jbyteArray java_buffer)
+        : m_env(env)
+        , m_writer(writer)
+        , m_java_buffer(java_buffer)
+        , m_buffer(static_cast<size_t>(env->GetArrayLength(java_buffer)))
+    {
+        setp(m_buffer.data(), m_buffer.data() + m_buffer.size());
+    }
+
+protected:
+    int_type overflow(int_type ch) override
+    {
+        if (!flush_buffer()) {
+            return traits_type::eof();
+        }
+        if (!traits_type::eq_int_type(ch, traits_type::eof())) {
+            *pptr() = traits_type::to_char_type(ch);
+            pbump(1);
+        }
+        return traits_type::not_eof(ch);
+    }
+
+    int sync() override
+    {
+        return flush_buffer() ? 0 : -1;
+    }
+
+private:
+    // Returns false if the writer threw, in which case the Java exception is left pending.
+    bool flush_buffer()
+    {
+        static JavaClass copy_writer_class(m_env, "io/realm/internal/OsSharedRealm$CopyWriter");
+        static JavaMethod write_method(m_env, copy_writer_class, "write", "([BI)V");
+
+        jint length = static_cast<jint>(pptr() - pbase());
+        if (length == 0) {
+            return true;
+        }
+        m_env->SetByteArrayRegion(m_java_buffer, 0, length, reinterpret_cast<const jbyte*>(pbase()));
+        m_env->CallVoidMethod(m_writer, write_method, m_java_buffer, length);
+        if (m_env->ExceptionCheck()) {
+            return false;
+        }
+        setp(m_buffer.data(), m_buffer.data() + m_buffer.size());
+        return true;
+    }
+
+    JNIEnv* m_env;
+    jobject m_writer;
+    jbyteArray m_java_buffer;
+    std::vector<char> m_buffer;
+};
+} // anonymous namespace
+
+JNIEXPORT void JNICALL Java_io_realm_internal_OsSharedRealm_nativeWriteCopyToWriter(JNIEnv* env, jclass,
+                                                                                  jlong shared_realm_ptr,
+                                                                                  jobject writer,
+                                                                                  jbyteArray buffer)
+{
+    TR_ENTER_PTR(shared_realm_ptr);
+
+    auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+    try {
+        CopyWriterStreamBuffer stream_buffer(env, writer, buffer);
+        std::ostream out(&stream_buffer);
+        // Stop writing as soon as the Java writer throws instead of serializing the rest of the Realm for nothing.
+        out.exceptions(std::ios_base::badbit);
+        shared_realm->read_group().write(out);
+        out.flush();
+    }
+    catch (std::ios_base::failure&) {
+        // Thrown when the writer failed. Its Java exception is still pending and will be thrown when returning.
+        if (!env->ExceptionCheck()) {
+            ConvertException(env, __FILE__, __LINE__);
+        }
+    }
+    CATCH_STD()
+}
+
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_OsSharedRealm_nativeWaitForChange(JNIEnv* env, jclass,
                                                                                   jlong shared_realm_ptr)
 {
@@ -449,6 +536,39 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_OsSharedRealm_nativeCompact(JN
     return JNI_FALSE;
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_OsSharedRealm_nativeGetSpaceUsage(JNIEnv* env, jclass,
+                                                                                    jlong shared_realm_ptr)
+{
+    TR_ENTER_PTR(shared_realm_ptr);
+
+    auto& shared_realm = *(reinterpret_cast<SharedRealm*>(shared_realm_ptr));
+    try {
+        // Unlike when deciding to compact on launch, no write transaction is committed first. Committing one would
+        // write to the file every time it is checked, even if it is not compacted afterwards, so the numbers are the
+        // ones recorded by the last commit.
+        using rf = realm::_impl::RealmFriend;
+        size_t free_space = 0;
+        size_t used_space = 0;
+        rf::get_shared_group(*shared_realm).get_stats(free_space, used_space);
+
+        jlong usage_array[2];
+        usage_array[0] = static_cast<jlong>(free_space + used_space);
+        usage_array[1] = static_cast<jlong>(used_space);
+
+        jlongArray usage_data = env->NewLongArray(2);
+        if (usage_data == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the space usage.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(usage_data, 0, 2, usage_array);
+
+        return usage_data;
+    }
+    CATCH_STD()
+
+    return NULL;
+}
+
 static void finalize_shared_realm(jlong ptr)
 {
     TR_ENTER_PTR(ptr)
@@ -62,6 +62,31 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery(
     return nullptr;
 }
 
+JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeGetDescription(JNIEnv* env, jobject,
+                                                                                 jlong nativeQueryPtr,
+                                                                                 jlong descriptorOrderingPtr)
+{
+    try {
+        Query* query = Q(nativeQueryPtr);
+        std::string description;
+        try {
+            description = query->get_description();
+        }
+        catch (const std::exception&) {
+            // Core cannot describe queries restricted to a list or a view.
+            description = "<conditions on a list or view>";
+        }
+        auto& descriptor_ordering = *reinterpret_cast<DescriptorOrdering*>(descriptorOrderingPtr);
+        std::string ordering_description = descriptor_ordering.get_description(query->get_table());
+        if (!ordering_description.empty()) {
+            description += " " + ordering_description;
+        }
+        return to_jstring(env, StringData(description));
+    }
+    CATCH_STD();
+    return nullptr;
+}
+
 
 // helper functions
 
@@ -964,6 +989,106 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual__J_3J_3J
     TableQuery_StringPredicate(env, nativeQueryPtr, columnIndexes, tablePointers, value, caseSensitive, StringNotEqual);
 }
 
+// In
+
+// Builds the OR group of equal conditions in one call, so the field path is only resolved once and there is no JNI
+// round trip per value.
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J_3J(JNIEnv* env, jobject,
+                                                                           jlong nativeQueryPtr,
+                                                                           jlongArray columnIndexes,
+                                                                           jlongArray tablePointers,
+                                                                           jlongArray values)
+{
+    JLongArrayAccessor table_arr(env, tablePointers);
+    JLongArrayAccessor index_arr(env, columnIndexes);
+    JLongArrayAccessor value_arr(env, values);
+    jsize arr_len = index_arr.size();
+    try {
+        Query* query = Q(nativeQueryPtr);
+        if (arr_len == 1) {
+            if (!QUERY_COL_TYPE_VALID(env, nativeQueryPtr, index_arr[0], type_Int)) {
+                return;
+            }
+            size_t column_idx = S(index_arr[0]);
+            query->group();
+            for (jsize i = 0; i < value_arr.size(); ++i) {
+                if (i > 0) {
+                    query->Or();
+                }
+                query->equal(column_idx, static_cast<int64_t>(value_arr[i]));
+            }
+            query->end_group();
+        }
+        else {
+            TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, table_arr, index_arr);
+            query->group();
+            for (jsize i = 0; i < value_arr.size(); ++i) {
+                if (i > 0) {
+                    query->Or();
+                }
+                query->and_query(numeric_link_equal<Int, int64_t, jlong>(table_ref, index_arr[arr_len - 1],
+                                                                         value_arr[i]));
+            }
+            query->end_group();
+        }
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J_3Ljava_lang_String_2Z(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jlongArray tablePointers,
+    jobjectArray values, jboolean caseSensitive)
+{
+    JLongArrayAccessor table_arr(env, tablePointers);
+    JLongArrayAccessor index_arr(env, columnIndexes);
+    jsize arr_len = index_arr.size();
+    try {
+        TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, table_arr, index_arr);
+        if (arr_len == 1 && !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, index_arr[0], type_String)) {
+            return;
+        }
+        bool is_case_sensitive = to_bool(caseSensitive);
+        size_t column_idx = S(index_arr[arr_len - 1]);
+        Query* query = Q(nativeQueryPtr);
+        jsize size = env->GetArrayLength(values);
+        // Checked before the group is opened, so an invalid value doesn't leave the query with an open group.
+        for (jsize i = 0; i < size; ++i) {
+            jobject value = env->GetObjectArrayElement(values, i);
+            if (value == NULL) {
+                if (!TBL_AND_COL_NULLABLE(env, table_ref.get(), column_idx)) {
+                    return;
+                }
+                break;
+            }
+            env->DeleteLocalRef(value);
+        }
+
+        query->group();
+        for (jsize i = 0; i < size; ++i) {
+            // Local references are released for every value since the array can be larger than the local
+            // reference table.
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            {
+                JStringAccessor value2(env, value); // throws
+                if (i > 0) {
+                    query->Or();
+                }
+                // The query nodes keep their own copy of the value.
+                if (arr_len == 1) {
+                    query->equal(column_idx, value2, is_case_sensitive);
+                }
+                else {
+                    query->and_query(table_ref->column<String>(column_idx).equal(StringData(value2),
+                                                                                 is_case_sensitive));
+                }
+            }
+            env->DeleteLocalRef(value);
+        }
+        query->end_group();
+    }
+    CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeBeginsWith(JNIEnv* env, jobject, jlong nativeQueryPtr,
                                                                           jlongArray columnIndexes,
                                                                           jlongArray tablePointers, jstring value,
@@ -1817,6 +1942,219 @@ Java_io_realm_internal_TableQuery_nativeAlwaysTrue(JNIEnv *env, jobject, jlong n
     CATCH_STD()
 }
 
+// Primitive lists are stored as subtables with a single column holding the values. A subtable condition matches a row
+// if any row of its subtable matches, so "all values equal" is expressed as "no value differs".
+// Query::Not() only sets a flag for the next condition instead of toggling it, so the negation is done inside a group
+// of its own. A not() pending from RealmQuery then applies to the whole group instead of being merged with it.
+template <class T>
+static void add_list_contains(Query* query, jlong column_index, T value, jboolean match_all)
+{
+    if (match_all) {
+        query->group();
+        query->Not();
+        query->subtable(S(column_index));
+        query->not_equal(0, value);
+        query->end_subtable();
+        query->end_group();
+    }
+    else {
+        query->subtable(S(column_index));
+        query->equal(0, value);
+        query->end_subtable();
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContains__JJLjava_lang_String_2Z(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jstring j_value, jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        JStringAccessor value(env, j_value);
+        add_list_contains(Q(nativeQueryPtr), columnIndex, StringData(value), matchAll);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContains__JJJZ(JNIEnv* env, jobject,
+                                                                                   jlong nativeQueryPtr,
+                                                                                   jlong columnIndex, jlong value,
+                                                                                   jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        add_list_contains(Q(nativeQueryPtr), columnIndex, static_cast<int64_t>(value), matchAll);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContains__JJFZ(JNIEnv* env, jobject,
+                                                                                   jlong nativeQueryPtr,
+                                                                                   jlong columnIndex, jfloat value,
+                                                                                   jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        add_list_contains(Q(nativeQueryPtr), columnIndex, static_cast<float>(value), matchAll);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContains__JJDZ(JNIEnv* env, jobject,
+                                                                                   jlong nativeQueryPtr,
+                                                                                   jlong columnIndex, jdouble value,
+                                                                                   jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        add_list_contains(Q(nativeQueryPtr), columnIndex, static_cast<double>(value), matchAll);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContains__JJZZ(JNIEnv* env, jobject,
+                                                                                   jlong nativeQueryPtr,
+                                                                                   jlong columnIndex, jboolean value,
+                                                                                   jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        // Bool columns store their values as integers.
+        add_list_contains(Q(nativeQueryPtr), columnIndex, static_cast<int64_t>(value ? 1 : 0), matchAll);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContainsTimestamp(JNIEnv* env, jobject,
+                                                                                      jlong nativeQueryPtr,
+                                                                                      jlong columnIndex,
+                                                                                      jlong value, jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        add_list_contains(Q(nativeQueryPtr), columnIndex, from_milliseconds(value), matchAll);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListContainsNull(JNIEnv* env, jobject,
+                                                                                 jlong nativeQueryPtr,
+                                                                                 jlong columnIndex,
+                                                                                 jboolean matchAll)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        add_list_contains(Q(nativeQueryPtr), columnIndex, realm::null(), matchAll);
+    }
+    CATCH_STD()
+}
+
+template <class E>
+static Query compare_list_aggregate(E expression, jbyte comparison, jdouble value)
+{
+    switch (comparison) {
+        case io_realm_internal_TableQuery_COMPARISON_EQUAL:
+            return expression == value;
+        case io_realm_internal_TableQuery_COMPARISON_NOT_EQUAL:
+            return expression != value;
+        case io_realm_internal_TableQuery_COMPARISON_GREATER:
+            return expression > value;
+        case io_realm_internal_TableQuery_COMPARISON_GREATER_EQUAL:
+            return expression >= value;
+        case io_realm_internal_TableQuery_COMPARISON_LESS:
+            return expression < value;
+        case io_realm_internal_TableQuery_COMPARISON_LESS_EQUAL:
+            return expression <= value;
+        default:
+            throw std::invalid_argument("Unknown comparison: " + num_to_string(static_cast<int>(comparison)));
+    }
+}
+
+template <class T>
+static Query compare_list_aggregate(SubColumns<T> values, jbyte aggregate, jbyte comparison, jdouble value)
+{
+    switch (aggregate) {
+        case io_realm_internal_TableQuery_LIST_AGGREGATE_SUM:
+            return compare_list_aggregate(values.sum(), comparison, value);
+        case io_realm_internal_TableQuery_LIST_AGGREGATE_AVERAGE:
+            return compare_list_aggregate(values.average(), comparison, value);
+        case io_realm_internal_TableQuery_LIST_AGGREGATE_MINIMUM:
+            return compare_list_aggregate(values.min(), comparison, value);
+        case io_realm_internal_TableQuery_LIST_AGGREGATE_MAXIMUM:
+            return compare_list_aggregate(values.max(), comparison, value);
+        default:
+            throw std::invalid_argument("Unknown aggregate: " + num_to_string(static_cast<int>(aggregate)));
+    }
+}
+
+// Adds a condition on an aggregate of the objects of a list or of the linking objects of a row. Both are read through a
+// links expression, only the table holding the aggregated column differs.
+static void and_links_aggregate(JNIEnv* env, Query* query, Columns<Link> links, const Table& target_table,
+                                size_t value_col, jbyte aggregate, jbyte comparison, jdouble value)
+{
+    if (aggregate == io_realm_internal_TableQuery_LIST_AGGREGATE_COUNT) {
+        query->and_query(compare_list_aggregate(links.count(), comparison, value));
+        return;
+    }
+
+    switch (target_table.get_column_type(value_col)) {
+        case type_Int:
+            query->and_query(compare_list_aggregate(links.column<Int>(value_col), aggregate, comparison, value));
+            break;
+        case type_Float:
+            query->and_query(compare_list_aggregate(links.column<Float>(value_col), aggregate, comparison, value));
+            break;
+        case type_Double:
+            query->and_query(compare_list_aggregate(links.column<Double>(value_col), aggregate, comparison, value));
+            break;
+        default:
+            ThrowException(env, IllegalArgument, "Only integer, float and double fields can be aggregated.");
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeListAggregate(JNIEnv* env, jobject,
+                                                                              jlong nativeQueryPtr,
+                                                                              jlong listColumnIndex,
+                                                                              jlong valueColumnIndex,
+                                                                              jbyte aggregate, jbyte comparison,
+                                                                              jdouble value)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        Query* query = Q(nativeQueryPtr);
+        TableRef table = query->get_table();
+        size_t list_col = S(listColumnIndex);
+        if (table->get_column_type(list_col) == type_Table) {
+            // Lists of values can only be counted.
+            query->and_query(compare_list_aggregate(table->column<SubTable>(list_col).size(), comparison, value));
+            return;
+        }
+        and_links_aggregate(env, query, table->column<Link>(list_col), *table->get_link_target(list_col),
+                            S(valueColumnIndex), aggregate, comparison, value);
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeBacklinkAggregate(JNIEnv* env, jobject,
+                                                                                  jlong nativeQueryPtr,
+                                                                                  jlong sourceTablePtr,
+                                                                                  jlong sourceColumnIndex,
+                                                                                  jlong valueColumnIndex,
+                                                                                  jbyte aggregate, jbyte comparison,
+                                                                                  jdouble value)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        Query* query = Q(nativeQueryPtr);
+        TableRef table = query->get_table();
+        Table* source_table = TBL(sourceTablePtr);
+        // The linking objects of a row are read from its backlinks while the query runs, so the condition is evaluated
+        // together with the other conditions instead of filtering the results of a second query.
+        and_links_aggregate(env, query, table->column<BackLink>(*source_table, S(sourceColumnIndex)), *source_table,
+                            S(valueColumnIndex), aggregate, comparison, value);
+    }
+    CATCH_STD()
+}
+
 static void finalize_table_query(jlong ptr)
 {
     TR_ENTER_PTR(ptr)
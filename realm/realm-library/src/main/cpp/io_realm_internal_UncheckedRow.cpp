@@ -162,6 +162,24 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_UncheckedRow_nativeGetString(JN
     return nullptr;
 }
 
+JNIEXPORT jint JNICALL Java_io_realm_internal_UncheckedRow_nativeGetStringUtf8(JNIEnv* env, jobject,
+                                                                               jlong nativeRowPtr, jlong columnIndex,
+                                                                               jobject directBuffer, jbyteArray array,
+                                                                               jint offset, jint limit)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr))) {
+        return -1;
+    }
+
+    try {
+        StringData value = ROW(nativeRowPtr)->get_string(S(columnIndex));
+        return copy_utf8(env, value, directBuffer, array, offset, limit);
+    }
+    CATCH_STD()
+    return -1;
+}
+
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_UncheckedRow_nativeGetByteArray(JNIEnv* env, jobject,
                                                                                     jlong nativeRowPtr,
                                                                                     jlong columnIndex)
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "native_registration.hpp"
+
+#include "log.hpp"
+
+namespace realm {
+namespace jni_util {
+
+void register_natives(JNIEnv* env)
+{
+    for (size_t i = 0; i < g_native_method_table_count; ++i) {
+        const NativeMethodTable& table = g_native_method_tables[i];
+        jclass clazz = env->FindClass(table.class_name);
+        if (clazz == nullptr) {
+            // The class has been removed by ProGuard, so none of its natives can be called.
+            env->ExceptionClear();
+            continue;
+        }
+        if (env->RegisterNatives(clazz, table.methods, table.method_count) != JNI_OK) {
+            // RegisterNatives stops at the first method it cannot find. Register the remaining ones one by one.
+            env->ExceptionClear();
+            Log::w("Not all native methods of %1 could be registered.", table.class_name);
+            for (jint j = 0; j < table.method_count; ++j) {
+                if (env->RegisterNatives(clazz, &table.methods[j], 1) != JNI_OK) {
+                    env->ExceptionClear();
+                }
+            }
+        }
+        env->DeleteLocalRef(clazz);
+    }
+}
+
+} // namespace jni_util
+} // namespace realm
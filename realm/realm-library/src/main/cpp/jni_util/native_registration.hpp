@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JNI_UTIL_NATIVE_REGISTRATION_HPP
+#define REALM_JNI_UTIL_NATIVE_REGISTRATION_HPP
+
+#include <jni.h>
+
+#include <cstddef>
+
+namespace realm {
+namespace jni_util {
+
+// The native methods of a single Java class.
+struct NativeMethodTable {
+    const char* class_name;
+    const JNINativeMethod* methods;
+    jint method_count;
+};
+
+// Defined in the jni_registration.cpp generated by CMake/GenerateJniRegistration.cmake from the JNI headers.
+extern const NativeMethodTable g_native_method_tables[];
+extern const size_t g_native_method_table_count;
+
+// Binds all native methods in g_native_method_tables with RegisterNatives. Call this only once in JNI_OnLoad.
+// Methods which cannot be registered, e.g. because ProGuard removed or renamed them, are skipped and will still be
+// looked up by their symbol name if they are ever called.
+void register_natives(JNIEnv* env);
+
+} // namespace jni_util
+} // namespace realm
+
+#endif // REALM_JNI_UTIL_NATIVE_REGISTRATION_HPP
@@ -15,6 +15,7 @@
  */
 
 #include <algorithm>
+#include <cstring>
 #include <stdexcept>
 
 #include <realm/util/assert.hpp>
@@ -363,6 +364,29 @@ string concat_stringdata(const char* message, StringData strData)
     return std::string(message) + std::string(strData.data(), strData.size());
 }
 
+jint copy_utf8(JNIEnv* env, StringData str, jobject direct_buffer, jbyteArray array, jint offset, jint limit)
+{
+    if (str.is_null()) {
+        return -1;
+    }
+
+    jint size = static_cast<jint>(str.size());
+    if (size > limit - offset || size == 0) {
+        return size;
+    }
+    if (direct_buffer) {
+        char* address = static_cast<char*>(env->GetDirectBufferAddress(direct_buffer));
+        if (!address) {
+            throw std::invalid_argument("The ByteBuffer does not support direct access.");
+        }
+        std::memcpy(address + offset, str.data(), str.size());
+    }
+    else {
+        env->SetByteArrayRegion(array, offset, size, reinterpret_cast<const jbyte*>(str.data()));
+    }
+    return size;
+}
+
 jstring to_jstring(JNIEnv* env, StringData str)
 {
     if (str.is_null()) {
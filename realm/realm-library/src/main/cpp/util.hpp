@@ -447,6 +447,12 @@ std::string concat_stringdata(const char* message, realm::StringData data);
 
 jstring to_jstring(JNIEnv*, realm::StringData);
 
+// Copies the raw UTF-8 bytes of a string to either a direct ByteBuffer or a byte array, whichever is not null,
+// starting at offset. No transcoding or Java String allocation takes place. Returns the size of the string in bytes
+// or -1 if it is null. If the string doesn't fit between offset and limit, nothing is copied. The caller is
+// responsible for checking that offset and limit are within the bounds of the target.
+jint copy_utf8(JNIEnv*, realm::StringData, jobject direct_buffer, jbyteArray array, jint offset, jint limit);
+
 class JStringAccessor {
 public:
     JStringAccessor(JNIEnv*, jstring); // throws
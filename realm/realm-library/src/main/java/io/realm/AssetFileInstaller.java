@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.Nullable;
+
+import io.realm.exceptions.RealmFileException;
+
+
+/**
+ * Copies files bundled as assets, e.g. the file configured with {@link RealmConfiguration.Builder#assetFile(String)},
+ * to the file system.
+ * <p>
+ * Assets stored uncompressed in the APK are copied with {@link FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel)}, which lets the kernel copy the data without passing it through the Java
+ * heap. Compressed assets are streamed through a large buffer and assets ending with {@code .gz} are decompressed
+ * while they are copied. The data is first written to a temporary file which is renamed once the copy has completed,
+ * so an interrupted copy never leaves a truncated file behind.
+ * <p>
+ * WARNING: This class is not thread-safe so external synchronization is required before using it.
+ */
+final class AssetFileInstaller {
+
+    /**
+     * Receives the progress of a copy on the thread performing it.
+     */
+    interface ProgressListener {
+        /**
+         * @param bytesCopied the number of bytes written so far.
+         * @param totalBytes the size of the copied file, or {@code -1} if it isn't known in advance.
+         */
+        void onProgress(long bytesCopied, long totalBytes);
+    }
+
+    static final String GZIP_SUFFIX = ".gz";
+    private static final String TEMP_FILE_SUFFIX = ".asset_copy";
+    private static final int BUFFER_SIZE = 256 * 1024;
+    // Progress is reported at most once per this many bytes.
+    private static final long PROGRESS_INTERVAL = 4 * 1024 * 1024;
+
+    private AssetFileInstaller() {
+    }
+
+    /**
+     * Copies the given asset to {@code file} unless the file already exists.
+     *
+     * @param assetFileName the name of the asset.
+     * @param file the file to create.
+     * @param listener the listener to report the progress to, or {@code null}.
+     * @throws RealmFileException if the asset could not be copied.
+     */
+    static void installIfNeeded(String assetFileName, File file, @Nullable ProgressListener listener) {
+        if (file.exists()) {
+            return;
+        }
+
+        AssetManager assets = BaseRealm.applicationContext.getAssets();
+        File tempFile = new File(file.getPath() + TEMP_FILE_SUFFIX);
+        try {
+            if (assetFileName.endsWith(GZIP_SUFFIX)) {
+                InputStream compressed = assets.open(assetFileName, AssetManager.ACCESS_STREAMING);
+                InputStream in;
+                try {
+                    in = new GZIPInputStream(compressed, BUFFER_SIZE);
+                } catch (IOException e) {
+                    closeAll(compressed);
+                    throw e;
+                }
+                copyStream(in, -1, tempFile, listener);
+            } else if (!copyFileDescriptor(assets, assetFileName, tempFile, listener)) {
+                InputStream in = assets.open(assetFileName, AssetManager.ACCESS_STREAMING);
+                // Asset streams report the remaining uncompressed size.
+                copyStream(in, in.available(), tempFile, listener);
+            }
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Could not rename " + tempFile + " to " + file);
+            }
+        } catch (IOException e) {
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+            throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
+                    "Could not resolve the path to the asset file: " + assetFileName, e);
+        }
+    }
+
+    // Returns false if the asset is compressed in the APK, in which case it cannot be opened as a file descriptor.
+    private static boolean copyFileDescriptor(AssetManager assets, String assetFileName, File target,
+            @Nullable ProgressListener listener) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = assets.openFd(assetFileName);
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+
+        FileInputStream in = null;
+        FileOutputStream out = null;
+        try {
+            in = descriptor.createInputStream();
+            out = new FileOutputStream(target);
+            FileChannel inChannel = in.getChannel();
+            FileChannel outChannel = out.getChannel();
+            long start = descriptor.getStartOffset();
+            long length = descriptor.getLength();
+            if (length == AssetFileDescriptor.UNKNOWN_LENGTH) {
+                length = inChannel.size() - start;
+            }
+
+            long copied = 0;
+            while (copied < length) {
+                long transferred = inChannel.transferTo(start + copied,
+                        Math.min(PROGRESS_INTERVAL, length - copied), outChannel);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of the asset file: " + assetFileName);
+                }
+                copied += transferred;
+                if (listener != null) {
+                    listener.onProgress(copied, length);
+                }
+            }
+        } finally {
+            try {
+                closeAll(in, out);
+            } finally {
+                // AssetFileDescriptor only implements Closeable from API 19.
+                descriptor.close();
+            }
+        }
+        return true;
+    }
+
+    private static void copyStream(InputStream in, long totalBytes, File target, @Nullable ProgressListener listener)
+            throws IOException {
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(target);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long copied = 0;
+            long nextProgress = PROGRESS_INTERVAL;
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) > -1) {
+                out.write(buffer, 0, bytesRead);
+                copied += bytesRead;
+                if (listener != null && copied >= nextProgress) {
+                    listener.onProgress(copied, totalBytes);
+                    nextProgress = copied + PROGRESS_INTERVAL;
+                }
+            }
+            if (listener != null) {
+                listener.onProgress(copied, copied);
+            }
+        } finally {
+            closeAll(in, out);
+        }
+    }
+
+    // Closes all given resources and rethrows the first exception thrown.
+    private static void closeAll(Closeable... closeables) throws IOException {
+        IOException exceptionWhenClose = null;
+        for (Closeable closeable : closeables) {
+            if (closeable == null) {
+                continue;
+            }
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                if (exceptionWhenClose == null) {
+                    exceptionWhenClose = e;
+                }
+            }
+        }
+        if (exceptionWhenClose != null) {
+            throw exceptionWhenClose;
+        }
+    }
+}
@@ -18,12 +18,20 @@ package io.realm;
 
 import android.content.Context;
 import android.os.Looper;
+import android.os.SystemClock;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
@@ -37,6 +45,7 @@ import io.realm.internal.CheckedRow;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.ObjectServerFacade;
+import io.realm.internal.OsFullTextIndex;
 import io.realm.internal.OsObjectStore;
 import io.realm.internal.OsRealmConfig;
 import io.realm.internal.OsSchemaInfo;
@@ -104,6 +113,19 @@ abstract class BaseRealm implements Closeable {
         this.realmCache = cache;
     }
 
+    // Create a realm instance associated to a RealmCache from an already opened OsSharedRealm. The instance takes the
+    // ownership of the given OsSharedRealm and will close it when close() is called.
+    BaseRealm(OsSharedRealm sharedRealm, RealmCache cache) {
+        this.threadId = Thread.currentThread().getId();
+        this.configuration = cache.getConfiguration();
+        this.realmCache = cache;
+
+        this.sharedRealm = sharedRealm;
+        this.shouldCloseSharedRealm = true;
+
+        sharedRealm.registerSchemaChangedCallback(schemaChangedCallback);
+    }
+
     // Create a realm instance without associating it to any RealmCache.
     BaseRealm(final RealmConfiguration configuration, @Nullable OsSchemaInfo schemaInfo) {
         this.threadId = Thread.currentThread().getId();
@@ -312,6 +334,68 @@ abstract class BaseRealm implements Closeable {
         sharedRealm.writeCopy(destination, key);
     }
 
+    /**
+     * Writes a compacted copy of the Realm to the given stream.
+     * <p>
+     * The copy is a consistent snapshot of the version of the Realm this instance is at, and is written in chunks
+     * without creating any file, so the Realm can e.g. be backed up directly to the network or to a compressed
+     * archive. Other threads and processes can keep writing to the Realm while the copy is written, so calling this
+     * method from a background thread with its own Realm instance doesn't stall any writers.
+     * <p>
+     * Note that if this is called from within a transaction it writes the current data, and not the data as it was when
+     * the last transaction was committed.
+     * <p>
+     * The stream is neither flushed nor closed.
+     *
+     * @param destination the stream to write the copy to.
+     * @param listener the listener to report the progress to, or {@code null}.
+     * @throws IllegalArgumentException if destination argument is null.
+     * @throws IOException if writing to the stream failed. The copy is aborted and the stream holds an incomplete copy.
+     */
+    public void writeCopyTo(final OutputStream destination, @Nullable WriteCopyProgressListener listener)
+            throws IOException {
+        //noinspection ConstantConditions
+        if (destination == null) {
+            throw new IllegalArgumentException("The destination argument cannot be null");
+        }
+        checkIfValid();
+        sharedRealm.writeCopy(new ProgressCopyWriter(listener) {
+            @Override
+            void writeChunk(byte[] buffer, int length) throws IOException {
+                destination.write(buffer, 0, length);
+            }
+        });
+    }
+
+    /**
+     * Writes a compacted copy of the Realm to the given channel.
+     * <p>
+     * See {@link #writeCopyTo(OutputStream, WriteCopyProgressListener)} for details.
+     *
+     * @param destination the channel to write the copy to.
+     * @param listener the listener to report the progress to, or {@code null}.
+     * @throws IllegalArgumentException if destination argument is null.
+     * @throws IOException if writing to the channel failed. The copy is aborted and the channel holds an incomplete
+     * copy.
+     */
+    public void writeCopyTo(final WritableByteChannel destination, @Nullable WriteCopyProgressListener listener)
+            throws IOException {
+        //noinspection ConstantConditions
+        if (destination == null) {
+            throw new IllegalArgumentException("The destination argument cannot be null");
+        }
+        checkIfValid();
+        sharedRealm.writeCopy(new ProgressCopyWriter(listener) {
+            @Override
+            void writeChunk(byte[] buffer, int length) throws IOException {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, length);
+                while (chunk.hasRemaining()) {
+                    destination.write(chunk);
+                }
+            }
+        });
+    }
+
     /**
      * Blocks the current thread until new changes to the Realm are available or {@link #stopWaitForChange()}
      * is called from another thread. Once stopWaitForChange is called, all future calls to this method will
@@ -401,6 +485,26 @@ abstract class BaseRealm implements Closeable {
     public void beginTransaction() {
         checkIfValid();
         sharedRealm.beginTransaction();
+        checkNumberOfActiveVersions();
+    }
+
+    // Must be called right after beginning a transaction, when this instance reads from the latest version.
+    private void checkNumberOfActiveVersions() {
+        long maxNumberOfActiveVersions = configuration.getMaxNumberOfActiveVersions();
+        if (maxNumberOfActiveVersions == Long.MAX_VALUE) {
+            return;
+        }
+        List<PinnedVersionInfo> pinnedVersions = getPinnedVersions(configuration);
+        // The list is sorted by version, and contains this instance at least.
+        PinnedVersionInfo oldest = pinnedVersions.get(0);
+        long activeVersions = sharedRealm.getPinnedVersion() - oldest.getVersion() + 1;
+        if (activeVersions > maxNumberOfActiveVersions) {
+            sharedRealm.cancelTransaction();
+            throw new IllegalStateException(String.format(Locale.US,
+                    "Number of active versions (%d) in the Realm exceeded the limit of %d. The oldest version is " +
+                            "held by a Realm instance that hasn't been refreshed or closed: %s",
+                    activeVersions, maxNumberOfActiveVersions, oldest));
+        }
     }
 
     /**
@@ -411,6 +515,9 @@ abstract class BaseRealm implements Closeable {
      */
     public void commitTransaction() {
         checkIfValid();
+        if (sharedRealm.isInTransaction()) {
+            OsFullTextIndex.updateChangedObjects(sharedRealm);
+        }
         sharedRealm.commitTransaction();
     }
 
@@ -425,6 +532,8 @@ abstract class BaseRealm implements Closeable {
     public void cancelTransaction() {
         checkIfValid();
         sharedRealm.cancelTransaction();
+        // Schema changes made in the transaction are rolled back as well.
+        getSchema().invalidateFieldLookups();
     }
 
     /**
@@ -703,6 +812,31 @@ abstract class BaseRealm implements Closeable {
         return result;
     }
 
+    /**
+     * Returns the versions of the Realm file kept alive by the open Realm instances of the given configuration.
+     *
+     * @param configuration configuration for the Realm to inspect.
+     * @return a {@link PinnedVersionInfo} per open instance, with the oldest version first.
+     */
+    static List<PinnedVersionInfo> getPinnedVersions(RealmConfiguration configuration) {
+        long now = SystemClock.elapsedRealtime();
+        List<OsSharedRealm> sharedRealms = OsSharedRealm.getOpenSharedRealms(configuration.getPath());
+        List<PinnedVersionInfo> pinnedVersions = new ArrayList<PinnedVersionInfo>(sharedRealms.size());
+        for (OsSharedRealm sharedRealm : sharedRealms) {
+            pinnedVersions.add(new PinnedVersionInfo(configuration.getPath(), sharedRealm.getOwnerThreadName(),
+                    sharedRealm.getOwnerThreadId(), sharedRealm.getPinnedVersion(),
+                    now - sharedRealm.getPinnedSinceMillis()));
+        }
+        Collections.sort(pinnedVersions, new Comparator<PinnedVersionInfo>() {
+            @Override
+            public int compare(PinnedVersionInfo info1, PinnedVersionInfo info2) {
+                return (info1.getVersion() < info2.getVersion()) ? -1
+                        : ((info1.getVersion() == info2.getVersion()) ? 0 : 1);
+            }
+        });
+        return pinnedVersions;
+    }
+
     /**
      * Migrates the Realm file defined by the given configuration using the provided migration block.
      *
@@ -843,6 +977,28 @@ abstract class BaseRealm implements Closeable {
         }
     }
 
+    // Counts the bytes of a copy written with writeCopyTo() and reports them to the progress listener.
+    private abstract static class ProgressCopyWriter implements OsSharedRealm.CopyWriter {
+        @Nullable
+        private final WriteCopyProgressListener listener;
+        private long bytesWritten;
+
+        ProgressCopyWriter(@Nullable WriteCopyProgressListener listener) {
+            this.listener = listener;
+        }
+
+        abstract void writeChunk(byte[] buffer, int length) throws IOException;
+
+        @Override
+        public void write(byte[] buffer, int length) throws IOException {
+            writeChunk(buffer, length);
+            bytesWritten += length;
+            if (listener != null) {
+                listener.onProgress(bytesWritten);
+            }
+        }
+    }
+
     // FIXME: This stuff doesn't appear to be used.  It should either be explained or deleted.
     static final class ThreadLocalRealmObjectContext extends ThreadLocal<RealmObjectContext> {
         @Override
@@ -937,5 +1093,17 @@ abstract class BaseRealm implements Closeable {
         public void onError(Throwable exception) {
             throw new RealmException("Exception happens when initializing Realm in the background thread.", exception);
         }
+
+        /**
+         * Reports the progress of copying the Realm file from the assets, see
+         * {@link RealmConfiguration.Builder#assetFile(String)}. This is only called if the Realm file doesn't exist
+         * yet. The progress is delivered to the caller thread and the default implementation does nothing.
+         *
+         * @param bytesCopied the number of bytes copied so far.
+         * @param totalBytes the size of the Realm file or {@code -1} if it isn't known until the copy has completed,
+         * e.g. because the asset file is compressed.
+         */
+        public void onAssetFileProgress(long bytesCopied, long totalBytes) {
+        }
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Interface used to report compactions done because the last Realm instance of a configuration was closed, see
+ * {@link RealmConfiguration.Builder#compactOnIdle(CompactOnLaunchCallback, CompactOnIdleListener)}.
+ * <p>
+ * The listener is called on a background thread.
+ */
+public interface CompactOnIdleListener {
+
+    /**
+     * Called after the Realm file has been compacted.
+     *
+     * @param configuration the configuration of the compacted Realm.
+     * @param bytesBefore the size of the Realm file before it was compacted.
+     * @param bytesAfter the size of the Realm file after it was compacted.
+     * @param pauseMillis the time in milliseconds during which opening a Realm instance with this configuration was
+     * blocked by the compaction.
+     */
+    void onCompacted(RealmConfiguration configuration, long bytesBefore, long bytesAfter, long pauseMillis);
+}
@@ -15,6 +15,7 @@
  */
 package io.realm;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
@@ -26,11 +27,13 @@ import javax.annotation.Nullable;
 import io.realm.exceptions.RealmException;
 import io.realm.internal.CheckedRow;
 import io.realm.internal.OsList;
+import io.realm.internal.OsObjectStore;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.JsonUtils;
+import io.realm.internal.fields.FieldNameLookup;
 
 
 /**
@@ -43,6 +46,15 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
 
     private final ProxyState<DynamicRealmObject> proxyState = new ProxyState<>(this);
 
+    // Resolving fields by name through the row requires a JNI call for every access. Instead the class name and the
+    // field lookup of this object are cached until the schema changes.
+    private String fieldLookupClassName;
+    private FieldNameLookup fieldLookup;
+    private int fieldLookupGeneration;
+    @Nullable
+    private String primaryKey;
+    private boolean primaryKeyResolved;
+
     /**
      * Creates a dynamic Realm object based on an existing object.
      *
@@ -93,7 +105,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public <E> E get(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
         switch (type) {
             case BOOLEAN:
@@ -133,7 +145,27 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public boolean getBoolean(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getBoolean(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code boolean} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the boolean value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain booleans.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public boolean getBoolean(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getBoolean(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private boolean getBoolean(String fieldName, long columnIndex) {
         try {
             return proxyState.getRow$realm().getBoolean(columnIndex);
         } catch (IllegalArgumentException e) {
@@ -157,6 +189,21 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         return (int) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code int} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the int value. Integer values exceeding {@code Integer.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public int getInt(RealmFieldHandle field) {
+        return (int) getLong(field);
+    }
+
     /**
      * Returns the {@code short} value for a given field.
      * <p>
@@ -172,6 +219,21 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         return (short) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code short} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the short value. Integer values exceeding {@code Short.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public short getShort(RealmFieldHandle field) {
+        return (short) getLong(field);
+    }
+
     /**
      * Returns the {@code long} value for a given field.
      * <p>
@@ -186,7 +248,27 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public long getLong(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getLong(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code long} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the long value. Integer values exceeding {@code Long.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public long getLong(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getLong(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private long getLong(String fieldName, long columnIndex) {
         try {
             return proxyState.getRow$realm().getLong(columnIndex);
         } catch (IllegalArgumentException e) {
@@ -210,6 +292,21 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         return (byte) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code byte} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the byte value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public byte getByte(RealmFieldHandle field) {
+        return (byte) getLong(field);
+    }
+
     /**
      * Returns the {@code float} value for a given field.
      * <p>
@@ -224,7 +321,27 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public float getFloat(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getFloat(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code float} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the float value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain floats.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public float getFloat(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getFloat(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private float getFloat(String fieldName, long columnIndex) {
         try {
             return proxyState.getRow$realm().getFloat(columnIndex);
         } catch (IllegalArgumentException e) {
@@ -247,7 +364,27 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public double getDouble(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getDouble(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code double} value for a given field.
+     * <p>
+     * If the field is nullable, use {@link #isNull(RealmFieldHandle)} to check for {@code null} instead of using
+     * this method.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the double value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain doubles.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     */
+    public double getDouble(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getDouble(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private double getDouble(String fieldName, long columnIndex) {
         try {
             return proxyState.getRow$realm().getDouble(columnIndex);
         } catch (IllegalArgumentException e) {
@@ -266,7 +403,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public byte[] getBlob(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getBlob(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code byte[]} value for a given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the byte[] value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain binary data.
+     */
+    public byte[] getBlob(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getBlob(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private byte[] getBlob(String fieldName, long columnIndex) {
         try {
             return proxyState.getRow$realm().getBinaryByteArray(columnIndex);
         } catch (IllegalArgumentException e) {
@@ -285,7 +438,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public String getString(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getString(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code String} value for a given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the String value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain Strings.
+     */
+    public String getString(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getString(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private String getString(String fieldName, long columnIndex) {
         try {
             return proxyState.getRow$realm().getString(columnIndex);
         } catch (IllegalArgumentException e) {
@@ -294,6 +463,53 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         }
     }
 
+    /**
+     * Copies the UTF-8 encoded value of a {@code String} field into the given array without creating a
+     * {@link String}. Nothing is copied if the value is {@code null}, empty or doesn't fit into the array.
+     *
+     * @param fieldName the name of the field.
+     * @param buffer the array to copy to.
+     * @param offset the position in the array to start copying to.
+     * @return the length of the value in bytes, or {@code -1} if it is {@code null}. If this is larger than the space
+     * left in the array, nothing was copied.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain Strings.
+     * @throws IndexOutOfBoundsException if {@code offset} is out of bounds.
+     */
+    public int getStringUtf8(String fieldName, byte[] buffer, int offset) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        long columnIndex = getColumnIndex(fieldName);
+        try {
+            return proxyState.getRow$realm().getStringUtf8(columnIndex, buffer, offset);
+        } catch (IllegalArgumentException e) {
+            checkFieldType(fieldName, columnIndex, RealmFieldType.STRING);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the UTF-8 encoded value of a {@code String} field into the given buffer, starting at its current
+     * position, without creating a {@link String}. The position is advanced by the number of bytes copied. Nothing
+     * is copied if the value is {@code null}, empty or doesn't fit into the remaining space of the buffer.
+     *
+     * @param fieldName the name of the field.
+     * @param buffer the buffer to copy to.
+     * @return the length of the value in bytes, or {@code -1} if it is {@code null}. If this is larger than the
+     * remaining space in the buffer, nothing was copied.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain Strings.
+     */
+    public int getStringUtf8(String fieldName, ByteBuffer buffer) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        long columnIndex = getColumnIndex(fieldName);
+        try {
+            return proxyState.getRow$realm().getStringUtf8(columnIndex, buffer);
+        } catch (IllegalArgumentException e) {
+            checkFieldType(fieldName, columnIndex, RealmFieldType.STRING);
+            throw e;
+        }
+    }
+
     /**
      * Returns the {@code Date} value for a given field.
      *
@@ -304,7 +520,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public Date getDate(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getDate(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code Date} value for a given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the Date value.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain Dates.
+     */
+    public Date getDate(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getDate(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private Date getDate(String fieldName, long columnIndex) {
         checkFieldType(fieldName, columnIndex, RealmFieldType.DATE);
         if (proxyState.getRow$realm().isNull(columnIndex)) {
             return null;
@@ -324,7 +556,25 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public DynamicRealmObject getObject(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return getObject(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the object being linked to from this field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the {@link DynamicRealmObject} representation of the linked object or {@code null} if no object is linked.
+     * @throws IllegalArgumentException if field name doesn't exist or it doesn't contain links to other objects.
+     */
+    @Nullable
+    public DynamicRealmObject getObject(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return getObject(field.getFieldName(), getColumnIndex(field));
+    }
+
+    @Nullable
+    private DynamicRealmObject getObject(String fieldName, long columnIndex) {
         checkFieldType(fieldName, columnIndex, RealmFieldType.OBJECT);
         if (proxyState.getRow$realm().isNullLink(columnIndex)) {
             return null;
@@ -347,7 +597,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public RealmList<DynamicRealmObject> getList(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         try {
             OsList osList = proxyState.getRow$realm().getModelList(columnIndex);
             //noinspection ConstantConditions
@@ -377,7 +627,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         if (primitiveType == null) {
             throw new IllegalArgumentException("Non-null 'primitiveType' required.");
         }
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         RealmFieldType realmType = classToRealmType(primitiveType);
         try {
             OsList osList = proxyState.getRow$realm().getValueList(columnIndex, realmType);
@@ -421,7 +671,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public boolean isNull(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        return isNull(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Checks if the value of a given field is {@code null}.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return {@code true} if field value is null, {@code false} otherwise.
+     * @throws IllegalArgumentException if field name doesn't exist.
+     */
+    public boolean isNull(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        return isNull(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private boolean isNull(String fieldName, long columnIndex) {
         RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
         switch (type) {
             case OBJECT:
@@ -500,7 +766,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         String strValue = isString ? (String) value : null;
 
         // Does implicit conversion if needed.
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
         if (isString && type != RealmFieldType.STRING) {
             switch (type) {
@@ -577,7 +843,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setBoolean(String fieldName, boolean value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setBoolean(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code boolean} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't a boolean field.
+     */
+    public void setBoolean(RealmFieldHandle field, boolean value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setBoolean(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setBoolean(String fieldName, long columnIndex, boolean value) {
         proxyState.getRow$realm().setBoolean(columnIndex, value);
     }
 
@@ -592,9 +874,21 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setShort(String fieldName, short value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        setLong(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code short} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't an integer field.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     */
+    public void setShort(RealmFieldHandle field, short value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setLong(field.getFieldName(), getColumnIndex(field), value);
     }
 
     /**
@@ -608,9 +902,21 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setInt(String fieldName, int value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        setLong(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code int} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't an integer field.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     */
+    public void setInt(RealmFieldHandle field, int value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setLong(field.getFieldName(), getColumnIndex(field), value);
     }
 
     /**
@@ -624,8 +930,25 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setLong(String fieldName, long value) {
         proxyState.getRealm$realm().checkIfValid();
 
+        setLong(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code long} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't an integer field.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     */
+    public void setLong(RealmFieldHandle field, long value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setLong(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setLong(String fieldName, long columnIndex, long value) {
         checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
         proxyState.getRow$realm().setLong(columnIndex, value);
     }
 
@@ -640,9 +963,21 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setByte(String fieldName, byte value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
-        proxyState.getRow$realm().setLong(columnIndex, value);
+        setLong(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code byte} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't an integer field.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     */
+    public void setByte(RealmFieldHandle field, byte value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setLong(field.getFieldName(), getColumnIndex(field), value);
     }
 
     /**
@@ -655,7 +990,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setFloat(String fieldName, float value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setFloat(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code float} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't a float field.
+     */
+    public void setFloat(RealmFieldHandle field, float value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setFloat(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setFloat(String fieldName, long columnIndex, float value) {
         proxyState.getRow$realm().setFloat(columnIndex, value);
     }
 
@@ -669,7 +1020,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setDouble(String fieldName, double value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setDouble(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code double} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't a double field.
+     */
+    public void setDouble(RealmFieldHandle field, double value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setDouble(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setDouble(String fieldName, long columnIndex, double value) {
         proxyState.getRow$realm().setDouble(columnIndex, value);
     }
 
@@ -684,8 +1051,25 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setString(String fieldName, @Nullable String value) {
         proxyState.getRealm$realm().checkIfValid();
 
+        setString(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code String} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't a String field.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     */
+    public void setString(RealmFieldHandle field, @Nullable String value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setString(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setString(String fieldName, long columnIndex, @Nullable String value) {
         checkIsPrimaryKey(fieldName);
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
         proxyState.getRow$realm().setString(columnIndex, value);
     }
 
@@ -699,7 +1083,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setBlob(String fieldName, @Nullable byte[] value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setBlob(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the binary value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't a binary field.
+     */
+    public void setBlob(RealmFieldHandle field, @Nullable byte[] value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setBlob(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setBlob(String fieldName, long columnIndex, @Nullable byte[] value) {
         proxyState.getRow$realm().setBinaryByteArray(columnIndex, value);
     }
 
@@ -713,7 +1113,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setDate(String fieldName, @Nullable Date value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setDate(fieldName, getColumnIndex(fieldName), value);
+    }
+
+    /**
+     * Sets the {@code Date} value of the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if field name doesn't exist or field isn't a Date field.
+     */
+    public void setDate(RealmFieldHandle field, @Nullable Date value) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setDate(field.getFieldName(), getColumnIndex(field), value);
+    }
+
+    private void setDate(String fieldName, long columnIndex, @Nullable Date value) {
         if (value == null) {
             proxyState.getRow$realm().setNull(columnIndex);
         } else {
@@ -732,7 +1148,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setObject(String fieldName, @Nullable DynamicRealmObject value) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         if (value == null) {
             proxyState.getRow$realm().nullifyLink(columnIndex);
         } else {
@@ -770,7 +1186,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         }
 
         // Find type of list in Realm
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         final RealmFieldType columnType = proxyState.getRow$realm().getColumnType(columnIndex);
 
         switch (columnType) {
@@ -803,7 +1219,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     }
 
     private void setModelList(String fieldName, RealmList<DynamicRealmObject> list) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         OsList osList = proxyState.getRow$realm().getModelList(columnIndex);
         Table linkTargetTable = osList.getTargetTable();
         //noinspection ConstantConditions
@@ -853,7 +1269,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
 
     @SuppressWarnings("unchecked")
     private <E> void setValueList(String fieldName, RealmList<E> list, RealmFieldType primitiveType) {
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         OsList osList = proxyState.getRow$realm().getValueList(columnIndex, primitiveType);
 
         Class<E> elementClass;
@@ -929,7 +1345,23 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public void setNull(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        setNull(fieldName, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Sets the value to {@code null} for the given field.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @throws IllegalArgumentException if field name doesn't exist, or the field isn't nullable.
+     * @throws RealmException if the field is a {@link io.realm.annotations.PrimaryKey} field.
+     */
+    public void setNull(RealmFieldHandle field) {
+        proxyState.getRealm$realm().checkIfValid();
+
+        setNull(field.getFieldName(), getColumnIndex(field));
+    }
+
+    private void setNull(String fieldName, long columnIndex) {
         RealmFieldType type = proxyState.getRow$realm().getColumnType(columnIndex);
         if (type == RealmFieldType.OBJECT) {
             proxyState.getRow$realm().nullifyLink(columnIndex);
@@ -959,7 +1391,7 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
     public RealmFieldType getFieldType(String fieldName) {
         proxyState.getRealm$realm().checkIfValid();
 
-        long columnIndex = proxyState.getRow$realm().getColumnIndex(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
         return proxyState.getRow$realm().getColumnType(columnIndex);
     }
 
@@ -1189,10 +1621,45 @@ public class DynamicRealmObject extends RealmObject implements RealmObjectProxy
         return proxyState;
     }
 
+    private void updateFieldLookup(RealmSchema schema) {
+        if (fieldLookup == null || fieldLookupGeneration != schema.getFieldLookupGeneration()) {
+            fieldLookupClassName = proxyState.getRow$realm().getTable().getClassName();
+            fieldLookup = schema.getFieldLookup(fieldLookupClassName);
+            fieldLookupGeneration = schema.getFieldLookupGeneration();
+            primaryKeyResolved = false;
+        }
+    }
+
+    private long getColumnIndex(String fieldName) {
+        updateFieldLookup(proxyState.getRealm$realm().getSchema());
+        return lookUpColumnIndex(fieldName);
+    }
+
+    private long getColumnIndex(RealmFieldHandle field) {
+        RealmSchema schema = proxyState.getRealm$realm().getSchema();
+        updateFieldLookup(schema);
+        long columnIndex = field.getColumnIndex(schema, fieldLookupClassName);
+        return (columnIndex != Table.NO_MATCH) ? columnIndex : lookUpColumnIndex(field.getFieldName());
+    }
+
+    // Same message as the native CheckedRow.getColumnIndex() this lookup replaces.
+    private long lookUpColumnIndex(String fieldName) {
+        long columnIndex = fieldLookup.get(fieldName);
+        if (columnIndex == Table.NO_MATCH) {
+            throw new IllegalArgumentException("Illegal Argument: Field not found: " + fieldName);
+        }
+        return columnIndex;
+    }
+
     // Checks if the given field is primary key field. Throws if it is a PK field.
     private void checkIsPrimaryKey(String fieldName) {
-        RealmObjectSchema objectSchema = proxyState.getRealm$realm().getSchema().getSchemaForClass(getType());
-        if (objectSchema.hasPrimaryKey() && objectSchema.getPrimaryKey().equals(fieldName)) {
+        updateFieldLookup(proxyState.getRealm$realm().getSchema());
+        if (!primaryKeyResolved) {
+            primaryKey = OsObjectStore.getPrimaryKeyForObject(proxyState.getRealm$realm().getSharedRealm(),
+                    fieldLookupClassName);
+            primaryKeyResolved = true;
+        }
+        if (fieldName.equals(primaryKey)) {
             throw new IllegalArgumentException(String.format(Locale.US,
                     "Primary key field '%s' cannot be changed after object was created.", fieldName));
         }
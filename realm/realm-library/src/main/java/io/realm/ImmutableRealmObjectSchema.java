@@ -33,7 +33,7 @@ class ImmutableRealmObjectSchema extends RealmObjectSchema {
     }
 
     ImmutableRealmObjectSchema(BaseRealm realm, RealmSchema schema, Table table) {
-        super(realm, schema, table, new DynamicColumnIndices(table));
+        super(realm, schema, table, new DynamicColumnIndices(schema, table));
     }
 
     @Override
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import io.realm.internal.TableQuery;
+
+/**
+ * This class describes the aggregates of a list or of linking objects that can be compared in Realm queries.
+ *
+ * @see io.realm.RealmQuery#aggregateEqualTo(String, ListAggregate, double)
+ * @see io.realm.RealmQuery#aggregateGreaterThan(String, ListAggregate, double)
+ * @see io.realm.RealmQuery#aggregateLessThan(String, ListAggregate, double)
+ */
+public enum ListAggregate {
+    COUNT(TableQuery.LIST_AGGREGATE_COUNT),
+    SUM(TableQuery.LIST_AGGREGATE_SUM),
+    AVERAGE(TableQuery.LIST_AGGREGATE_AVERAGE),
+    MINIMUM(TableQuery.LIST_AGGREGATE_MINIMUM),
+    MAXIMUM(TableQuery.LIST_AGGREGATE_MAXIMUM);
+
+    private final byte value;
+
+    ListAggregate(byte value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the value for this setting that is used by the underlying query engine.
+     *
+     * @return the value used by the underlying query engine to indicate this value.
+     */
+    public byte getValue() {
+        return value;
+    }
+}
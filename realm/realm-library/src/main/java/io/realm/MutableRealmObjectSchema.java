@@ -36,7 +36,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
      * @param table table representation of the Realm class
      */
     MutableRealmObjectSchema(BaseRealm realm, RealmSchema schema, Table table) {
-        super(realm, schema, table, new DynamicColumnIndices(table));
+        super(realm, schema, table, new DynamicColumnIndices(schema, table));
     }
 
     @Override
@@ -72,6 +72,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
                 throw e;
             }
         }
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -117,6 +118,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
             table.removeColumn(columnIndex);
             throw e;
         }
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -125,6 +127,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.OBJECT, fieldName, realm.sharedRealm.getTable(Table.getTableNameForClass(objectSchema.getClassName())));
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -133,6 +136,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.LIST, fieldName, realm.sharedRealm.getTable(Table.getTableNameForClass(objectSchema.getClassName())));
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -152,6 +156,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
             }
         }
         table.addColumn(metadata.listType, fieldName, metadata.defaultNullable);
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -168,6 +173,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
             OsObjectStore.setPrimaryKeyForObject(realm.sharedRealm, className, fieldName);
         }
         table.removeColumn(columnIndex);
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -183,6 +189,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
 
         // ATTENTION: We don't need to re-set the PK table here since the column index won't be changed when renaming.
 
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -228,6 +235,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
             table.addSearchIndex(columnIndex);
         }
         OsObjectStore.setPrimaryKeyForObject(realm.sharedRealm, getClassName(), fieldName);
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -243,6 +251,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
             table.removeSearchIndex(columnIndex);
         }
         OsObjectStore.setPrimaryKeyForObject(realm.sharedRealm, getClassName(), null);
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -270,6 +279,7 @@ class MutableRealmObjectSchema extends RealmObjectSchema {
         } else {
             table.convertColumnToNullable(columnIndex);
         }
+        schema.invalidateFieldLookups();
         return this;
     }
 
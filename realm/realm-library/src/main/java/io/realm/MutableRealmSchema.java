@@ -20,6 +20,7 @@ import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Set;
 
+import io.realm.internal.OsFullTextIndex;
 import io.realm.internal.OsObjectStore;
 import io.realm.internal.Table;
 
@@ -104,10 +105,13 @@ class MutableRealmSchema extends RealmSchema {
         realm.checkNotInSync(); // Destructive modifications are not permitted.
         checkNotEmpty(className, EMPTY_STRING_MSG);
         String internalTableName = Table.getTableNameForClass(className);
+        // The full-text index links to the objects of the class, which would prevent removing it.
+        OsFullTextIndex.removeIndex(realm.getSharedRealm(), className);
         if (!OsObjectStore.deleteTableForObject(realm.getSharedRealm(), className)) {
             throw new IllegalArgumentException("Cannot remove class because it is not in this Realm: " + className);
         }
         removeFromClassNameToSchemaMap(internalTableName);
+        invalidateFieldLookups();
     }
 
     @Override
@@ -129,6 +133,7 @@ class MutableRealmSchema extends RealmSchema {
         }
 
         realm.getSharedRealm().renameTable(oldInternalName, newInternalName);
+        OsFullTextIndex.renameIndex(realm.getSharedRealm(), oldClassName, newClassName);
         Table table = realm.getSharedRealm().getTable(newInternalName);
 
         // Sets the primary key for the new class if necessary.
@@ -141,6 +146,7 @@ class MutableRealmSchema extends RealmSchema {
             objectSchema = new MutableRealmObjectSchema(realm, this, table);
         }
         putToClassNameToSchemaMap(newInternalName, objectSchema);
+        invalidateFieldLookups();
 
         return objectSchema;
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Locale;
+
+
+/**
+ * Describes a Realm instance that is open on some thread and the version of the Realm file it is reading from.
+ * <p>
+ * As long as an instance reads from a version, that version and all newer versions have to be kept in the Realm file.
+ * An instance on a thread that doesn't refresh the Realm, e.g. a background thread without a {@link android.os.Looper}
+ * that keeps its instance open, will therefore make the file grow with every write made by other threads. Use
+ * {@link Realm#getPinnedVersions(RealmConfiguration)} to find such instances.
+ */
+public final class PinnedVersionInfo {
+
+    private final String path;
+    private final String threadName;
+    private final long threadId;
+    private final long version;
+    private final long pinnedMillis;
+
+    PinnedVersionInfo(String path, String threadName, long threadId, long version, long pinnedMillis) {
+        this.path = path;
+        this.threadName = threadName;
+        this.threadId = threadId;
+        this.version = version;
+        this.pinnedMillis = pinnedMillis;
+    }
+
+    /**
+     * Returns the path of the Realm file.
+     *
+     * @return the canonical path of the Realm file.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the name of the thread owning the Realm instance.
+     *
+     * @return the thread name.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Returns the id of the thread owning the Realm instance.
+     *
+     * @return the thread id.
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * Returns the version of the Realm file the instance is reading from.
+     *
+     * @return the version number.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns for how long the instance has been reading from the same version.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getPinnedMillis() {
+        return pinnedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "version %d pinned for %d ms by thread '%s' (id %d)",
+                version, pinnedMillis, threadName, threadId);
+    }
+}
@@ -54,18 +54,22 @@ import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmFileException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnIndices;
+import io.realm.internal.InvalidRow;
 import io.realm.internal.NativeObject;
 import io.realm.internal.ObjectServerFacade;
 import io.realm.internal.OsObject;
 import io.realm.internal.OsObjectSchemaInfo;
 import io.realm.internal.OsObjectStore;
+import io.realm.internal.OsRealmConfig;
 import io.realm.internal.OsResults;
 import io.realm.internal.OsSchemaInfo;
 import io.realm.internal.OsSharedRealm;
+import io.realm.internal.PendingRow;
 import io.realm.internal.RealmCore;
 import io.realm.internal.RealmNotifier;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
 import io.realm.internal.Util;
@@ -180,6 +184,14 @@ public class Realm extends BaseRealm {
         }
     }
 
+    // Creates a Realm from a OsSharedRealm opened in dynamic schema mode whose schema is known to match the expected
+    // schema. See createInstance(RealmCache).
+    private Realm(RealmCache cache, OsSharedRealm sharedRealm) {
+        super(sharedRealm, cache);
+        schema = new ImmutableRealmSchema(this,
+                new ColumnIndices(configuration.getSchemaMediator(), sharedRealm.getSchemaInfo()));
+    }
+
     private Realm(OsSharedRealm sharedRealm) {
         super(sharedRealm);
         schema = new ImmutableRealmSchema(this,
@@ -443,7 +455,57 @@ public class Realm extends BaseRealm {
      * @return a {@link Realm} instance.
      */
     static Realm createInstance(RealmCache cache) {
-        return new Realm(cache);
+        RealmConfiguration configuration = cache.getConfiguration();
+        if (!configuration.shouldSkipSchemaValidationIfUnchanged() || configuration.isReadOnly()
+                || configuration.isSyncConfiguration()) {
+            return new Realm(cache);
+        }
+
+        long fingerprint = configuration.getSchemaMediator().getExpectedSchemaFingerprint();
+        OsSharedRealm sharedRealm = openIfSchemaUnchanged(configuration, fingerprint);
+        if (sharedRealm != null) {
+            return new Realm(cache, sharedRealm);
+        }
+
+        Realm realm = new Realm(cache);
+        try {
+            // The schema has been created or validated, so the next time the validation can be skipped.
+            realm.sharedRealm.beginTransaction();
+            OsObjectStore.setSchemaFingerprint(realm.sharedRealm, fingerprint);
+            realm.sharedRealm.commitTransaction();
+        } catch (Throwable e) {
+            if (realm.sharedRealm.isInTransaction()) {
+                realm.sharedRealm.cancelTransaction();
+            }
+            realm.close();
+            throw e;
+        }
+        return realm;
+    }
+
+    /**
+     * Opens the Realm file in dynamic schema mode, which neither creates nor validates the expected schema. The
+     * {@link OsSharedRealm} is only returned if the schema fingerprint stored in the file matches the given one and
+     * no migration is needed. Otherwise it is closed and {@code null} is returned.
+     */
+    @Nullable
+    private static OsSharedRealm openIfSchemaUnchanged(RealmConfiguration configuration, long fingerprint) {
+        if (!new File(configuration.getPath()).exists()) {
+            return null;
+        }
+        OsRealmConfig.Builder configBuilder = new OsRealmConfig.Builder(configuration)
+                .autoUpdateNotification(true);
+        OsSharedRealm sharedRealm = OsSharedRealm.getInstance(configBuilder);
+        boolean unchanged = false;
+        try {
+            unchanged = OsObjectStore.getSchemaVersion(sharedRealm) == configuration.getSchemaVersion()
+                    && OsObjectStore.getSchemaFingerprint(sharedRealm) == fingerprint;
+        } finally {
+            if (!unchanged) {
+                sharedRealm.close();
+            }
+        }
+        return unchanged ? sharedRealm : null;
     }
 
     /**
@@ -1369,6 +1431,83 @@ public class Realm extends BaseRealm {
         return RealmQuery.createQuery(this, clazz);
     }
 
+    /**
+     * Finds the object of the given class with the given primary key asynchronously. This works like
+     * {@code where(clazz).equalTo(primaryKeyField, primaryKeyValue).findFirstAsync()}, but the object is looked up
+     * using the primary key index instead of a query running on a background thread, so no query results and
+     * notifiers have to be created for it.
+     * <p>
+     * The returned object is not loaded immediately. It will be loaded on the next iteration of the event loop of the
+     * current thread, or when {@link #beginTransaction()} is called before that. Use
+     * {@link RealmObject#isLoaded(RealmModel)} and {@link RealmObject#addChangeListener(RealmModel,
+     * RealmChangeListener)} to find out when it has been loaded. If no object has the given primary key,
+     * {@link RealmObject#isValid(RealmModel)} will return {@code false} once the object has been loaded.
+     *
+     * @param clazz the class of the object to find.
+     * @param primaryKeyValue the value of the primary key.
+     * @return an object which will be loaded on the next iteration of the event loop.
+     * @throws IllegalArgumentException if the class doesn't have a primary key, or if the value has the wrong type
+     * or is {@code null} for a primary key that cannot be null.
+     * @throws IllegalStateException if called from a non-looper or {@link IntentService} thread.
+     */
+    public <E extends RealmModel> E findByPrimaryKeyAsync(Class<E> clazz, @Nullable Object primaryKeyValue) {
+        checkIfValid();
+        sharedRealm.capabilities.checkCanDeliverNotification("Async query cannot be created on current thread.");
+        Table table = schema.getTable(clazz);
+        String primaryKeyField = OsObjectStore.getPrimaryKeyForObject(sharedRealm, table.getClassName());
+        if (primaryKeyField == null) {
+            throw new IllegalArgumentException(String.format(Locale.US, "'%s' does not have a primary key.",
+                    clazz.getSimpleName()));
+        }
+        // The pending row looks the object up on the event loop, where an invalid value could not be reported.
+        checkPrimaryKeyValue(table, table.getColumnIndex(primaryKeyField), primaryKeyValue);
+
+        Row row;
+        if (isInTransaction()) {
+            // Pending rows are resolved when a transaction begins, so look up the object immediately.
+            long rowIndex = OsObject.findRowWithPrimaryKey(table, primaryKeyValue);
+            row = (rowIndex == Table.NO_MATCH) ? InvalidRow.INSTANCE : table.getUncheckedRow(rowIndex);
+        } else {
+            row = new PendingRow(sharedRealm, table, primaryKeyValue, false);
+        }
+        E result = configuration.getSchemaMediator().newInstance(clazz, this, row, schema.getColumnInfo(clazz),
+                false, Collections.<String>emptyList());
+        if (row instanceof PendingRow) {
+            ((PendingRow) row).setFrontEnd(((RealmObjectProxy) result).realmGet$proxyState());
+        }
+        return result;
+    }
+
+    private static void checkPrimaryKeyValue(Table table, long columnIndex, @Nullable Object primaryKeyValue) {
+        String fieldName = table.getColumnName(columnIndex);
+        if (primaryKeyValue == null) {
+            if (!table.isColumnNullable(columnIndex)) {
+                throw new IllegalArgumentException(String.format(Locale.US,
+                        "Primary key field '%s' of '%s' cannot be null.", fieldName, table.getClassName()));
+            }
+            return;
+        }
+        boolean isValidType;
+        switch (table.getColumnType(columnIndex)) {
+            case STRING:
+                isValidType = primaryKeyValue instanceof String;
+                break;
+            case INTEGER:
+                isValidType = primaryKeyValue instanceof Long || primaryKeyValue instanceof Integer
+                        || primaryKeyValue instanceof Short || primaryKeyValue instanceof Byte;
+                break;
+            default:
+                isValidType = false;
+                break;
+        }
+        if (!isValidType) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "Primary key field '%s' of '%s' is of type '%s' and cannot be compared with a '%s'.",
+                    fieldName, table.getClassName(), table.getColumnType(columnIndex),
+                    primaryKeyValue.getClass().getSimpleName()));
+        }
+    }
+
     /**
      * Adds a change listener to the Realm.
      * <p>
@@ -1917,6 +2056,22 @@ public class Realm extends BaseRealm {
         return globalCount.get();
     }
 
+    /**
+     * Returns the versions of the Realm file pinned by the Realm instances open in the current process that are using
+     * this configuration, including dynamic Realms.
+     * <p>
+     * Each open instance keeps the version it reads from alive. Instances that are never refreshed, e.g. on
+     * background threads without a {@link android.os.Looper}, make the Realm file grow with every write made by other
+     * threads. This method can be called from any thread to find them.
+     *
+     * @param configuration the {@link io.realm.RealmConfiguration} for the Realm.
+     * @return the pinned versions, the oldest first.
+     * @see RealmConfiguration.Builder#maxNumberOfActiveVersions(long)
+     */
+    public static List<PinnedVersionInfo> getPinnedVersions(RealmConfiguration configuration) {
+        return BaseRealm.getPinnedVersions(configuration);
+    }
+
     /**
      * Returns the current number of open Realm instances on the thread calling this method. This include both
      * dynamic and normal Realms.
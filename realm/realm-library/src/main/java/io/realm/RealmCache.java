@@ -15,10 +15,9 @@
  */
 package io.realm;
 
+import android.os.SystemClock;
+
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -32,6 +31,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.annotation.Nullable;
+
 import io.realm.exceptions.RealmFileException;
 import io.realm.internal.Capabilities;
 import io.realm.internal.ObjectServerFacade;
@@ -113,7 +114,20 @@ final class RealmCache {
             T instance = null;
             try {
                 // First call that will run all schema validation, migrations or initial transactions.
-                instance = createRealmOrGetFromCache(configuration, realmClass);
+                instance = createRealmOrGetFromCache(configuration, realmClass,
+                        new AssetFileInstaller.ProgressListener() {
+                            @Override
+                            public void onProgress(final long bytesCopied, final long totalBytes) {
+                                notifier.post(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        if (future != null && !future.isCancelled()) {
+                                            callback.onAssetFileProgress(bytesCopied, totalBytes);
+                                        }
+                                    }
+                                });
+                            }
+                        });
                 boolean results = notifier.post(new Runnable() {
                     @Override
                     public void run() {
@@ -277,18 +291,27 @@ final class RealmCache {
      */
     static <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
             Class<E> realmClass) {
+        return createRealmOrGetFromCache(configuration, realmClass, null);
+    }
+
+    /**
+     * Same as {@link #createRealmOrGetFromCache(RealmConfiguration, Class)}, but also reports the progress of copying
+     * the asset file if the Realm file has to be created from it.
+     */
+    private static <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
+            Class<E> realmClass, @Nullable AssetFileInstaller.ProgressListener assetFileListener) {
         RealmCache cache = getCache(configuration.getPath(), true);
 
-        return cache.doCreateRealmOrGetFromCache(configuration, realmClass);
+        return cache.doCreateRealmOrGetFromCache(configuration, realmClass, assetFileListener);
     }
 
     private synchronized <E extends BaseRealm> E doCreateRealmOrGetFromCache(RealmConfiguration configuration,
-            Class<E> realmClass) {
+            Class<E> realmClass, @Nullable AssetFileInstaller.ProgressListener assetFileListener) {
 
         RefAndCount refAndCount = refAndCountMap.get(RealmCacheType.valueOf(realmClass));
 
         if (getTotalGlobalRefCount() == 0) {
-            copyAssetFileIfNeeded(configuration);
+            copyAssetFileIfNeeded(configuration, assetFileListener);
             boolean fileExists = configuration.realmExists();
 
             OsSharedRealm sharedRealm = null;
@@ -408,6 +431,7 @@ final class RealmCache {
                 configuration = null;
                 ObjectServerFacade.getFacade(realm.getConfiguration().isSyncConfiguration())
                         .realmClosed(realm.getConfiguration());
+                scheduleCompactOnIdleIfNeeded(realm.getConfiguration());
             }
 
         } else {
@@ -415,6 +439,69 @@ final class RealmCache {
         }
     }
 
+    private void scheduleCompactOnIdleIfNeeded(final RealmConfiguration configuration) {
+        if (configuration.getCompactOnIdleCallback() == null || configuration.isSyncConfiguration()) {
+            return;
+        }
+        BaseRealm.asyncTaskExecutor.submitTransaction(new Runnable() {
+            @Override
+            public void run() {
+                compactOnIdle(configuration);
+            }
+        });
+    }
+
+    /**
+     * Compacts the Realm file if no instance has been opened since the last one was closed and the configuration's
+     * {@link RealmConfiguration#getCompactOnIdleCallback()} asks for it. Opening an instance is blocked while the file
+     * is compacted.
+     */
+    private void compactOnIdle(RealmConfiguration configuration) {
+        CompactOnLaunchCallback callback = configuration.getCompactOnIdleCallback();
+        long bytesBefore;
+        long pauseMillis;
+        synchronized (this) {
+            if (getTotalGlobalRefCount() != 0 || !configuration.realmExists()) {
+                return;
+            }
+
+            OsSharedRealm sharedRealm = null;
+            try {
+                sharedRealm = OsSharedRealm.getInstance(configuration);
+                long[] spaceUsage = sharedRealm.getSpaceUsage();
+                //noinspection ConstantConditions
+                if (!callback.shouldCompact(spaceUsage[0], spaceUsage[1])) {
+                    return;
+                }
+
+                bytesBefore = new File(configuration.getPath()).length();
+                long start = SystemClock.elapsedRealtime();
+                boolean compacted = sharedRealm.compact();
+                pauseMillis = SystemClock.elapsedRealtime() - start;
+                if (!compacted) {
+                    RealmLog.debug("Could not compact %s when idle, it might be open in another process.",
+                            configuration.getPath());
+                    return;
+                }
+            } catch (RuntimeException e) {
+                RealmLog.warn(e, "Could not compact %s when idle.", configuration.getPath());
+                return;
+            } finally {
+                if (sharedRealm != null) {
+                    sharedRealm.close();
+                }
+            }
+        }
+
+        long bytesAfter = new File(configuration.getPath()).length();
+        RealmLog.debug("Compacted %s when idle from %d to %d bytes in %d ms.", configuration.getPath(), bytesBefore,
+                bytesAfter, pauseMillis);
+        CompactOnIdleListener listener = configuration.getCompactOnIdleListener();
+        if (listener != null) {
+            listener.onCompacted(configuration, bytesBefore, bytesAfter, pauseMillis);
+        }
+    }
+
     /**
      * Makes sure that the new configuration doesn't clash with any cached configurations for the
      * Realm.
@@ -492,9 +579,11 @@ final class RealmCache {
      * WARNING: This method is not thread-safe so external synchronization is required before using it.
      *
      * @param configuration configuration object for Realm instance.
+     * @param listener listener for the progress of copying the Realm file, or {@code null}.
      * @throws RealmFileException if copying the file fails.
      */
-    private static void copyAssetFileIfNeeded(final RealmConfiguration configuration) {
+    private static void copyAssetFileIfNeeded(final RealmConfiguration configuration,
+            @Nullable final AssetFileInstaller.ProgressListener listener) {
         final File realmFileFromAsset = configuration.hasAssetFile() ?
                 new File(configuration.getRealmDirectory(), configuration.getRealmFileName())
                 : null;
@@ -507,7 +596,7 @@ final class RealmCache {
                 @Override
                 public void run() {
                     if (realmFileFromAsset != null) {
-                        copyFileIfNeeded(configuration.getAssetFilePath(), realmFileFromAsset);
+                        AssetFileInstaller.installIfNeeded(configuration.getAssetFilePath(), realmFileFromAsset, listener);
                     }
 
                     // Copy Sync Server certificate path if available
@@ -516,63 +605,13 @@ final class RealmCache {
                                 configuration.isSyncConfiguration()).getSyncServerCertificateFilePath(configuration);
 
                         File certificateFile = new File(syncServerCertificateFilePath);
-                        copyFileIfNeeded(syncServerCertificateAssetName, certificateFile);
+                        AssetFileInstaller.installIfNeeded(syncServerCertificateAssetName, certificateFile, null);
                     }
                 }
             });
         }
     }
 
-    private static void copyFileIfNeeded(String assetFileName, File file) {
-        if (file.exists()) {
-            return;
-        }
-
-        IOException exceptionWhenClose = null;
-        InputStream inputStream = null;
-        FileOutputStream outputStream = null;
-        try {
-            inputStream = BaseRealm.applicationContext.getAssets().open(assetFileName);
-            if (inputStream == null) {
-                throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
-                        "Invalid input stream to the asset file: " + assetFileName);
-            }
-
-            outputStream = new FileOutputStream(file);
-            byte[] buf = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buf)) > -1) {
-                outputStream.write(buf, 0, bytesRead);
-            }
-        } catch (IOException e) {
-            throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR,
-                    "Could not resolve the path to the asset file: " + assetFileName, e);
-        } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    exceptionWhenClose = e;
-                }
-            }
-            if (outputStream != null) {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    // Ignores this one if there was an exception when close inputStream.
-                    if (exceptionWhenClose == null) {
-                        exceptionWhenClose = e;
-                    }
-                }
-            }
-        }
-
-        // No other exception has been thrown, only the exception when close. So, throw it.
-        if (exceptionWhenClose != null) {
-            throw new RealmFileException(RealmFileException.Kind.ACCESS_ERROR, exceptionWhenClose);
-        }
-    }
-
     static int getLocalThreadCount(RealmConfiguration configuration) {
         RealmCache cache = getCache(configuration.getPath(), false);
         if (cache == null) {
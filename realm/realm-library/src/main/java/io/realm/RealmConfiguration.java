@@ -106,6 +106,10 @@ public class RealmConfiguration {
      * recovery Realm produced after an offline/online client reset.
      */
     private final boolean isRecoveryConfiguration;
+    private final boolean skipSchemaValidationIfUnchanged;
+    private final CompactOnLaunchCallback compactOnIdle;
+    private final CompactOnIdleListener compactOnIdleListener;
+    private final long maxNumberOfActiveVersions;
 
     // We need to enumerate all parameters since SyncConfiguration and RealmConfiguration supports different
     // subsets of them.
@@ -123,7 +127,11 @@ public class RealmConfiguration {
             @Nullable Realm.Transaction initialDataTransaction,
             boolean readOnly,
             @Nullable CompactOnLaunchCallback compactOnLaunch,
-            boolean isRecoveryConfiguration) {
+            boolean isRecoveryConfiguration,
+            boolean skipSchemaValidationIfUnchanged,
+            @Nullable CompactOnLaunchCallback compactOnIdle,
+            @Nullable CompactOnIdleListener compactOnIdleListener,
+            long maxNumberOfActiveVersions) {
         this.realmDirectory = realmDirectory;
         this.realmFileName = realmFileName;
         this.canonicalPath = canonicalPath;
@@ -139,6 +147,10 @@ public class RealmConfiguration {
         this.readOnly = readOnly;
         this.compactOnLaunch = compactOnLaunch;
         this.isRecoveryConfiguration = isRecoveryConfiguration;
+        this.skipSchemaValidationIfUnchanged = skipSchemaValidationIfUnchanged;
+        this.compactOnIdle = compactOnIdle;
+        this.compactOnIdleListener = compactOnIdleListener;
+        this.maxNumberOfActiveVersions = maxNumberOfActiveVersions;
     }
 
     public File getRealmDirectory() {
@@ -217,6 +229,50 @@ public class RealmConfiguration {
         return compactOnLaunch;
     }
 
+    /**
+     * Returns whether the schema validation can be skipped when the Realm file was last opened with the same schema.
+     *
+     * @return {@code true} if the schema fingerprint is stored in the Realm file and used to skip the schema
+     * validation, {@code false} otherwise.
+     * @see Builder#skipSchemaValidationIfUnchanged()
+     */
+    public boolean shouldSkipSchemaValidationIfUnchanged() {
+        return skipSchemaValidationIfUnchanged;
+    }
+
+    /**
+     * Returns a callback to determine if the Realm file should be compacted once all Realm instances using this
+     * configuration have been closed.
+     *
+     * @return the callback, or {@code null} if the Realm file is never compacted when idle.
+     * @see Builder#compactOnIdle(CompactOnLaunchCallback, CompactOnIdleListener)
+     */
+    @Nullable
+    public CompactOnLaunchCallback getCompactOnIdleCallback() {
+        return compactOnIdle;
+    }
+
+    /**
+     * Returns the listener notified after the Realm file has been compacted because all Realm instances using this
+     * configuration have been closed.
+     *
+     * @return the listener, or {@code null} if none has been set.
+     */
+    @Nullable
+    public CompactOnIdleListener getCompactOnIdleListener() {
+        return compactOnIdleListener;
+    }
+
+    /**
+     * Returns the maximum number of versions of the Realm file the Realm instances in this process may keep alive.
+     *
+     * @return the maximum number of active versions, or {@link Long#MAX_VALUE} if there is no limit.
+     * @see Builder#maxNumberOfActiveVersions(long)
+     */
+    public long getMaxNumberOfActiveVersions() {
+        return maxNumberOfActiveVersions;
+    }
+
     /**
      * Returns the unmodifiable {@link Set} of model classes that make up the schema for this Realm.
      *
@@ -292,6 +348,8 @@ public class RealmConfiguration {
         if (deleteRealmIfMigrationNeeded != that.deleteRealmIfMigrationNeeded) { return false; }
         if (readOnly != that.readOnly) { return false; }
         if (isRecoveryConfiguration != that.isRecoveryConfiguration) { return false; }
+        if (skipSchemaValidationIfUnchanged != that.skipSchemaValidationIfUnchanged) { return false; }
+        if (maxNumberOfActiveVersions != that.maxNumberOfActiveVersions) { return false; }
         if (realmDirectory != null ? !realmDirectory.equals(that.realmDirectory) : that.realmDirectory != null) {
             return false;
         }
@@ -314,6 +372,12 @@ public class RealmConfiguration {
         if (initialDataTransaction != null ? !initialDataTransaction.equals(that.initialDataTransaction) : that.initialDataTransaction != null) {
             return false;
         }
+        if (compactOnIdle != null ? !compactOnIdle.equals(that.compactOnIdle) : that.compactOnIdle != null) {
+            return false;
+        }
+        if (compactOnIdleListener != null ? !compactOnIdleListener.equals(that.compactOnIdleListener) : that.compactOnIdleListener != null) {
+            return false;
+        }
         return compactOnLaunch != null ? compactOnLaunch.equals(that.compactOnLaunch) : that.compactOnLaunch == null;
     }
 
@@ -334,6 +398,10 @@ public class RealmConfiguration {
         result = 31 * result + (readOnly ? 1 : 0);
         result = 31 * result + (compactOnLaunch != null ? compactOnLaunch.hashCode() : 0);
         result = 31 * result + (isRecoveryConfiguration ? 1 : 0);
+        result = 31 * result + (skipSchemaValidationIfUnchanged ? 1 : 0);
+        result = 31 * result + (compactOnIdle != null ? compactOnIdle.hashCode() : 0);
+        result = 31 * result + (compactOnIdleListener != null ? compactOnIdleListener.hashCode() : 0);
+        result = 31 * result + (int) (maxNumberOfActiveVersions ^ (maxNumberOfActiveVersions >>> 32));
         return result;
     }
 
@@ -409,6 +477,12 @@ public class RealmConfiguration {
         stringBuilder.append("readOnly: ").append(readOnly);
         stringBuilder.append("\n");
         stringBuilder.append("compactOnLaunch: ").append(compactOnLaunch);
+        stringBuilder.append("\n");
+        stringBuilder.append("skipSchemaValidationIfUnchanged: ").append(skipSchemaValidationIfUnchanged);
+        stringBuilder.append("\n");
+        stringBuilder.append("compactOnIdle: ").append(compactOnIdle);
+        stringBuilder.append("\n");
+        stringBuilder.append("maxNumberOfActiveVersions: ").append(Long.toString(maxNumberOfActiveVersions));
 
         return stringBuilder.toString();
     }
@@ -466,6 +540,10 @@ public class RealmConfiguration {
         private Realm.Transaction initialDataTransaction;
         private boolean readOnly;
         private CompactOnLaunchCallback compactOnLaunch;
+        private boolean skipSchemaValidationIfUnchanged;
+        private CompactOnLaunchCallback compactOnIdle;
+        private CompactOnIdleListener compactOnIdleListener;
+        private long maxNumberOfActiveVersions;
 
         /**
          * Creates an instance of the Builder for the RealmConfiguration.
@@ -498,6 +576,10 @@ public class RealmConfiguration {
             this.durability = OsRealmConfig.Durability.FULL;
             this.readOnly = false;
             this.compactOnLaunch = null;
+            this.skipSchemaValidationIfUnchanged = false;
+            this.compactOnIdle = null;
+            this.compactOnIdleListener = null;
+            this.maxNumberOfActiveVersions = Long.MAX_VALUE;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -705,7 +787,13 @@ public class RealmConfiguration {
          * This cannot be combined with {@link #deleteRealmIfMigrationNeeded()} as doing so would just result in the
          * copied file being deleted.
          * <p>
-         * WARNING: This could potentially be a lengthy operation and should ideally be done on a background thread.
+         * If the path ends with {@code .gz}, the asset is expected to be compressed with gzip and is decompressed while
+         * it is copied. Otherwise the copy is fastest if the asset is stored uncompressed in the APK, e.g. by adding
+         * {@code aaptOptions { noCompress "realm" }} to the {@code android} block of the app's {@code build.gradle}.
+         * <p>
+         * WARNING: This could potentially be a lengthy operation and should ideally be done on a background thread,
+         * e.g. by opening the Realm with {@link Realm#getInstanceAsync(RealmConfiguration, Realm.Callback)}, which
+         * also reports the progress of the copy through {@link Realm.Callback#onAssetFileProgress(long, long)}.
          *
          * @param assetFile path to the asset database file.
          * @throws IllegalStateException if this is configured to clear its schema by calling {@link #deleteRealmIfMigrationNeeded()}.
@@ -765,6 +853,81 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Setting this will cause Realm to compact the Realm file in the background once all Realm instances using
+         * this configuration have been closed, if the Realm file has grown too large and a significant amount of
+         * space can be recovered. See {@link DefaultCompactOnLaunchCallback} for details.
+         */
+        public Builder compactOnIdle() {
+            return compactOnIdle(new DefaultCompactOnLaunchCallback(), null);
+        }
+
+        /**
+         * Sets this to compact the Realm file in the background once all Realm instances using this configuration
+         * have been closed.
+         * <p>
+         * Unlike {@link #compactOnLaunch(CompactOnLaunchCallback)}, this also reclaims the space used by old versions
+         * of the data in processes that keep running for a long time. Opening a Realm instance with this configuration
+         * while the file is being compacted blocks until the compaction has completed. Nothing happens if the Realm is
+         * open in another process.
+         * <p>
+         * Checking the file doesn't write to it, so the callback is passed the sizes recorded by the last write
+         * transaction.
+         *
+         * @param compactOnIdle a callback called on a background thread after the last Realm instance has been closed
+         *                      to determine if the file should be compacted. It is passed the total file size
+         *                      (data + free space) and the bytes used by data in the file.
+         * @param listener a listener notified after the file has been compacted, or {@code null}.
+         */
+        public Builder compactOnIdle(CompactOnLaunchCallback compactOnIdle, @Nullable CompactOnIdleListener listener) {
+            //noinspection ConstantConditions
+            if (compactOnIdle == null) {
+                throw new IllegalArgumentException("A non-null compactOnIdle must be provided");
+            }
+            this.compactOnIdle = compactOnIdle;
+            this.compactOnIdleListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of versions of the Realm file the Realm instances in this process may keep alive.
+         * <p>
+         * Every Realm instance keeps the version it reads from, and all newer versions, in the Realm file until it is
+         * refreshed or closed. An instance that is kept open without being refreshed, e.g. on a background thread
+         * without a {@link android.os.Looper}, therefore makes the file grow with every write made by other threads.
+         * Once the number of versions between the oldest version read by an open instance and the latest version
+         * exceeds this limit, {@link Realm#beginTransaction()} throws an {@link IllegalStateException} naming the
+         * thread holding the oldest version, so such problems are detected early instead of causing ever growing
+         * files. See {@link Realm#getPinnedVersions(RealmConfiguration)} to inspect the pinned versions at any time.
+         * <p>
+         * Only Realm instances in the current process are taken into account.
+         *
+         * @param number the maximum number of active versions. Must be at least {@code 1}.
+         * @throws IllegalArgumentException if {@code number} is less than {@code 1}.
+         */
+        public Builder maxNumberOfActiveVersions(long number) {
+            if (number < 1) {
+                throw new IllegalArgumentException("The maximum number of active versions must be 1 or higher. Yours was: " + number);
+            }
+            this.maxNumberOfActiveVersions = number;
+            return this;
+        }
+
+        /**
+         * Setting this will store a fingerprint of the schema in the Realm file. When the Realm is opened for the
+         * first time in a process and the fingerprint matches the schema defined by the model classes, the Realm is
+         * opened without creating and validating the expected schema, which reduces the time it takes to open Realms
+         * with many model classes.
+         * <p>
+         * The fingerprint is reset whenever the schema version changes. Only use this if the schema of the Realm file
+         * is never modified without increasing the schema version, e.g. through a {@link DynamicRealm} or by another
+         * app sharing the file. This setting has no effect on read only Realms.
+         */
+        public Builder skipSchemaValidationIfUnchanged() {
+            this.skipSchemaValidationIfUnchanged = true;
+            return this;
+        }
+
         /**
          * DEBUG method. This restricts the Realm schema to only consist of the provided classes without having to
          * create a module. These classes must be available in the default module. Calling this will remove any
@@ -807,6 +970,9 @@ public class RealmConfiguration {
                 if (compactOnLaunch != null) {
                     throw new IllegalStateException("'compactOnLaunch()' and read-only Realms cannot be combined");
                 }
+                if (compactOnIdle != null) {
+                    throw new IllegalStateException("'compactOnIdle()' and read-only Realms cannot be combined");
+                }
             }
 
             if (rxFactory == null && isRxJavaAvailable()) {
@@ -828,7 +994,11 @@ public class RealmConfiguration {
                     initialDataTransaction,
                     readOnly,
                     compactOnLaunch,
-                    false
+                    false,
+                    skipSchemaValidationIfUnchanged,
+                    compactOnIdle,
+                    compactOnIdleListener,
+                    maxNumberOfActiveVersions
             );
         }
 
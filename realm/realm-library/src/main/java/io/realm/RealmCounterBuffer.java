@@ -0,0 +1,430 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import io.realm.annotations.Beta;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.OsObjectStore;
+import io.realm.internal.Table;
+import io.realm.log.RealmLog;
+
+
+/**
+ * Buffers increments of a {@link MutableRealmInteger} field in memory and folds them into the Realm in a single write
+ * transaction.
+ * <p>
+ * Calling {@link MutableRealmInteger#increment(long)} on a managed object requires a write transaction, so frequently
+ * updated counters like view counts serialize all producers on the write lock. Increments made through this class
+ * only update an in-memory shard chosen by the calling thread and never block on the Realm. The pending increments
+ * of all objects are written by {@link #flush()}, by {@link #flush(Realm)} as part of a transaction of the caller or
+ * periodically after {@link #startFlushing(long, TimeUnit)} has been called. {@link #get(Realm, Object)} returns the
+ * value stored in the Realm plus the increments that haven't been written yet.
+ * <p>
+ * Objects are identified by their primary key, so the buffer can be used from any thread. The model class must have
+ * a primary key of type {@code long}, {@code int}, {@code short}, {@code byte} or {@code String}. Increments of objects
+ * that don't exist or whose counter is {@code null} when the buffer is flushed are discarded.
+ * <p>
+ * Increments that haven't been flushed are lost if the process dies, so the buffer should only be used for counters
+ * where this is acceptable. Call {@link #close()} to write the remaining increments when the buffer is no longer used.
+ */
+@Beta
+public final class RealmCounterBuffer implements Closeable {
+
+    private static final int MAX_SHARDS = 64;
+
+    // Increments of one shard keyed by the normalized primary key. Guarded by the shard itself.
+    private static final class Shard {
+        private Map<Object, long[]> deltas = new HashMap<Object, long[]>();
+    }
+
+    private final RealmConfiguration configuration;
+    private final Class<? extends RealmModel> clazz;
+    private final String fieldName;
+    private final Shard[] shards;
+
+    // Guarded by this.
+    @Nullable
+    private ScheduledExecutorService flushExecutor;
+    private boolean closed;
+
+    /**
+     * Creates a buffer for the given counter field.
+     *
+     * @param configuration the configuration of the Realm the counters are written to.
+     * @param clazz the model class containing the counter.
+     * @param fieldName the name of the {@link MutableRealmInteger} field.
+     * @throws IllegalArgumentException if any of the arguments is {@code null}.
+     */
+    public RealmCounterBuffer(RealmConfiguration configuration, Class<? extends RealmModel> clazz, String fieldName) {
+        //noinspection ConstantConditions
+        if (configuration == null) {
+            throw new IllegalArgumentException("Non-null 'configuration' required.");
+        }
+        //noinspection ConstantConditions
+        if (clazz == null) {
+            throw new IllegalArgumentException("Non-null 'clazz' required.");
+        }
+        //noinspection ConstantConditions
+        if (fieldName == null) {
+            throw new IllegalArgumentException("Non-null 'fieldName' required.");
+        }
+        this.configuration = configuration;
+        this.clazz = clazz;
+        this.fieldName = fieldName;
+
+        int shardCount = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (shardCount < processors * 2 && shardCount < MAX_SHARDS) {
+            shardCount <<= 1;
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the counter of the object with the given primary key. The increment is written to the
+     * Realm the next time the buffer is flushed.
+     *
+     * @param primaryKey the primary key of the object.
+     * @param delta the value to add. Can be negative.
+     * @throws IllegalArgumentException if the primary key is {@code null} or not a {@code Number} or {@code String}.
+     */
+    public void increment(Object primaryKey, long delta) {
+        Object key = normalizeKey(primaryKey);
+        Shard shard = shards[(int) (Thread.currentThread().getId() & (shards.length - 1))];
+        synchronized (shard) {
+            long[] value = shard.deltas.get(key);
+            if (value == null) {
+                shard.deltas.put(key, new long[] {delta});
+            } else {
+                value[0] += delta;
+            }
+        }
+    }
+
+    /**
+     * Subtracts {@code delta} from the counter of the object with the given primary key. The decrement is written to
+     * the Realm the next time the buffer is flushed.
+     *
+     * @param primaryKey the primary key of the object.
+     * @param delta the value to subtract. Can be negative.
+     * @throws IllegalArgumentException if the primary key is {@code null} or not a {@code Number} or {@code String}.
+     */
+    public void decrement(Object primaryKey, long delta) {
+        increment(primaryKey, -delta);
+    }
+
+    /**
+     * Returns the sum of the increments of the given object that haven't been written to the Realm yet.
+     *
+     * @param primaryKey the primary key of the object.
+     * @return the pending increments.
+     * @throws IllegalArgumentException if the primary key is {@code null} or not a {@code Number} or {@code String}.
+     */
+    public long getPending(Object primaryKey) {
+        Object key = normalizeKey(primaryKey);
+        long sum = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                long[] value = shard.deltas.get(key);
+                if (value != null) {
+                    sum += value[0];
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the value of the counter as seen by the given Realm plus the increments that haven't been written yet.
+     *
+     * @param realm the Realm to read the stored value from.
+     * @param primaryKey the primary key of the object.
+     * @return the merged value of the counter or {@code null} if the object doesn't exist or its counter is
+     * {@code null}.
+     * @throws IllegalArgumentException if the primary key is {@code null} or not a {@code Number} or {@code String}, or
+     * if the field is not an integer field of a model class with a primary key.
+     */
+    @Nullable
+    public Long get(Realm realm, Object primaryKey) {
+        realm.checkIfValid();
+        Object key = normalizeKey(primaryKey);
+        Table table = realm.getSchema().getTable(clazz);
+        long counterColumn = getCounterColumnIndex(realm);
+        long primaryKeyColumn = getPrimaryKeyColumnIndex(realm, table);
+        long rowIndex = findRow(table, primaryKeyColumn, key);
+        if (rowIndex == Table.NO_MATCH || table.isNull(counterColumn, rowIndex)) {
+            return null;
+        }
+        return table.getLong(counterColumn, rowIndex) + getPending(key);
+    }
+
+    /**
+     * Writes the pending increments of all objects as part of the current write transaction of the given Realm.
+     * <p>
+     * The increments are removed from the buffer, so they are lost if the transaction is cancelled afterwards. If they
+     * cannot be written, they are put back into the buffer.
+     *
+     * @param realm the Realm to write the increments to.
+     * @throws IllegalStateException if the Realm is not in a write transaction.
+     * @throws IllegalArgumentException if the field is not an integer field of a model class with a primary key.
+     */
+    public void flush(Realm realm) {
+        realm.checkIfValid();
+        if (!realm.isInTransaction()) {
+            throw new IllegalStateException("Pending increments can only be flushed inside a write transaction.");
+        }
+        Map<Object, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        boolean written = false;
+        try {
+            writeDeltas(realm, deltas);
+            written = true;
+        } finally {
+            if (!written) {
+                restore(deltas);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending increments of all objects in a single write transaction. This method blocks until the write
+     * transaction can be started and must not be called on the UI thread.
+     * <p>
+     * If the Realm cannot be opened or the transaction fails, the increments are put back into the buffer.
+     *
+     * @throws IllegalArgumentException if the field is not an integer field of a model class with a primary key.
+     */
+    public void flush() {
+        if (!hasPending()) {
+            return;
+        }
+        Realm realm = Realm.getInstance(configuration);
+        try {
+            final Map<Object, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            boolean written = false;
+            try {
+                realm.executeTransaction(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm realm) {
+                        writeDeltas(realm, deltas);
+                    }
+                });
+                written = true;
+            } finally {
+                if (!written) {
+                    restore(deltas);
+                }
+            }
+        } finally {
+            realm.close();
+        }
+    }
+
+    /**
+     * Starts writing the pending increments on a background thread with the given interval. Calling this method again
+     * replaces the previous interval.
+     *
+     * @param interval the time between two flushes.
+     * @param unit the unit of {@code interval}.
+     * @throws IllegalArgumentException if the interval is not positive.
+     * @throws IllegalStateException if the buffer has been closed.
+     */
+    public synchronized void startFlushing(long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The interval must be positive. Yours was: " + interval);
+        }
+        if (closed) {
+            throw new IllegalStateException("This RealmCounterBuffer has been closed.");
+        }
+        stopFlushing();
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "RealmCounterBuffer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        flushExecutor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    // Keeps the schedule alive, the increments have been put back into the buffer.
+                    RealmLog.warn(e, "Could not flush the pending increments of %s.%s.",
+                            clazz.getSimpleName(), fieldName);
+                }
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * Stops writing the pending increments periodically. Increments that haven't been written remain in the buffer.
+     */
+    public synchronized void stopFlushing() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            flushExecutor = null;
+        }
+    }
+
+    /**
+     * Stops writing the pending increments periodically and writes the remaining ones.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stopFlushing();
+        }
+        flush();
+    }
+
+    // Boxed primary keys are compared with equals(), so all integer types are mapped to Long.
+    private static Object normalizeKey(Object primaryKey) {
+        if (primaryKey instanceof String) {
+            return primaryKey;
+        }
+        if (primaryKey instanceof Long || primaryKey instanceof Integer || primaryKey instanceof Short
+                || primaryKey instanceof Byte) {
+            return ((Number) primaryKey).longValue();
+        }
+        throw new IllegalArgumentException("Primary key must be a non-null integer or String: " + primaryKey);
+    }
+
+    private boolean hasPending() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                if (!shard.deltas.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void restore(Map<Object, Long> deltas) {
+        for (Map.Entry<Object, Long> entry : deltas.entrySet()) {
+            increment(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private Map<Object, Long> drain() {
+        Map<Object, Long> result = new HashMap<Object, Long>();
+        for (Shard shard : shards) {
+            Map<Object, long[]> deltas;
+            synchronized (shard) {
+                if (shard.deltas.isEmpty()) {
+                    continue;
+                }
+                deltas = shard.deltas;
+                shard.deltas = new HashMap<Object, long[]>();
+            }
+            for (Map.Entry<Object, long[]> entry : deltas.entrySet()) {
+                Long sum = result.get(entry.getKey());
+                result.put(entry.getKey(), (sum == null ? 0 : sum) + entry.getValue()[0]);
+            }
+        }
+        return result;
+    }
+
+    // All objects are looked up before the first one is changed, so nothing has been written if this throws.
+    private void writeDeltas(Realm realm, Map<Object, Long> deltas) {
+        Table table = realm.getSchema().getTable(clazz);
+        long counterColumn = getCounterColumnIndex(realm);
+        long primaryKeyColumn = getPrimaryKeyColumnIndex(realm, table);
+        long[] rowIndices = new long[deltas.size()];
+        long[] values = new long[deltas.size()];
+        int count = 0;
+        for (Map.Entry<Object, Long> entry : deltas.entrySet()) {
+            long delta = entry.getValue();
+            if (delta == 0) {
+                continue;
+            }
+            long rowIndex = findRow(table, primaryKeyColumn, entry.getKey());
+            if (rowIndex == Table.NO_MATCH || table.isNull(counterColumn, rowIndex)) {
+                RealmLog.warn("Discarding increments of %s.%s for primary key '%s': the object does not exist or " +
+                        "the counter is null.", clazz.getSimpleName(), fieldName, entry.getKey());
+                continue;
+            }
+            rowIndices[count] = rowIndex;
+            values[count] = delta;
+            count++;
+        }
+        for (int i = 0; i < count; i++) {
+            table.incrementLong(counterColumn, rowIndices[i], values[i]);
+        }
+    }
+
+    private long getCounterColumnIndex(Realm realm) {
+        ColumnInfo columnInfo = realm.getSchema().getColumnInfo(clazz);
+        ColumnInfo.ColumnDetails details = columnInfo.getColumnDetails(fieldName);
+        if (details == null || details.columnType != RealmFieldType.INTEGER) {
+            throw new IllegalArgumentException(String.format(Locale.US, "'%s' is not an integer field of '%s'.",
+                    fieldName, clazz.getSimpleName()));
+        }
+        return details.columnIndex;
+    }
+
+    private long getPrimaryKeyColumnIndex(Realm realm, Table table) {
+        String primaryKeyField = OsObjectStore.getPrimaryKeyForObject(realm.sharedRealm, table.getClassName());
+        if (primaryKeyField == null) {
+            throw new IllegalArgumentException(String.format(Locale.US, "'%s' does not have a primary key.",
+                    clazz.getSimpleName()));
+        }
+        return table.getColumnIndex(primaryKeyField);
+    }
+
+    private long findRow(Table table, long primaryKeyColumn, Object key) {
+        RealmFieldType primaryKeyType = table.getColumnType(primaryKeyColumn);
+        if (key instanceof String) {
+            if (primaryKeyType != RealmFieldType.STRING) {
+                throw new IllegalArgumentException(String.format(Locale.US, "The primary key of '%s' is not a String.",
+                        clazz.getSimpleName()));
+            }
+            return table.findFirstString(primaryKeyColumn, (String) key);
+        }
+        if (primaryKeyType != RealmFieldType.INTEGER) {
+            throw new IllegalArgumentException(String.format(Locale.US, "The primary key of '%s' is not an integer.",
+                    clazz.getSimpleName()));
+        }
+        return table.findFirstLong(primaryKeyColumn, (Long) key);
+    }
+}
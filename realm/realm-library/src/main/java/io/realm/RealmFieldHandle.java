@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Locale;
+
+import io.realm.internal.Table;
+
+
+/**
+ * A pre-resolved reference to a field of a Realm class.
+ * <p>
+ * Field handles are obtained from {@link RealmObjectSchema#getFieldHandle(String)} and can be used instead of field
+ * names with {@link DynamicRealmObject} and {@link RealmQuery}. Resolving the field once and reusing the handle
+ * avoids looking up the field by name on every access:
+ * <pre>
+ * {@code
+ * RealmFieldHandle name = dynamicRealm.getSchema().get("Person").getFieldHandle("name");
+ * for (DynamicRealmObject person : dynamicRealm.where("Person").findAll()) {
+ *     String value = person.getString(name);
+ * }
+ * }
+ * </pre>
+ * A handle stays valid as long as the schema of the Realm instance it was obtained from doesn't change. Using a
+ * handle after the schema has changed, or with another Realm instance, is still safe, but the field will then be
+ * looked up by name again.
+ */
+public final class RealmFieldHandle {
+
+    private final String className;
+    private final String fieldName;
+    private final RealmFieldType fieldType;
+    private final long columnIndex;
+    private final RealmSchema schema;
+    private final int schemaGeneration;
+
+    RealmFieldHandle(String className, String fieldName, RealmFieldType fieldType, long columnIndex,
+            RealmSchema schema) {
+        this.className = className;
+        this.fieldName = fieldName.intern();
+        this.fieldType = fieldType;
+        this.columnIndex = columnIndex;
+        this.schema = schema;
+        this.schemaGeneration = schema.getFieldLookupGeneration();
+    }
+
+    /**
+     * Returns the name of the class this field belongs to.
+     *
+     * @return the class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the name of the field.
+     *
+     * @return the field name.
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Returns the type used by the underlying storage engine to represent this field.
+     *
+     * @return the field type.
+     */
+    public RealmFieldType getFieldType() {
+        return fieldType;
+    }
+
+    /**
+     * Returns the column index of this field, or {@link Table#NO_MATCH} if the handle cannot be
+     * trusted for the given schema anymore and the field has to be looked up by name instead.
+     *
+     * @throws IllegalArgumentException if the handle belongs to a different class.
+     */
+    long getColumnIndex(RealmSchema schema, String className) {
+        //noinspection StringEquality
+        if (this.className != className && !this.className.equals(className)) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "Field '%s' belongs to class '%s', not '%s'.", fieldName, this.className, className));
+        }
+        if (this.schema != schema || schemaGeneration != schema.getFieldLookupGeneration()) {
+            return Table.NO_MATCH;
+        }
+        return columnIndex;
+    }
+
+    @Override
+    public String toString() {
+        return className + "." + fieldName + " (" + fieldType + ")";
+    }
+}
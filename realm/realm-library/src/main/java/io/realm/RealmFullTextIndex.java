@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Locale;
+
+import io.realm.annotations.Beta;
+import io.realm.internal.OsFullTextIndex;
+import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
+import io.realm.internal.Table;
+
+
+/**
+ * Maintains the full-text index of String fields that is used by {@link RealmQuery#fullTextSearch(String, String)}.
+ * <p>
+ * The text of a field is split into words, which are sequences of letters and digits, and each word is indexed in
+ * lower case. The index is stored in the Realm file, but it is not part of the schema. Call
+ * {@link #rebuild(Realm, Class, String)} once to start indexing a field. After that, objects whose indexed field was
+ * set in a transaction are indexed again when the transaction is committed or searched in, and deleted objects are
+ * removed from the index. These objects are found in the changes of the transaction, so this takes time proportional
+ * to the size of the transaction, not to the number of indexed objects. Removing or renaming the class in a migration
+ * also removes or renames its index.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * realm.executeTransaction(r -> RealmFullTextIndex.rebuild(r, Message.class, "body"));
+ * realm.executeTransaction(r -> message.setBody(body));
+ * RealmResults<Message> results = realm.where(Message.class).fullTextSearch("body", "realm database").findAll();
+ * }
+ * </pre>
+ */
+@Beta
+public final class RealmFullTextIndex {
+
+    private RealmFullTextIndex() {
+    }
+
+    /**
+     * Indexes the current value of a String field of an object, replacing the words it was indexed with before. Once a
+     * field is indexed, this is done automatically for all changed objects when the transaction is committed and
+     * before a search in the transaction.
+     *
+     * @param object the managed object to index.
+     * @param fieldName the String field to index.
+     * @throws IllegalArgumentException if the object is not managed or valid, or if the field is not a String field.
+     * @throws IllegalStateException if the Realm is not in a transaction.
+     */
+    public static void update(RealmModel object, String fieldName) {
+        if (!RealmObject.isManaged(object) || !RealmObject.isValid(object)) {
+            throw new IllegalArgumentException("Only managed and valid objects can be indexed.");
+        }
+        ProxyState<?> proxyState = ((RealmObjectProxy) object).realmGet$proxyState();
+        proxyState.getRealm$realm().checkIfValidAndInTransaction();
+        Row row = proxyState.getRow$realm();
+        long columnIndex = getStringColumnIndex(row.getTable(), fieldName);
+        OsFullTextIndex.update(row.getTable(), row.getIndex(), fieldName, row.getString(columnIndex));
+    }
+
+    /**
+     * Indexes a String field of all objects of a class.
+     *
+     * @param realm the Realm containing the objects.
+     * @param clazz the class of the objects.
+     * @param fieldName the String field to index.
+     * @throws IllegalArgumentException if the field is not a String field.
+     * @throws IllegalStateException if the Realm is not in a transaction.
+     */
+    public static void rebuild(Realm realm, Class<? extends RealmModel> clazz, String fieldName) {
+        realm.checkIfValidAndInTransaction();
+        Table table = realm.getSchema().getTable(clazz);
+        long columnIndex = getStringColumnIndex(table, fieldName);
+        long size = table.size();
+        for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+            OsFullTextIndex.update(table, rowIndex, fieldName, table.getString(columnIndex, rowIndex));
+        }
+    }
+
+    static long getStringColumnIndex(Table table, String fieldName) {
+        //noinspection ConstantConditions
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name required.");
+        }
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format(Locale.US, "Field '%s' does not exist.", fieldName));
+        }
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "Field '%s' is not a String field and cannot be indexed for full-text search.", fieldName));
+        }
+        return columnIndex;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Locale;
+
+import io.realm.internal.OsResults;
+import io.realm.internal.Table;
+import io.realm.internal.fields.FieldDescriptor;
+
+
+/**
+ * Groups the objects of a query or {@link RealmResults} by the value of a field and computes an aggregate for each
+ * group. Use {@link RealmQuery#groupBy(String)} or {@link RealmResults#groupBy(String)} to create one.
+ * <p>
+ * All groups are computed in a single pass over the objects without creating any Java objects for them. The grouping
+ * field can be an integer, boolean, String or {@link java.util.Date} field and can be a field of a linked object,
+ * e.g. {@code "owner.name"}. Lists are not supported in the path of the grouping field. The aggregated field must be a
+ * field of the grouped objects.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * RealmGroupedAggregate totals = realm.where(Order.class).groupBy("category").sum("price");
+ * String[] categories = totals.getStringKeys();
+ * double[] prices = totals.getDoubleValues();
+ * }
+ * </pre>
+ */
+public final class RealmGroupBy {
+
+    private final BaseRealm realm;
+    private final OsResults osResults;
+    private final long[] keyColumnIndices;
+
+    RealmGroupBy(BaseRealm realm, OsResults osResults, String keyFieldName) {
+        this.realm = realm;
+        this.osResults = osResults;
+        FieldDescriptor fd = FieldDescriptor.createStandardFieldDescriptor(new SchemaConnector(realm.getSchema()),
+                osResults.getTable(), keyFieldName,
+                RealmFieldType.INTEGER, RealmFieldType.BOOLEAN, RealmFieldType.STRING, RealmFieldType.DATE);
+        this.keyColumnIndices = fd.getColumnIndices();
+    }
+
+    /**
+     * Counts the objects of each group.
+     *
+     * @return the keys of the groups and the number of objects in each, see {@link RealmGroupedAggregate#getCounts()}.
+     */
+    public RealmGroupedAggregate count() {
+        realm.checkIfValid();
+        return osResults.groupBy(keyColumnIndices, -1, null);
+    }
+
+    /**
+     * Calculates the sum of a field for each group.
+     *
+     * @param fieldName the field to sum. Only integer, float and double fields are supported.
+     * @return the keys of the groups and the sums. The sums of integer fields are returned by
+     * {@link RealmGroupedAggregate#getLongValues()}.
+     * @throws IllegalArgumentException if the field is not an integer, float or double field.
+     */
+    public RealmGroupedAggregate sum(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getValueColumnIndex(fieldName,
+                RealmFieldType.INTEGER, RealmFieldType.FLOAT, RealmFieldType.DOUBLE);
+        return osResults.groupBy(keyColumnIndices, columnIndex, OsResults.Aggregate.SUM);
+    }
+
+    /**
+     * Calculates the average of a field for each group. {@code null} values are ignored.
+     *
+     * @param fieldName the field to calculate the average on. Only integer, float and double fields are supported.
+     * @return the keys of the groups and the averages, see {@link RealmGroupedAggregate#getDoubleValues()}.
+     * @throws IllegalArgumentException if the field is not an integer, float or double field.
+     */
+    public RealmGroupedAggregate average(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getValueColumnIndex(fieldName,
+                RealmFieldType.INTEGER, RealmFieldType.FLOAT, RealmFieldType.DOUBLE);
+        return osResults.groupBy(keyColumnIndices, columnIndex, OsResults.Aggregate.AVERAGE);
+    }
+
+    /**
+     * Finds the minimum value of a field for each group. {@code null} values are ignored.
+     *
+     * @param fieldName the field to look for the minimum on. Only integer, float, double and date fields are
+     * supported.
+     * @return the keys of the groups and the minimums. The minimums of integer and date fields are returned by
+     * {@link RealmGroupedAggregate#getLongValues()}.
+     * @throws IllegalArgumentException if the field is not an integer, float, double or date field.
+     */
+    public RealmGroupedAggregate min(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getValueColumnIndex(fieldName,
+                RealmFieldType.INTEGER, RealmFieldType.FLOAT, RealmFieldType.DOUBLE, RealmFieldType.DATE);
+        return osResults.groupBy(keyColumnIndices, columnIndex, OsResults.Aggregate.MINIMUM);
+    }
+
+    /**
+     * Finds the maximum value of a field for each group. {@code null} values are ignored.
+     *
+     * @param fieldName the field to look for the maximum on. Only integer, float, double and date fields are
+     * supported.
+     * @return the keys of the groups and the maximums. The maximums of integer and date fields are returned by
+     * {@link RealmGroupedAggregate#getLongValues()}.
+     * @throws IllegalArgumentException if the field is not an integer, float, double or date field.
+     */
+    public RealmGroupedAggregate max(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getValueColumnIndex(fieldName,
+                RealmFieldType.INTEGER, RealmFieldType.FLOAT, RealmFieldType.DOUBLE, RealmFieldType.DATE);
+        return osResults.groupBy(keyColumnIndices, columnIndex, OsResults.Aggregate.MAXIMUM);
+    }
+
+    private long getValueColumnIndex(String fieldName, RealmFieldType... validTypes) {
+        //noinspection ConstantConditions
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name required.");
+        }
+        if (fieldName.contains(".")) {
+            throw new IllegalArgumentException("Aggregates on child object fields are not supported: " + fieldName);
+        }
+        Table table = osResults.getTable();
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format(Locale.US, "Field '%s' does not exist.", fieldName));
+        }
+        RealmFieldType type = table.getColumnType(columnIndex);
+        for (RealmFieldType validType : validTypes) {
+            if (type == validType) {
+                return columnIndex;
+            }
+        }
+        throw new IllegalArgumentException(String.format(Locale.US,
+                "Field '%s' of type '%s' cannot be aggregated.", fieldName, type));
+    }
+}
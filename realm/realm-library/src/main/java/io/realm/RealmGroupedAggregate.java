@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import javax.annotation.Nullable;
+
+import io.realm.internal.Keep;
+
+
+/**
+ * The result of a {@link RealmGroupBy} aggregation. The keys and aggregates of all groups are stored in primitive
+ * arrays, the values at the same index of the arrays belong to the same group. Groups are ordered by the first object
+ * that belongs to them in the aggregated collection.
+ * <p>
+ * The arrays returned by the getters are not copied, so they should not be modified.
+ */
+@Keep
+public final class RealmGroupedAggregate {
+
+    private final Object keys;
+    private final int nullKeyIndex;
+    private final long[] counts;
+    private final long[] valueCounts;
+    @Nullable
+    private final long[] longValues;
+    @Nullable
+    private final double[] doubleValues;
+
+    // Called from JNI.
+    RealmGroupedAggregate(Object keys, int nullKeyIndex, long[] counts, long[] valueCounts,
+            @Nullable long[] longValues, @Nullable double[] doubleValues) {
+        this.keys = keys;
+        this.nullKeyIndex = nullKeyIndex;
+        this.counts = counts;
+        this.valueCounts = valueCounts;
+        this.longValues = longValues;
+        this.doubleValues = doubleValues;
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return the number of distinct keys.
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the keys of the groups if the objects were grouped by an integer, boolean or {@link java.util.Date}
+     * field. Booleans are returned as {@code 0} and {@code 1} and dates as milliseconds since the epoch.
+     *
+     * @return the keys of the groups.
+     * @throws IllegalStateException if the objects were grouped by a String field.
+     */
+    public long[] getLongKeys() {
+        if (!(keys instanceof long[])) {
+            throw new IllegalStateException("The objects were grouped by a String field, use getStringKeys().");
+        }
+        return (long[]) keys;
+    }
+
+    /**
+     * Returns the keys of the groups if the objects were grouped by a String field.
+     *
+     * @return the keys of the groups.
+     * @throws IllegalStateException if the objects were not grouped by a String field.
+     */
+    public String[] getStringKeys() {
+        if (!(keys instanceof String[])) {
+            throw new IllegalStateException("The objects were not grouped by a String field, use getLongKeys().");
+        }
+        return (String[]) keys;
+    }
+
+    /**
+     * Returns the index of the group of objects whose key is {@code null}. This also contains the objects for which a
+     * link in the path of the grouping field is {@code null}.
+     *
+     * @return the index of the group or {@code -1} if no key is {@code null}.
+     */
+    public int getNullKeyIndex() {
+        return nullKeyIndex;
+    }
+
+    /**
+     * Returns the number of objects in each group.
+     *
+     * @return the number of objects per group.
+     */
+    public long[] getCounts() {
+        return counts;
+    }
+
+    /**
+     * Checks if a group contains a non-null value of the aggregated field. The minimum, maximum and average of a group
+     * without any value are {@code 0}.
+     *
+     * @param index the index of the group.
+     * @return {@code true} if at least one object of the group has a value or if only the objects were counted.
+     */
+    public boolean hasValue(int index) {
+        return (longValues == null && doubleValues == null) || valueCounts[index] > 0;
+    }
+
+    /**
+     * Returns the aggregates of the groups if they are integers. This is the case for the sum, minimum and maximum of
+     * integer fields and the minimum and maximum of {@link java.util.Date} fields, which are returned as milliseconds
+     * since the epoch.
+     *
+     * @return the aggregate per group.
+     * @throws IllegalStateException if the aggregates are not integers or if only the objects were counted.
+     */
+    public long[] getLongValues() {
+        if (longValues == null) {
+            throw new IllegalStateException("The aggregates are not integers, use getDoubleValues().");
+        }
+        return longValues;
+    }
+
+    /**
+     * Returns the aggregates of the groups. Integer aggregates are converted to {@code double}.
+     *
+     * @return the aggregate per group.
+     * @throws IllegalStateException if only the objects were counted.
+     */
+    public double[] getDoubleValues() {
+        if (doubleValues != null) {
+            return doubleValues;
+        }
+        if (longValues == null) {
+            throw new IllegalStateException("Only the objects were counted, use getCounts().");
+        }
+        double[] values = new double[longValues.length];
+        for (int i = 0; i < longValues.length; i++) {
+            values[i] = longValues[i];
+        }
+        return values;
+    }
+}
@@ -32,6 +32,7 @@ import io.realm.internal.OsObject;
 import io.realm.internal.OsObjectStore;
 import io.realm.internal.Table;
 import io.realm.internal.fields.FieldDescriptor;
+import io.realm.internal.fields.FieldNameLookup;
 
 
 /**
@@ -417,6 +418,20 @@ public abstract class RealmObjectSchema {
         return table.getColumnType(columnIndex);
     }
 
+    /**
+     * Returns a handle for the given field. The handle can be used instead of the field name with
+     * {@link DynamicRealmObject} and {@link RealmQuery} to avoid looking up the field by name on every access.
+     *
+     * @param fieldName name of the target field.
+     * @return a handle for the field.
+     * @throws IllegalArgumentException if the field does not exist.
+     * @see RealmFieldHandle
+     */
+    public RealmFieldHandle getFieldHandle(String fieldName) {
+        long columnIndex = getColumnIndex(fieldName);
+        return new RealmFieldHandle(getClassName(), fieldName, table.getColumnType(columnIndex), columnIndex, schema);
+    }
+
     /**
      * Get a parser for a field descriptor.
      *
@@ -435,6 +450,7 @@ public abstract class RealmObjectSchema {
             OsObjectStore.setPrimaryKeyForObject(realm.sharedRealm, getClassName(), name);
         }
 
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -443,6 +459,7 @@ public abstract class RealmObjectSchema {
                 type,
                 name,
                 realm.getSharedRealm().getTable(Table.getTableNameForClass(linkedTo.getClassName())));
+        schema.invalidateFieldLookups();
         return this;
     }
 
@@ -477,12 +494,10 @@ public abstract class RealmObjectSchema {
 
     /**
      * Returns the column index in the underlying table for the given field name.
-     * <b>FOR TESTING USE ONLY!</b>
      *
      * @param fieldName field name to find index for.
      * @return column index or -1 if it doesn't exists.
      */
-    //@VisibleForTesting(otherwise = VisibleForTesting.NONE)
     long getFieldIndex(String fieldName) {
         return columnInfo.getColumnIndex(fieldName);
     }
@@ -519,16 +534,24 @@ public abstract class RealmObjectSchema {
     }
 
     static final class DynamicColumnIndices extends ColumnInfo {
+        private final RealmSchema schema;
         private final Table table;
+        private FieldNameLookup fieldLookup;
+        private int fieldLookupGeneration;
 
-        DynamicColumnIndices(Table table) {
+        DynamicColumnIndices(RealmSchema schema, Table table) {
             super(null, false);
+            this.schema = schema;
             this.table = table;
         }
 
         @Override
         public long getColumnIndex(String columnName) {
-            return table.getColumnIndex(columnName);
+            if (fieldLookup == null || fieldLookupGeneration != schema.getFieldLookupGeneration()) {
+                fieldLookup = FieldNameLookup.create(table);
+                fieldLookupGeneration = schema.getFieldLookupGeneration();
+            }
+            return fieldLookup.get(columnName);
         }
 
         @Override
@@ -17,13 +17,19 @@
 package io.realm;
 
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import io.realm.annotations.Beta;
 import io.realm.annotations.Required;
+import io.realm.internal.NativeObject;
+import io.realm.internal.OsFullTextIndex;
 import io.realm.internal.OsList;
 import io.realm.internal.OsResults;
 import io.realm.internal.PendingRow;
@@ -275,6 +281,38 @@ public class RealmQuery<E> {
         return this;
     }
 
+    /**
+     * Tests if a field is {@code null}. Only works for nullable fields.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field is not nullable or doesn't belong to the queried class.
+     * @see #isNull(String)
+     */
+    public RealmQuery<E> isNull(RealmFieldHandle field) {
+        realm.checkIfValid();
+
+        // Checks that the field has the correct type is done in C++.
+        this.query.isNull(getColumnIndices(field, null), new long[1]);
+        return this;
+    }
+
+    /**
+     * Tests if a field is not {@code null}. Only works for nullable fields.
+     *
+     * @param field handle of the field, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field is not nullable or doesn't belong to the queried class.
+     * @see #isNotNull(String)
+     */
+    public RealmQuery<E> isNotNull(RealmFieldHandle field) {
+        realm.checkIfValid();
+
+        // Checks that the field has the correct type is done in C++.
+        this.query.isNotNull(getColumnIndices(field, null), new long[1]);
+        return this;
+    }
+
     /**
      * Equal-to comparison.
      *
@@ -308,6 +346,64 @@ public class RealmQuery<E> {
         return this;
     }
 
+    /**
+     * Equal-to comparison.
+     *
+     * @param field handle of the field to compare, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field is not a String field or doesn't belong to the queried
+     * class.
+     */
+    public RealmQuery<E> equalTo(RealmFieldHandle field, @Nullable String value) {
+        realm.checkIfValid();
+
+        this.query.equalTo(getColumnIndices(field, RealmFieldType.STRING), new long[1], value, Case.SENSITIVE);
+        return this;
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field handle of the field to compare, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field is not an integer field or doesn't belong to the queried
+     * class.
+     */
+    public RealmQuery<E> equalTo(RealmFieldHandle field, @Nullable Long value) {
+        realm.checkIfValid();
+
+        long[] columnIndices = getColumnIndices(field, RealmFieldType.INTEGER);
+        if (value == null) {
+            this.query.isNull(columnIndices, new long[1]);
+        } else {
+            this.query.equalTo(columnIndices, new long[1], value);
+        }
+        return this;
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field handle of the field to compare, see {@link RealmObjectSchema#getFieldHandle(String)}.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field is not a boolean field or doesn't belong to the queried
+     * class.
+     */
+    public RealmQuery<E> equalTo(RealmFieldHandle field, @Nullable Boolean value) {
+        realm.checkIfValid();
+
+        long[] columnIndices = getColumnIndices(field, RealmFieldType.BOOLEAN);
+        if (value == null) {
+            this.query.isNull(columnIndices, new long[1]);
+        } else {
+            this.query.equalTo(columnIndices, new long[1], value);
+        }
+        return this;
+    }
+
     /**
      * Equal-to comparison.
      *
@@ -546,11 +642,11 @@ public class RealmQuery<E> {
             alwaysFalse();
             return this;
         }
-        beginGroupWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[0], casing);
-        for (int i = 1; i < values.length; i++) {
-            orWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[i], casing);
-        }
-        return endGroupWithoutThreadValidation();
+        FieldDescriptor fd = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
+        Set<String> distinctValues = new LinkedHashSet<String>(Arrays.asList(values));
+        this.query.in(fd.getColumnIndices(), fd.getNativeTablePointers(),
+                distinctValues.toArray(new String[distinctValues.size()]), casing);
+        return this;
     }
 
     /**
@@ -568,13 +664,8 @@ public class RealmQuery<E> {
         if (values == null || values.length == 0) {
             alwaysFalse();
             return this;
-        } else {
-            beginGroupWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[0]);
-            for (int i = 1; i < values.length; i++) {
-                orWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[i]);
-            }
-            return endGroupWithoutThreadValidation();
         }
+        return inWithoutThreadValidation(fieldName, values);
     }
 
     /**
@@ -592,13 +683,8 @@ public class RealmQuery<E> {
         if (values == null || values.length == 0) {
             alwaysFalse();
             return this;
-        } else {
-            beginGroupWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[0]);
-            for (int i = 1; i < values.length; i++) {
-                orWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[i]);
-            }
-            return endGroupWithoutThreadValidation();
         }
+        return inWithoutThreadValidation(fieldName, values);
     }
 
     /**
@@ -616,13 +702,8 @@ public class RealmQuery<E> {
         if (values == null || values.length == 0) {
             alwaysFalse();
             return this;
-        } else {
-            beginGroupWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[0]);
-            for (int i = 1; i < values.length; i++) {
-                orWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[i]);
-            }
-            return endGroupWithoutThreadValidation();
         }
+        return inWithoutThreadValidation(fieldName, values);
     }
 
     /**
@@ -641,13 +722,41 @@ public class RealmQuery<E> {
         if (values == null || values.length == 0) {
             alwaysFalse();
             return this;
-        } else {
-            beginGroupWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[0]);
-            for (int i = 1; i < values.length; i++) {
-                orWithoutThreadValidation().equalToWithoutThreadValidation(fieldName, values[i]);
+        }
+        return inWithoutThreadValidation(fieldName, values);
+    }
+
+    // All integer types are stored in INTEGER columns. The distinct values are passed to core in a single call, nulls
+    // are matched with an additional isNull condition.
+    private RealmQuery<E> inWithoutThreadValidation(String fieldName, Number[] values) {
+        FieldDescriptor fd = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
+        Set<Long> distinctValues = new LinkedHashSet<Long>();
+        boolean hasNull = false;
+        for (Number value : values) {
+            if (value == null) {
+                hasNull = true;
+            } else {
+                distinctValues.add(value.longValue());
             }
-            return endGroupWithoutThreadValidation();
         }
+        long[] longValues = new long[distinctValues.size()];
+        int i = 0;
+        for (Long value : distinctValues) {
+            longValues[i++] = value;
+        }
+
+        if (!hasNull) {
+            // Not grouped, so the condition can be looked up with the search index, see OsResults#createFromQuery().
+            this.query.in(fd.getColumnIndices(), fd.getNativeTablePointers(), longValues);
+            return this;
+        }
+        beginGroupWithoutThreadValidation();
+        if (longValues.length > 0) {
+            this.query.in(fd.getColumnIndices(), fd.getNativeTablePointers(), longValues);
+            orWithoutThreadValidation();
+        }
+        this.query.isNull(fd.getColumnIndices(), fd.getNativeTablePointers());
+        return endGroupWithoutThreadValidation();
     }
 
     /**
@@ -1491,6 +1600,35 @@ public class RealmQuery<E> {
         return this;
     }
 
+    /**
+     * Condition that the value of a String field contains all words of the search terms. The words of the field are
+     * looked up in its full-text index, so only the objects containing the least common word are checked. The field
+     * has to be indexed with {@link RealmFullTextIndex#rebuild(Realm, Class, String)} first, after which changes are
+     * indexed automatically.
+     * <p>
+     * Words are sequences of letters and digits and are compared case insensitively, e.g. {@code "Realm, database"}
+     * matches "A database called realm" but not "Realms and databases". Unlike other conditions, the search always
+     * applies to the whole query, regardless of groups and {@link #or()}.
+     *
+     * @param fieldName the String field to search. It must be a field of this class.
+     * @param terms the words to search for.
+     * @return the query object.
+     * @throws IllegalArgumentException if the field is not a String field or the terms don't contain any word.
+     * @throws IllegalStateException if the query is based on a {@link RealmResults} or a {@link RealmList}.
+     */
+    @Beta
+    public RealmQuery<E> fullTextSearch(String fieldName, String terms) {
+        realm.checkIfValid();
+
+        RealmFullTextIndex.getStringColumnIndex(table, fieldName);
+        String[] tokens = OsFullTextIndex.tokenize(terms);
+        if (tokens.length == 0) {
+            throw new IllegalArgumentException("The search terms must contain at least one word: " + terms);
+        }
+        this.query.fullTextSearch(fieldName, tokens);
+        return this;
+    }
+
 
     /**
      * Begin grouping of conditions ("left parenthesis"). A group must be closed with a call to {@code endGroup()}.
@@ -1599,6 +1737,345 @@ public class RealmQuery<E> {
         return this;
     }
 
+    /**
+     * Condition that finds objects whose list of Strings contains the given value.
+     *
+     * @param fieldName the {@code RealmList<String>} field to compare.
+     * @param value the value to look for.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of Strings of the queried class.
+     */
+    public RealmQuery<E> containsValue(String fieldName, @Nullable String value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.STRING_LIST), value, false);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of integers contains the given value.
+     *
+     * @param fieldName the {@code RealmList<Long>}, {@code RealmList<Integer>}, {@code RealmList<Short>} or
+     * {@code RealmList<Byte>} field to compare.
+     * @param value the value to look for.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of integers of the queried class.
+     */
+    public RealmQuery<E> containsValue(String fieldName, long value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.INTEGER_LIST), value, false);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of floating point numbers contains the given value.
+     *
+     * @param fieldName the {@code RealmList<Double>} or {@code RealmList<Float>} field to compare.
+     * @param value the value to look for.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of floating point numbers of the queried
+     * class.
+     */
+    public RealmQuery<E> containsValue(String fieldName, double value) {
+        realm.checkIfValid();
+        addListContains(fieldName, value, false);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of Booleans contains the given value.
+     *
+     * @param fieldName the {@code RealmList<Boolean>} field to compare.
+     * @param value the value to look for.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of Booleans of the queried class.
+     */
+    public RealmQuery<E> containsValue(String fieldName, boolean value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.BOOLEAN_LIST), value, false);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of Dates contains the given value.
+     *
+     * @param fieldName the {@code RealmList<Date>} field to compare.
+     * @param value the value to look for.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of Dates of the queried class.
+     */
+    public RealmQuery<E> containsValue(String fieldName, @Nullable Date value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.DATE_LIST), value, false);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of Strings only contains the given value. Objects with an empty list
+     * are also found.
+     *
+     * @param fieldName the {@code RealmList<String>} field to compare.
+     * @param value the value all elements of the list must be equal to.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of Strings of the queried class.
+     */
+    public RealmQuery<E> allValuesEqualTo(String fieldName, @Nullable String value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.STRING_LIST), value, true);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of integers only contains the given value. Objects with an empty list
+     * are also found.
+     *
+     * @param fieldName the {@code RealmList<Long>}, {@code RealmList<Integer>}, {@code RealmList<Short>} or
+     * {@code RealmList<Byte>} field to compare.
+     * @param value the value all elements of the list must be equal to.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of integers of the queried class.
+     */
+    public RealmQuery<E> allValuesEqualTo(String fieldName, long value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.INTEGER_LIST), value, true);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of floating point numbers only contains the given value. Objects with
+     * an empty list are also found.
+     *
+     * @param fieldName the {@code RealmList<Double>} or {@code RealmList<Float>} field to compare.
+     * @param value the value all elements of the list must be equal to.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of floating point numbers of the queried
+     * class.
+     */
+    public RealmQuery<E> allValuesEqualTo(String fieldName, double value) {
+        realm.checkIfValid();
+        addListContains(fieldName, value, true);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of Booleans only contains the given value. Objects with an empty list
+     * are also found.
+     *
+     * @param fieldName the {@code RealmList<Boolean>} field to compare.
+     * @param value the value all elements of the list must be equal to.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of Booleans of the queried class.
+     */
+    public RealmQuery<E> allValuesEqualTo(String fieldName, boolean value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.BOOLEAN_LIST), value, true);
+        return this;
+    }
+
+    /**
+     * Condition that finds objects whose list of Dates only contains the given value. Objects with an empty list are
+     * also found.
+     *
+     * @param fieldName the {@code RealmList<Date>} field to compare.
+     * @param value the value all elements of the list must be equal to.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list of Dates of the queried class.
+     */
+    public RealmQuery<E> allValuesEqualTo(String fieldName, @Nullable Date value) {
+        realm.checkIfValid();
+        query.listContains(getListColumnIndex(fieldName, RealmFieldType.DATE_LIST), value, true);
+        return this;
+    }
+
+    private void addListContains(String fieldName, double value, boolean matchAll) {
+        long columnIndex = getListColumnIndex(fieldName, RealmFieldType.DOUBLE_LIST, RealmFieldType.FLOAT_LIST);
+        if (table.getColumnType(columnIndex) == RealmFieldType.FLOAT_LIST) {
+            query.listContains(columnIndex, (float) value, matchAll);
+        } else {
+            query.listContains(columnIndex, value, matchAll);
+        }
+    }
+
+    // Lists can only be queried directly on the queried class, not through a link.
+    private long getListColumnIndex(String fieldName, RealmFieldType... validTypes) {
+        FieldDescriptor fd = schema.getColumnIndices(fieldName, validTypes);
+        if (fd.length() > 1) {
+            throw new IllegalArgumentException("Queries on lists of child objects are not supported: "
+                    + fieldName);
+        }
+        return fd.getColumnIndices()[0];
+    }
+
+    /**
+     * Condition that compares an aggregate of a list with a value. The size of any list can be compared using
+     * {@link ListAggregate#COUNT} and the list field, e.g. {@code "lines"}. The other aggregates are computed over a
+     * numeric field of the objects of a {@link RealmList}, e.g. {@code "lines.amount"}. {@code null} values are
+     * ignored, and the sum of an empty list is 0.
+     * <p>
+     * A {@link io.realm.annotations.LinkingObjects} field can be used like a list. Its objects are found by following
+     * the backlinks of every object the query evaluates; search indexes of the linking class are not used.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * RealmResults<Order> bigOrders = realm.where(Order.class)
+     *         .aggregateGreaterThan("lines.amount", ListAggregate.SUM, 1000)
+     *         .findAll();
+     *
+     * // Customers with at least two orders, where Order has a 'customer' field and Customer an 'orders' field
+     * // annotated with @LinkingObjects("customer").
+     * RealmResults<Customer> repeatCustomers = realm.where(Customer.class)
+     *         .aggregateGreaterThanOrEqualTo("orders", ListAggregate.COUNT, 2)
+     *         .findAll();
+     * }
+     * </pre>
+     *
+     * @param fieldName the list or linking objects field, or a field of their objects separated by a dot.
+     * @param aggregate the aggregate to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list or linking objects field of the queried
+     * class, or if the aggregated field isn't an integer, float or double field.
+     */
+    public RealmQuery<E> aggregateEqualTo(String fieldName, ListAggregate aggregate, double value) {
+        realm.checkIfValid();
+        addListAggregate(fieldName, aggregate, TableQuery.COMPARISON_EQUAL, value);
+        return this;
+    }
+
+    /**
+     * Condition that compares an aggregate of a list with a value, see
+     * {@link #aggregateEqualTo(String, ListAggregate, double)}.
+     *
+     * @param fieldName the list or linking objects field, or a field of their objects separated by a dot.
+     * @param aggregate the aggregate to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list or linking objects field of the queried
+     * class, or if the aggregated field isn't an integer, float or double field.
+     */
+    public RealmQuery<E> aggregateNotEqualTo(String fieldName, ListAggregate aggregate, double value) {
+        realm.checkIfValid();
+        addListAggregate(fieldName, aggregate, TableQuery.COMPARISON_NOT_EQUAL, value);
+        return this;
+    }
+
+    /**
+     * Condition that compares an aggregate of a list with a value, see
+     * {@link #aggregateEqualTo(String, ListAggregate, double)}.
+     *
+     * @param fieldName the list or linking objects field, or a field of their objects separated by a dot.
+     * @param aggregate the aggregate to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list or linking objects field of the queried
+     * class, or if the aggregated field isn't an integer, float or double field.
+     */
+    public RealmQuery<E> aggregateGreaterThan(String fieldName, ListAggregate aggregate, double value) {
+        realm.checkIfValid();
+        addListAggregate(fieldName, aggregate, TableQuery.COMPARISON_GREATER, value);
+        return this;
+    }
+
+    /**
+     * Condition that compares an aggregate of a list with a value, see
+     * {@link #aggregateEqualTo(String, ListAggregate, double)}.
+     *
+     * @param fieldName the list or linking objects field, or a field of their objects separated by a dot.
+     * @param aggregate the aggregate to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list or linking objects field of the queried
+     * class, or if the aggregated field isn't an integer, float or double field.
+     */
+    public RealmQuery<E> aggregateGreaterThanOrEqualTo(String fieldName, ListAggregate aggregate, double value) {
+        realm.checkIfValid();
+        addListAggregate(fieldName, aggregate, TableQuery.COMPARISON_GREATER_EQUAL, value);
+        return this;
+    }
+
+    /**
+     * Condition that compares an aggregate of a list with a value, see
+     * {@link #aggregateEqualTo(String, ListAggregate, double)}.
+     *
+     * @param fieldName the list or linking objects field, or a field of their objects separated by a dot.
+     * @param aggregate the aggregate to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list or linking objects field of the queried
+     * class, or if the aggregated field isn't an integer, float or double field.
+     */
+    public RealmQuery<E> aggregateLessThan(String fieldName, ListAggregate aggregate, double value) {
+        realm.checkIfValid();
+        addListAggregate(fieldName, aggregate, TableQuery.COMPARISON_LESS, value);
+        return this;
+    }
+
+    /**
+     * Condition that compares an aggregate of a list with a value, see
+     * {@link #aggregateEqualTo(String, ListAggregate, double)}.
+     *
+     * @param fieldName the list or linking objects field, or a field of their objects separated by a dot.
+     * @param aggregate the aggregate to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a list or linking objects field of the queried
+     * class, or if the aggregated field isn't an integer, float or double field.
+     */
+    public RealmQuery<E> aggregateLessThanOrEqualTo(String fieldName, ListAggregate aggregate, double value) {
+        realm.checkIfValid();
+        addListAggregate(fieldName, aggregate, TableQuery.COMPARISON_LESS_EQUAL, value);
+        return this;
+    }
+
+    private void addListAggregate(String fieldName, ListAggregate aggregate, byte comparison, double value) {
+        //noinspection ConstantConditions
+        if (aggregate == null) {
+            throw new IllegalArgumentException("Non-null 'aggregate' required.");
+        }
+        //noinspection ConstantConditions
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty field name required.");
+        }
+        if (aggregate == ListAggregate.COUNT) {
+            FieldDescriptor fd = schema.getColumnIndices(fieldName, RealmFieldType.LIST,
+                    RealmFieldType.INTEGER_LIST, RealmFieldType.BOOLEAN_LIST, RealmFieldType.STRING_LIST,
+                    RealmFieldType.BINARY_LIST, RealmFieldType.DATE_LIST, RealmFieldType.FLOAT_LIST,
+                    RealmFieldType.DOUBLE_LIST, RealmFieldType.LINKING_OBJECTS);
+            if (fd.length() > 1) {
+                throw new IllegalArgumentException("Queries on lists of child objects are not supported: "
+                        + fieldName);
+            }
+            long sourceTablePtr = fd.getNativeTablePointers()[0];
+            if (sourceTablePtr != NativeObject.NULLPTR) {
+                query.backlinkAggregate(sourceTablePtr, fd.getColumnIndices()[0], -1, aggregate.getValue(),
+                        comparison, value);
+            } else {
+                query.listAggregate(fd.getColumnIndices()[0], -1, aggregate.getValue(), comparison, value);
+            }
+            return;
+        }
+
+        FieldDescriptor fd = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER, RealmFieldType.FLOAT,
+                RealmFieldType.DOUBLE);
+        if (fd.length() != 2) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "'%s' must name a list and a field of its objects, e.g. 'list.field'.", fieldName));
+        }
+        long[] columnIndices = fd.getColumnIndices();
+        long sourceTablePtr = fd.getNativeTablePointers()[0];
+        if (sourceTablePtr != NativeObject.NULLPTR) {
+            // The first field holds the linking objects, the aggregated field belongs to their class.
+            query.backlinkAggregate(sourceTablePtr, columnIndices[0], columnIndices[1], aggregate.getValue(),
+                    comparison, value);
+            return;
+        }
+        if (table.getColumnType(columnIndices[0]) != RealmFieldType.LIST) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "'%s' must name a list and a field of its objects, e.g. 'list.field'.", fieldName));
+        }
+        query.listAggregate(columnIndices[0], columnIndices[1], aggregate.getValue(), comparison, value);
+    }
+
     /**
      * Calculates the sum of a given field.
      *
@@ -1753,11 +2230,35 @@ public class RealmQuery<E> {
         // some queries constructs, like doing distinct is not easily supported this way.
         // In order to get the best of both worlds we thus need to create a Java RealmResults object
         // and then directly access the `Results` class from Object Store.
-        return lazyFindAll().size();
+        long start = RealmSlowQueryLog.start();
+        long count = lazyFindAll().size();
+        RealmSlowQueryLog.report(start, getQueryClassName(), query, queryDescriptors);
+        return count;
+    }
+
+    /**
+     * Groups the objects that fulfill the query conditions by the value of the given field. Call one of the aggregate
+     * methods of the returned {@link RealmGroupBy} to compute the count, sum, average, minimum or maximum of each group
+     * in a single pass over the objects.
+     *
+     * @param fieldName the field to group by. Can be a field of a linked object, e.g. {@code "owner.name"}.
+     * @return a {@link RealmGroupBy} for the matching objects.
+     * @throws IllegalArgumentException if the field doesn't exist or isn't an integer, boolean, String or date field.
+     * @see RealmResults#groupBy(String)
+     */
+    public RealmGroupBy groupBy(String fieldName) {
+        realm.checkIfValid();
+        return new RealmGroupBy(realm, lazyFindAll(), fieldName);
     }
 
     /**
      * Finds all objects that fulfill the query conditions.
+     * <p>
+     * If the query combines several {@code equalTo()} or {@code in()} conditions on indexed fields with AND, only the
+     * objects found with the search index of the most selective of them are evaluated. A single search index is
+     * used; there are no compound indexes over several fields, and range conditions such as {@code greaterThan()} or
+     * {@code between()} never use a search index. {@link #findFirst()} and {@link #count()} do not use this
+     * selection.
      *
      * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
      * objects is returned.
@@ -1766,7 +2267,62 @@ public class RealmQuery<E> {
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAll() {
         realm.checkIfValid();
-        return createRealmResults(query, queryDescriptors, true, SubscriptionAction.NO_SUBSCRIPTION);
+        long start = RealmSlowQueryLog.start();
+        RealmResults<E> results = createRealmResults(query, queryDescriptors, true, SubscriptionAction.NO_SUBSCRIPTION);
+        RealmSlowQueryLog.report(start, getQueryClassName(), query, queryDescriptors);
+        return results;
+    }
+
+    /**
+     * Finds the first objects in the sort order of the query without sorting all matching objects. This is much
+     * faster than {@code sort(...).limit(count).findAll()} when only a few of many matching objects are needed, e.g.
+     * the latest 20 of millions of events.
+     * <p>
+     * If the first sort field is an integer, date, float or double field of the queried class, all matching objects
+     * are scanned once to find the value ranked at {@code count}, and only the objects ranked up to it are sorted.
+     * Otherwise the matching objects are sorted as usual.
+     * <p>
+     * Unlike {@link #findAll()}, the returned collection is a snapshot and is not updated when objects are added,
+     * changed or deleted. Objects deleted later become invalid.
+     *
+     * @param count the maximum number of objects to find.
+     * @return a snapshot of the first {@code count} objects in sort order.
+     * @throws IllegalArgumentException if {@code count} is less than 1.
+     * @throws IllegalStateException if no sorting order was defined, or if an offset was set.
+     * @see #sort(String, Sort)
+     */
+    public OrderedRealmCollectionSnapshot<E> findTop(long count) {
+        realm.checkIfValid();
+        if (count < 1) {
+            throw new IllegalArgumentException("Only positive numbers of objects can be found: " + count);
+        }
+        long start = RealmSlowQueryLog.start();
+        OrderedRealmCollectionSnapshot<E> snapshot =
+                createResults(OsResults.createTopFromQuery(realm.sharedRealm, query, queryDescriptors, count))
+                        .createSnapshot();
+        RealmSlowQueryLog.report(start, getQueryClassName(), query, queryDescriptors);
+        return snapshot;
+    }
+
+    /**
+     * Runs the query once and describes how it was executed: whether a search index was used, how many objects were
+     * examined and matched, and how long finding and sorting the objects took. Use this during development to find
+     * queries that need an {@link io.realm.annotations.Index}, and {@link RealmSlowQueryLog} to find them in
+     * production.
+     *
+     * @return the plan and statistics of the query.
+     * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
+     */
+    @Beta
+    public RealmQueryPlan explain() {
+        realm.checkIfValid();
+        long[] stats = OsResults.explain(query, queryDescriptors);
+        long indexedColumn = stats[OsResults.EXPLAIN_INDEXED_COLUMN];
+        String indexedFieldName = (indexedColumn < 0) ? null : table.getColumnName(indexedColumn);
+        return new RealmQueryPlan(query.getDescription(queryDescriptors), indexedFieldName,
+                stats[OsResults.EXPLAIN_EXAMINED_COUNT], stats[OsResults.EXPLAIN_MATCHED_COUNT],
+                stats[OsResults.EXPLAIN_RESULT_COUNT], stats[OsResults.EXPLAIN_QUERY_NANOS],
+                stats[OsResults.EXPLAIN_ORDERING_NANOS]);
     }
 
     /**
@@ -1798,6 +2354,7 @@ public class RealmQuery<E> {
      */
     public RealmResults<E> findAllAsync() {
         realm.checkIfValid();
+        checkNoOffsetForAsyncQuery();
 
         realm.sharedRealm.capabilities.checkCanDeliverNotification(ASYNC_QUERY_WRONG_THREAD_MESSAGE);
         SubscriptionAction subscriptionAction;
@@ -1832,6 +2389,7 @@ public class RealmQuery<E> {
         if (Util.isEmptyString(subscriptionName)) {
             throw new IllegalArgumentException("Non-empty 'subscriptionName' required.");
         }
+        checkNoOffsetForAsyncQuery();
 
         realm.sharedRealm.capabilities.checkCanDeliverNotification(ASYNC_QUERY_WRONG_THREAD_MESSAGE);
         return createRealmResults(query, queryDescriptors, false, SubscriptionAction.create(subscriptionName));
@@ -1967,6 +2525,109 @@ public class RealmQuery<E> {
         return this;
     }
 
+    /**
+     * Skips the given number of objects in case the query matched more objects. This can be used to page through the
+     * results of a query, e.g. {@code query.sort("name").offset(200).limit(50)} returns the objects 200 to 249.
+     * <p>
+     * The offset is applied after sorting and distinct, so these must be defined before calling this method. If a
+     * limit is defined before the offset, the objects are skipped from the limited objects. The objects before the
+     * offset are never accessed, but they still have to be sorted. For paging deep into large sorted results, use
+     * {@link #seekAfter(String, Sort, long)} instead.
+     * <p>
+     * Results of a query with an offset cannot be queried asynchronously and change listeners cannot be added to
+     * them.
+     *
+     * @param offset the number of objects to skip, {@code &ge; 0}.
+     * @throws IllegalArgumentException if the provided {@code offset} is less than 0.
+     * @throws IllegalStateException if an offset was already defined.
+     */
+    public RealmQuery<E> offset(long offset) {
+        realm.checkIfValid();
+        if (offset < 0) {
+            throw new IllegalArgumentException("Only positive numbers or 0 is allowed. Yours was: " + offset);
+        }
+        if (offset > 0) {
+            queryDescriptors.setOffset(offset);
+        }
+        return this;
+    }
+
+    /**
+     * Sorts the results by an integer field and only matches the objects sorted after the given value. This is
+     * keyset pagination: passing the value of the last object of the previous page returns the next page. The objects
+     * of the previous pages are never matched or sorted, but all objects after the given value are, before a
+     * {@link #limit(long)} is applied. To only sort the objects of the next page, use {@link #findTop(long)}, e.g.
+     * {@code seekAfter("id", Sort.ASCENDING, lastId).findTop(50)}.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * RealmResults<Item> page = realm.where(Item.class).seekAfter("id", Sort.ASCENDING, lastId).limit(50).findAll();
+     * }
+     * </pre>
+     * The values of the field should be unique, e.g. a primary key. Objects with the same value as the given one are
+     * skipped and objects with a {@code null} value are never matched.
+     *
+     * @param fieldName the integer field to sort and seek by.
+     * @param sortOrder the sort order of the pages.
+     * @param value the value of the last object of the previous page.
+     * @throws IllegalArgumentException if the field name does not exist or is not an integer field.
+     * @throws IllegalStateException if a sorting order was already defined.
+     */
+    public RealmQuery<E> seekAfter(String fieldName, Sort sortOrder, long value) {
+        realm.checkIfValid();
+        sort(fieldName, sortOrder);
+        return (sortOrder == Sort.ASCENDING) ? greaterThan(fieldName, value) : lessThan(fieldName, value);
+    }
+
+    /**
+     * Sorts the results by a double field and only matches the objects sorted after the given value.
+     *
+     * @param fieldName the double field to sort and seek by.
+     * @param sortOrder the sort order of the pages.
+     * @param value the value of the last object of the previous page.
+     * @throws IllegalArgumentException if the field name does not exist or is not a double field.
+     * @throws IllegalStateException if a sorting order was already defined.
+     * @see #seekAfter(String, Sort, long)
+     */
+    public RealmQuery<E> seekAfter(String fieldName, Sort sortOrder, double value) {
+        realm.checkIfValid();
+        sort(fieldName, sortOrder);
+        return (sortOrder == Sort.ASCENDING) ? greaterThan(fieldName, value) : lessThan(fieldName, value);
+    }
+
+    /**
+     * Sorts the results by a float field and only matches the objects sorted after the given value.
+     *
+     * @param fieldName the float field to sort and seek by.
+     * @param sortOrder the sort order of the pages.
+     * @param value the value of the last object of the previous page.
+     * @throws IllegalArgumentException if the field name does not exist or is not a float field.
+     * @throws IllegalStateException if a sorting order was already defined.
+     * @see #seekAfter(String, Sort, long)
+     */
+    public RealmQuery<E> seekAfter(String fieldName, Sort sortOrder, float value) {
+        realm.checkIfValid();
+        sort(fieldName, sortOrder);
+        return (sortOrder == Sort.ASCENDING) ? greaterThan(fieldName, value) : lessThan(fieldName, value);
+    }
+
+    /**
+     * Sorts the results by a date field and only matches the objects sorted after the given value.
+     *
+     * @param fieldName the date field to sort and seek by.
+     * @param sortOrder the sort order of the pages.
+     * @param value the value of the last object of the previous page.
+     * @throws IllegalArgumentException if the field name does not exist or is not a date field.
+     * @throws IllegalStateException if a sorting order was already defined.
+     * @see #seekAfter(String, Sort, long)
+     */
+    public RealmQuery<E> seekAfter(String fieldName, Sort sortOrder, Date value) {
+        realm.checkIfValid();
+        sort(fieldName, sortOrder);
+        return (sortOrder == Sort.ASCENDING) ? greaterThan(fieldName, value) : lessThan(fieldName, value);
+    }
+
     /**
      * This predicate will always match.
      */
@@ -2007,10 +2668,20 @@ public class RealmQuery<E> {
         return (Realm) realm;
     }
 
+    private void checkNoOffsetForAsyncQuery() {
+        if (queryDescriptors.getOffset() > 0) {
+            throw new IllegalStateException("Queries with an offset cannot be run asynchronously.");
+        }
+    }
+
     private boolean isDynamicQuery() {
         return className != null;
     }
 
+    private String getQueryClassName() {
+        return (className != null) ? className : table.getClassName();
+    }
+
     /**
      * Finds the first object that fulfills the query conditions.
      *
@@ -2026,7 +2697,9 @@ public class RealmQuery<E> {
             return null;
         }
 
+        long start = RealmSlowQueryLog.start();
         long tableRowIndex = getSourceRowIndexForFirstObject();
+        RealmSlowQueryLog.report(start, getQueryClassName(), query, queryDescriptors);
         //noinspection unchecked
         return (tableRowIndex < 0) ? null : (E) realm.get((Class<? extends RealmModel>) clazz, className, tableRowIndex);
     }
@@ -2047,6 +2720,7 @@ public class RealmQuery<E> {
         if (forValues) {
             throw new UnsupportedOperationException("findFirstAsync() available only when type parameter 'E' is implementing RealmModel.");
         }
+        checkNoOffsetForAsyncQuery();
 
         realm.sharedRealm.capabilities.checkCanDeliverNotification(ASYNC_QUERY_WRONG_THREAD_MESSAGE);
         Row row;
@@ -2089,7 +2763,6 @@ public class RealmQuery<E> {
                                                DescriptorOrdering queryDescriptors,
                                                boolean loadResults,
                                                SubscriptionAction subscriptionAction) {
-        RealmResults<E> results;
         OsResults osResults;
         if (subscriptionAction.shouldCreateSubscriptions()) {
             osResults = SubscriptionAwareOsResults.createFromQuery(realm.sharedRealm, query, queryDescriptors, subscriptionAction.getName());
@@ -2097,11 +2770,7 @@ public class RealmQuery<E> {
             osResults = OsResults.createFromQuery(realm.sharedRealm, query, queryDescriptors);
         }
 
-        if (isDynamicQuery()) {
-            results = new RealmResults<>(realm, osResults, className);
-        } else {
-            results = new RealmResults<>(realm, osResults, clazz);
-        }
+        RealmResults<E> results = createResults(osResults);
         if (loadResults) {
             results.load();
         }
@@ -2109,9 +2778,22 @@ public class RealmQuery<E> {
         return results;
     }
 
+    private RealmResults<E> createResults(OsResults osResults) {
+        if (isDynamicQuery()) {
+            return new RealmResults<>(realm, osResults, className);
+        } else {
+            return new RealmResults<>(realm, osResults, clazz);
+        }
+    }
+
     private long getSourceRowIndexForFirstObject() {
         if (!queryDescriptors.isEmpty()) {
-            RealmObjectProxy obj = (RealmObjectProxy) findAll().first(null);
+            // Not using findAll() which would report a slow query a second time. Only the first object is needed, so
+            // the sorted results are restricted to it without sorting all matching objects.
+            OsResults osResults = (queryDescriptors.getSortDescriptor() != null && queryDescriptors.getOffset() == 0)
+                    ? OsResults.createTopFromQuery(realm.sharedRealm, query, queryDescriptors, 1)
+                    : OsResults.createFromQuery(realm.sharedRealm, query, queryDescriptors);
+            RealmObjectProxy obj = (RealmObjectProxy) createResults(osResults).first(null);
             if (obj != null) {
                 return obj.realmGet$proxyState().getRow$realm().getIndex();
             } else {
@@ -2122,6 +2804,27 @@ public class RealmQuery<E> {
         }
     }
 
+    // Resolves a field handle without parsing a field description. Only the column index of the handle is used if it is
+    // still valid, otherwise the field is looked up by name.
+    private long[] getColumnIndices(RealmFieldHandle field, @Nullable RealmFieldType expectedType) {
+        RealmSchema realmSchema = realm.getSchema();
+        String queryClassName = getQueryClassName();
+        long columnIndex = field.getColumnIndex(realmSchema, queryClassName);
+        RealmFieldType fieldType = field.getFieldType();
+        if (columnIndex == Table.NO_MATCH) {
+            columnIndex = realmSchema.getFieldLookup(queryClassName).get(field.getFieldName());
+            if (columnIndex == Table.NO_MATCH) {
+                throw new IllegalArgumentException(String.format(Locale.US,
+                        "Invalid query: field '%s' not found in table '%s'.", field.getFieldName(), queryClassName));
+            }
+            fieldType = table.getColumnType(columnIndex);
+        }
+        if (expectedType != null && fieldType != expectedType) {
+            throw new IllegalArgumentException(String.format(Locale.US, TYPE_MISMATCH, field.getFieldName(), expectedType));
+        }
+        return new long[] {columnIndex};
+    }
+
     private SchemaConnector getSchemaConnector() {
         return new SchemaConnector(realm.getSchema());
     }
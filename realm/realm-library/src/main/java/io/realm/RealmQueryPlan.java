@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Locale;
+
+import javax.annotation.Nullable;
+
+import io.realm.annotations.Beta;
+
+
+/**
+ * Describes how a query was executed. Use {@link RealmQuery#explain()} to create one.
+ * <p>
+ * The query is run once to collect the statistics, the same way {@link RealmQuery#findAll()} would run it. The
+ * timings are those of this single run, so they should only be compared between runs of the same query. At most
+ * one search index is used per query, see {@link RealmQuery#findAll()}.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * RealmQueryPlan plan = realm.where(Person.class).equalTo("name", "John").sort("age").explain();
+ * if (!plan.usesIndex()) {
+ *     Log.w(TAG, "Query examines all " + plan.getExaminedCount() + " objects: " + plan.getDescription());
+ * }
+ * }
+ * </pre>
+ */
+@Beta
+public final class RealmQueryPlan {
+
+    private final String description;
+    @Nullable
+    private final String indexedFieldName;
+    private final long examinedCount;
+    private final long matchedCount;
+    private final long resultCount;
+    private final long queryNanos;
+    private final long orderingNanos;
+
+    RealmQueryPlan(String description, @Nullable String indexedFieldName, long examinedCount, long matchedCount,
+            long resultCount, long queryNanos, long orderingNanos) {
+        this.description = description;
+        this.indexedFieldName = indexedFieldName;
+        this.examinedCount = examinedCount;
+        this.matchedCount = matchedCount;
+        this.resultCount = resultCount;
+        this.queryNanos = queryNanos;
+        this.orderingNanos = orderingNanos;
+    }
+
+    /**
+     * Returns a description of the query conditions and of the sort, distinct and limit applied to the results.
+     *
+     * @return the description of the query.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the objects to examine were looked up with the search index of a field.
+     *
+     * @return {@code true} if a search index was used, {@code false} if all objects were examined.
+     */
+    public boolean usesIndex() {
+        return indexedFieldName != null;
+    }
+
+    /**
+     * Returns the field whose search index was used to look up the objects to examine. Only equality and
+     * {@code in()} conditions that are not part of a group and not combined with {@link RealmQuery#or()} can use a
+     * search index.
+     *
+     * @return the name of the indexed field or {@code null} if no search index was used.
+     */
+    @Nullable
+    public String getIndexedFieldName() {
+        return indexedFieldName;
+    }
+
+    /**
+     * Returns the number of objects the query conditions were checked on.
+     *
+     * @return the number of examined objects or {@code -1} if the query is on a {@link RealmList},
+     * {@link RealmResults} or uses {@link RealmQuery#fullTextSearch(String, String)} and the number is not known.
+     */
+    public long getExaminedCount() {
+        return examinedCount;
+    }
+
+    /**
+     * Returns the number of objects matching the query conditions, before any distinct, offset or limit is applied.
+     *
+     * @return the number of matching objects.
+     */
+    public long getMatchedCount() {
+        return matchedCount;
+    }
+
+    /**
+     * Returns the number of objects in the results of the query.
+     *
+     * @return the number of objects {@link RealmQuery#findAll()} would return.
+     */
+    public long getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * Returns the time it took to find the objects matching the query conditions.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getQueryNanos() {
+        return queryNanos;
+    }
+
+    /**
+     * Returns the time it took to apply the sort, distinct and limit to the matching objects.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long getOrderingNanos() {
+        return orderingNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s [%s, examined=%d, matched=%d, results=%d, query=%dns, ordering=%dns]",
+                description, (indexedFieldName != null) ? "index on '" + indexedFieldName + "'" : "no index",
+                examinedCount, matchedCount, resultCount, queryNanos, orderingNanos);
+    }
+}
@@ -20,6 +20,9 @@ package io.realm;
 import android.annotation.SuppressLint;
 import android.os.Looper;
 
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
 import javax.annotation.Nullable;
 
 import io.reactivex.Flowable;
@@ -41,6 +44,12 @@ import io.realm.rx.CollectionChange;
  * update its query results after a transaction has been committed. If on a non-looper thread, {@link Realm#waitForChange()}
  * must be called to update the results.
  * <p>
+ * When a transaction changes a queried class, the query of the results is run again in the background and any sort,
+ * distinct and limit is applied to all matching objects again, so the time it takes to deliver the update grows with
+ * the number of matching objects, not with the size of the change. For large sorted feeds where only the first
+ * objects are shown, prefer {@link RealmQuery#limit(long)} to keep the results and the change sets small, or
+ * {@link RealmQuery#findTop(long)} to load the first objects once without sorting all of them.
+ * <p>
  * Updates to RealmObjects from a RealmResults list must be done from within a transaction and the modified objects are
  * persisted to the Realm file during the commit of the transaction.
  * <p>
@@ -107,6 +116,99 @@ public class RealmResults<E> extends OrderedRealmCollectionImpl<E> {
         return sort(new String[] {fieldName1, fieldName2}, new Sort[] {sortOrder1, sortOrder2});
     }
 
+    /**
+     * Copies the UTF-8 encoded values of a String field for consecutive objects in the results into the given array.
+     * The values are written back to back without transcoding them or creating any {@link String}s, which makes this
+     * method suitable for exporting or hashing large amounts of text:
+     * <pre>
+     * {@code
+     * byte[] buffer = new byte[64 * 1024];
+     * int[] lengths = new int[256];
+     * int start = 0;
+     * while (start < results.size()) {
+     *     int count = results.getStringsUtf8("name", start, buffer, 0, lengths);
+     *     if (count == 0) {
+     *         buffer = new byte[lengths[0]]; // The next value is bigger than the buffer.
+     *         continue;
+     *     }
+     *     // Process lengths[0..count), where -1 denotes null.
+     *     start += count;
+     * }
+     * }
+     * </pre>
+     *
+     * @param fieldName the name of the String field.
+     * @param start the index of the first object to copy the value from.
+     * @param buffer the array to copy to.
+     * @param offset the position in the array to start copying to.
+     * @param lengths receives the length in bytes of each copied value, or {@code -1} for {@code null} values. At most
+     * {@code lengths.length} values are copied.
+     * @return the number of values copied. If this is smaller than requested because the next value didn't fit into
+     * the array, {@code lengths[returnValue]} contains the number of bytes needed for it.
+     * @throws IllegalArgumentException if the field doesn't exist or isn't a String field.
+     * @throws IndexOutOfBoundsException if {@code start} or {@code offset} is out of bounds.
+     */
+    public int getStringsUtf8(String fieldName, int start, byte[] buffer, int offset, int[] lengths) {
+        realm.checkIfValid();
+        long columnIndex = getStringColumnIndex(fieldName, start, lengths);
+        return osResults.getStringsUtf8(columnIndex, start, buffer, offset, lengths);
+    }
+
+    /**
+     * Copies the UTF-8 encoded values of a String field for consecutive objects in the results into the given
+     * buffer, starting at its current position. The position is advanced by the total number of bytes copied.
+     *
+     * @param fieldName the name of the String field.
+     * @param start the index of the first object to copy the value from.
+     * @param buffer the buffer to copy to.
+     * @param lengths receives the length in bytes of each copied value, or {@code -1} for {@code null} values. At most
+     * {@code lengths.length} values are copied.
+     * @return the number of values copied. If this is smaller than requested because the next value didn't fit into
+     * the buffer, {@code lengths[returnValue]} contains the number of bytes needed for it.
+     * @throws IllegalArgumentException if the field doesn't exist or isn't a String field.
+     * @throws IndexOutOfBoundsException if {@code start} is out of bounds.
+     * @see #getStringsUtf8(String, int, byte[], int, int[])
+     */
+    public int getStringsUtf8(String fieldName, int start, ByteBuffer buffer, int[] lengths) {
+        realm.checkIfValid();
+        long columnIndex = getStringColumnIndex(fieldName, start, lengths);
+        return osResults.getStringsUtf8(columnIndex, start, buffer, lengths);
+    }
+
+    private long getStringColumnIndex(String fieldName, int start, int[] lengths) {
+        //noinspection ConstantConditions
+        if (lengths == null) {
+            throw new IllegalArgumentException("Non-null 'lengths' required.");
+        }
+        if (start < 0 || start > size()) {
+            throw new IndexOutOfBoundsException(String.format(Locale.US,
+                    "Start index %d is out of bounds for results of size %d.", start, size()));
+        }
+        Table table = osResults.getTable();
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex == Table.NO_MATCH) {
+            throw new IllegalArgumentException(String.format(Locale.US, "Field '%s' does not exist.", fieldName));
+        }
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException(String.format(Locale.US, "Field '%s' is not a String field.", fieldName));
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Groups the objects in the results by the value of the given field. Call one of the aggregate methods of the
+     * returned {@link RealmGroupBy} to compute the count, sum, average, minimum or maximum of each group in a single
+     * pass over the objects.
+     *
+     * @param fieldName the field to group by. Can be a field of a linked object, e.g. {@code "owner.name"}.
+     * @return a {@link RealmGroupBy} for the objects in the results.
+     * @throws IllegalArgumentException if the field doesn't exist or isn't an integer, boolean, String or date field.
+     */
+    public RealmGroupBy groupBy(String fieldName) {
+        realm.checkIfValid();
+        return new RealmGroupBy(realm, osResults, fieldName);
+    }
+
     /**
      * Returns {@code false} if the results are not yet loaded, {@code true} if they are loaded.
      *
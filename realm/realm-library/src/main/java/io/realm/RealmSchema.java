@@ -28,6 +28,7 @@ import io.realm.internal.ColumnInfo;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
 import io.realm.internal.Util;
+import io.realm.internal.fields.FieldNameLookup;
 import io.realm.internal.util.Pair;
 
 /**
@@ -52,6 +53,10 @@ public abstract class RealmSchema {
     private final Map<Class<? extends RealmModel>, RealmObjectSchema> classToSchema = new HashMap<>();
     // Caches Class Strings to their Schema object
     private final Map<String, RealmObjectSchema> dynamicClassToSchema = new HashMap<>();
+    // Caches Class Strings to the field name lookup used by the dynamic API
+    private final Map<String, FieldNameLookup> dynamicClassToFieldLookup = new HashMap<>();
+    // Incremented every time cached field lookups might have become stale
+    private int fieldLookupGeneration;
 
     final BaseRealm realm;
     // Cached field look up
@@ -249,6 +254,35 @@ public abstract class RealmSchema {
         return dynamicClassToSchema.remove(name);
     }
 
+    /**
+     * Returns the lookup table from field names to column indices for the given class. The result is cached until
+     * {@link #invalidateFieldLookups()} is called.
+     */
+    final FieldNameLookup getFieldLookup(String className) {
+        FieldNameLookup lookup = dynamicClassToFieldLookup.get(className);
+        if (lookup == null) {
+            lookup = FieldNameLookup.create(getTable(className));
+            dynamicClassToFieldLookup.put(className, lookup);
+        }
+        return lookup;
+    }
+
+    /**
+     * Returns a number that changes every time column indices resolved from this schema might have become stale.
+     */
+    final int getFieldLookupGeneration() {
+        return fieldLookupGeneration;
+    }
+
+    /**
+     * Must be called whenever the columns of a class might have changed, e.g. when fields are added, removed or
+     * renamed, or when a write transaction containing such changes is cancelled.
+     */
+    final void invalidateFieldLookups() {
+        dynamicClassToFieldLookup.clear();
+        fieldLookupGeneration++;
+    }
+
     private void checkIndices() {
         if (!haveColumnInfo()) {
             throw new IllegalStateException("Attempt to use column index before set.");
@@ -266,5 +300,6 @@ public abstract class RealmSchema {
         classToTable.clear();
         classToSchema.clear();
         dynamicClassToSchema.clear();
+        invalidateFieldLookups();
     }
 }
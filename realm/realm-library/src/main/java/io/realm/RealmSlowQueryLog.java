@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import io.realm.annotations.Beta;
+import io.realm.internal.TableQuery;
+import io.realm.internal.core.DescriptorOrdering;
+import io.realm.log.RealmLog;
+
+
+/**
+ * Reports queries that take longer than a threshold to run. This is disabled by default.
+ * <p>
+ * The {@link RealmQuery#findAll()}, {@link RealmQuery#findFirst()} and {@link RealmQuery#count()} calls of all Realms
+ * are measured. Slow queries are logged as warnings with {@link RealmLog}, unless a {@link Listener} is set. Use
+ * {@link RealmQuery#explain()} to find out why a reported query is slow.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * RealmSlowQueryLog.enable(50, TimeUnit.MILLISECONDS, (className, description, durationNanos) ->
+ *         analytics.track("slow_query", className, description));
+ * }
+ * </pre>
+ */
+@Beta
+public final class RealmSlowQueryLog {
+
+    /**
+     * Receives the queries that took longer than the threshold. It is called on the thread that ran the query, so
+     * it should return quickly.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a slow query has run.
+         *
+         * @param className the name of the queried class.
+         * @param description a description of the query conditions and of the sort, distinct and limit applied.
+         * @param durationNanos the time the query took in nanoseconds.
+         */
+        void onSlowQuery(String className, String description, long durationNanos);
+    }
+
+    private static final Listener LOG_LISTENER = new Listener() {
+        @Override
+        public void onSlowQuery(String className, String description, long durationNanos) {
+            RealmLog.warn("Slow query on '%s' took %d ms: %s", className,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), description);
+        }
+    };
+
+    // Threshold and listener are replaced together, so a query never sees the threshold of one call with the listener
+    // of another.
+    private static final class Settings {
+        final long thresholdNanos;
+        final Listener listener;
+
+        Settings(long thresholdNanos, Listener listener) {
+            this.thresholdNanos = thresholdNanos;
+            this.listener = listener;
+        }
+    }
+
+    @Nullable
+    private static volatile Settings settings = null;
+
+    private RealmSlowQueryLog() {
+    }
+
+    /**
+     * Starts reporting queries that take longer than the given threshold.
+     *
+     * @param threshold the minimum duration of reported queries.
+     * @param unit the unit of the threshold.
+     * @param listener the listener receiving the slow queries, or {@code null} to log them with {@link RealmLog}.
+     * @throws IllegalArgumentException if the threshold is negative.
+     */
+    public static void enable(long threshold, TimeUnit unit, @Nullable Listener listener) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The threshold cannot be negative: " + threshold);
+        }
+        //noinspection ConstantConditions
+        if (unit == null) {
+            throw new IllegalArgumentException("Non-null 'unit' required.");
+        }
+        settings = new Settings(unit.toNanos(threshold), (listener != null) ? listener : LOG_LISTENER);
+    }
+
+    /**
+     * Stops reporting slow queries.
+     */
+    public static void disable() {
+        settings = null;
+    }
+
+    // Returns the start time to pass to report(), or -1 if slow queries are not reported.
+    static long start() {
+        return (settings != null) ? System.nanoTime() : -1;
+    }
+
+    static void report(long startNanos, String className, TableQuery query, DescriptorOrdering queryDescriptors) {
+        if (startNanos < 0) {
+            return;
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        Settings current = settings;
+        if (current == null || durationNanos < current.thresholdNanos) {
+            return;
+        }
+        current.listener.onSlowQuery(className, query.getDescription(queryDescriptors), durationNanos);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Interface used to report the progress of writing a copy of a Realm to a stream, see
+ * {@link Realm#writeCopyTo(java.io.OutputStream, WriteCopyProgressListener)}.
+ * <p>
+ * The listener is called on the thread writing the copy, after each chunk has been handed to the destination.
+ */
+public interface WriteCopyProgressListener {
+
+    /**
+     * Called after a chunk of the copy has been written to the destination.
+     *
+     * @param bytesWritten the total number of bytes written to the destination so far.
+     */
+    void onProgress(long bytesWritten);
+}
@@ -16,8 +16,11 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Locale;
 
+import javax.annotation.Nullable;
+
 import io.realm.RealmFieldType;
 
 
@@ -149,6 +152,10 @@ public class CheckedRow extends UncheckedRow {
     @Override
     protected native String nativeGetString(long nativePtr, long columnIndex);
 
+    @Override
+    protected native int nativeGetStringUtf8(long nativePtr, long columnIndex, @Nullable ByteBuffer directBuffer,
+            @Nullable byte[] array, int offset, int limit);
+
     @Override
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
 
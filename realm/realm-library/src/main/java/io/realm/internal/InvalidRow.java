@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import io.realm.RealmFieldType;
@@ -89,6 +90,16 @@ public enum InvalidRow implements Row {
         throw getStubException();
     }
 
+    @Override
+    public int getStringUtf8(long columnIndex, byte[] buffer, int offset) {
+        throw getStubException();
+    }
+
+    @Override
+    public int getStringUtf8(long columnIndex, ByteBuffer buffer) {
+        throw getStubException();
+    }
+
     @Override
     public byte[] getBinaryByteArray(long columnIndex) {
         throw getStubException();
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import io.realm.RealmFieldType;
+
+
+/**
+ * Java wrapper of the full-text index tables.
+ * <p>
+ * Every indexed class has a table which is not part of the schema. It has a row per token and field, with an indexed
+ * String column holding the field name and the token, and a list linking to all objects containing the token. A
+ * search looks up its tokens with the string index and restricts the query to the objects linked from the least
+ * common one.
+ * <p>
+ * A second table records the indexed fields of the class. Before a transaction is committed, the objects whose indexed
+ * fields were set in the transaction are indexed again, see {@link #updateChangedObjects(OsSharedRealm)}. The index
+ * tables link to the objects, so they have to be removed or renamed together with the class, see
+ * {@link #removeIndex(OsSharedRealm, String)} and {@link #renameIndex(OsSharedRealm, String, String)}.
+ */
+public class OsFullTextIndex {
+
+    private static final char FIELD_SEPARATOR = ':';
+
+    /**
+     * Splits a text into the lower case words it contains. A word is a sequence of letters and digits.
+     *
+     * @param text the text to split.
+     * @return the distinct words of the text in the order they first appear.
+     */
+    public static String[] tokenize(@Nullable String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<String>();
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean isWordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Replaces the tokens a String field of a row is indexed with. The index table is created if it doesn't exist.
+     *
+     * @param table the table of the row.
+     * @param rowIndex the index of the row.
+     * @param fieldName the name of the String field.
+     * @param text the current value of the field.
+     * @throws IllegalStateException if it is not in a transaction.
+     */
+    public static void update(Table table, long rowIndex, String fieldName, @Nullable String text) {
+        nativeUpdate(table.getSharedRealm().getNativePtr(), table.getNativePtr(), rowIndex, fieldName,
+                fieldName + FIELD_SEPARATOR, toKeys(fieldName, tokenize(text)));
+    }
+
+    /**
+     * Indexes again the objects whose indexed fields were set in the current transaction. The changed objects are
+     * found in the changes of the transaction, so this takes time proportional to the size of the transaction and
+     * does nothing if no field is indexed.
+     *
+     * @param sharedRealm the Realm to update the indices of.
+     * @throws IllegalStateException if it is not in a transaction.
+     */
+    public static void updateChangedObjects(OsSharedRealm sharedRealm) {
+        String[] indexedFields = nativeGetIndexedFields(sharedRealm.getNativePtr());
+        if (indexedFields.length == 0) {
+            return;
+        }
+        Map<String, List<String>> fieldsByClass = new LinkedHashMap<String, List<String>>();
+        for (int i = 0; i < indexedFields.length; i += 2) {
+            List<String> fields = fieldsByClass.get(indexedFields[i]);
+            if (fields == null) {
+                fields = new ArrayList<String>();
+                fieldsByClass.put(indexedFields[i], fields);
+            }
+            fields.add(indexedFields[i + 1]);
+        }
+
+        for (Map.Entry<String, List<String>> entry : fieldsByClass.entrySet()) {
+            String tableName = Table.getTableNameForClass(entry.getKey());
+            if (!sharedRealm.hasTable(tableName)) {
+                continue;
+            }
+            Table table = sharedRealm.getTable(tableName);
+            List<String> fieldNames = new ArrayList<String>();
+            List<Long> columnIndices = new ArrayList<Long>();
+            for (String fieldName : entry.getValue()) {
+                long columnIndex = table.getColumnIndex(fieldName);
+                // The field could have been removed or changed by a migration.
+                if (columnIndex >= 0 && table.getColumnType(columnIndex) == RealmFieldType.STRING) {
+                    fieldNames.add(fieldName);
+                    columnIndices.add(columnIndex);
+                }
+            }
+            if (fieldNames.isEmpty()) {
+                continue;
+            }
+            long[] columns = new long[columnIndices.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columnIndices.get(i);
+            }
+            long[] rowIndices = nativeFindChangedRows(sharedRealm.getNativePtr(), table.getNativePtr(), columns);
+            for (long rowIndex : rowIndices) {
+                for (int i = 0; i < columns.length; i++) {
+                    update(table, rowIndex, fieldNames.get(i), table.getString(columns[i], rowIndex));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the full-text index of a class. This has to be done before the class is removed, since the index
+     * links to its objects.
+     *
+     * @param sharedRealm the Realm containing the class.
+     * @param className the name of the class.
+     * @throws IllegalStateException if it is not in a transaction.
+     */
+    public static void removeIndex(OsSharedRealm sharedRealm, String className) {
+        nativeRemoveIndex(sharedRealm.getNativePtr(), className);
+    }
+
+    /**
+     * Renames the full-text index of a class together with the class.
+     *
+     * @param sharedRealm the Realm containing the class.
+     * @param oldClassName the current name of the class.
+     * @param newClassName the new name of the class.
+     * @throws IllegalStateException if it is not in a transaction.
+     */
+    public static void renameIndex(OsSharedRealm sharedRealm, String oldClassName, String newClassName) {
+        nativeRenameIndex(sharedRealm.getNativePtr(), oldClassName, newClassName);
+    }
+
+    // Restricts a complete query to the objects containing all tokens. See TableQuery#validateQuery().
+    static void restrictQuery(TableQuery query, String[] keys) {
+        OsSharedRealm sharedRealm = query.getTable().getSharedRealm();
+        if (sharedRealm.isInTransaction()) {
+            // Searches in a transaction also find the changes that are not committed yet.
+            updateChangedObjects(sharedRealm);
+        }
+        nativeRestrictQuery(sharedRealm.getNativePtr(), query.getNativePtr(), keys);
+    }
+
+    static String[] toKeys(String fieldName, String[] tokens) {
+        String[] keys = new String[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            keys[i] = fieldName + FIELD_SEPARATOR + tokens[i];
+        }
+        return keys;
+    }
+
+    private static native void nativeUpdate(long sharedRealmPtr, long tablePtr, long rowIndex, String fieldName,
+            String keyPrefix, String[] keys);
+
+    // Returns the class and field names of all indexed fields, alternately.
+    private static native String[] nativeGetIndexedFields(long sharedRealmPtr);
+
+    // Returns the rows whose value was set in one of the columns in the current transaction.
+    private static native long[] nativeFindChangedRows(long sharedRealmPtr, long tablePtr, long[] columnIndices);
+
+    private static native void nativeRestrictQuery(long sharedRealmPtr, long queryPtr, String[] keys);
+
+    private static native void nativeRemoveIndex(long sharedRealmPtr, String className);
+
+    private static native void nativeRenameIndex(long sharedRealmPtr, String oldClassName, String newClassName);
+}
@@ -243,6 +243,31 @@ public class OsObject implements NativeObject {
         }
     }
 
+    /**
+     * Searches the primary key index of the given table for a row with the given primary key value.
+     *
+     * @param table the table to search. It must have a primary key column defined.
+     * @param primaryKeyValue the primary key value.
+     * @return the row index or {@link Table#NO_MATCH} if no row has the given primary key value.
+     */
+    public static long findRowWithPrimaryKey(Table table, @Nullable Object primaryKeyValue) {
+        long primaryKeyColumnIndex = getAndVerifyPrimaryKeyColumnIndex(table);
+        RealmFieldType type = table.getColumnType(primaryKeyColumnIndex);
+
+        if (primaryKeyValue == null) {
+            return table.findFirstNull(primaryKeyColumnIndex);
+        } else if (type == RealmFieldType.STRING) {
+            if (!(primaryKeyValue instanceof String)) {
+                throw new IllegalArgumentException("Primary key value is not a String: " + primaryKeyValue);
+            }
+            return table.findFirstString(primaryKeyColumnIndex, (String) primaryKeyValue);
+        } else if (type == RealmFieldType.INTEGER) {
+            return table.findFirstLong(primaryKeyColumnIndex, Long.parseLong(primaryKeyValue.toString()));
+        } else {
+            throw new RealmException("Cannot search for unsupported primary key type: " + type);
+        }
+    }
+
     public static boolean isObjectIdColumn(String columnName) {
         return OBJECT_ID_COLUMN_NAME.equals(columnName);
     }
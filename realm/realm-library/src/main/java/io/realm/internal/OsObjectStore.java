@@ -26,6 +26,7 @@ import io.realm.RealmConfiguration;
 public class OsObjectStore {
 
     public final static long SCHEMA_NOT_VERSIONED = -1;
+    public final static long SCHEMA_FINGERPRINT_NOT_SET = 0;
 
     /**
      * Sets the primary key field for the given class.
@@ -63,6 +64,24 @@ public class OsObjectStore {
         return nativeGetSchemaVersion(sharedRealm.getNativePtr());
     }
 
+    /**
+     * Stores the fingerprint of the schema in the given {@link OsSharedRealm} together with the current schema version.
+     * The fingerprint is kept in a meta table which is not part of the Realm schema.
+     *
+     * @throws IllegalStateException if it is not in a transaction.
+     */
+    public static void setSchemaFingerprint(OsSharedRealm sharedRealm, long fingerprint) {
+        nativeSetSchemaFingerprint(sharedRealm.getNativePtr(), fingerprint);
+    }
+
+    /**
+     * Returns the schema fingerprint stored in the given {@link OsSharedRealm}. If no fingerprint has been stored, or if
+     * the schema version has changed since it was stored, this will return {@link #SCHEMA_FINGERPRINT_NOT_SET}.
+     */
+    public static long getSchemaFingerprint(OsSharedRealm sharedRealm) {
+        return nativeGetSchemaFingerprint(sharedRealm.getNativePtr());
+    }
+
     /**
      * Deletes the table with the given class name.
      *
@@ -95,6 +114,10 @@ public class OsObjectStore {
 
     private native static long nativeGetSchemaVersion(long sharedRealmPtr);
 
+    private native static void nativeSetSchemaFingerprint(long sharedRealmPtr, long fingerprint);
+
+    private native static long nativeGetSchemaFingerprint(long sharedRealmPtr);
+
     private native static boolean nativeDeleteTableForObject(long sharedRealmPtr, String className);
 
     private native static boolean nativeCallWithLock(String realmPath, Runnable runnable);
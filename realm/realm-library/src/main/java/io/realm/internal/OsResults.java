@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.NoSuchElementException;
@@ -24,6 +25,7 @@ import javax.annotation.Nullable;
 
 import io.realm.OrderedRealmCollectionChangeListener;
 import io.realm.RealmChangeListener;
+import io.realm.RealmGroupedAggregate;
 import io.realm.internal.core.DescriptorOrdering;
 import io.realm.internal.core.QueryDescriptor;
 
@@ -206,6 +208,7 @@ public class OsResults implements NativeObject, ObservableCollection {
     private final Table table;
     protected boolean loaded;
     private boolean isSnapshot = false;
+    private boolean isWindow = false;
 
     protected final ObserverPairList<CollectionObserverPair> observerPairs =
             new ObserverPairList<CollectionObserverPair>();
@@ -220,6 +223,15 @@ public class OsResults implements NativeObject, ObservableCollection {
     @SuppressWarnings("WeakerAccess")
     public static final byte AGGREGATE_FUNCTION_SUM = 4;
 
+    // Indices of the statistics returned by explain(). The indexed column is -1 if no search index is used, and the
+    // examined count is -1 if the query is restricted to a list or results of unknown size.
+    public static final int EXPLAIN_INDEXED_COLUMN = 0;
+    public static final int EXPLAIN_EXAMINED_COUNT = 1;
+    public static final int EXPLAIN_MATCHED_COUNT = 2;
+    public static final int EXPLAIN_RESULT_COUNT = 3;
+    public static final int EXPLAIN_QUERY_NANOS = 4;
+    public static final int EXPLAIN_ORDERING_NANOS = 5;
+
     public enum Aggregate {
         MINIMUM(AGGREGATE_FUNCTION_MINIMUM),
         MAXIMUM(AGGREGATE_FUNCTION_MAXIMUM),
@@ -285,6 +297,20 @@ public class OsResults implements NativeObject, ObservableCollection {
 
     public static OsResults createFromQuery(OsSharedRealm sharedRealm, TableQuery query, DescriptorOrdering queryDescriptors) {
         query.validateQuery();
+        if (queryDescriptors.getOffset() > 0) {
+            long ptr = nativeCreateResultsWithOffset(sharedRealm.getNativePtr(), query.getNativePtr(),
+                    queryDescriptors.getNativePtr(), queryDescriptors.getOffset(),
+                    queryDescriptors.getLimitAfterOffset());
+            OsResults results = new OsResults(sharedRealm, query.getTable(), ptr);
+            results.isWindow = true;
+            return results;
+        }
+        if (query.canRestrictToIndexedCondition()) {
+            long ptr = nativeCreateResultsUsingIndex(sharedRealm.getNativePtr(), query.getNativePtr(),
+                    queryDescriptors.getNativePtr(), query.getIndexedLongColumns(), query.getIndexedLongValues(),
+                    query.getIndexedStringColumns(), query.getIndexedStringValues());
+            return new OsResults(sharedRealm, query.getTable(), ptr);
+        }
         long ptr = nativeCreateResults(sharedRealm.getNativePtr(), query.getNativePtr(), queryDescriptors.getNativePtr());
         return new OsResults(sharedRealm, query.getTable(), ptr);
     }
@@ -293,6 +319,79 @@ public class OsResults implements NativeObject, ObservableCollection {
         return createFromQuery(sharedRealm, query, new DescriptorOrdering());
     }
 
+    /**
+     * Creates results containing the first {@code count} rows of a sorted query, without sorting all matching rows.
+     * <p>
+     * If the query is first sorted by an integer, date, float or double column of the queried table, the matching rows
+     * are scanned once, keeping the {@code count} best values of that column in a bounded heap. Only the rows ranked
+     * up to the last of those values are sorted. The results re-run the query with that bound, so they are only
+     * correct when created. Use a snapshot of them.
+     *
+     * @throws IllegalStateException if the query is not sorted or has an offset.
+     */
+    public static OsResults createTopFromQuery(OsSharedRealm sharedRealm, TableQuery query,
+            DescriptorOrdering queryDescriptors, long count) {
+        QueryDescriptor sortDescriptor = queryDescriptors.getSortDescriptor();
+        if (sortDescriptor == null) {
+            throw new IllegalStateException("A sorting order must be defined to find the first objects.");
+        }
+        if (queryDescriptors.getOffset() > 0) {
+            throw new IllegalStateException("The first objects cannot be found in combination with an offset.");
+        }
+        query.validateQuery();
+        // Distinct is applied after the sort, so it could remove rows ranked before the bound. A limit set before the
+        // sort selects the rows to sort, so the bound cannot be computed over all matching rows either.
+        long columnIndex = -1;
+        long[] columnIndices = sortDescriptor.getColumnIndices()[0];
+        if (!queryDescriptors.isDistinctDefined() && !queryDescriptors.isLimitBeforeSort()
+                && columnIndices.length == 1) {
+            switch (query.getTable().getColumnType(columnIndices[0])) {
+                case INTEGER:
+                case DATE:
+                case FLOAT:
+                case DOUBLE:
+                    columnIndex = columnIndices[0];
+                    break;
+                default:
+                    break;
+            }
+        }
+        long ptr = nativeCreateResultsTop(sharedRealm.getNativePtr(), query.getNativePtr(),
+                queryDescriptors.getNativePtr(), columnIndex, sortDescriptor.getAscendings()[0], count);
+        return new OsResults(sharedRealm, query.getTable(), ptr);
+    }
+
+    /**
+     * Runs a query the same way {@link #createFromQuery(OsSharedRealm, TableQuery, DescriptorOrdering)} does, measuring
+     * how many rows it examines and how long finding and ordering the rows takes. No results are created, so nothing
+     * is cached for later queries.
+     *
+     * @return the statistics of the query, use the {@code EXPLAIN_*} constants to access them.
+     */
+    public static long[] explain(TableQuery query, DescriptorOrdering queryDescriptors) {
+        query.validateQuery();
+        long offset = queryDescriptors.getOffset();
+        long[] stats;
+        if (query.canUseIndexedCondition()) {
+            stats = nativeExplain(query.getNativePtr(), queryDescriptors.getNativePtr(),
+                    offset == 0 && query.canRestrictToIndexedCondition(),
+                    query.getIndexedLongColumns(), query.getIndexedLongValues(),
+                    query.getIndexedStringColumns(), query.getIndexedStringValues());
+        } else {
+            stats = nativeExplain(query.getNativePtr(), queryDescriptors.getNativePtr(), false,
+                    new long[0], new long[0][], new long[0], new String[0][]);
+            if (!query.isOverAllRows()) {
+                stats[EXPLAIN_EXAMINED_COUNT] = -1;
+            }
+        }
+        if (offset > 0) {
+            long count = Math.max(0, stats[EXPLAIN_RESULT_COUNT] - offset);
+            long limit = queryDescriptors.getLimitAfterOffset();
+            stats[EXPLAIN_RESULT_COUNT] = (limit < 0) ? count : Math.min(count, limit);
+        }
+        return stats;
+    }
+
     OsResults(OsSharedRealm sharedRealm, Table table, long nativePtr) {
         this.sharedRealm = sharedRealm;
         this.context = sharedRealm.context;
@@ -358,6 +457,67 @@ public class OsResults implements NativeObject, ObservableCollection {
         return (Date) nativeAggregate(nativePtr, columnIndex, aggregateMethod.getValue());
     }
 
+    /**
+     * Groups the rows by the value of a field and aggregates a column per group in a single pass.
+     *
+     * @param keyColumnIndices the column indices of the path to the grouping field. All but the last one must be
+     * object links.
+     * @param valueColumnIndex the column to aggregate or {@code -1} to only count the rows of each group.
+     * @param aggregateMethod the aggregate function. Ignored if {@code valueColumnIndex} is {@code -1}.
+     * @return the keys and aggregates of all groups in the order the groups were first encountered.
+     */
+    public RealmGroupedAggregate groupBy(long[] keyColumnIndices, long valueColumnIndex,
+            @Nullable Aggregate aggregateMethod) {
+        return nativeGroupBy(nativePtr, table.getNativePtr(), keyColumnIndices, valueColumnIndex,
+                (aggregateMethod == null) ? 0 : aggregateMethod.getValue());
+    }
+
+    /**
+     * Copies the UTF-8 encoded values of a String column for consecutive rows into the given array, without
+     * transcoding them or creating {@link String}s. The values are written back to back, starting at {@code offset}.
+     *
+     * @param columnIndex the column index of the String column.
+     * @param start the index of the first row to copy.
+     * @param buffer the array to copy to.
+     * @param offset the position in the array to start copying to.
+     * @param lengths receives the length in bytes of each copied value, or {@code -1} for {@code null} values. At most
+     * {@code lengths.length} values are copied.
+     * @return the number of values copied. If this is smaller than requested because the next value didn't fit into
+     * the array, {@code lengths[returnValue]} contains the number of bytes needed for it.
+     */
+    public int getStringsUtf8(long columnIndex, int start, byte[] buffer, int offset, int[] lengths) {
+        Utf8Buffers.checkBounds(buffer, offset);
+        return nativeGetStringsUtf8(nativePtr, columnIndex, start, null, buffer, offset, buffer.length, lengths);
+    }
+
+    /**
+     * Copies the UTF-8 encoded values of a String column for consecutive rows into the given buffer, starting at its
+     * current position. The position is advanced by the total number of bytes copied.
+     *
+     * @see #getStringsUtf8(long, int, byte[], int, int[])
+     */
+    public int getStringsUtf8(long columnIndex, int start, ByteBuffer buffer, int[] lengths) {
+        int position = buffer.position();
+        int count;
+        if (buffer.isDirect()) {
+            Utf8Buffers.checkWritable(buffer);
+            count = nativeGetStringsUtf8(nativePtr, columnIndex, start, buffer, null, position, buffer.limit(),
+                    lengths);
+        } else {
+            byte[] array = Utf8Buffers.getArray(buffer);
+            int arrayOffset = buffer.arrayOffset();
+            count = nativeGetStringsUtf8(nativePtr, columnIndex, start, null, array, arrayOffset + position,
+                    arrayOffset + buffer.limit(), lengths);
+        }
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] > 0) {
+                position += lengths[i];
+            }
+        }
+        buffer.position(position);
+        return count;
+    }
+
     public long size() {
         return nativeSize(nativePtr);
     }
@@ -396,6 +556,10 @@ public class OsResults implements NativeObject, ObservableCollection {
     }
 
     public <T> void addListener(T observer, OrderedRealmCollectionChangeListener<T> listener) {
+        if (isWindow) {
+            // The background notifier would re-run the query without the offset.
+            throw new IllegalStateException("Listeners cannot be added to results of a query with an offset.");
+        }
         if (observerPairs.isEmpty()) {
             nativeStartListening(nativePtr);
         }
@@ -477,6 +641,20 @@ public class OsResults implements NativeObject, ObservableCollection {
 
     protected static native long nativeCreateResults(long sharedRealmNativePtr, long queryNativePtr, long descriptorOrderingPtr);
 
+    private static native long nativeCreateResultsUsingIndex(long sharedRealmNativePtr, long queryNativePtr,
+            long descriptorOrderingPtr, long[] longColumnIndices, long[][] longValues, long[] stringColumnIndices,
+            String[][] stringValues);
+
+    private static native long[] nativeExplain(long queryNativePtr, long descriptorOrderingPtr,
+            boolean restrictToIndex, long[] longColumnIndices, long[][] longValues, long[] stringColumnIndices,
+            String[][] stringValues);
+
+    private static native long nativeCreateResultsTop(long sharedRealmNativePtr, long queryNativePtr,
+            long descriptorOrderingPtr, long columnIndex, boolean ascending, long count);
+
+    private static native long nativeCreateResultsWithOffset(long sharedRealmNativePtr, long queryNativePtr,
+            long descriptorOrderingPtr, long offset, long limit);
+
     private static native long nativeCreateSnapshot(long nativePtr);
 
     private static native long nativeGetRow(long nativePtr, int index);
@@ -493,6 +671,12 @@ public class OsResults implements NativeObject, ObservableCollection {
 
     private static native Object nativeAggregate(long nativePtr, long columnIndex, byte aggregateFunc);
 
+    private static native RealmGroupedAggregate nativeGroupBy(long nativePtr, long nativeTablePtr,
+            long[] keyColumnIndices, long valueColumnIndex, byte aggregateFunc);
+
+    private static native int nativeGetStringsUtf8(long nativePtr, long columnIndex, int start,
+            @Nullable ByteBuffer directBuffer, @Nullable byte[] array, int offset, int limit, int[] lengths);
+
     private static native long nativeSort(long nativePtr, QueryDescriptor sortDesc);
 
     private static native long nativeDistinct(long nativePtr, QueryDescriptor distinctDesc);
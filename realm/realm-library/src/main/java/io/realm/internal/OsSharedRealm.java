@@ -16,11 +16,16 @@
 
 package io.realm.internal;
 
+import android.os.SystemClock;
+
 import java.io.Closeable;
 import java.io.File;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.annotation.Nullable;
@@ -128,6 +133,25 @@ public final class OsSharedRealm implements Closeable, NativeObject {
         void onSchemaChanged();
     }
 
+    /**
+     * Receives the chunks of a copy written with {@link #writeCopy(CopyWriter)}.
+     */
+    @Keep
+    public interface CopyWriter {
+        /**
+         * Called from JNI with the next chunk of the copy.
+         *
+         * @param buffer the buffer holding the chunk. It is reused for the next chunk once this method returns.
+         * @param length the number of bytes in the buffer belonging to this chunk.
+         * @throws java.io.IOException if writing the chunk failed. The copy is aborted and the exception is rethrown
+         * by {@link #writeCopy(CopyWriter)}.
+         */
+        void write(byte[] buffer, int length) throws java.io.IOException;
+    }
+
+    // Size of the chunks handed to a CopyWriter.
+    public static final int COPY_CHUNK_SIZE = 256 * 1024;
+
     // Const value for RealmFileException conversion
     public static final byte FILE_EXCEPTION_KIND_ACCESS_ERROR = 0;
     public static final byte FILE_EXCEPTION_KIND_BAD_HISTORY = 1;
@@ -156,6 +180,15 @@ public final class OsSharedRealm implements Closeable, NativeObject {
     private final static List<OsSharedRealm> sharedRealmsUnderConstruction = new CopyOnWriteArrayList<OsSharedRealm>();
     private final List<OsSharedRealm> tempSharedRealmsForCallback = new ArrayList<OsSharedRealm>();
 
+    // All open instances created by getInstance(), used to report which versions of the Realm files are pinned.
+    private final static Map<OsSharedRealm, Boolean> openSharedRealms =
+            Collections.synchronizedMap(new WeakHashMap<OsSharedRealm, Boolean>());
+    // The owner thread writes these, other threads read them through getOpenSharedRealms().
+    private final String ownerThreadName = Thread.currentThread().getName();
+    private final long ownerThreadId = Thread.currentThread().getId();
+    private volatile long pinnedVersion = -1;
+    private volatile long pinnedSinceMillis;
+
     private final List<WeakReference<PendingRow>> pendingRows = new CopyOnWriteArrayList<>();
     // Package protected for testing
     final List<WeakReference<OsResults.Iterator>> iterators = new ArrayList<>();
@@ -188,6 +221,9 @@ public final class OsSharedRealm implements Closeable, NativeObject {
         this.capabilities = capabilities;
         this.realmNotifier = realmNotifier;
         nativeSetAutoRefresh(nativePtr, capabilities.canDeliverNotification());
+
+        updatePinnedVersion();
+        openSharedRealms.put(this, Boolean.TRUE);
     }
 
     /**
@@ -267,14 +303,17 @@ public final class OsSharedRealm implements Closeable, NativeObject {
         detachIterators();
         executePendingRowQueries();
         nativeBeginTransaction(nativePtr);
+        updatePinnedVersion();
     }
 
     public void commitTransaction() {
         nativeCommitTransaction(nativePtr);
+        updatePinnedVersion();
     }
 
     public void cancelTransaction() {
         nativeCancelTransaction(nativePtr);
+        updatePinnedVersion();
     }
 
     public boolean isInTransaction() {
@@ -347,6 +386,67 @@ public final class OsSharedRealm implements Closeable, NativeObject {
 
     public void refresh() {
         nativeRefresh(nativePtr);
+        updatePinnedVersion();
+    }
+
+    /**
+     * Records the version this instance is reading from. Must be called on the owner thread whenever the version
+     * might have changed.
+     */
+    void updatePinnedVersion() {
+        long version = nativeGetVersionID(nativePtr)[0];
+        if (version != pinnedVersion) {
+            pinnedVersion = version;
+            pinnedSinceMillis = SystemClock.elapsedRealtime();
+        }
+    }
+
+    /**
+     * Returns the version of the Realm file this instance is reading from and thus prevents from being cleaned up.
+     * Unlike {@link #getVersionID()}, this can be called from any thread.
+     *
+     * @return the version number.
+     */
+    public long getPinnedVersion() {
+        return pinnedVersion;
+    }
+
+    /**
+     * Returns since when this instance is reading from the version returned by {@link #getPinnedVersion()}, in
+     * milliseconds since boot. This can be called from any thread.
+     *
+     * @return the {@link SystemClock#elapsedRealtime()} when the version was pinned.
+     */
+    public long getPinnedSinceMillis() {
+        return pinnedSinceMillis;
+    }
+
+    public String getOwnerThreadName() {
+        return ownerThreadName;
+    }
+
+    public long getOwnerThreadId() {
+        return ownerThreadId;
+    }
+
+    /**
+     * Returns all open instances on any thread of the Realm file at the given path.
+     *
+     * @param canonicalPath the canonical path of the Realm file.
+     * @return the open instances. Only {@link #getPinnedVersion()}, {@link #getPinnedSinceMillis()},
+     * {@link #getOwnerThreadName()} and {@link #getOwnerThreadId()} may be called on instances belonging to other
+     * threads.
+     */
+    public static List<OsSharedRealm> getOpenSharedRealms(String canonicalPath) {
+        List<OsSharedRealm> result = new ArrayList<OsSharedRealm>();
+        synchronized (openSharedRealms) {
+            for (OsSharedRealm sharedRealm : openSharedRealms.keySet()) {
+                if (sharedRealm.getPath().equals(canonicalPath)) {
+                    result.add(sharedRealm);
+                }
+            }
+        }
+        return result;
     }
 
     public OsSharedRealm.VersionID getVersionID() {
@@ -380,6 +480,17 @@ public final class OsSharedRealm implements Closeable, NativeObject {
         nativeWriteCopy(nativePtr, file.getAbsolutePath(), key);
     }
 
+    /**
+     * Writes a compacted copy of the Realm at the version of the current transaction to the given writer, without
+     * creating any file. The copy is handed to the writer in chunks of {@link #COPY_CHUNK_SIZE} bytes.
+     *
+     * @param writer the writer receiving the copy.
+     * @throws java.io.IOException if thrown by the writer.
+     */
+    public void writeCopy(CopyWriter writer) throws java.io.IOException {
+        nativeWriteCopyToWriter(nativePtr, writer, new byte[COPY_CHUNK_SIZE]);
+    }
+
     public boolean waitForChange() {
         return nativeWaitForChange(nativePtr);
     }
@@ -392,6 +503,17 @@ public final class OsSharedRealm implements Closeable, NativeObject {
         return nativeCompact(nativePtr);
     }
 
+    /**
+     * Returns the space used by the Realm file as recorded by the last commit. Unlike the check done when compacting
+     * on launch, no write transaction is committed to update the numbers first.
+     *
+     * @return an array holding the total size of the file (data + free space) and the bytes used by data, in that
+     * order.
+     */
+    public long[] getSpaceUsage() {
+        return nativeGetSpaceUsage(nativePtr);
+    }
+
     public void setAutoRefresh(boolean enabled) {
         capabilities.checkCanDeliverNotification(null);
         nativeSetAutoRefresh(nativePtr, enabled);
@@ -407,6 +529,7 @@ public final class OsSharedRealm implements Closeable, NativeObject {
 
     @Override
     public void close() {
+        openSharedRealms.remove(this);
         if (realmNotifier != null) {
             realmNotifier.close();
         }
@@ -588,12 +711,18 @@ public final class OsSharedRealm implements Closeable, NativeObject {
 
     private static native void nativeWriteCopy(long nativeSharedRealmPtr, String path, @Nullable byte[] key);
 
+    private static native void nativeWriteCopyToWriter(long nativeSharedRealmPtr, CopyWriter writer, byte[] buffer)
+            throws java.io.IOException;
+
     private static native boolean nativeWaitForChange(long nativeSharedRealmPtr);
 
     private static native void nativeStopWaitForChange(long nativeSharedRealmPtr);
 
     private static native boolean nativeCompact(long nativeSharedRealmPtr);
 
+    // Returns {totalBytes, usedBytes}.
+    private static native long[] nativeGetSpaceUsage(long nativeSharedRealmPtr);
+
     private static native void nativeSetAutoRefresh(long nativePtr, boolean enabled);
 
     private static native boolean nativeIsAutoRefresh(long nativePtr);
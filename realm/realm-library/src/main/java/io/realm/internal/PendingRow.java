@@ -1,6 +1,7 @@
 package io.realm.internal;
 
 import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import javax.annotation.Nullable;
@@ -17,6 +18,10 @@ import io.realm.internal.core.DescriptorOrdering;
  * After the query returns, {@link FrontEnd#onQueryFinished(Row)} will be called to give the front end a chance to reset
  * the row. If the async query returns an empty result, the query will be executed again later until a valid row is
  * contained by the query results.
+ * <p>
+ * A PendingRow created for a primary key lookup doesn't create an {@link OsResults} or register a collection
+ * notifier. The lookup only searches the primary key index, so it is executed on the next iteration of the event loop
+ * of the Realm's thread, or when a write transaction is started before that.
  */
 public class PendingRow implements Row {
 
@@ -33,8 +38,16 @@ public class PendingRow implements Row {
             "The query has been executed. This 'PendingRow' is not valid anymore.";
 
     private OsSharedRealm sharedRealm;
+    @Nullable
     private OsResults pendingOsResults;
+    @Nullable
     private RealmChangeListener<PendingRow> listener;
+    // Set instead of pendingOsResults if the row is found by its primary key.
+    @Nullable
+    private Table lookupTable;
+    @Nullable
+    private Object lookupPrimaryKey;
+    private boolean pending = true;
     private WeakReference<FrontEnd> frontEndRef;
     private boolean returnCheckedRow;
 
@@ -54,6 +67,23 @@ public class PendingRow implements Row {
         sharedRealm.addPendingRow(this);
     }
 
+    public PendingRow(final OsSharedRealm sharedRealm, Table table, @Nullable Object primaryKeyValue,
+                      boolean returnCheckedRow) {
+        this.sharedRealm = sharedRealm;
+        this.lookupTable = table;
+        this.lookupPrimaryKey = primaryKeyValue;
+        this.returnCheckedRow = returnCheckedRow;
+        sharedRealm.addPendingRow(this);
+        sharedRealm.realmNotifier.post(new Runnable() {
+            @Override
+            public void run() {
+                if (pending && !sharedRealm.isClosed()) {
+                    notifyFrontEnd();
+                }
+            }
+        });
+    }
+
     // To set the front end of this PendingRow.
     public void setFrontEnd(FrontEnd frontEnd) {
         this.frontEndRef = new WeakReference<FrontEnd>(frontEnd);
@@ -119,6 +149,16 @@ public class PendingRow implements Row {
         throw new IllegalStateException(QUERY_NOT_RETURNED_MESSAGE);
     }
 
+    @Override
+    public int getStringUtf8(long columnIndex, byte[] buffer, int offset) {
+        throw new IllegalStateException(QUERY_NOT_RETURNED_MESSAGE);
+    }
+
+    @Override
+    public int getStringUtf8(long columnIndex, ByteBuffer buffer) {
+        throw new IllegalStateException(QUERY_NOT_RETURNED_MESSAGE);
+    }
+
     @Override
     public byte[] getBinaryByteArray(long columnIndex) {
         throw new IllegalStateException(QUERY_NOT_RETURNED_MESSAGE);
@@ -215,9 +255,14 @@ public class PendingRow implements Row {
     }
 
     private void clearPendingCollection() {
-        pendingOsResults.removeListener(this, listener);
-        pendingOsResults = null;
-        listener = null;
+        if (pendingOsResults != null) {
+            pendingOsResults.removeListener(this, listener);
+            pendingOsResults = null;
+            listener = null;
+        }
+        lookupTable = null;
+        lookupPrimaryKey = null;
+        pending = false;
         sharedRealm.removePendingRow(this);
     }
 
@@ -232,30 +277,39 @@ public class PendingRow implements Row {
             return;
         }
 
-        if (pendingOsResults.isValid()) {
-            // PendingRow will always get the first Row of the query since we only support findFirst.
-            UncheckedRow uncheckedRow = pendingOsResults.firstUncheckedRow();
-            // Clear the pending collection immediately in case beginTransaction is called in the listener which will
-            // execute the query again.
-            clearPendingCollection();
-            // If no rows returned by the query, notify the frontend with an invalid row.
-            if (uncheckedRow != null) {
-                Row row = returnCheckedRow ? CheckedRow.getFromRow(uncheckedRow) : uncheckedRow;
-                // Ask the front end to reset the row and stop async query.
-                frontEnd.onQueryFinished(row);
-            } else {
-                // No row matches the query, return a invalid row.
-                frontEnd.onQueryFinished(InvalidRow.INSTANCE);
+        UncheckedRow uncheckedRow;
+        if (lookupTable != null) {
+            if (!lookupTable.isValid()) {
+                clearPendingCollection();
+                return;
             }
+            long rowIndex = OsObject.findRowWithPrimaryKey(lookupTable, lookupPrimaryKey);
+            uncheckedRow = (rowIndex == Table.NO_MATCH) ? null : lookupTable.getUncheckedRow(rowIndex);
+        } else if (pendingOsResults.isValid()) {
+            // PendingRow will always get the first Row of the query since we only support findFirst.
+            uncheckedRow = pendingOsResults.firstUncheckedRow();
         } else {
             clearPendingCollection();
+            return;
         }
 
+        // Clear the pending collection immediately in case beginTransaction is called in the listener which will
+        // execute the query again.
+        clearPendingCollection();
+        // If no rows returned by the query, notify the frontend with an invalid row.
+        if (uncheckedRow != null) {
+            Row row = returnCheckedRow ? CheckedRow.getFromRow(uncheckedRow) : uncheckedRow;
+            // Ask the front end to reset the row and stop async query.
+            frontEnd.onQueryFinished(row);
+        } else {
+            // No row matches the query, return a invalid row.
+            frontEnd.onQueryFinished(InvalidRow.INSTANCE);
+        }
     }
 
     // Execute the query immediately and call frontend's onQueryFinished().
     public void executeQuery() {
-        if (pendingOsResults == null) {
+        if (!pending) {
             throw new IllegalStateException(QUERY_EXECUTED_MESSAGE);
         }
 
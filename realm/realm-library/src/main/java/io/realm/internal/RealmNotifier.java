@@ -106,6 +106,9 @@ public abstract class RealmNotifier implements Closeable {
     @SuppressWarnings("unused")
     // called from java_binding_context.cpp
     void didChange() {
+        if (sharedRealm != null && !sharedRealm.isClosed()) {
+            sharedRealm.updatePinnedVersion();
+        }
         realmObserverPairs.foreach(onChangeCallBack);
 
         if (!transactionCallbacks.isEmpty()) {
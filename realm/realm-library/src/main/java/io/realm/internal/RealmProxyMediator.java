@@ -21,6 +21,7 @@ import android.util.JsonReader;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,38 @@ public abstract class RealmProxyMediator {
      */
     public abstract Map<Class<? extends RealmModel>, OsObjectSchemaInfo> getExpectedObjectSchemaInfoMap();
 
+    /**
+     * Returns a fingerprint of the expected schema of the given class. The fingerprint is calculated by the annotation
+     * processor, so it is available without creating the {@link OsObjectSchemaInfo} of the class.
+     *
+     * @param clazz the {@link RealmModel} class reference.
+     * @return the fingerprint of the expected schema. It is never {@code 0}.
+     */
+    public abstract long getSchemaFingerprint(Class<? extends RealmModel> clazz);
+
+    /**
+     * Returns a fingerprint of the expected schema of all classes in this mediator. Two mediators with the same set of
+     * classes and identical expected schemas return the same fingerprint.
+     *
+     * @return the combined fingerprint. It is never {@code 0}.
+     */
+    public final long getExpectedSchemaFingerprint() {
+        Set<Class<? extends RealmModel>> modelClasses = getModelClasses();
+        long[] fingerprints = new long[modelClasses.size()];
+        int i = 0;
+        for (Class<? extends RealmModel> clazz : modelClasses) {
+            fingerprints[i++] = getSchemaFingerprint(clazz);
+        }
+        // The iteration order of the model classes is not defined.
+        Arrays.sort(fingerprints);
+        long hash = 0xcbf29ce484222325L;
+        for (long fingerprint : fingerprints) {
+            hash ^= fingerprint;
+            hash *= 0x100000001b3L;
+        }
+        return (hash == 0) ? 1 : hash;
+    }
+
     /**
      * Creates {@link ColumnInfo} for the given RealmObject class.
      *
@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import javax.annotation.Nullable;
@@ -78,6 +79,29 @@ public interface Row {
 
     String getString(long columnIndex);
 
+    /**
+     * Copies the UTF-8 encoded value of a String column into the given array, without transcoding it or creating a
+     * {@link String}.
+     *
+     * @param columnIndex the column index.
+     * @param buffer the array to copy to.
+     * @param offset the position in the array to start copying to.
+     * @return the length of the value in bytes or {@code -1} if the value is {@code null}. If the value doesn't fit
+     * into the remaining part of the array, nothing is copied.
+     */
+    int getStringUtf8(long columnIndex, byte[] buffer, int offset);
+
+    /**
+     * Copies the UTF-8 encoded value of a String column into the given buffer, starting at its current position. The
+     * position is advanced by the number of bytes copied.
+     *
+     * @param columnIndex the column index.
+     * @param buffer the buffer to copy to.
+     * @return the length of the value in bytes or {@code -1} if the value is {@code null}. If the value doesn't fit
+     * into the remaining part of the buffer, nothing is copied.
+     */
+    int getStringUtf8(long columnIndex, ByteBuffer buffer);
+
     byte[] getBinaryByteArray(long columnIndex);
 
     long getLink(long columnIndex);
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import javax.annotation.Nullable;
+
+
+/**
+ * Bounded cache of {@link String} values read from a single String column, used by the proxies of fields annotated
+ * with {@link io.realm.annotations.Interned}.
+ * <p>
+ * Values are copied as raw UTF-8 into a scratch buffer and looked up by their bytes, so a cache hit neither creates a
+ * {@link String} nor transcodes the value. When a slot is needed and the probed slots are taken, the value in the
+ * first probed slot is replaced, so the cache never grows beyond its capacity.
+ * <p>
+ * Instances are owned by a {@link ColumnInfo} and are thus confined to the thread of their Realm instance.
+ */
+public final class StringCache {
+
+    // Values longer than this are read with Row.getString() and never cached.
+    private static final int MAX_VALUE_LENGTH = 128;
+    private static final int MAX_PROBES = 4;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final byte[] scratch = new byte[MAX_VALUE_LENGTH];
+    private final byte[][] keys;
+    private final String[] values;
+    private final int[] hashes;
+    private final int mask;
+
+    /**
+     * Creates a cache holding up to about {@code maxSize} distinct values.
+     *
+     * @param maxSize the number of distinct values the cache should be able to hold.
+     * @throws IllegalArgumentException if {@code maxSize} is not positive.
+     */
+    public StringCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "The size of the cache must be positive: %d", maxSize));
+        }
+        // Leave room so most values are found at their first probe.
+        int capacity = Integer.highestOneBit(Math.max(1, maxSize * 2 - 1)) << 1;
+        keys = new byte[capacity][];
+        values = new String[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the value of a String column, reusing a previously returned instance if the value has been read before.
+     *
+     * @param row the row to read from.
+     * @param columnIndex the index of the String column.
+     * @return the value, or {@code null} if the value is {@code null}.
+     */
+    @Nullable
+    public String get(Row row, long columnIndex) {
+        int length = row.getStringUtf8(columnIndex, scratch, 0);
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_VALUE_LENGTH) {
+            return row.getString(columnIndex);
+        }
+
+        int hash = hash(scratch, length);
+        int home = hash & mask;
+        int freeSlot = -1;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (home + i) & mask;
+            byte[] key = keys[slot];
+            if (key == null) {
+                freeSlot = slot;
+                break;
+            }
+            if (hashes[slot] == hash && matches(key, length)) {
+                return values[slot];
+            }
+        }
+
+        String value = new String(scratch, 0, length, UTF_8);
+        int slot = (freeSlot != -1) ? freeSlot : home;
+        byte[] key = new byte[length];
+        System.arraycopy(scratch, 0, key, 0, length);
+        keys[slot] = key;
+        values[slot] = value;
+        hashes[slot] = hash;
+        return value;
+    }
+
+    private boolean matches(byte[] key, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != scratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        int h = length;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
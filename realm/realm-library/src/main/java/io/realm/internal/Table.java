@@ -585,7 +585,7 @@ public class Table implements NativeObject {
     public TableQuery where() {
         long nativeQueryPtr = nativeWhere(nativePtr);
         // Copies context reference from parent.
-        return new TableQuery(this.context, this, nativeQueryPtr);
+        return new TableQuery(this.context, this, nativeQueryPtr, true);
     }
 
     public long findFirstLong(long columnIndex, long value) {
@@ -16,12 +16,15 @@
 
 package io.realm.internal;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.annotation.Nullable;
 
 import io.realm.Case;
 import io.realm.Sort;
+import io.realm.internal.core.DescriptorOrdering;
 import io.realm.log.RealmLog;
 
 
@@ -30,6 +33,31 @@ public class TableQuery implements NativeObject {
 
     private static final long nativeFinalizerPtr = nativeGetFinalizerPtr();
 
+    // Public for static checking in JNI
+    @SuppressWarnings("WeakerAccess")
+    public static final byte LIST_AGGREGATE_COUNT = 0;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte LIST_AGGREGATE_SUM = 1;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte LIST_AGGREGATE_AVERAGE = 2;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte LIST_AGGREGATE_MINIMUM = 3;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte LIST_AGGREGATE_MAXIMUM = 4;
+
+    @SuppressWarnings("WeakerAccess")
+    public static final byte COMPARISON_EQUAL = 0;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte COMPARISON_NOT_EQUAL = 1;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte COMPARISON_GREATER = 2;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte COMPARISON_GREATER_EQUAL = 3;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte COMPARISON_LESS = 4;
+    @SuppressWarnings("WeakerAccess")
+    public static final byte COMPARISON_LESS_EQUAL = 5;
+
     // See documentation in that NativeContext for an explanation of how this is used
     @SuppressWarnings("unused")
     private final NativeContext context;
@@ -42,14 +70,39 @@ public class TableQuery implements NativeObject {
     // the first action to validate the syntax of the query.
     private boolean queryValidated = true;
 
+    // True if the query is not restricted to the rows of a list or a table view, see Table#where().
+    private boolean allRows;
+
+    // The full-text search keys the query is restricted by once it is complete, see validateQuery().
+    @Nullable
+    private String[] fullTextKeys;
+
+    // Equality and in() conditions on indexed columns that are combined with AND at the top level of the query, with
+    // a single value for an equality condition. Results created from the query are restricted to the rows matching
+    // the most selective one, see OsResults#createFromQuery(OsSharedRealm, TableQuery, DescriptorOrdering). Anything
+    // that can change how the conditions are combined is tracked conservatively.
+    private int groupDepth = 0;
+    private boolean hasTopLevelOr = false;
+    private boolean pendingNot = false;
+    private boolean hasIndexedInCondition = false;
+    private final List<Long> indexedLongColumns = new ArrayList<Long>();
+    private final List<long[]> indexedLongValues = new ArrayList<long[]>();
+    private final List<Long> indexedStringColumns = new ArrayList<Long>();
+    private final List<String[]> indexedStringValues = new ArrayList<String[]>();
+
     // TODO: Can we protect this?
     public TableQuery(NativeContext context, Table table, long nativeQueryPtr) {
+        this(context, table, nativeQueryPtr, false);
+    }
+
+    TableQuery(NativeContext context, Table table, long nativeQueryPtr, boolean allRows) {
         if (DEBUG) {
             RealmLog.debug("New TableQuery: ptr=%x", nativeQueryPtr);
         }
         this.context = context;
         this.table = table;
         this.nativePtr = nativeQueryPtr;
+        this.allRows = allRows;
         context.addReference(this);
     }
 
@@ -77,6 +130,13 @@ public class TableQuery implements NativeObject {
                 queryValidated = true; // If empty string error message, query is valid
             } else { throw new UnsupportedOperationException(invalidMessage); }
         }
+        if (fullTextKeys != null) {
+            // Restricting the query to the objects of a token wraps all its conditions, so it is only done once they
+            // are complete.
+            OsFullTextIndex.restrictQuery(this, fullTextKeys);
+            fullTextKeys = null;
+            allRows = false;
+        }
     }
 
     // Grouping
@@ -84,24 +144,31 @@ public class TableQuery implements NativeObject {
     public TableQuery group() {
         nativeGroup(nativePtr);
         queryValidated = false;
+        groupDepth++;
+        pendingNot = false;
         return this;
     }
 
     public TableQuery endGroup() {
         nativeEndGroup(nativePtr);
         queryValidated = false;
+        groupDepth--;
         return this;
     }
 
     public TableQuery or() {
         nativeOr(nativePtr);
         queryValidated = false;
+        if (groupDepth == 0) {
+            hasTopLevelOr = true;
+        }
         return this;
     }
 
     public TableQuery not() {
         nativeNot(nativePtr);
         queryValidated = false;
+        pendingNot = true;
         return this;
     }
 
@@ -110,6 +177,11 @@ public class TableQuery implements NativeObject {
     public TableQuery equalTo(long[] columnIndexes, long[] tablePtrs, long value) {
         nativeEqual(nativePtr, columnIndexes, tablePtrs, value);
         queryValidated = false;
+        if (isTopLevelIndexedCondition(columnIndexes)) {
+            indexedLongColumns.add(columnIndexes[0]);
+            indexedLongValues.add(new long[] {value});
+        }
+        pendingNot = false;
         return this;
     }
 
@@ -327,13 +399,16 @@ public class TableQuery implements NativeObject {
     public TableQuery equalTo(long[] columnIndexes, long[] tablePtrs, @Nullable String value, Case caseSensitive) {
         nativeEqual(nativePtr, columnIndexes, tablePtrs, value, caseSensitive.getValue());
         queryValidated = false;
+        if (value != null && caseSensitive == Case.SENSITIVE && isTopLevelIndexedCondition(columnIndexes)) {
+            indexedStringColumns.add(columnIndexes[0]);
+            indexedStringValues.add(new String[] {value});
+        }
+        pendingNot = false;
         return this;
     }
 
     public TableQuery equalTo(long[] columnIndexes, long[] tablePtrs, String value) {
-        nativeEqual(nativePtr, columnIndexes, tablePtrs, value, true);
-        queryValidated = false;
-        return this;
+        return equalTo(columnIndexes, tablePtrs, value, Case.SENSITIVE);
     }
 
     // Not Equals
@@ -397,6 +472,94 @@ public class TableQuery implements NativeObject {
         return this;
     }
 
+    // Primitive lists
+
+    // A row matches if any value of the list equals the given value, or if all do when matchAll is true. An empty
+    // list matches if matchAll is true.
+    public TableQuery listContains(long columnIndex, @Nullable String value, boolean matchAll) {
+        nativeListContains(nativePtr, columnIndex, value, matchAll);
+        queryValidated = false;
+        pendingNot = false;
+        return this;
+    }
+
+    public TableQuery listContains(long columnIndex, long value, boolean matchAll) {
+        nativeListContains(nativePtr, columnIndex, value, matchAll);
+        queryValidated = false;
+        pendingNot = false;
+        return this;
+    }
+
+    public TableQuery listContains(long columnIndex, float value, boolean matchAll) {
+        nativeListContains(nativePtr, columnIndex, value, matchAll);
+        queryValidated = false;
+        pendingNot = false;
+        return this;
+    }
+
+    public TableQuery listContains(long columnIndex, double value, boolean matchAll) {
+        nativeListContains(nativePtr, columnIndex, value, matchAll);
+        queryValidated = false;
+        pendingNot = false;
+        return this;
+    }
+
+    public TableQuery listContains(long columnIndex, boolean value, boolean matchAll) {
+        nativeListContains(nativePtr, columnIndex, value, matchAll);
+        queryValidated = false;
+        pendingNot = false;
+        return this;
+    }
+
+    public TableQuery listContains(long columnIndex, @Nullable Date value, boolean matchAll) {
+        if (value == null) {
+            nativeListContainsNull(nativePtr, columnIndex, matchAll);
+        } else {
+            nativeListContainsTimestamp(nativePtr, columnIndex, value.getTime(), matchAll);
+        }
+        queryValidated = false;
+        pendingNot = false;
+        return this;
+    }
+
+    // Lists
+
+    /**
+     * Compares an aggregate of a list with a value. The count can be compared for all lists, the other aggregates only
+     * for a numeric field of the objects of a {@link io.realm.RealmList} of objects.
+     *
+     * @param listColumnIndex the index of the list column.
+     * @param valueColumnIndex the index of the aggregated column in the target table of the list, ignored for count.
+     * @param aggregate one of the {@code LIST_AGGREGATE_*} constants.
+     * @param comparison one of the {@code COMPARISON_*} constants.
+     * @param value the value to compare the aggregate with.
+     */
+    public TableQuery listAggregate(long listColumnIndex, long valueColumnIndex, byte aggregate, byte comparison,
+            double value) {
+        nativeListAggregate(nativePtr, listColumnIndex, valueColumnIndex, aggregate, comparison, value);
+        queryValidated = false;
+        return this;
+    }
+
+    /**
+     * Compares an aggregate of the objects linking to a row with a value. The condition is evaluated by walking the
+     * backlinks of each row, in the same pass as the other conditions of the query.
+     *
+     * @param sourceTablePtr the native pointer of the table holding the link column.
+     * @param sourceColumnIndex the index of the link or list column in the source table.
+     * @param valueColumnIndex the index of the aggregated column in the source table, ignored for count.
+     * @param aggregate one of the {@code LIST_AGGREGATE_*} constants.
+     * @param comparison one of the {@code COMPARISON_*} constants.
+     * @param value the value to compare the aggregate with.
+     */
+    public TableQuery backlinkAggregate(long sourceTablePtr, long sourceColumnIndex, long valueColumnIndex,
+            byte aggregate, byte comparison, double value) {
+        nativeBacklinkAggregate(nativePtr, sourceTablePtr, sourceColumnIndex, valueColumnIndex, aggregate, comparison,
+                value);
+        queryValidated = false;
+        return this;
+    }
+
     public TableQuery isEmpty(long[] columnIndices, long[] tablePtrs) {
         nativeIsEmpty(nativePtr, columnIndices, tablePtrs);
         queryValidated = false;
@@ -593,6 +756,123 @@ public class TableQuery implements NativeObject {
         return null;
     }
 
+    // In
+    // Matches any of the given values. All equal conditions are added in one native call.
+    public TableQuery in(long[] columnIndices, long[] tablePtrs, long[] values) {
+        nativeIn(nativePtr, columnIndices, tablePtrs, values);
+        queryValidated = false;
+        if (values.length > 0 && isTopLevelIndexedCondition(columnIndices)) {
+            indexedLongColumns.add(columnIndices[0]);
+            indexedLongValues.add(values.clone());
+            hasIndexedInCondition |= values.length > 1;
+        }
+        pendingNot = false;
+        return this;
+    }
+
+    public TableQuery in(long[] columnIndices, long[] tablePtrs, String[] values, Case caseSensitive) {
+        nativeIn(nativePtr, columnIndices, tablePtrs, values, caseSensitive.getValue());
+        queryValidated = false;
+        if (values.length > 0 && caseSensitive == Case.SENSITIVE && !containsNull(values)
+                && isTopLevelIndexedCondition(columnIndices)) {
+            indexedStringColumns.add(columnIndices[0]);
+            indexedStringValues.add(values.clone());
+            hasIndexedInCondition |= values.length > 1;
+        }
+        pendingNot = false;
+        return this;
+    }
+
+    private static boolean containsNull(Object[] values) {
+        for (Object value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isTopLevelIndexedCondition(long[] columnIndexes) {
+        return allRows && groupDepth == 0 && !pendingNot && columnIndexes.length == 1
+                && table.hasSearchIndex(columnIndexes[0]);
+    }
+
+    // Returns true if all rows matching the query also match any of its indexed conditions.
+    boolean canUseIndexedCondition() {
+        return allRows && fullTextKeys == null && !hasTopLevelOr
+                && indexedLongColumns.size() + indexedStringColumns.size() > 0;
+    }
+
+    // Returns true if results of the query can be restricted to the rows matching one of its indexed conditions. This
+    // is only worth it if there is more than one or an in() condition, otherwise core already uses the index.
+    boolean canRestrictToIndexedCondition() {
+        return canUseIndexedCondition()
+                && (indexedLongColumns.size() + indexedStringColumns.size() > 1 || hasIndexedInCondition);
+    }
+
+    // Returns true if the query is not restricted to a list, results or a full-text search.
+    boolean isOverAllRows() {
+        return allRows;
+    }
+
+    /**
+     * Returns a human readable description of the conditions of the query and the given ordering.
+     *
+     * @param queryDescriptors the sort, distinct and limit applied to the query results.
+     * @return the description of the query.
+     */
+    public String getDescription(DescriptorOrdering queryDescriptors) {
+        validateQuery();
+        return nativeGetDescription(nativePtr, queryDescriptors.getNativePtr());
+    }
+
+    long[] getIndexedLongColumns() {
+        return toLongArray(indexedLongColumns);
+    }
+
+    long[][] getIndexedLongValues() {
+        return indexedLongValues.toArray(new long[0][]);
+    }
+
+    long[] getIndexedStringColumns() {
+        return toLongArray(indexedStringColumns);
+    }
+
+    String[][] getIndexedStringValues() {
+        return indexedStringValues.toArray(new String[0][]);
+    }
+
+    private static long[] toLongArray(List<Long> list) {
+        long[] array = new long[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Restricts the query to the rows whose String field contains all the given tokens, see {@link OsFullTextIndex}.
+     * The restriction applies to the whole query regardless of groups and {@link #or()}.
+     *
+     * @throws IllegalStateException if the query is restricted to the rows of a list or a table view.
+     */
+    public TableQuery fullTextSearch(String fieldName, String[] tokens) {
+        if (!allRows) {
+            throw new IllegalStateException(
+                    "A full-text search is only supported by queries of all objects of a class.");
+        }
+        String[] keys = OsFullTextIndex.toKeys(fieldName, tokens);
+        if (fullTextKeys == null) {
+            fullTextKeys = keys;
+        } else {
+            String[] allKeys = new String[fullTextKeys.length + keys.length];
+            System.arraycopy(fullTextKeys, 0, allKeys, 0, fullTextKeys.length);
+            System.arraycopy(keys, 0, allKeys, fullTextKeys.length, keys.length);
+            fullTextKeys = allKeys;
+        }
+        return this;
+    }
+
     // isNull and isNotNull
     public TableQuery isNull(long[] columnIndices, long[] tablePtrs) {
         nativeIsNull(nativePtr, columnIndices, tablePtrs);
@@ -646,6 +926,8 @@ public class TableQuery implements NativeObject {
 
     private native String nativeValidateQuery(long nativeQueryPtr);
 
+    private native String nativeGetDescription(long nativeQueryPtr, long descriptorOrderingPtr);
+
     private native void nativeGroup(long nativeQueryPtr);
 
     private native void nativeEndGroup(long nativeQueryPtr);
@@ -718,6 +1000,10 @@ public class TableQuery implements NativeObject {
 
     private native void nativeEqual(long nativeQueryPtr, long[] columnIndexes, long[] tablePtrs, @Nullable String value, boolean caseSensitive);
 
+    private native void nativeIn(long nativeQueryPtr, long[] columnIndices, long[] tablePtrs, long[] values);
+
+    private native void nativeIn(long nativeQueryPtr, long[] columnIndices, long[] tablePtrs, String[] values, boolean caseSensitive);
+
     private native void nativeNotEqual(long nativeQueryPtr, long[] columnIndex, long[] tablePtrs, @Nullable String value, boolean caseSensitive);
 
     private native void nativeBeginsWith(long nativeQueryPtr, long[] columnIndices, long[] tablePtrs, String value, boolean caseSensitive);
@@ -728,6 +1014,28 @@ public class TableQuery implements NativeObject {
 
     private native void nativeContains(long nativeQueryPtr, long[] columnIndices, long[] tablePtrs, String value, boolean caseSensitive);
 
+    private native void nativeListContains(long nativeQueryPtr, long columnIndex, @Nullable String value,
+            boolean matchAll);
+
+    private native void nativeListContains(long nativeQueryPtr, long columnIndex, long value, boolean matchAll);
+
+    private native void nativeListContains(long nativeQueryPtr, long columnIndex, float value, boolean matchAll);
+
+    private native void nativeListContains(long nativeQueryPtr, long columnIndex, double value, boolean matchAll);
+
+    private native void nativeListContains(long nativeQueryPtr, long columnIndex, boolean value, boolean matchAll);
+
+    private native void nativeListContainsTimestamp(long nativeQueryPtr, long columnIndex, long value,
+            boolean matchAll);
+
+    private native void nativeListContainsNull(long nativeQueryPtr, long columnIndex, boolean matchAll);
+
+    private native void nativeListAggregate(long nativeQueryPtr, long listColumnIndex, long valueColumnIndex,
+            byte aggregate, byte comparison, double value);
+
+    private native void nativeBacklinkAggregate(long nativeQueryPtr, long sourceTablePtr, long sourceColumnIndex,
+            long valueColumnIndex, byte aggregate, byte comparison, double value);
+
     private native void nativeIsEmpty(long nativePtr, long[] columnIndices, long[] tablePtrs);
 
     private native void nativeIsNotEmpty(long nativePtr, long[] columnIndices, long[] tablePtrs);
@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 import javax.annotation.Nullable;
@@ -157,6 +158,31 @@ public class UncheckedRow implements NativeObject, Row {
         return nativeGetString(nativePtr, columnIndex);
     }
 
+    @Override
+    public int getStringUtf8(long columnIndex, byte[] buffer, int offset) {
+        Utf8Buffers.checkBounds(buffer, offset);
+        return nativeGetStringUtf8(nativePtr, columnIndex, null, buffer, offset, buffer.length);
+    }
+
+    @Override
+    public int getStringUtf8(long columnIndex, ByteBuffer buffer) {
+        int position = buffer.position();
+        int size;
+        if (buffer.isDirect()) {
+            Utf8Buffers.checkWritable(buffer);
+            size = nativeGetStringUtf8(nativePtr, columnIndex, buffer, null, position, buffer.limit());
+        } else {
+            byte[] array = Utf8Buffers.getArray(buffer);
+            int arrayOffset = buffer.arrayOffset();
+            size = nativeGetStringUtf8(nativePtr, columnIndex, null, array, arrayOffset + position,
+                    arrayOffset + buffer.limit());
+        }
+        if (size > 0 && size <= buffer.remaining()) {
+            buffer.position(position + size);
+        }
+        return size;
+    }
+
     @Override
     public byte[] getBinaryByteArray(long columnIndex) {
         return nativeGetByteArray(nativePtr, columnIndex);
@@ -317,6 +343,9 @@ public class UncheckedRow implements NativeObject, Row {
 
     protected native String nativeGetString(long nativePtr, long columnIndex);
 
+    protected native int nativeGetStringUtf8(long nativePtr, long columnIndex, @Nullable ByteBuffer directBuffer,
+            @Nullable byte[] array, int offset, int limit);
+
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
 
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex);
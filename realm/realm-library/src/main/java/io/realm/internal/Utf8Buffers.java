@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Locale;
+
+
+/**
+ * Argument checks shared by the methods copying raw UTF-8 strings into caller supplied buffers. The native code
+ * writes directly into the buffers, so all bounds must be verified before crossing the JNI boundary.
+ */
+final class Utf8Buffers {
+
+    private Utf8Buffers() {
+    }
+
+    static void checkBounds(byte[] buffer, int offset) {
+        //noinspection ConstantConditions
+        if (buffer == null) {
+            throw new IllegalArgumentException("Non-null 'buffer' required.");
+        }
+        if (offset < 0 || offset > buffer.length) {
+            throw new IndexOutOfBoundsException(String.format(Locale.US,
+                    "Offset %d is out of bounds for a buffer of length %d.", offset, buffer.length));
+        }
+    }
+
+    static void checkWritable(ByteBuffer buffer) {
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+    }
+
+    // Returns the backing array of a non-direct buffer.
+    static byte[] getArray(ByteBuffer buffer) {
+        if (!buffer.hasArray()) {
+            // Heap buffers only hide their array if they are read-only.
+            throw new ReadOnlyBufferException();
+        }
+        return buffer.array();
+    }
+}
@@ -16,13 +16,15 @@
 
 package io.realm.internal.core;
 
+import javax.annotation.Nullable;
+
 import io.realm.internal.NativeObject;
 import io.realm.internal.OsSharedRealm;
 import io.realm.internal.TableQuery;
 
 /**
  * Java class wrapping the native {@code realm::DescriptorOrdering} class. This class
- * is used to track sort/distinct/limit criterias on a query.
+ * is used to track sort/distinct/limit/offset criterias on a query.
  */
 public class DescriptorOrdering implements NativeObject {
 
@@ -37,6 +39,16 @@ public class DescriptorOrdering implements NativeObject {
     private boolean distinctDefined = false;
     private boolean limitDefined = false;
 
+    // Core has no offset descriptor, so the offset and a limit defined after it are applied when the results are
+    // created, see OsResults#createFromQuery(OsSharedRealm, TableQuery, DescriptorOrdering).
+    private long offset = 0;
+    private long limitAfterOffset = -1;
+
+    // Kept to find the first sort column of top results, see OsResults#createTopFromQuery().
+    @Nullable
+    private QueryDescriptor sortDescriptor = null;
+    private boolean limitBeforeSort = false;
+
     /**
      * Creates a standalone DescriptorOrdering. This only achieves meaning when combined with
      * a RealmQuery object.
@@ -66,8 +78,11 @@ public class DescriptorOrdering implements NativeObject {
         if (sortDefined) {
             throw new IllegalStateException("A sorting order was already defined. It cannot be redefined");
         }
+        checkOffsetNotDefined("A sorting order");
         nativeAppendSort(nativePtr, descriptor);
         sortDefined = true;
+        sortDescriptor = descriptor;
+        limitBeforeSort = limitDefined;
     }
 
     /**
@@ -79,6 +94,7 @@ public class DescriptorOrdering implements NativeObject {
         if (distinctDefined) {
             throw new IllegalStateException("A distinct field was already defined. It cannot be redefined");
         }
+        checkOffsetNotDefined("A distinct field");
         nativeAppendDistinct(nativePtr, descriptor);
         distinctDefined = true;
     }
@@ -92,15 +108,80 @@ public class DescriptorOrdering implements NativeObject {
         if (limitDefined) {
             throw new IllegalStateException("A limit was already set. It cannot be redefined.");
         }
-        nativeAppendLimit(nativePtr, limit);
+        if (offset > 0) {
+            limitAfterOffset = limit;
+        } else {
+            nativeAppendLimit(nativePtr, limit);
+        }
         limitDefined = true;
     }
 
     /**
-     * Returns true if no descriptors or limits have been added.
+     * Sets the number of objects to skip. If a limit was set before, the objects are skipped from the limited
+     * objects, otherwise a limit set afterwards counts from the first object not skipped.
+     *
+     * @param offset the number of objects to skip.
+     */
+    public void setOffset(long offset) {
+        if (this.offset > 0) {
+            throw new IllegalStateException("An offset was already set. It cannot be redefined.");
+        }
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the number of objects to skip.
+     *
+     * @return the offset or {@code 0} if no offset was set.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the limit that was set after the offset.
+     *
+     * @return the maximum amount of objects returned after skipping the offset or {@code -1} if there is none.
+     */
+    public long getLimitAfterOffset() {
+        return limitAfterOffset;
+    }
+
+    /**
+     * Returns the sort criteria.
+     *
+     * @return the description of the sort or {@code null} if no sort was defined.
+     */
+    @Nullable
+    public QueryDescriptor getSortDescriptor() {
+        return sortDescriptor;
+    }
+
+    /**
+     * Returns true if the limit was set before the sort, so only the limited objects are sorted.
+     */
+    public boolean isLimitBeforeSort() {
+        return limitBeforeSort;
+    }
+
+    /**
+     * Returns true if a distinct criteria has been added.
+     */
+    public boolean isDistinctDefined() {
+        return distinctDefined;
+    }
+
+    /**
+     * Returns true if no descriptors, limits or offsets have been added.
      */
     public boolean isEmpty() {
-        return nativeIsEmpty(nativePtr);
+        return offset == 0 && nativeIsEmpty(nativePtr);
+    }
+
+    private void checkOffsetNotDefined(String descriptor) {
+        if (offset > 0) {
+            throw new IllegalStateException(descriptor + " must be defined before the offset.");
+        }
     }
 
 
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm.internal.fields;
+
+import io.realm.internal.Table;
+
+
+/**
+ * Immutable lookup table from field names to column indices of a single class.
+ * <p>
+ * The table is built once per class and searches for a hash seed that places every field name in its own slot, so a
+ * lookup is a single array access followed by a string comparison. Field names are interned, which means the
+ * comparison is a reference check for names coming from string literals or from {@link io.realm.RealmFieldHandle}s.
+ * If no perfect placement can be found, e.g. because two field names share the same hash code, the table falls back
+ * to linear probing.
+ * <p>
+ * Instances are never modified after they have been created and can be shared between threads.
+ */
+public final class FieldNameLookup {
+
+    private static final int MAX_SEED_ATTEMPTS = 32;
+    private static final int MAX_LOAD_FACTOR_SHIFT = 3;
+
+    private final String[] keys;
+    private final long[] values;
+    private final int mask;
+    private final int seed;
+
+    /**
+     * Creates a lookup table for all columns in the given table.
+     *
+     * @param table the table to create the lookup for.
+     * @return the lookup table.
+     */
+    public static FieldNameLookup create(Table table) {
+        int columnCount = (int) table.getColumnCount();
+        String[] names = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = table.getColumnName(i);
+        }
+        return create(names);
+    }
+
+    /**
+     * Creates a lookup table where each field name maps to its position in the given array.
+     *
+     * @param fieldNames the field names. Must not contain duplicates.
+     * @return the lookup table.
+     */
+    public static FieldNameLookup create(String[] fieldNames) {
+        int minCapacity = Integer.highestOneBit(Math.max(1, fieldNames.length * 2 - 1)) << 1;
+        for (int capacity = minCapacity; capacity <= (minCapacity << MAX_LOAD_FACTOR_SHIFT); capacity <<= 1) {
+            for (int seed = 0; seed < MAX_SEED_ATTEMPTS; seed++) {
+                FieldNameLookup lookup = new FieldNameLookup(capacity, seed);
+                if (lookup.fill(fieldNames, true)) {
+                    return lookup;
+                }
+            }
+        }
+        FieldNameLookup lookup = new FieldNameLookup(minCapacity, 0);
+        lookup.fill(fieldNames, false);
+        return lookup;
+    }
+
+    private FieldNameLookup(int capacity, int seed) {
+        this.keys = new String[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        this.seed = seed;
+    }
+
+    // Returns false if 'perfectOnly' is set and two field names ended up in the same slot.
+    private boolean fill(String[] fieldNames, boolean perfectOnly) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            String name = fieldNames[i].intern();
+            int slot = slot(name.hashCode());
+            while (keys[slot] != null) {
+                if (perfectOnly) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = name;
+            values[slot] = i;
+        }
+        return true;
+    }
+
+    private int slot(int hashCode) {
+        int h = (hashCode ^ (seed * 0x61C88647)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the column index of the given field.
+     *
+     * @param fieldName the field name to look up.
+     * @return the column index or {@link Table#NO_MATCH} if the field does not exist.
+     * @throws IllegalArgumentException if the field name is {@code null}.
+     */
+    public long get(String fieldName) {
+        //noinspection ConstantConditions
+        if (fieldName == null) {
+            throw new IllegalArgumentException("Column name can not be null.");
+        }
+        int slot = slot(fieldName.hashCode());
+        String key;
+        while ((key = keys[slot]) != null) {
+            //noinspection StringEquality
+            if (key == fieldName || key.equals(fieldName)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return Table.NO_MATCH;
+    }
+}
@@ -87,6 +87,12 @@ public class CompositeMediator extends RealmProxyMediator {
         return infoMap;
     }
 
+    @Override
+    public long getSchemaFingerprint(Class<? extends RealmModel> clazz) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.getSchemaFingerprint(clazz);
+    }
+
     @Override
     public ColumnInfo createColumnInfo(Class<? extends RealmModel> clazz, OsSchemaInfo osSchemaInfo) {
         RealmProxyMediator mediator = getMediator(clazz);
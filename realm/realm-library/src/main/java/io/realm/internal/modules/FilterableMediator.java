@@ -85,6 +85,12 @@ public class FilterableMediator extends RealmProxyMediator {
         return infoMap;
     }
 
+    @Override
+    public long getSchemaFingerprint(Class<? extends RealmModel> clazz) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.getSchemaFingerprint(clazz);
+    }
+
     @Override
     public ColumnInfo createColumnInfo(Class<? extends RealmModel> clazz, OsSchemaInfo osSchemaInfo) {
         checkSchemaHasClass(clazz);
@@ -0,0 +1,724 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import io.realm.internal.Util;
+import io.realm.internal.async.RealmAsyncTaskImpl;
+import io.realm.internal.async.RealmThreadPoolExecutor;
+import io.realm.internal.permissions.BasePermissionApi;
+import io.realm.internal.permissions.PermissionChange;
+import io.realm.internal.permissions.PermissionOfferResponse;
+import io.realm.log.RealmLog;
+import io.realm.permissions.Permission;
+import io.realm.permissions.PermissionOffer;
+import io.realm.permissions.PermissionRequest;
+
+
+/**
+ * Variant of the {@link PermissionManager} that is not bound to a Looper thread.
+ * <p>
+ * All underlying Realms are opened once per user on a dedicated background thread, and all tasks are executed
+ * serially on that thread. Results are delivered as unmanaged copies taken from live {@link RealmResults} kept on
+ * the background thread, so they can be used from any thread.
+ * <p>
+ * Callbacks are invoked on the {@link Executor} provided when obtaining the instance through
+ * {@link SyncUser#getBackgroundPermissionManager(Executor)}, or on the background thread if no executor was provided.
+ * <p>
+ * Multiple permission changes or offers can be batched into a single write using
+ * {@link #applyPermissions(List, ApplyPermissionsCallback)} and {@link #makeOffers(List, MakeOffersCallback)}.
+ * <p>
+ * Instances are reference counted per user and must be closed after use to avoid leaking resources.
+ */
+public class BackgroundPermissionManager implements Closeable {
+
+    // Reference counted cache. Unlike the PermissionManager, instances are not thread confined.
+    private static final Map<String, BackgroundPermissionManager> instances = new HashMap<>();
+    private static final Object instancesLock = new Object();
+
+    // Bounds for how often the management Realm is checked for responses from the server.
+    private static final long MIN_POLL_INTERVAL_MS = 50;
+    private static final long MAX_POLL_INTERVAL_MS = 1000;
+
+    /**
+     * Returns a reference counted instance of the BackgroundPermissionManager.
+     *
+     * @param syncUser user to create the BackgroundPermissionManager for.
+     * @param callbackExecutor executor used to deliver callbacks. If {@code null}, callbacks are delivered on the
+     * background thread. Only used if no instance already exists for the user.
+     * @return the BackgroundPermissionManager instance for the provided user.
+     */
+    static BackgroundPermissionManager getInstance(SyncUser syncUser, @Nullable Executor callbackExecutor) {
+        synchronized (instancesLock) {
+            String userId = syncUser.getIdentity();
+            BackgroundPermissionManager pm = instances.get(userId);
+            if (pm == null) {
+                pm = new BackgroundPermissionManager(syncUser, callbackExecutor);
+                instances.put(userId, pm);
+            }
+            pm.instanceCounter++;
+            return pm;
+        }
+    }
+
+    private final SyncUser user;
+    private final Executor callbackExecutor;
+    // Single thread that owns all underlying Realms.
+    private final RealmThreadPoolExecutor worker = RealmThreadPoolExecutor.newSingleThreadExecutor();
+
+    final SyncConfiguration managementRealmConfig;
+    final SyncConfiguration permissionRealmConfig;
+    final SyncConfiguration defaultPermissionRealmConfig;
+
+    // Guarded by instancesLock
+    private int instanceCounter = 0;
+    private volatile boolean closed = false;
+
+    // Errors might be reported on other threads than the worker thread.
+    private final Object errorLock = new Object();
+    private ObjectServerError managementRealmError = null;
+    private ObjectServerError permissionRealmError = null;
+
+    // Only accessed from the worker thread.
+    private Realm managementRealm;
+    private Realm permissionRealm;
+    private Realm defaultPermissionRealm;
+    private RealmResults<Permission> userPermissions;
+    private RealmResults<Permission> defaultPermissions;
+    private RealmResults<PermissionOffer> offers;
+
+    private BackgroundPermissionManager(SyncUser user, @Nullable Executor callbackExecutor) {
+        this.user = user;
+        this.callbackExecutor = callbackExecutor;
+        managementRealmConfig = PermissionManager.createManagementRealmConfig(user, new SyncSession.ErrorHandler() {
+            @Override
+            public void onError(SyncSession session, ObjectServerError error) {
+                synchronized (errorLock) {
+                    managementRealmError = error;
+                }
+            }
+        });
+        permissionRealmConfig = PermissionManager.createPermissionRealmConfig(user, new SyncSession.ErrorHandler() {
+            @Override
+            public void onError(SyncSession session, ObjectServerError error) {
+                RealmLog.error("Error in __permission:\n" + error.toString());
+                synchronized (errorLock) {
+                    permissionRealmError = error;
+                }
+            }
+        });
+        defaultPermissionRealmConfig = PermissionManager.createDefaultPermissionRealmConfig(user, new SyncSession.ErrorHandler() {
+            @Override
+            public void onError(SyncSession session, ObjectServerError error) {
+                // Default permissions are optional, just as in the PermissionManager.
+                RealmLog.error("Error in __wildcardpermissions:\n" + error.toString());
+            }
+        });
+    }
+
+    /**
+     * Retrieves the list of permissions for all Realms available to this user.
+     *
+     * @param callback callback notified with an unmanaged snapshot of the permissions.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     */
+    public RealmAsyncTask getPermissions(PermissionsCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        return submit(callback, new Operation<List<Permission>>() {
+            @Override
+            public List<Permission> execute() {
+                if (userPermissions == null) {
+                    userPermissions = permissionRealm.where(Permission.class).findAll();
+                }
+                permissionRealm.refresh();
+                return permissionRealm.copyFromRealm(userPermissions);
+            }
+        }, new Delivery<List<Permission>>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, List<Permission> result) {
+                ((PermissionsCallback) callback).onSuccess(result);
+            }
+        });
+    }
+
+    /**
+     * Returns the default permissions for all Realms. The default permissions are the ones that will be used if no
+     * user specific permissions is in effect.
+     *
+     * @param callback callback notified with an unmanaged snapshot of the default permissions.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     */
+    public RealmAsyncTask getDefaultPermissions(PermissionsCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        return submit(callback, new Operation<List<Permission>>() {
+            @Override
+            public List<Permission> execute() {
+                if (defaultPermissionRealm == null) {
+                    return Collections.emptyList();
+                }
+                if (defaultPermissions == null) {
+                    defaultPermissions = defaultPermissionRealm.where(Permission.class).findAll();
+                }
+                defaultPermissionRealm.refresh();
+                return defaultPermissionRealm.copyFromRealm(defaultPermissions);
+            }
+        }, new Delivery<List<Permission>>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, List<Permission> result) {
+                ((PermissionsCallback) callback).onSuccess(result);
+            }
+        });
+    }
+
+    /**
+     * Applies a given set of permissions to a Realm.
+     *
+     * @param request request object describing which permissions to grant and to what Realm(s).
+     * @param callback callback when the request either succeeded or failed.
+     * @return async task representing the request. This can be used to cancel it if needed.
+     * @see PermissionManager#applyPermissions(PermissionRequest, PermissionManager.ApplyPermissionsCallback)
+     */
+    public RealmAsyncTask applyPermissions(PermissionRequest request, ApplyPermissionsCallback callback) {
+        return applyPermissions(Collections.singletonList(request), callback);
+    }
+
+    /**
+     * Applies multiple permission requests using a single write transaction. The callback is not notified until the
+     * server has processed all of them. If the server rejects any of the requests, the first error is reported.
+     *
+     * @param requests requests describing which permissions to grant and to what Realm(s).
+     * @param callback callback when all requests either succeeded or one of them failed.
+     * @return async task representing the requests. This can be used to cancel it if needed.
+     */
+    public RealmAsyncTask applyPermissions(List<PermissionRequest> requests, ApplyPermissionsCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        checkNotEmpty(requests, "requests");
+        final List<PermissionChange> changes = new ArrayList<>(requests.size());
+        for (PermissionRequest request : requests) {
+            changes.add(PermissionChange.fromRequest(request));
+        }
+        return submit(callback, new Operation<Void>() {
+            @Override
+            public Void execute() throws InterruptedException {
+                writeAndAwaitProcessing(PermissionChange.class, changes);
+                return null;
+            }
+        }, new Delivery<Void>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, Void result) {
+                ((ApplyPermissionsCallback) callback).onSuccess();
+            }
+        });
+    }
+
+    /**
+     * Makes a permission offer to users.
+     *
+     * @param offer offer to create.
+     * @param callback callback to be notified with the offer token once it is ready.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     * @see PermissionManager#makeOffer(PermissionOffer, PermissionManager.MakeOfferCallback)
+     */
+    public RealmAsyncTask makeOffer(PermissionOffer offer, final MakeOfferCallback callback) {
+        checkCallbackNotNull(callback);
+        return makeOffers(Collections.singletonList(offer), new MakeOffersCallback() {
+            @Override
+            public void onSuccess(List<String> offerTokens) {
+                callback.onSuccess(offerTokens.get(0));
+            }
+
+            @Override
+            public void onError(ObjectServerError error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    /**
+     * Makes multiple permission offers using a single write transaction. The callback is not notified until the
+     * server has processed all of them.
+     *
+     * @param offers offers to create.
+     * @param callback callback to be notified with the offer tokens, in the same order as the offers.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     */
+    public RealmAsyncTask makeOffers(final List<PermissionOffer> offers, MakeOffersCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        checkNotEmpty(offers, "offers");
+        for (PermissionOffer offer : offers) {
+            if (offer.isOfferCreated()) {
+                throw new IllegalStateException("Offer has already been created: " + offer);
+            }
+        }
+        return submit(callback, new Operation<List<String>>() {
+            @Override
+            public List<String> execute() throws InterruptedException {
+                List<PermissionOffer> processed = writeAndAwaitProcessing(PermissionOffer.class, offers);
+                List<String> tokens = new ArrayList<>(processed.size());
+                for (PermissionOffer offer : processed) {
+                    tokens.add(offer.getToken());
+                }
+                return tokens;
+            }
+        }, new Delivery<List<String>>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, List<String> result) {
+                ((MakeOffersCallback) callback).onSuccess(result);
+            }
+        });
+    }
+
+    /**
+     * Accepts a permission offer sent by another user.
+     *
+     * @param offerToken token representing the permission offer.
+     * @param callback with the permission details that were accepted.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     */
+    public RealmAsyncTask acceptOffer(String offerToken, AcceptOfferCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        if (Util.isEmptyString(offerToken)) {
+            throw new IllegalArgumentException("Non-empty 'offerToken' required.");
+        }
+        final PermissionOfferResponse response = new PermissionOfferResponse(offerToken);
+        return submit(callback, new Operation<Object[]>() {
+            @Override
+            public Object[] execute() throws InterruptedException {
+                PermissionOfferResponse processed = writeAndAwaitProcessing(PermissionOfferResponse.class,
+                        Collections.singletonList(response)).get(0);
+                // Wait for the granted permission to show up in the permission Realm.
+                long pollInterval = MIN_POLL_INTERVAL_MS;
+                while (true) {
+                    checkIfNotCancelled();
+                    permissionRealm.refresh();
+                    Permission permission = permissionRealm.where(Permission.class)
+                            .equalTo("path", processed.getPath())
+                            .findFirst();
+                    if (permission != null) {
+                        return new Object[] { processed.getRealmUrl(), permissionRealm.copyFromRealm(permission) };
+                    }
+                    SyncManager.getSession(permissionRealmConfig).downloadAllServerChanges();
+                    pollInterval = backOff(pollInterval);
+                }
+            }
+        }, new Delivery<Object[]>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, Object[] result) {
+                ((AcceptOfferCallback) callback).onSuccess((String) result[0], (Permission) result[1]);
+            }
+        });
+    }
+
+    /**
+     * Revokes an existing offer. The callback is not notified until the revocation has been uploaded to the server.
+     *
+     * @param offerToken token that should be revoked.
+     * @param callback callback notified when the offer has been revoked.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     */
+    public RealmAsyncTask revokeOffer(final String offerToken, RevokeOfferCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        return submit(callback, new Operation<Void>() {
+            @Override
+            public Void execute() throws InterruptedException {
+                managementRealm.refresh();
+                managementRealm.executeTransaction(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm realm) {
+                        realm.where(PermissionOffer.class).equalTo("token", offerToken).findAll().deleteAllFromRealm();
+                    }
+                });
+                SyncManager.getSession(managementRealmConfig).uploadAllLocalChanges();
+                return null;
+            }
+        }, new Delivery<Void>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, Void result) {
+                ((RevokeOfferCallback) callback).onSuccess();
+            }
+        });
+    }
+
+    /**
+     * Returns the list of offers created by this user.
+     *
+     * @param callback callback notified with an unmanaged snapshot of the offers.
+     * @return {@link RealmAsyncTask} that can be used to cancel the task if needed.
+     */
+    public RealmAsyncTask getCreatedOffers(OffersCallback callback) {
+        checkIfValid();
+        checkCallbackNotNull(callback);
+        return submit(callback, new Operation<List<PermissionOffer>>() {
+            @Override
+            public List<PermissionOffer> execute() {
+                if (offers == null) {
+                    offers = managementRealm.where(PermissionOffer.class).equalTo("statusCode", 0).findAll();
+                }
+                managementRealm.refresh();
+                return managementRealm.copyFromRealm(offers);
+            }
+        }, new Delivery<List<PermissionOffer>>() {
+            @Override
+            public void deliver(PermissionManagerBaseCallback callback, List<PermissionOffer> result) {
+                ((OffersCallback) callback).onSuccess(result);
+            }
+        });
+    }
+
+    /**
+     * Checks if this BackgroundPermissionManager is closed or not.
+     *
+     * @return {@code true} if the BackgroundPermissionManager is closed, {@code false} if it is still open.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the BackgroundPermissionManager. The underlying Realms are closed once the last reference for the
+     * user has been closed. Tasks not yet started will be reported as failed.
+     */
+    @Override
+    public void close() {
+        checkIfValid();
+        synchronized (instancesLock) {
+            if (instanceCounter > 1) {
+                instanceCounter--;
+                return;
+            }
+            instanceCounter = 0;
+            instances.remove(user.getIdentity());
+            closed = true;
+        }
+
+        worker.submitTransaction(new Runnable() {
+            @Override
+            public void run() {
+                userPermissions = null;
+                defaultPermissions = null;
+                offers = null;
+                if (managementRealm != null) {
+                    managementRealm.close();
+                    managementRealm = null;
+                }
+                if (permissionRealm != null) {
+                    permissionRealm.close();
+                    permissionRealm = null;
+                }
+                if (defaultPermissionRealm != null) {
+                    defaultPermissionRealm.close();
+                    defaultPermissionRealm = null;
+                }
+            }
+        });
+        worker.shutdown();
+    }
+
+    // Schedules an operation on the worker thread. The underlying Realms are opened by the first operation.
+    private <T> RealmAsyncTask submit(final PermissionManagerBaseCallback callback,
+                                      final Operation<T> operation,
+                                      final Delivery<T> delivery) {
+        Future<?> future = worker.submitTransaction(new Runnable() {
+            @Override
+            public void run() {
+                final T result;
+                try {
+                    if (closed) {
+                        throw new ObjectServerError(ErrorCode.UNKNOWN,
+                                new IllegalStateException("BackgroundPermissionManager has been closed"));
+                    }
+                    openRealmsIfNeeded();
+                    checkRealmErrors();
+                    result = operation.execute();
+                } catch (InterruptedException e) {
+                    // Task was canceled.
+                    return;
+                } catch (ObjectServerError e) {
+                    notifyCallbackWithError(callback, e);
+                    return;
+                } catch (RuntimeException e) {
+                    notifyCallbackWithError(callback, new ObjectServerError(ErrorCode.UNKNOWN, e));
+                    return;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                dispatch(new Runnable() {
+                    @Override
+                    public void run() {
+                        delivery.deliver(callback, result);
+                    }
+                });
+            }
+        });
+        return new RealmAsyncTaskImpl(future, worker);
+    }
+
+    // Must be called from the worker thread. The default permission Realm is optional and failures opening it are
+    // only logged.
+    private void openRealmsIfNeeded() {
+        if (managementRealm == null) {
+            managementRealm = openRealm(managementRealmConfig);
+        }
+        if (permissionRealm == null) {
+            permissionRealm = openRealm(permissionRealmConfig);
+        }
+        if (defaultPermissionRealm == null) {
+            try {
+                defaultPermissionRealm = Realm.getInstance(defaultPermissionRealmConfig);
+            } catch (RuntimeException e) {
+                RealmLog.warn(e, "Could not open the default permission Realm.");
+            }
+        }
+    }
+
+    private Realm openRealm(SyncConfiguration config) {
+        try {
+            return Realm.getInstance(config);
+        } catch (ObjectServerError e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ObjectServerError(ErrorCode.UNKNOWN, e);
+        }
+    }
+
+    private void checkRealmErrors() {
+        synchronized (errorLock) {
+            if (managementRealmError != null) {
+                throw managementRealmError;
+            }
+            if (permissionRealmError != null) {
+                throw permissionRealmError;
+            }
+        }
+    }
+
+    // Writes all objects in a single transaction and blocks until the server has set a status code on all of them.
+    // Returns unmanaged copies of the processed objects in the same order as the input.
+    private <E extends BasePermissionApi> List<E> writeAndAwaitProcessing(final Class<E> clazz, final List<E> objects)
+            throws InterruptedException {
+        final String[] ids = new String[objects.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = objects.get(i).getId();
+        }
+        managementRealm.executeTransaction(new Realm.Transaction() {
+            @Override
+            public void execute(Realm realm) {
+                realm.insertOrUpdate(objects);
+            }
+        });
+
+        SyncSession session = SyncManager.getSession(managementRealmConfig);
+        session.uploadAllLocalChanges();
+        long pollInterval = MIN_POLL_INTERVAL_MS;
+        while (true) {
+            checkIfNotCancelled();
+            checkRealmErrors();
+            managementRealm.refresh();
+            Map<String, E> byId = new HashMap<>(ids.length);
+            for (E obj : managementRealm.where(clazz).in("id", ids).isNotNull("statusCode").findAll()) {
+                byId.put(obj.getId(), obj);
+            }
+            if (byId.size() == ids.length) {
+                List<E> processed = new ArrayList<>(ids.length);
+                for (String id : ids) {
+                    processed.add(byId.get(id));
+                }
+                for (E obj : processed) {
+                    checkServerStatus(obj);
+                }
+                return managementRealm.copyFromRealm(processed);
+            }
+            session.downloadAllServerChanges();
+            pollInterval = backOff(pollInterval);
+        }
+    }
+
+    private static void checkServerStatus(BasePermissionApi obj) {
+        //noinspection ConstantConditions
+        int statusCode = obj.getStatusCode();
+        if (statusCode > 0) {
+            throw new ObjectServerError(ErrorCode.fromInt(statusCode), obj.getStatusMessage());
+        } else if (statusCode < 0) {
+            throw new ObjectServerError(ErrorCode.UNKNOWN, "Illegal status code: " + statusCode);
+        }
+    }
+
+    private static long backOff(long pollInterval) throws InterruptedException {
+        Thread.sleep(pollInterval);
+        return Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
+    }
+
+    private static void checkIfNotCancelled() throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private void notifyCallbackWithError(final PermissionManagerBaseCallback callback, final ObjectServerError error) {
+        RealmLog.debug("Error happened in BackgroundPermissionManager for %s: %s", user.getIdentity(), error.toString());
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                callback.onError(error);
+            }
+        });
+    }
+
+    private void dispatch(Runnable runnable) {
+        if (callbackExecutor != null) {
+            callbackExecutor.execute(runnable);
+        } else {
+            runnable.run();
+        }
+    }
+
+    private void checkIfValid() {
+        if (closed) {
+            throw new IllegalStateException("BackgroundPermissionManager has been closed. No further actions are possible.");
+        }
+    }
+
+    private static void checkCallbackNotNull(PermissionManagerBaseCallback callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("Non-null 'callback' required.");
+        }
+    }
+
+    private static void checkNotEmpty(List<?> list, String name) {
+        if (list == null || list.isEmpty()) {
+            throw new IllegalArgumentException("Non-empty '" + name + "' required.");
+        }
+    }
+
+    // Work executed on the worker thread.
+    private interface Operation<T> {
+        T execute() throws InterruptedException;
+    }
+
+    // Maps a result to the concrete callback type.
+    private interface Delivery<T> {
+        void deliver(PermissionManagerBaseCallback callback, T result);
+    }
+
+    private interface PermissionManagerBaseCallback {
+        /**
+         * Called if an error happened while executing the task.
+         *
+         * @param error error object describing what happened.
+         * @see PermissionManager for a description of how errors from the underlying Realms are reported.
+         */
+        void onError(ObjectServerError error);
+    }
+
+    /**
+     * Callback used when loading a set of permissions.
+     */
+    public interface PermissionsCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when all known permissions are successfully loaded.
+         *
+         * @param permissions unmanaged snapshot of the currently known permissions.
+         */
+        void onSuccess(List<Permission> permissions);
+    }
+
+    /**
+     * Callback used when modifying or creating new permissions.
+     */
+    public interface ApplyPermissionsCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when all permissions were successfully modified.
+         */
+        void onSuccess();
+    }
+
+    /**
+     * Callback used when making a single permission offer.
+     */
+    public interface MakeOfferCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when the offer was successfully created.
+         *
+         * @param offerToken token representing the offer that can be sent to other users.
+         */
+        void onSuccess(String offerToken);
+    }
+
+    /**
+     * Callback used when making multiple permission offers in one batch.
+     */
+    public interface MakeOffersCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when all offers were successfully created.
+         *
+         * @param offerTokens tokens representing the offers, in the same order as they were provided.
+         */
+        void onSuccess(List<String> offerTokens);
+    }
+
+    /**
+     * Callback used when accepting a permission offer.
+     */
+    public interface AcceptOfferCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when the offer was successfully accepted.
+         *
+         * @param realmUrl The url pointing to the Realm for which the offer was created.
+         * @param permission unmanaged copy of the permissions granted.
+         */
+        void onSuccess(String realmUrl, Permission permission);
+    }
+
+    /**
+     * Callback used when loading the list of {@link PermissionOffer}'s created by the user.
+     */
+    public interface OffersCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when all known offers are successfully loaded.
+         *
+         * @param offers unmanaged snapshot of the currently known offers.
+         */
+        void onSuccess(List<PermissionOffer> offers);
+    }
+
+    /**
+     * Callback used when revoking an existing offer.
+     */
+    public interface RevokeOfferCallback extends PermissionManagerBaseCallback {
+        /**
+         * Called when the offer was successfully revoked.
+         */
+        void onSuccess();
+    }
+}
@@ -178,48 +178,62 @@ public class PermissionManager implements Closeable {
     private PermissionManager(SyncUser user) {
         this.user = user;
         threadId = Thread.currentThread().getId();
-        managementRealmConfig = user.createConfiguration(getRealmUrl(RealmType.MANAGEMENT_REALM, user.getAuthenticationUrl()))
+        managementRealmConfig = createManagementRealmConfig(user, new SyncSession.ErrorHandler() {
+            @Override
+            public void onError(SyncSession session, ObjectServerError error) {
+                synchronized (errorLock) {
+                    managementRealmError = error;
+                }
+            }
+        });
+
+        permissionRealmConfig = createPermissionRealmConfig(user, new SyncSession.ErrorHandler() {
+            @Override
+            public void onError(SyncSession session, ObjectServerError error) {
+                RealmLog.error("Error in __permission:\n" + error.toString());
+                synchronized (errorLock) {
+                    permissionRealmError = error;
+                }
+            }
+        });
+
+        defaultPermissionRealmConfig = createDefaultPermissionRealmConfig(user, new SyncSession.ErrorHandler() {
+            @Override
+            public void onError(SyncSession session, ObjectServerError error) {
+                RealmLog.error("Error in __wildcardpermissions:\n" + error.toString());
+                synchronized (errorLock) {
+                    defaultPermissionRealmError = error;
+                }
+            }
+        });
+    }
+
+    // The configurations below are shared with the BackgroundPermissionManager.
+
+    static SyncConfiguration createManagementRealmConfig(SyncUser user, SyncSession.ErrorHandler errorHandler) {
+        return user.createConfiguration(getRealmUrl(RealmType.MANAGEMENT_REALM, user.getAuthenticationUrl()))
                 .fullSynchronization()
-                .errorHandler(new SyncSession.ErrorHandler() {
-                    @Override
-                    public void onError(SyncSession session, ObjectServerError error) {
-                        synchronized (errorLock) {
-                            managementRealmError = error;
-                        }
-                    }
-                })
+                .errorHandler(errorHandler)
                 .modules(new ManagementModule())
                 .sessionStopPolicy(OsRealmConfig.SyncSessionStopPolicy.IMMEDIATELY)
                 .build();
+    }
 
-        permissionRealmConfig = user.createConfiguration(getRealmUrl(RealmType.PERMISSION_REALM, user.getAuthenticationUrl()))
+    static SyncConfiguration createPermissionRealmConfig(SyncUser user, SyncSession.ErrorHandler errorHandler) {
+        return user.createConfiguration(getRealmUrl(RealmType.PERMISSION_REALM, user.getAuthenticationUrl()))
                 .fullSynchronization()
-                .errorHandler(new SyncSession.ErrorHandler() {
-                    @Override
-                    public void onError(SyncSession session, ObjectServerError error) {
-                        RealmLog.error("Error in __permission:\n" + error.toString());
-                        synchronized (errorLock) {
-                            permissionRealmError = error;
-                        }
-                    }
-                })
+                .errorHandler(errorHandler)
                 .modules(new PermissionModule())
                 .waitForInitialRemoteData()
                  // .readOnly() Temporarily disabled due to issues with ROS 3.0.0-alpha.X
                 .sessionStopPolicy(OsRealmConfig.SyncSessionStopPolicy.IMMEDIATELY)
                 .build();
+    }
 
-        defaultPermissionRealmConfig = user.createConfiguration(getRealmUrl(RealmType.DEFAULT_PERMISSION_REALM, user.getAuthenticationUrl()))
+    static SyncConfiguration createDefaultPermissionRealmConfig(SyncUser user, SyncSession.ErrorHandler errorHandler) {
+        return user.createConfiguration(getRealmUrl(RealmType.DEFAULT_PERMISSION_REALM, user.getAuthenticationUrl()))
                 .fullSynchronization()
-                .errorHandler(new SyncSession.ErrorHandler() {
-                    @Override
-                    public void onError(SyncSession session, ObjectServerError error) {
-                        RealmLog.error("Error in __wildcardpermissions:\n" + error.toString());
-                        synchronized (errorLock) {
-                            defaultPermissionRealmError = error;
-                        }
-                    }
-                })
+                .errorHandler(errorHandler)
                 .modules(new PermissionModule())
                 .waitForInitialRemoteData()
                 .readOnly()
@@ -154,7 +154,11 @@ public class SyncConfiguration extends RealmConfiguration {
                 initialDataTransaction,
                 readOnly,
                 compactOnLaunch,
-                false
+                false,
+                false,
+                null,
+                null,
+                Long.MAX_VALUE
         );
 
         this.user = user;
@@ -214,7 +218,7 @@ public class SyncConfiguration extends RealmConfiguration {
     }
 
     static RealmConfiguration forRecovery(String canonicalPath, @Nullable byte[] encryptionKey, RealmProxyMediator schemaMediator) {
-        return new RealmConfiguration(null,null, canonicalPath,null, encryptionKey, 0,null, false, OsRealmConfig.Durability.FULL, schemaMediator, null, null, true, null, true);
+        return new RealmConfiguration(null,null, canonicalPath,null, encryptionKey, 0,null, false, OsRealmConfig.Durability.FULL, schemaMediator, null, null, true, null, true, false, null, null, Long.MAX_VALUE);
     }
 
     static URI resolveServerUrl(URI serverUrl, String userIdentifier) {
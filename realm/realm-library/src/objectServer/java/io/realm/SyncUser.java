@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -947,6 +948,38 @@ public class SyncUser {
         return PermissionManager.getInstance(this);
     }
 
+    /**
+     * Returns an instance of the {@link BackgroundPermissionManager} for this user. Unlike
+     * {@link #getPermissionManager()}, it can be used from any thread and callbacks are delivered on the background
+     * thread owning the underlying Realms.
+     * <p>
+     * Every instance returned by this method must be closed by calling {@link BackgroundPermissionManager#close()}
+     * when it no longer is needed.
+     *
+     * @return an instance of the BackgroundPermissionManager.
+     */
+    public BackgroundPermissionManager getBackgroundPermissionManager() {
+        return BackgroundPermissionManager.getInstance(this, null);
+    }
+
+    /**
+     * Returns an instance of the {@link BackgroundPermissionManager} for this user that delivers callbacks on the
+     * provided {@link Executor}.
+     * <p>
+     * The executor is only used if no other instance is currently open for this user. Every instance returned by this
+     * method must be closed by calling {@link BackgroundPermissionManager#close()} when it no longer is needed.
+     *
+     * @param callbackExecutor executor used to deliver callbacks.
+     * @return an instance of the BackgroundPermissionManager.
+     */
+    public BackgroundPermissionManager getBackgroundPermissionManager(Executor callbackExecutor) {
+        //noinspection ConstantConditions
+        if (callbackExecutor == null) {
+            throw new IllegalArgumentException("Non-null 'callbackExecutor' required.");
+        }
+        return BackgroundPermissionManager.getInstance(this, callbackExecutor);
+    }
+
     // what defines a user is it's identity(Token) and authURL (as required by the constructor)
     //
     // not the list of Realms it's managing, furthermore, trying to include the `realms` in the `hashCode` will
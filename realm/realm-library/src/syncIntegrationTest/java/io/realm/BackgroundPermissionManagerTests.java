@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.realm.entities.AllJavaTypes;
+import io.realm.internal.OsRealmConfig;
+import io.realm.objectserver.utils.Constants;
+import io.realm.objectserver.utils.UserFactory;
+import io.realm.permissions.AccessLevel;
+import io.realm.permissions.Permission;
+import io.realm.permissions.PermissionOffer;
+import io.realm.permissions.PermissionRequest;
+import io.realm.permissions.UserCondition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(AndroidJUnit4.class)
+public class BackgroundPermissionManagerTests extends StandardIntegrationTest {
+
+    private SyncUser user;
+
+    @Before
+    public void setUpTest() {
+        user = UserFactory.createUniqueUser();
+    }
+
+    @Test
+    public void getInstance_referenceCounted() {
+        BackgroundPermissionManager pm1 = user.getBackgroundPermissionManager();
+        BackgroundPermissionManager pm2 = user.getBackgroundPermissionManager();
+        assertTrue(pm1 == pm2);
+        pm1.close();
+        assertFalse(pm2.isClosed());
+        pm2.close();
+        assertTrue(pm2.isClosed());
+    }
+
+    @Test
+    public void getPermissions_fromNonLooperThread() {
+        final BackgroundPermissionManager pm = user.getBackgroundPermissionManager();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<List<Permission>> result = new AtomicReference<>();
+        final AtomicReference<ObjectServerError> error = new AtomicReference<>();
+        pm.getPermissions(new BackgroundPermissionManager.PermissionsCallback() {
+            @Override
+            public void onSuccess(List<Permission> permissions) {
+                result.set(permissions);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(ObjectServerError e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        TestHelper.awaitOrFail(done);
+        pm.close();
+        assertNoError(error);
+
+        // Results are unmanaged copies and survive closing the manager.
+        assertNotNull(result.get());
+        for (Permission permission : result.get()) {
+            assertFalse(RealmObject.isManaged(permission));
+        }
+    }
+
+    @Test
+    public void applyPermissions_batch() {
+        final SyncUser user2 = UserFactory.createUniqueUser();
+        String url1 = createRemoteRealm(user, "test1");
+        String url2 = createRemoteRealm(user, "test2");
+        UserCondition condition = UserCondition.userId(user2.getIdentity());
+        List<PermissionRequest> requests = Arrays.asList(
+                new PermissionRequest(condition, url1, AccessLevel.READ),
+                new PermissionRequest(condition, url2, AccessLevel.WRITE));
+
+        final BackgroundPermissionManager pm = user.getBackgroundPermissionManager();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<ObjectServerError> error = new AtomicReference<>();
+        pm.applyPermissions(requests, new BackgroundPermissionManager.ApplyPermissionsCallback() {
+            @Override
+            public void onSuccess() {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(ObjectServerError e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        TestHelper.awaitOrFail(done);
+        pm.close();
+        assertNoError(error);
+    }
+
+    @Test
+    public void makeOffers_batch() {
+        String url1 = createRemoteRealm(user, "test1");
+        String url2 = createRemoteRealm(user, "test2");
+        List<PermissionOffer> offers = Arrays.asList(
+                new PermissionOffer(url1, AccessLevel.READ),
+                new PermissionOffer(url2, AccessLevel.ADMIN));
+
+        final BackgroundPermissionManager pm = user.getBackgroundPermissionManager();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<List<String>> tokens = new AtomicReference<>();
+        final AtomicReference<ObjectServerError> error = new AtomicReference<>();
+        pm.makeOffers(offers, new BackgroundPermissionManager.MakeOffersCallback() {
+            @Override
+            public void onSuccess(List<String> offerTokens) {
+                tokens.set(offerTokens);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(ObjectServerError e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        TestHelper.awaitOrFail(done);
+        pm.close();
+        assertNoError(error);
+
+        assertEquals(2, tokens.get().size());
+        assertNotNull(tokens.get().get(0));
+        assertNotNull(tokens.get().get(1));
+    }
+
+    @Test
+    public void applyPermissions_wrongUrlFails() {
+        String wrongUrl = createRemoteRealm(user, "test") + "-notexisting";
+        PermissionRequest request = new PermissionRequest(UserCondition.userId(user.getIdentity()), wrongUrl,
+                AccessLevel.ADMIN);
+
+        final BackgroundPermissionManager pm = user.getBackgroundPermissionManager();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<ObjectServerError> error = new AtomicReference<>();
+        final AtomicBoolean succeeded = new AtomicBoolean(false);
+        pm.applyPermissions(request, new BackgroundPermissionManager.ApplyPermissionsCallback() {
+            @Override
+            public void onSuccess() {
+                succeeded.set(true);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(ObjectServerError e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+        TestHelper.awaitOrFail(done);
+        pm.close();
+        assertFalse(succeeded.get());
+        assertEquals(ErrorCode.INVALID_PARAMETERS, error.get().getErrorCode());
+    }
+
+    @Test
+    public void close_throwsOnNewTasks() {
+        BackgroundPermissionManager pm = user.getBackgroundPermissionManager();
+        pm.close();
+        final AtomicBoolean callbackCalled = new AtomicBoolean(false);
+        try {
+            pm.getPermissions(new BackgroundPermissionManager.PermissionsCallback() {
+                @Override
+                public void onSuccess(List<Permission> permissions) {
+                    callbackCalled.set(true);
+                }
+
+                @Override
+                public void onError(ObjectServerError error) {
+                    callbackCalled.set(true);
+                }
+            });
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        assertFalse(callbackCalled.get());
+    }
+
+    // The callbacks run on a worker thread, so errors are recorded there and only reported on the test thread.
+    private void assertNoError(AtomicReference<ObjectServerError> error) {
+        if (error.get() != null) {
+            fail(error.get().toString());
+        }
+    }
+
+    private String createRemoteRealm(SyncUser user, String realmName) {
+        String url = Constants.AUTH_SERVER_URL + "~/" + realmName;
+        SyncConfiguration config = user.createConfiguration(url)
+                .name(realmName)
+                .schema(AllJavaTypes.class)
+                .sessionStopPolicy(OsRealmConfig.SyncSessionStopPolicy.IMMEDIATELY)
+                .build();
+
+        Realm realm = Realm.getInstance(config);
+        try {
+            SyncManager.getSession(config).uploadAllLocalChanges();
+        } catch (InterruptedException e) {
+            fail(e.toString());
+        } finally {
+            realm.close();
+        }
+        return config.getServerUrl().toString();
+    }
+}